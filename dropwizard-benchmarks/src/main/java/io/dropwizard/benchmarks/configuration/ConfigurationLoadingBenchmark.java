@@ -0,0 +1,104 @@
+package io.dropwizard.benchmarks.configuration;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.dropwizard.Configuration;
+import io.dropwizard.configuration.ResourceConfigurationSourceProvider;
+import io.dropwizard.configuration.YamlConfigurationFactory;
+import io.dropwizard.db.DataSourceFactory;
+import io.dropwizard.jackson.Jackson;
+import io.dropwizard.jersey.validation.Validators;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import javax.validation.Valid;
+import javax.validation.Validator;
+import javax.validation.constraints.NotNull;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures loading a large configuration end-to-end, i.e. parsing the YAML file, applying the overrides from the
+ * system properties, binding it to the configuration class and validating it, as done by every command.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class ConfigurationLoadingBenchmark {
+    private static final String[][] OVERRIDES = {
+        {"dw.server.applicationConnectors[0].port", "9090"},
+        {"dw.logging.loggers.com\\.example\\.billing", "WARN"},
+        {"dw.database.maxSize", "64"},
+        {"dw.regions", "eu-west-1,us-east-1"},
+        {"dw.zones", "a,b,c"},
+    };
+
+    public static class BenchmarkConfiguration extends Configuration {
+        @Valid
+        @NotNull
+        @JsonProperty
+        private DataSourceFactory database = new DataSourceFactory();
+
+        @NotNull
+        @JsonProperty
+        private List<String> regions = Collections.emptyList();
+
+        @JsonProperty
+        private List<String> zones = Collections.emptyList();
+
+        @NotNull
+        @JsonProperty
+        private Map<String, String> features = Collections.emptyMap();
+    }
+
+    @Param({"false", "true"})
+    public boolean overrides;
+
+    private final Validator validator = Validators.newValidator();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        if (overrides) {
+            for (String[] override : OVERRIDES) {
+                System.setProperty(override[0], override[1]);
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        for (String[] override : OVERRIDES) {
+            System.clearProperty(override[0]);
+        }
+    }
+
+    @Benchmark
+    public BenchmarkConfiguration load() throws Exception {
+        // A new factory for each run, like every command creates
+        final YamlConfigurationFactory<BenchmarkConfiguration> factory = new YamlConfigurationFactory<>(
+            BenchmarkConfiguration.class, validator, Jackson.newObjectMapper(), "dw");
+        return factory.build(new ResourceConfigurationSourceProvider(),
+            "io/dropwizard/benchmarks/configuration/large.yml");
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(ConfigurationLoadingBenchmark.class.getSimpleName())
+                .forks(1)
+                .warmupIterations(5)
+                .measurementIterations(5)
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,76 @@
+package io.dropwizard.benchmarks.db;
+
+import com.codahale.metrics.MetricRegistry;
+import io.dropwizard.db.ConcurrentConnectionPoolFactory;
+import io.dropwizard.db.DataSourceFactory;
+import io.dropwizard.db.ManagedDataSource;
+import io.dropwizard.db.TomcatConnectionPoolFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of borrowing and returning a connection of an embedded H2 database with each of the
+ * connection pools, under contention.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Threads(8)
+public class ConnectionPoolBenchmark {
+
+    @Param({"tomcat", "concurrent"})
+    private String connectionPool = "tomcat";
+
+    private ManagedDataSource dataSource;
+
+    @Setup
+    public void setUp() throws Exception {
+        final DataSourceFactory factory = new DataSourceFactory();
+        factory.setUrl("jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1");
+        factory.setDriverClass("org.h2.Driver");
+        factory.setInitialSize(4);
+        factory.setMinSize(4);
+        factory.setMaxSize(4);
+        factory.setConnectionPool("concurrent".equals(connectionPool)
+            ? new ConcurrentConnectionPoolFactory()
+            : new TomcatConnectionPoolFactory());
+        dataSource = factory.build(new MetricRegistry(), "benchmark");
+        dataSource.start();
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        dataSource.stop();
+    }
+
+    @Benchmark
+    public boolean borrowAndReturn() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            return connection.getAutoCommit();
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(ConnectionPoolBenchmark.class.getSimpleName())
+                .forks(1)
+                .warmupIterations(5)
+                .measurementIterations(5)
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,98 @@
+package io.dropwizard.benchmarks.hibernate;
+
+import io.dropwizard.db.DataSourceFactory;
+import io.dropwizard.db.PooledDataSourceFactory;
+import io.dropwizard.hibernate.HibernateBundle;
+import io.dropwizard.hibernate.SessionFactoryFactory;
+import io.dropwizard.hibernate.UnitOfWork;
+import io.dropwizard.hibernate.UnitOfWorkAwareProxyFactory;
+import io.dropwizard.setup.Environment;
+import org.hibernate.SessionFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of creating {@link UnitOfWork} aware proxies and of invoking their methods, which should stay
+ * flat no matter how many proxies of a class have been created before.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class UnitOfWorkAwareProxyFactoryBenchmark {
+
+    private SessionFactory sessionFactory;
+    private UnitOfWorkAwareProxyFactory proxyFactory;
+    private Worker worker;
+
+    @Setup
+    public void setUp() {
+        final DataSourceFactory dataSourceFactory = new DataSourceFactory();
+        dataSourceFactory.setUrl("jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1");
+        dataSourceFactory.setDriverClass("org.h2.Driver");
+        dataSourceFactory.setProperties(Collections.singletonMap("hibernate.dialect", "org.hibernate.dialect.H2Dialect"));
+
+        final HibernateBundle<Object> bundle = new HibernateBundle<Object>(Collections.emptyList(),
+            new SessionFactoryFactory()) {
+            @Override
+            public PooledDataSourceFactory getDataSourceFactory(Object configuration) {
+                return dataSourceFactory;
+            }
+        };
+        sessionFactory = new SessionFactoryFactory().build(bundle, new Environment("benchmark"), dataSourceFactory,
+            Collections.emptyList());
+        proxyFactory = new UnitOfWorkAwareProxyFactory("benchmark", sessionFactory);
+        worker = proxyFactory.create(Worker.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public Worker createProxy() {
+        return proxyFactory.create(Worker.class);
+    }
+
+    @Benchmark
+    public int invokeWithoutUnitOfWork() {
+        return worker.plain();
+    }
+
+    @Benchmark
+    public int invokeUnitOfWork() {
+        return worker.unitOfWork();
+    }
+
+    public static class Worker {
+        public int plain() {
+            return 42;
+        }
+
+        @UnitOfWork(transactional = false)
+        public int unitOfWork() {
+            return 42;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(UnitOfWorkAwareProxyFactoryBenchmark.class.getSimpleName())
+                .forks(1)
+                .warmupIterations(5)
+                .measurementIterations(5)
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,88 @@
+package io.dropwizard.benchmarks.jersey;
+
+import org.glassfish.jersey.internal.MapPropertiesDelegate;
+import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.server.ContainerRequest;
+import org.glassfish.jersey.server.ContainerResponse;
+import org.glassfish.jersey.server.ResourceConfig;
+
+import javax.annotation.Nullable;
+import javax.ws.rs.core.SecurityContext;
+import java.io.ByteArrayOutputStream;
+import java.net.URI;
+import java.security.Principal;
+
+/**
+ * Drives requests through a Jersey {@link ApplicationHandler} directly, so that benchmarks measure the request
+ * pipeline without any network overhead.
+ */
+public class InMemoryApplicationHandler {
+    private static final URI BASE_URI = URI.create("http://localhost/");
+
+    private static final SecurityContext ANONYMOUS = new SecurityContext() {
+        @Override
+        @Nullable
+        public Principal getUserPrincipal() {
+            return null;
+        }
+
+        @Override
+        public boolean isUserInRole(String role) {
+            return false;
+        }
+
+        @Override
+        public boolean isSecure() {
+            return false;
+        }
+
+        @Override
+        @Nullable
+        public String getAuthenticationScheme() {
+            return null;
+        }
+    };
+
+    private final ApplicationHandler handler;
+
+    public InMemoryApplicationHandler(ResourceConfig config) {
+        this.handler = new ApplicationHandler(config);
+    }
+
+    /**
+     * Creates an anonymous request, to which headers and an entity can be added before it's {@link #apply applied}.
+     *
+     * @param method the HTTP method
+     * @param path   the path of the request, relative to the root of the application
+     * @return the request
+     */
+    public ContainerRequest newRequest(String method, String path) {
+        return new ContainerRequest(BASE_URI, BASE_URI.resolve(path), method, ANONYMOUS,
+            new MapPropertiesDelegate(), handler.getConfiguration());
+    }
+
+    /**
+     * Handles the given request, and buffers the entity of its response.
+     *
+     * @param request the request
+     * @return the response
+     * @throws Exception if the request could not be handled
+     */
+    public ContainerResponse apply(ContainerRequest request) throws Exception {
+        return handler.apply(request, new ByteArrayOutputStream()).get();
+    }
+
+    /**
+     * Checks the status of a response, so that a benchmark can make sure it exercises the path it claims to, rather
+     * than silently measuring an error.
+     *
+     * @param expected the expected status
+     * @param response the response
+     * @throws IllegalStateException if the response has another status
+     */
+    public static void expectStatus(int expected, ContainerResponse response) {
+        if (response.getStatus() != expected) {
+            throw new IllegalStateException("Expected status " + expected + " but got " + response.getStatus());
+        }
+    }
+}
@@ -0,0 +1,293 @@
+package io.dropwizard.benchmarks.jersey;
+
+import com.codahale.metrics.MetricRegistry;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.dropwizard.auth.Auth;
+import io.dropwizard.auth.AuthDynamicFeature;
+import io.dropwizard.auth.AuthValueFactoryProvider;
+import io.dropwizard.auth.PrincipalImpl;
+import io.dropwizard.auth.basic.BasicCredentialAuthFilter;
+import io.dropwizard.jackson.Jackson;
+import io.dropwizard.jersey.DropwizardResourceConfig;
+import io.dropwizard.jersey.errors.LoggingExceptionMapper;
+import io.dropwizard.jersey.jackson.JacksonFeature;
+import io.dropwizard.jersey.jackson.JsonProcessingExceptionMapper;
+import io.dropwizard.jersey.optional.EmptyOptionalExceptionMapper;
+import io.dropwizard.jersey.params.IntParam;
+import io.dropwizard.jersey.params.UUIDParam;
+import io.dropwizard.jersey.validation.HibernateValidationBinder;
+import io.dropwizard.jersey.validation.JerseyViolationExceptionMapper;
+import io.dropwizard.jersey.validation.Validators;
+import io.dropwizard.logging.BootstrapLogging;
+import org.glassfish.jersey.internal.inject.AbstractBinder;
+import org.glassfish.jersey.server.ContainerRequest;
+import org.glassfish.jersey.server.ContainerResponse;
+import org.glassfish.jersey.server.filter.RolesAllowedDynamicFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.helpers.NOPLogger;
+
+import javax.annotation.Nullable;
+import javax.annotation.security.RolesAllowed;
+import javax.validation.Valid;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import javax.ws.rs.Consumes;
+import javax.ws.rs.GET;
+import javax.ws.rs.NotFoundException;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.ext.ExceptionMapper;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static io.dropwizard.benchmarks.jersey.InMemoryApplicationHandler.expectStatus;
+
+/**
+ * Drives complete requests through a {@link DropwizardResourceConfig} with an {@link InMemoryApplicationHandler}, so
+ * that the numbers cover entity (de)serialization, validation, authentication, exception mapping and parameter
+ * conversion without any network overhead.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class JerseyRequestPipelineBenchmark {
+
+    static {
+        BootstrapLogging.bootstrap();
+    }
+
+    private static final String ITEM_ID = UUID.randomUUID().toString();
+    private static final byte[] VALID_ITEM = "{\"name\":\"cheese\",\"quantity\":12}".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] INVALID_ITEM = "{\"name\":\"\",\"quantity\":-1}".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] MALFORMED_ITEM = "{\"name\":\"cheese\",".getBytes(StandardCharsets.UTF_8);
+    private static final String ADMIN_CREDENTIALS = basic("admin", "secret");
+    private static final String USER_CREDENTIALS = basic("user", "secret");
+
+    private InMemoryApplicationHandler handler;
+
+    @Setup
+    public void setUp() throws Exception {
+        final DropwizardResourceConfig config = new DropwizardResourceConfig(new MetricRegistry());
+        config.register(new JacksonFeature(Jackson.newObjectMapper()));
+        config.register(new HibernateValidationBinder(Validators.newValidator()));
+        config.register(new BenchmarkExceptionMapperBinder());
+        config.register(new AuthDynamicFeature(new BasicCredentialAuthFilter.Builder<PrincipalImpl>()
+            .setAuthenticator(credentials -> "secret".equals(credentials.getPassword())
+                ? Optional.of(new PrincipalImpl(credentials.getUsername()))
+                : Optional.empty())
+            .setAuthorizer((principal, role) -> "admin".equals(principal.getName()) && "ADMIN".equals(role))
+            .buildAuthFilter()));
+        config.register(new AuthValueFactoryProvider.Binder<>(PrincipalImpl.class));
+        config.register(RolesAllowedDynamicFeature.class);
+        config.register(PipelineResource.class);
+        handler = new InMemoryApplicationHandler(config);
+
+        // Make sure every benchmark exercises the path it claims to, rather than silently measuring a 404
+        expectStatus(200, getJson());
+        expectStatus(200, getWithParams());
+        expectStatus(404, getEmptyOptional());
+        expectStatus(400, getInvalidParam());
+        expectStatus(200, postValidJson());
+        expectStatus(422, postInvalidJson());
+        expectStatus(400, postMalformedJson());
+        expectStatus(200, authenticated());
+        expectStatus(401, unauthenticated());
+        expectStatus(403, unauthorized());
+        expectStatus(404, mappedWebApplicationException());
+        expectStatus(500, mappedUnexpectedException());
+    }
+
+    @Benchmark
+    public ContainerResponse getJson() throws Exception {
+        return invoke("GET", "items/" + ITEM_ID, null, null);
+    }
+
+    @Benchmark
+    public ContainerResponse getWithParams() throws Exception {
+        return invoke("GET", "items/" + ITEM_ID + "/params?limit=25&tag=fresh", null, null);
+    }
+
+    @Benchmark
+    public ContainerResponse getEmptyOptional() throws Exception {
+        return invoke("GET", "items/search", null, null);
+    }
+
+    @Benchmark
+    public ContainerResponse getInvalidParam() throws Exception {
+        return invoke("GET", "items/" + ITEM_ID + "/params?limit=many", null, null);
+    }
+
+    @Benchmark
+    public ContainerResponse postValidJson() throws Exception {
+        return invoke("POST", "items", null, VALID_ITEM);
+    }
+
+    @Benchmark
+    public ContainerResponse postInvalidJson() throws Exception {
+        return invoke("POST", "items", null, INVALID_ITEM);
+    }
+
+    @Benchmark
+    public ContainerResponse postMalformedJson() throws Exception {
+        return invoke("POST", "items", null, MALFORMED_ITEM);
+    }
+
+    @Benchmark
+    public ContainerResponse authenticated() throws Exception {
+        return invoke("GET", "secured", ADMIN_CREDENTIALS, null);
+    }
+
+    @Benchmark
+    public ContainerResponse unauthenticated() throws Exception {
+        return invoke("GET", "secured", null, null);
+    }
+
+    @Benchmark
+    public ContainerResponse unauthorized() throws Exception {
+        return invoke("GET", "secured", USER_CREDENTIALS, null);
+    }
+
+    @Benchmark
+    public ContainerResponse mappedWebApplicationException() throws Exception {
+        return invoke("GET", "errors/not-found", null, null);
+    }
+
+    @Benchmark
+    public ContainerResponse mappedUnexpectedException() throws Exception {
+        return invoke("GET", "errors/unexpected", null, null);
+    }
+
+    private ContainerResponse invoke(String method, String path, @Nullable String authorization,
+                                     @Nullable byte[] entity) throws Exception {
+        final ContainerRequest request = handler.newRequest(method, path);
+        request.header(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON);
+        if (authorization != null) {
+            request.header(HttpHeaders.AUTHORIZATION, authorization);
+        }
+        if (entity != null) {
+            request.header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON);
+            request.setEntityStream(new ByteArrayInputStream(entity));
+        }
+        return handler.apply(request);
+    }
+
+    private static String basic(String username, String password) {
+        final byte[] credentials = (username + ":" + password).getBytes(StandardCharsets.UTF_8);
+        return "Basic " + Base64.getEncoder().encodeToString(credentials);
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(JerseyRequestPipelineBenchmark.class.getSimpleName())
+                .forks(1)
+                .warmupIterations(5)
+                .measurementIterations(5)
+                .build())
+                .run();
+    }
+
+    /**
+     * Mirrors the default exception mappers registered by Dropwizard, but with a
+     * {@link LoggingExceptionMapper} that discards its log output so that appender I/O
+     * doesn't dominate the measurement.
+     */
+    private static class BenchmarkExceptionMapperBinder extends AbstractBinder {
+        @Override
+        protected void configure() {
+            bind(new LoggingExceptionMapper<Throwable>(NOPLogger.NOP_LOGGER) {
+            }).to(ExceptionMapper.class);
+            bind(JerseyViolationExceptionMapper.class).to(ExceptionMapper.class);
+            bind(new JsonProcessingExceptionMapper(false)).to(ExceptionMapper.class);
+            bind(EmptyOptionalExceptionMapper.class).to(ExceptionMapper.class);
+        }
+    }
+
+    // Jersey resources (test data)
+
+    @Path("/")
+    @Produces(MediaType.APPLICATION_JSON)
+    public static class PipelineResource {
+
+        @GET
+        @Path("items/{id}")
+        public Item get(@PathParam("id") String id) {
+            return new Item(id, 1);
+        }
+
+        @GET
+        @Path("items/{id}/params")
+        public Item getWithParams(@PathParam("id") UUIDParam id,
+                                  @QueryParam("limit") @NotNull IntParam limit,
+                                  @QueryParam("tag") Optional<String> tag) {
+            return new Item(tag.orElse(id.get().toString()), limit.get());
+        }
+
+        @GET
+        @Path("items/search")
+        public Optional<Item> search(@QueryParam("name") Optional<String> name) {
+            return name.map(n -> new Item(n, 1));
+        }
+
+        @POST
+        @Path("items")
+        @Consumes(MediaType.APPLICATION_JSON)
+        public Item create(@NotNull @Valid Item item) {
+            return item;
+        }
+
+        @GET
+        @Path("secured")
+        @RolesAllowed("ADMIN")
+        public Item secured(@Auth PrincipalImpl principal) {
+            return new Item(principal.getName(), 1);
+        }
+
+        @GET
+        @Path("errors/not-found")
+        public Item notFound() {
+            throw new NotFoundException("No such item");
+        }
+
+        @GET
+        @Path("errors/unexpected")
+        public Item unexpected() {
+            throw new IllegalArgumentException("Something went wrong");
+        }
+    }
+
+    public static class Item {
+        @NotEmpty
+        @JsonProperty
+        private String name = "";
+
+        @Min(0)
+        @JsonProperty
+        private int quantity;
+
+        public Item() {
+        }
+
+        public Item(String name, int quantity) {
+            this.name = name;
+            this.quantity = quantity;
+        }
+    }
+}
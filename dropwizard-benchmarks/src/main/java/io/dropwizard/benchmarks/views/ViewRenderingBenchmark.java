@@ -0,0 +1,131 @@
+package io.dropwizard.benchmarks.views;
+
+import com.codahale.metrics.MetricRegistry;
+import freemarker.template.Configuration;
+import io.dropwizard.benchmarks.jersey.InMemoryApplicationHandler;
+import io.dropwizard.jersey.DropwizardResourceConfig;
+import io.dropwizard.logging.BootstrapLogging;
+import io.dropwizard.views.View;
+import io.dropwizard.views.ViewMessageBodyWriter;
+import io.dropwizard.views.ViewRenderer;
+import io.dropwizard.views.freemarker.FreemarkerViewRenderer;
+import io.dropwizard.views.mustache.MustacheViewRenderer;
+import org.glassfish.jersey.server.ContainerRequest;
+import org.glassfish.jersey.server.ContainerResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static io.dropwizard.benchmarks.jersey.InMemoryApplicationHandler.expectStatus;
+
+/**
+ * Renders small Mustache and Freemarker views end to end through the {@link ViewMessageBodyWriter}, with an
+ * {@link InMemoryApplicationHandler}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class ViewRenderingBenchmark {
+
+    static {
+        BootstrapLogging.bootstrap();
+    }
+
+    private InMemoryApplicationHandler handler;
+
+    @Setup
+    public void setUp() throws Exception {
+        final MustacheViewRenderer mustache = new MustacheViewRenderer();
+        final FreemarkerViewRenderer freemarker = new FreemarkerViewRenderer(Configuration.VERSION_2_3_30);
+        final List<ViewRenderer> renderers = Arrays.asList(mustache, freemarker);
+        for (ViewRenderer renderer : renderers) {
+            renderer.configure(Collections.emptyMap());
+        }
+
+        final DropwizardResourceConfig config = new DropwizardResourceConfig(new MetricRegistry());
+        config.register(new ViewMessageBodyWriter(new MetricRegistry(), renderers));
+        config.register(ViewResource.class);
+        handler = new InMemoryApplicationHandler(config);
+
+        // Make sure every benchmark renders its template, rather than silently measuring an error page
+        expectStatus(200, mustache());
+        expectStatus(200, freemarker());
+    }
+
+    @Benchmark
+    public ContainerResponse mustache() throws Exception {
+        return invoke("mustache");
+    }
+
+    @Benchmark
+    public ContainerResponse freemarker() throws Exception {
+        return invoke("freemarker");
+    }
+
+    private ContainerResponse invoke(String path) throws Exception {
+        final ContainerRequest request = handler.newRequest("GET", path);
+        request.header(HttpHeaders.ACCEPT, MediaType.TEXT_HTML);
+        request.header(HttpHeaders.ACCEPT_LANGUAGE, "en-US");
+        return handler.apply(request);
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(ViewRenderingBenchmark.class.getSimpleName())
+                .forks(1)
+                .warmupIterations(5)
+                .measurementIterations(5)
+                .build())
+                .run();
+    }
+
+    // Jersey resources (test data)
+
+    @Path("/")
+    @Produces(MediaType.TEXT_HTML)
+    public static class ViewResource {
+        @GET
+        @Path("mustache")
+        public ItemView mustache() {
+            return new ItemView("item.mustache");
+        }
+
+        @GET
+        @Path("freemarker")
+        public ItemView freemarker() {
+            return new ItemView("item.ftlh");
+        }
+    }
+
+    public static class ItemView extends View {
+        private static final List<String> TAGS = Arrays.asList("fresh", "local", "organic", "seasonal");
+
+        public ItemView(String templateName) {
+            super(templateName);
+        }
+
+        public String getName() {
+            return "cheese";
+        }
+
+        public List<String> getTags() {
+            return TAGS;
+        }
+    }
+}
@@ -4,6 +4,7 @@ import io.dropwizard.util.DirectExecutorService;
 import io.dropwizard.util.Strings;
 import org.apache.http.Header;
 import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
 import org.apache.http.StatusLine;
 import org.apache.http.client.config.RequestConfig;
 import org.apache.http.client.methods.CloseableHttpResponse;
@@ -85,27 +86,39 @@ public class DropwizardApacheConnector implements Connector {
         try {
             final HttpUriRequest apacheRequest = buildApacheRequest(jerseyRequest);
             final CloseableHttpResponse apacheResponse = client.execute(apacheRequest);
-
-            final StatusLine statusLine = apacheResponse.getStatusLine();
-            final String reasonPhrase = Strings.nullToEmpty(statusLine.getReasonPhrase());
-            final Response.StatusType status = Statuses.from(statusLine.getStatusCode(), reasonPhrase);
-
-            final ClientResponse jerseyResponse = new ClientResponse(status, jerseyRequest);
-            for (Header header : apacheResponse.getAllHeaders()) {
-                jerseyResponse.getHeaders().computeIfAbsent(header.getName(), k -> new ArrayList<>())
-                    .add(header.getValue());
-            }
-
-            final HttpEntity httpEntity = apacheResponse.getEntity();
-            jerseyResponse.setEntityStream(httpEntity != null ? httpEntity.getContent() :
-                    new ByteArrayInputStream(new byte[0]));
-
-            return jerseyResponse;
+            return buildJerseyResponse(jerseyRequest, apacheResponse);
         } catch (Exception e) {
             throw new ProcessingException(e);
         }
     }
 
+    /**
+     * Build a new Jersey's {@link org.glassfish.jersey.client.ClientResponse}
+     * from Apache's {@link org.apache.http.HttpResponse}
+     *
+     * @param jerseyRequest  the Jersey request the response belongs to
+     * @param apacheResponse representation of an HTTP response in Apache HttpClient
+     * @return a new {@link org.glassfish.jersey.client.ClientResponse}
+     */
+    static ClientResponse buildJerseyResponse(ClientRequest jerseyRequest, HttpResponse apacheResponse)
+            throws IOException {
+        final StatusLine statusLine = apacheResponse.getStatusLine();
+        final String reasonPhrase = Strings.nullToEmpty(statusLine.getReasonPhrase());
+        final Response.StatusType status = Statuses.from(statusLine.getStatusCode(), reasonPhrase);
+
+        final ClientResponse jerseyResponse = new ClientResponse(status, jerseyRequest);
+        for (Header header : apacheResponse.getAllHeaders()) {
+            jerseyResponse.getHeaders().computeIfAbsent(header.getName(), k -> new ArrayList<>())
+                .add(header.getValue());
+        }
+
+        final HttpEntity httpEntity = apacheResponse.getEntity();
+        jerseyResponse.setEntityStream(httpEntity != null ? httpEntity.getContent() :
+                new ByteArrayInputStream(new byte[0]));
+
+        return jerseyResponse;
+    }
+
     /**
      * Build a new Apache's {@link org.apache.http.client.methods.HttpUriRequest}
      * from Jersey's {@link org.glassfish.jersey.client.ClientRequest}
@@ -125,13 +138,14 @@ public class DropwizardApacheConnector implements Connector {
             builder.addHeader(headerName, jerseyRequest.getHeaderString(headerName));
         }
 
-        final Optional<RequestConfig> requestConfig = addJerseyRequestConfig(jerseyRequest);
+        final Optional<RequestConfig> requestConfig = addJerseyRequestConfig(jerseyRequest, defaultRequestConfig);
         requestConfig.ifPresent(builder::setConfig);
 
         return builder.build();
     }
 
-    private Optional<RequestConfig> addJerseyRequestConfig(ClientRequest clientRequest) {
+    static Optional<RequestConfig> addJerseyRequestConfig(ClientRequest clientRequest,
+                                                         @Nullable RequestConfig defaultRequestConfig) {
         final Integer timeout = clientRequest.resolveProperty(ClientProperties.READ_TIMEOUT, Integer.class);
         final Integer connectTimeout = clientRequest.resolveProperty(ClientProperties.CONNECT_TIMEOUT, Integer.class);
         final Boolean followRedirects = clientRequest.resolveProperty(ClientProperties.FOLLOW_REDIRECTS, Boolean.class);
@@ -0,0 +1,189 @@
+package io.dropwizard.client;
+
+import org.apache.http.HttpResponse;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.client.methods.RequestBuilder;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.nio.entity.NByteArrayEntity;
+import org.apache.http.util.VersionInfo;
+import org.glassfish.jersey.apache.connector.LocalizationMessages;
+import org.glassfish.jersey.client.ClientRequest;
+import org.glassfish.jersey.client.ClientResponse;
+import org.glassfish.jersey.client.spi.AsyncConnectorCallback;
+import org.glassfish.jersey.client.spi.Connector;
+
+import javax.annotation.Nullable;
+import javax.ws.rs.ProcessingException;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * Dropwizard non-blocking Apache Connector.
+ * <p>
+ * A variant of {@link DropwizardApacheConnector} that uses Apache's
+ * {@link org.apache.http.nio.client.HttpAsyncClient} as an HTTP transport implementation.
+ * Asynchronous invocations complete their callbacks from the client's I/O dispatcher threads,
+ * so no thread is held for a request while it is in flight.
+ * </p>
+ * <p>
+ * Request entities are buffered before they are sent and response entities are buffered before
+ * the callback is completed. Callbacks run on I/O dispatcher threads and must not block.
+ * </p>
+ *
+ * @since 2.1
+ */
+public class DropwizardAsyncApacheConnector implements Connector {
+
+    private static final String APACHE_HTTP_ASYNC_CLIENT_VERSION = VersionInfo
+            .loadVersionInfo("org.apache.http.nio.client", DropwizardAsyncApacheConnector.class.getClassLoader())
+            .getRelease();
+
+    private static final int BUFFER_INITIAL_SIZE = 512;
+
+    /**
+     * Actual HTTP client
+     */
+    private final CloseableHttpAsyncClient client;
+    /**
+     * Default HttpUriRequestConfig
+     */
+    @Nullable
+    private final RequestConfig defaultRequestConfig;
+
+    public DropwizardAsyncApacheConnector(CloseableHttpAsyncClient client, @Nullable RequestConfig defaultRequestConfig) {
+        this.client = client;
+        this.defaultRequestConfig = defaultRequestConfig;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ClientResponse apply(ClientRequest jerseyRequest) {
+        try {
+            final HttpResponse apacheResponse = client.execute(buildApacheRequest(jerseyRequest), null).get();
+            return DropwizardApacheConnector.buildJerseyResponse(jerseyRequest, apacheResponse);
+        } catch (ExecutionException e) {
+            throw new ProcessingException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ProcessingException(e);
+        } catch (ProcessingException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ProcessingException(e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Future<?> apply(final ClientRequest jerseyRequest, final AsyncConnectorCallback callback) {
+        final HttpUriRequest apacheRequest;
+        try {
+            apacheRequest = buildApacheRequest(jerseyRequest);
+        } catch (Exception e) {
+            callback.failure(e);
+            final CompletableFuture<?> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+            return failed;
+        }
+
+        return client.execute(apacheRequest, new FutureCallback<HttpResponse>() {
+            @Override
+            public void completed(HttpResponse apacheResponse) {
+                final ClientResponse jerseyResponse;
+                try {
+                    jerseyResponse = DropwizardApacheConnector.buildJerseyResponse(jerseyRequest, apacheResponse);
+                } catch (Exception e) {
+                    callback.failure(e);
+                    return;
+                }
+                callback.response(jerseyResponse);
+            }
+
+            @Override
+            public void failed(Exception e) {
+                callback.failure(e);
+            }
+
+            @Override
+            public void cancelled() {
+                callback.failure(new CancellationException("The request was cancelled"));
+            }
+        });
+    }
+
+    /**
+     * Build a new Apache's {@link org.apache.http.client.methods.HttpUriRequest}
+     * from Jersey's {@link org.glassfish.jersey.client.ClientRequest}
+     * <p>
+     * The entity is written first, because writing it may add headers
+     * (e.g. {@code Content-Type} or {@code Content-Encoding}) to the Jersey request.
+     * </p>
+     *
+     * @param jerseyRequest representation of an HTTP request in Jersey
+     * @return a new {@link org.apache.http.client.methods.HttpUriRequest}
+     */
+    private HttpUriRequest buildApacheRequest(ClientRequest jerseyRequest) {
+        final RequestBuilder builder = RequestBuilder
+                .create(jerseyRequest.getMethod())
+                .setUri(jerseyRequest.getUri())
+                .setEntity(getHttpEntity(jerseyRequest));
+        for (String headerName : jerseyRequest.getHeaders().keySet()) {
+            builder.addHeader(headerName, jerseyRequest.getHeaderString(headerName));
+        }
+
+        DropwizardApacheConnector.addJerseyRequestConfig(jerseyRequest, defaultRequestConfig)
+            .ifPresent(builder::setConfig);
+
+        return builder.build();
+    }
+
+    /**
+     * Get a non-blocking Apache's {@link org.apache.http.HttpEntity}
+     * from Jersey's {@link org.glassfish.jersey.client.ClientRequest}
+     * by buffering the serialized entity.
+     *
+     * @param jerseyRequest representation of an HTTP request in Jersey
+     * @return a {@link NByteArrayEntity} with the serialized entity
+     */
+    @Nullable
+    protected NByteArrayEntity getHttpEntity(ClientRequest jerseyRequest) {
+        if (jerseyRequest.getEntity() == null) {
+            return null;
+        }
+
+        final ByteArrayOutputStream stream = new ByteArrayOutputStream(BUFFER_INITIAL_SIZE);
+        jerseyRequest.setStreamProvider(contentLength -> stream);
+        try {
+            jerseyRequest.writeEntity();
+        } catch (IOException e) {
+            throw new ProcessingException(LocalizationMessages.ERROR_BUFFERING_ENTITY(), e);
+        }
+        return new NByteArrayEntity(stream.toByteArray());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getName() {
+        return "Apache-HttpAsyncClient/" + APACHE_HTTP_ASYNC_CLIENT_VERSION;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() {
+        // Should not close the client here, because it's managed by the Dropwizard environment
+    }
+}
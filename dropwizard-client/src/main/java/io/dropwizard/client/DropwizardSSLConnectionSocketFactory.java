@@ -5,6 +5,7 @@ import org.apache.http.conn.ssl.NoopHostnameVerifier;
 import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
 import org.apache.http.conn.ssl.SSLInitializationException;
 import org.apache.http.conn.ssl.TrustSelfSignedStrategy;
+import org.apache.http.nio.conn.ssl.SSLIOSessionStrategy;
 import org.apache.http.ssl.PrivateKeyStrategy;
 import org.apache.http.ssl.SSLContextBuilder;
 import org.apache.http.ssl.TrustStrategy;
@@ -45,6 +46,16 @@ public class DropwizardSSLConnectionSocketFactory {
                 chooseHostnameVerifier());
     }
 
+    /**
+     * Builds the equivalent of {@link #getSocketFactory()} for the non-blocking HTTP client.
+     *
+     * @since 2.1
+     */
+    public SSLIOSessionStrategy getIOSessionStrategy() throws SSLInitializationException {
+        return new SSLIOSessionStrategy(buildSslContext(), getSupportedProtocols(), getSupportedCiphers(),
+                chooseHostnameVerifier());
+    }
+
     @Nullable
     private String[] getSupportedCiphers() {
         final List<String> supportedCiphers = configuration.getSupportedCiphers();
@@ -1,13 +1,25 @@
 package io.dropwizard.client;
 
+import com.codahale.metrics.Clock;
+import com.codahale.metrics.Meter;
 import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.httpclient.HttpClientMetricNameStrategies;
 import com.codahale.metrics.httpclient.HttpClientMetricNameStrategy;
 import com.codahale.metrics.httpclient.InstrumentedHttpClientConnectionManager;
 import com.codahale.metrics.httpclient.InstrumentedHttpRequestExecutor;
+import io.dropwizard.client.cache.BoundedHttpCacheStorage;
+import io.dropwizard.client.cache.HttpCacheConfiguration;
+import io.dropwizard.client.dns.CachingDnsResolver;
+import io.dropwizard.client.dns.DnsCacheConfiguration;
 import io.dropwizard.client.proxy.AuthConfiguration;
 import io.dropwizard.client.proxy.NonProxyListProxyRoutePlanner;
 import io.dropwizard.client.proxy.ProxyConfiguration;
+import io.dropwizard.client.retry.BudgetedHttpRequestRetryHandler;
+import io.dropwizard.client.retry.BudgetedServiceUnavailableRetryStrategy;
+import io.dropwizard.client.retry.HedgingConfiguration;
+import io.dropwizard.client.retry.HedgingHttpClient;
+import io.dropwizard.client.retry.RetryBudget;
+import io.dropwizard.client.retry.RetryBudgetConfiguration;
 import io.dropwizard.client.ssl.TlsConfiguration;
 import io.dropwizard.lifecycle.Managed;
 import io.dropwizard.setup.Environment;
@@ -15,7 +27,9 @@ import io.dropwizard.util.Duration;
 import org.apache.http.ConnectionReuseStrategy;
 import org.apache.http.Header;
 import org.apache.http.HttpHost;
+import org.apache.http.HttpRequestInterceptor;
 import org.apache.http.HttpResponse;
+import org.apache.http.HttpResponseInterceptor;
 import org.apache.http.auth.AuthScope;
 import org.apache.http.auth.Credentials;
 import org.apache.http.auth.NTCredentials;
@@ -25,6 +39,8 @@ import org.apache.http.client.HttpClient;
 import org.apache.http.client.HttpRequestRetryHandler;
 import org.apache.http.client.RedirectStrategy;
 import org.apache.http.client.ServiceUnavailableRetryStrategy;
+import org.apache.http.client.cache.CacheResponseStatus;
+import org.apache.http.client.cache.HttpCacheContext;
 import org.apache.http.client.config.CookieSpecs;
 import org.apache.http.client.config.RequestConfig;
 import org.apache.http.config.Registry;
@@ -41,7 +57,19 @@ import org.apache.http.impl.client.BasicCredentialsProvider;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
 import org.apache.http.impl.client.DefaultHttpRequestRetryHandler;
+import org.apache.http.impl.client.cache.CacheConfig;
+import org.apache.http.impl.client.cache.CachingHttpClientBuilder;
+import org.apache.http.impl.client.cache.HeapResourceFactory;
 import org.apache.http.impl.conn.SystemDefaultDnsResolver;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClientBuilder;
+import org.apache.http.impl.nio.reactor.DefaultConnectingIOReactor;
+import org.apache.http.impl.nio.reactor.IOReactorConfig;
+import org.apache.http.nio.conn.NoopIOSessionStrategy;
+import org.apache.http.nio.conn.SchemeIOSessionStrategy;
+import org.apache.http.nio.conn.ssl.SSLIOSessionStrategy;
+import org.apache.http.nio.reactor.ConnectingIOReactor;
+import org.apache.http.nio.reactor.IOReactorException;
 import org.apache.http.protocol.HttpContext;
 import org.apache.http.protocol.HttpProcessor;
 import org.apache.http.protocol.HttpRequestExecutor;
@@ -49,6 +77,14 @@ import org.apache.http.protocol.HttpRequestExecutor;
 import javax.annotation.Nullable;
 import javax.net.ssl.HostnameVerifier;
 import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * A convenience class for building {@link HttpClient} instances.
@@ -65,6 +101,12 @@ public class HttpClientBuilder {
     @SuppressWarnings("UnnecessaryLambda")
     private static final HttpRequestRetryHandler NO_RETRIES = (exception, executionCount, context) -> false;
 
+    /**
+     * Refreshes the cached DNS entries of all clients. Its few threads are daemons which time out when idle, so it
+     * never has to be shut down, and closed clients don't leave threads behind.
+     */
+    private static final ThreadPoolExecutor DNS_REFRESH_EXECUTOR = createDnsRefreshExecutor();
+
     private final MetricRegistry metricRegistry;
 
     @Nullable
@@ -293,6 +335,49 @@ public class HttpClientBuilder {
         return client;
     }
 
+    /**
+     * Builds and starts a non-blocking {@link CloseableHttpAsyncClient}.
+     * <p>
+     * The client multiplexes all in-flight requests over a small number of I/O dispatcher threads,
+     * so callbacks must not block. Request retries are not supported by the asynchronous client.
+     * </p>
+     *
+     * @param name
+     * @return a started {@link CloseableHttpAsyncClient}
+     * @since 2.1
+     */
+    public CloseableHttpAsyncClient buildAsync(String name) {
+        final CloseableHttpAsyncClient client = buildAsyncWithDefaultRequestConfiguration(name).getClient();
+        // If the environment is present, we tie the client with the server lifecycle
+        if (environment != null) {
+            environment.lifecycle().manage(new Managed() {
+                @Override
+                public void start() throws Exception {
+                }
+
+                @Override
+                public void stop() throws Exception {
+                    client.close();
+                }
+            });
+        }
+        return client;
+    }
+
+    /**
+     * For internal use only, used in {@link io.dropwizard.client.JerseyClientBuilder}
+     * to create an instance of {@link io.dropwizard.client.DropwizardAsyncApacheConnector}
+     *
+     * @param name
+     * @return a started {@link io.dropwizard.client.ConfiguredCloseableHttpAsyncClient}
+     */
+    ConfiguredCloseableHttpAsyncClient buildAsyncWithDefaultRequestConfiguration(String name) {
+        final ConfiguredCloseableHttpAsyncClient client = createAsyncClient(createAsyncBuilder(),
+                createAsyncConnectionManager(createConfiguredAsyncRegistry(), name), name);
+        client.getClient().start();
+        return client;
+    }
+
     /**
      * For internal use only, used in {@link io.dropwizard.client.JerseyClientBuilder}
      * to create an instance of {@link io.dropwizard.client.DropwizardApacheConnector}
@@ -301,7 +386,7 @@ public class HttpClientBuilder {
      * @return an {@link io.dropwizard.client.ConfiguredCloseableHttpClient}
      */
     ConfiguredCloseableHttpClient buildWithDefaultRequestConfiguration(String name) {
-        return createClient(createBuilder(),
+        return createClient(configuration.getCache() == null ? createBuilder() : createCachingBuilder(),
                 createConnectionManager(createConfiguredRegistry(), name), name);
     }
 
@@ -332,6 +417,20 @@ public class HttpClientBuilder {
         return org.apache.http.impl.client.HttpClientBuilder.create();
     }
 
+    /**
+     * Creates an Apache {@link CachingHttpClientBuilder}, which is used instead of {@link #createBuilder()}
+     * if a response cache is configured.
+     *
+     * Intended for use by subclasses to create builder instance from subclass of
+     * {@link CachingHttpClientBuilder}
+     *
+     * @return a {@link CachingHttpClientBuilder}
+     * @since 2.1
+     */
+    protected CachingHttpClientBuilder createCachingBuilder() {
+        return CachingHttpClientBuilder.create();
+    }
+
     /**
      * Configures an Apache {@link org.apache.http.impl.client.HttpClientBuilder}.
      *
@@ -345,6 +444,32 @@ public class HttpClientBuilder {
         return builder;
     }
 
+    /**
+     * Creates an Apache {@link HttpAsyncClientBuilder}.
+     *
+     * Intended for use by subclasses to create builder instance from subclass of
+     * {@link HttpAsyncClientBuilder}
+     *
+     * @return an {@link HttpAsyncClientBuilder}
+     * @since 2.1
+     */
+    protected HttpAsyncClientBuilder createAsyncBuilder() {
+        return HttpAsyncClientBuilder.create();
+    }
+
+    /**
+     * Configures an Apache {@link HttpAsyncClientBuilder}.
+     *
+     * Intended for use by subclasses to inject HttpAsyncClientBuilder
+     * configuration. The default implementation is an identity
+     * function.
+     *
+     * @since 2.1
+     */
+    protected HttpAsyncClientBuilder customizeAsyncBuilder(HttpAsyncClientBuilder builder) {
+        return builder;
+    }
+
     /**
      * Map the parameters in {@link HttpClientConfiguration} to configuration on a
      * {@link org.apache.http.impl.client.HttpClientBuilder} instance
@@ -358,11 +483,7 @@ public class HttpClientBuilder {
             final org.apache.http.impl.client.HttpClientBuilder builder,
             final InstrumentedHttpClientConnectionManager manager,
             final String name) {
-        final String cookiePolicy = configuration.isCookiesEnabled() ? CookieSpecs.DEFAULT : CookieSpecs.IGNORE_COOKIES;
         final Integer timeout = (int) configuration.getTimeout().toMilliseconds();
-        final Integer connectionTimeout = (int) configuration.getConnectionTimeout().toMilliseconds();
-        final Integer connectionRequestTimeout = (int) configuration.getConnectionRequestTimeout().toMilliseconds();
-        final boolean normalizeUri = configuration.isNormalizeUriEnabled();
         final long keepAlive = configuration.getKeepAlive().toMilliseconds();
         final ConnectionReuseStrategy reuseStrategy = keepAlive == 0
                 ? new NoConnectionReuseStrategy()
@@ -371,14 +492,9 @@ public class HttpClientBuilder {
                 ? NO_RETRIES
                 : (httpRequestRetryHandler == null ? new DefaultHttpRequestRetryHandler(configuration.getRetries(),
                 false) : httpRequestRetryHandler);
+        final RetryBudget retryBudget = createRetryBudget();
 
-        final RequestConfig requestConfig
-                = RequestConfig.custom().setCookieSpec(cookiePolicy)
-                .setSocketTimeout(timeout)
-                .setConnectTimeout(connectionTimeout)
-                .setConnectionRequestTimeout(connectionRequestTimeout)
-                .setNormalizeUri(normalizeUri)
-                .build();
+        final RequestConfig requestConfig = createRequestConfig();
         final SocketConfig socketConfig = SocketConfig.custom()
                 .setTcpNoDelay(true)
                 .setSoTimeout(timeout)
@@ -389,40 +505,27 @@ public class HttpClientBuilder {
             .setDefaultRequestConfig(requestConfig)
             .setDefaultSocketConfig(socketConfig)
             .setConnectionReuseStrategy(reuseStrategy)
-            .setRetryHandler(retryHandler)
+            .setRetryHandler(retryBudget == null ? retryHandler : new BudgetedHttpRequestRetryHandler(retryHandler,
+                retryBudget, metricRegistry.meter(MetricRegistry.name(HttpClient.class, name, "retries")),
+                metricRegistry.meter(MetricRegistry.name(HttpClient.class, name, "retry-budget-exhausted"))))
             .setUserAgent(createUserAgent(name));
 
-        if (keepAlive != 0) {
-            // either keep alive based on response header Keep-Alive,
-            // or if the server can keep a persistent connection (-1), then override based on client's configuration
-            builder.setKeepAliveStrategy(new DefaultConnectionKeepAliveStrategy() {
-                @Override
-                public long getKeepAliveDuration(HttpResponse response, HttpContext context) {
-                    final long duration = super.getKeepAliveDuration(response, context);
-                    return (duration == -1) ? keepAlive : duration;
+        if (retryBudget != null) {
+            // Every response which doesn't indicate a server failure pays into the retry budget
+            builder.addInterceptorLast((HttpResponseInterceptor) (response, context) -> {
+                if (response.getStatusLine().getStatusCode() < 500) {
+                    retryBudget.deposit();
                 }
             });
         }
 
-        // create a tunnel through a proxy host if it's specified in the config
-        final ProxyConfiguration proxy = configuration.getProxyConfiguration();
-        if (proxy != null) {
-            final HttpHost httpHost = new HttpHost(proxy.getHost(), proxy.getPort(), proxy.getScheme());
-            builder.setRoutePlanner(new NonProxyListProxyRoutePlanner(httpHost, proxy.getNonProxyHosts()));
-            // if the proxy host requires authentication then add the host credentials to the credentials provider
-            final AuthConfiguration auth = proxy.getAuth();
-            if (auth != null) {
-                if (credentialsProvider == null) {
-                    credentialsProvider = new BasicCredentialsProvider();
-                }
-                // set the AuthScope
-                AuthScope authScope = new AuthScope(httpHost, auth.getRealm(), auth.getAuthScheme());
-
-                // set the credentials type
-                Credentials credentials = configureCredentials(auth);
+        if (keepAlive != 0) {
+            builder.setKeepAliveStrategy(createKeepAliveStrategy(keepAlive));
+        }
 
-                credentialsProvider.setCredentials(authScope, credentials);
-            }
+        final HttpRoutePlanner proxyRoutePlanner = createProxyRoutePlanner();
+        if (proxyRoutePlanner != null) {
+            builder.setRoutePlanner(proxyRoutePlanner);
         }
 
         if (credentialsProvider != null) {
@@ -453,13 +556,203 @@ public class HttpClientBuilder {
             builder.setHttpProcessor(httpProcessor);
         }
 
+        final HttpCacheConfiguration cache = configuration.getCache();
+        if (cache != null && builder instanceof CachingHttpClientBuilder) {
+            configureCache((CachingHttpClientBuilder) builder, cache, name);
+        }
+
         if (serviceUnavailableRetryStrategy != null) {
-            builder.setServiceUnavailableRetryStrategy(serviceUnavailableRetryStrategy);
+            builder.setServiceUnavailableRetryStrategy(retryBudget == null ? serviceUnavailableRetryStrategy
+                : new BudgetedServiceUnavailableRetryStrategy(serviceUnavailableRetryStrategy, retryBudget,
+                    metricRegistry.meter(MetricRegistry.name(HttpClient.class, name, "retries")),
+                    metricRegistry.meter(MetricRegistry.name(HttpClient.class, name, "retry-budget-exhausted"))));
         }
 
         customizeBuilder(builder);
 
-        return new ConfiguredCloseableHttpClient(builder.build(), requestConfig);
+        return new ConfiguredCloseableHttpClient(createHedgingClient(builder.build(), retryBudget, name),
+            requestConfig);
+    }
+
+    private void configureCache(CachingHttpClientBuilder builder, HttpCacheConfiguration cache, String name) {
+        builder.setCacheConfig(CacheConfig.custom()
+                .setMaxCacheEntries(cache.getMaxEntries())
+                .setMaxObjectSize(cache.getMaxObjectSize().toBytes())
+                .setSharedCache(cache.isSharedCache())
+                .setHeuristicCachingEnabled(cache.isHeuristicCachingEnabled())
+                .build())
+            .setHttpCacheStorage(new BoundedHttpCacheStorage(cache.getMaxEntries(), cache.getMaxSize().toBytes()))
+            .setResourceFactory(new HeapResourceFactory());
+
+        // The caching layer sits below the protocol interceptors, so the cache status is known once they run
+        final Meter hits = metricRegistry.meter(MetricRegistry.name(HttpClient.class, name, "cache-hits"));
+        final Meter misses = metricRegistry.meter(MetricRegistry.name(HttpClient.class, name, "cache-misses"));
+        final Meter revalidations = metricRegistry.meter(
+            MetricRegistry.name(HttpClient.class, name, "cache-revalidations"));
+        builder.addInterceptorLast((HttpResponseInterceptor) (response, context) -> {
+            final CacheResponseStatus status = HttpCacheContext.adapt(context).getCacheResponseStatus();
+            if (status == CacheResponseStatus.CACHE_HIT) {
+                hits.mark();
+            } else if (status == CacheResponseStatus.VALIDATED) {
+                revalidations.mark();
+            } else if (status == CacheResponseStatus.CACHE_MISS) {
+                misses.mark();
+            }
+        });
+    }
+
+    @Nullable
+    private RetryBudget createRetryBudget() {
+        final RetryBudgetConfiguration retryBudget = configuration.getRetryBudget();
+        if (retryBudget == null) {
+            return null;
+        }
+        return new RetryBudget(retryBudget.getTtl(), retryBudget.getMinRetriesPerSecond(),
+            retryBudget.getPercentCanRetry(), Clock.defaultClock());
+    }
+
+    /**
+     * Wrap the client with a {@link HedgingHttpClient} if hedged requests are configured
+     *
+     * @param client the client to wrap
+     * @param retryBudget the retry budget which hedged requests withdraw from, if any
+     * @param name the name of this client
+     * @return the hedging client, or the given client if hedged requests are not configured
+     */
+    private CloseableHttpClient createHedgingClient(CloseableHttpClient client, @Nullable RetryBudget retryBudget,
+                                                    String name) {
+        final HedgingConfiguration hedging = configuration.getHedging();
+        if (hedging == null) {
+            return client;
+        }
+        final ScheduledThreadPoolExecutor scheduler =
+            new ScheduledThreadPoolExecutor(1, createDaemonThreadFactory(name + "-hedging-timer-"));
+        scheduler.setRemoveOnCancelPolicy(true);
+        // Bounded, and without a queue, so that hedges are rejected rather than delayed when it's saturated
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(0, hedging.getMaxConcurrentHedges(),
+            60, TimeUnit.SECONDS, new SynchronousQueue<>(), createDaemonThreadFactory(name + "-hedging-"),
+            new ThreadPoolExecutor.AbortPolicy());
+        return new HedgingHttpClient(client, hedging, retryBudget, scheduler, executor,
+            metricRegistry.meter(MetricRegistry.name(HttpClient.class, name, "hedges")),
+            metricRegistry.meter(MetricRegistry.name(HttpClient.class, name, "hedge-wins")),
+            metricRegistry.meter(MetricRegistry.name(HttpClient.class, name, "hedge-budget-exhausted")),
+            metricRegistry.meter(MetricRegistry.name(HttpClient.class, name, "hedges-rejected")),
+            Clock.defaultClock());
+    }
+
+    /**
+     * Map the parameters in {@link HttpClientConfiguration} to configuration on a
+     * {@link HttpAsyncClientBuilder} instance
+     *
+     * @param builder
+     * @param manager
+     * @param name
+     * @return the configured {@link CloseableHttpAsyncClient}
+     * @since 2.1
+     */
+    protected ConfiguredCloseableHttpAsyncClient createAsyncClient(
+            final HttpAsyncClientBuilder builder,
+            final InstrumentedNHttpClientConnectionManager manager,
+            final String name) {
+        final long keepAlive = configuration.getKeepAlive().toMilliseconds();
+        final ConnectionReuseStrategy reuseStrategy = keepAlive == 0
+                ? new NoConnectionReuseStrategy()
+                : new DefaultConnectionReuseStrategy();
+        final RequestConfig requestConfig = createRequestConfig();
+        final InstrumentedAsyncRequestTimer requestTimer =
+                new InstrumentedAsyncRequestTimer(metricRegistry, metricNameStrategy, name);
+
+        builder.setConnectionManager(manager)
+            .setDefaultRequestConfig(requestConfig)
+            .setConnectionReuseStrategy(reuseStrategy)
+            .setUserAgent(createUserAgent(name))
+            .addInterceptorFirst((HttpRequestInterceptor) requestTimer)
+            .addInterceptorLast((HttpResponseInterceptor) requestTimer);
+
+        if (keepAlive != 0) {
+            builder.setKeepAliveStrategy(createKeepAliveStrategy(keepAlive));
+        }
+
+        final HttpRoutePlanner proxyRoutePlanner = createProxyRoutePlanner();
+        if (proxyRoutePlanner != null) {
+            builder.setRoutePlanner(proxyRoutePlanner);
+        }
+
+        if (credentialsProvider != null) {
+            builder.setDefaultCredentialsProvider(credentialsProvider);
+        }
+
+        if (routePlanner != null) {
+            builder.setRoutePlanner(routePlanner);
+        }
+
+        if (redirectStrategy != null) {
+            builder.setRedirectStrategy(redirectStrategy);
+        }
+
+        if (defaultHeaders != null) {
+            builder.setDefaultHeaders(defaultHeaders);
+        }
+
+        if (httpProcessor != null) {
+            builder.setHttpProcessor(httpProcessor);
+        }
+
+        customizeAsyncBuilder(builder);
+
+        return new ConfiguredCloseableHttpAsyncClient(builder.build(), requestConfig);
+    }
+
+    private RequestConfig createRequestConfig() {
+        final String cookiePolicy = configuration.isCookiesEnabled() ? CookieSpecs.DEFAULT : CookieSpecs.IGNORE_COOKIES;
+        return RequestConfig.custom().setCookieSpec(cookiePolicy)
+                .setSocketTimeout((int) configuration.getTimeout().toMilliseconds())
+                .setConnectTimeout((int) configuration.getConnectionTimeout().toMilliseconds())
+                .setConnectionRequestTimeout((int) configuration.getConnectionRequestTimeout().toMilliseconds())
+                .setNormalizeUri(configuration.isNormalizeUriEnabled())
+                .build();
+    }
+
+    private DefaultConnectionKeepAliveStrategy createKeepAliveStrategy(long keepAlive) {
+        // either keep alive based on response header Keep-Alive,
+        // or if the server can keep a persistent connection (-1), then override based on client's configuration
+        return new DefaultConnectionKeepAliveStrategy() {
+            @Override
+            public long getKeepAliveDuration(HttpResponse response, HttpContext context) {
+                final long duration = super.getKeepAliveDuration(response, context);
+                return (duration == -1) ? keepAlive : duration;
+            }
+        };
+    }
+
+    /**
+     * Create a tunnel through a proxy host if it's specified in the config
+     *
+     * @return the proxy route planner, or {@code null} if no proxy is configured
+     */
+    @Nullable
+    private HttpRoutePlanner createProxyRoutePlanner() {
+        final ProxyConfiguration proxy = configuration.getProxyConfiguration();
+        if (proxy == null) {
+            return null;
+        }
+
+        final HttpHost httpHost = new HttpHost(proxy.getHost(), proxy.getPort(), proxy.getScheme());
+        // if the proxy host requires authentication then add the host credentials to the credentials provider
+        final AuthConfiguration auth = proxy.getAuth();
+        if (auth != null) {
+            if (credentialsProvider == null) {
+                credentialsProvider = new BasicCredentialsProvider();
+            }
+            // set the AuthScope
+            AuthScope authScope = new AuthScope(httpHost, auth.getRealm(), auth.getAuthScheme());
+
+            // set the credentials type
+            Credentials credentials = configureCredentials(auth);
+
+            credentialsProvider.setCredentials(authScope, credentials);
+        }
+        return new NonProxyListProxyRoutePlanner(httpHost, proxy.getNonProxyHosts());
     }
 
     /**
@@ -478,7 +771,9 @@ public class HttpClientBuilder {
     /**
      * Create a InstrumentedHttpClientConnectionManager based on the
      * HttpClientConfiguration. It sets the maximum connections per route and
-     * the maximum total connections that the connection manager can create
+     * the maximum total connections that the connection manager can create.
+     * The manager also reports lease wait times and connection churn, see
+     * {@link RouteInstrumentedHttpClientConnectionManager}
      *
      * @param registry
      * @param name
@@ -487,26 +782,121 @@ public class HttpClientBuilder {
     protected InstrumentedHttpClientConnectionManager createConnectionManager(Registry<ConnectionSocketFactory> registry,
                                                                               String name) {
         final Duration ttl = configuration.getTimeToLive();
-        final InstrumentedHttpClientConnectionManager manager = new InstrumentedHttpClientConnectionManager(
+        final InstrumentedHttpClientConnectionManager manager = new RouteInstrumentedHttpClientConnectionManager(
                 metricRegistry,
                 registry,
-                null, null,
-                resolver,
+                createDnsResolver(name),
                 ttl.getQuantity(),
                 ttl.getUnit(),
                 name);
         return configureConnectionManager(manager);
     }
 
+    /**
+     * Create a InstrumentedNHttpClientConnectionManager based on the
+     * HttpClientConfiguration. It sets the maximum connections per route and
+     * the maximum total connections that the connection manager can create
+     *
+     * @param registry
+     * @param name
+     * @return a InstrumentedNHttpClientConnectionManager instance
+     * @since 2.1
+     */
+    protected InstrumentedNHttpClientConnectionManager createAsyncConnectionManager(
+            Registry<SchemeIOSessionStrategy> registry, String name) {
+        final Duration ttl = configuration.getTimeToLive();
+        final InstrumentedNHttpClientConnectionManager manager = new InstrumentedNHttpClientConnectionManager(
+                metricRegistry,
+                createIOReactor(name),
+                registry,
+                createDnsResolver(name),
+                ttl.getQuantity(),
+                ttl.getUnit(),
+                name);
+        manager.setDefaultMaxPerRoute(configuration.getMaxConnectionsPerRoute());
+        manager.setMaxTotal(configuration.getMaxConnections());
+        return manager;
+    }
+
+    /**
+     * Wrap the configured {@link DnsResolver} with a {@link CachingDnsResolver} if a DNS cache is configured
+     *
+     * @param name the name of this client
+     * @return the resolver to be used by the connection manager
+     */
+    private DnsResolver createDnsResolver(String name) {
+        final DnsCacheConfiguration dnsCache = configuration.getDnsCache();
+        if (dnsCache == null) {
+            return resolver;
+        }
+        return new CachingDnsResolver(resolver, dnsCache, metricRegistry, name, DNS_REFRESH_EXECUTOR);
+    }
+
+    private static ThreadPoolExecutor createDnsRefreshExecutor() {
+        // Refreshes are rare and deduplicated per host name, so a couple of threads are enough
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(2, 2, 60, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(), createDaemonThreadFactory("dns-refresh-"));
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private ConnectingIOReactor createIOReactor(String name) {
+        final int timeout = (int) configuration.getTimeout().toMilliseconds();
+        final IOReactorConfig ioReactorConfig = IOReactorConfig.custom()
+                .setTcpNoDelay(true)
+                .setSoTimeout(timeout)
+                .setConnectTimeout((int) configuration.getConnectionTimeout().toMilliseconds())
+                .build();
+
+        try {
+            return new DefaultConnectingIOReactor(ioReactorConfig, createDaemonThreadFactory(name + "-io-dispatcher-"));
+        } catch (IOReactorException e) {
+            throw new IllegalStateException("Unable to create the I/O reactor for " + name, e);
+        }
+    }
+
+    private static ThreadFactory createDaemonThreadFactory(String namePrefix) {
+        // Daemon threads, so that a client which is never closed doesn't keep the JVM alive
+        final AtomicInteger threadNumber = new AtomicInteger();
+        return r -> {
+            final Thread thread = Executors.defaultThreadFactory().newThread(r);
+            thread.setName(namePrefix + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    Registry<SchemeIOSessionStrategy> createConfiguredAsyncRegistry() {
+        final TlsConfiguration tlsConfiguration = getEffectiveTlsConfiguration();
+        final SchemeIOSessionStrategy sslIOSessionStrategy;
+        if (tlsConfiguration == null) {
+            sslIOSessionStrategy = SSLIOSessionStrategy.getDefaultStrategy();
+        } else {
+            sslIOSessionStrategy = new DropwizardSSLConnectionSocketFactory(tlsConfiguration,
+                verifier).getIOSessionStrategy();
+        }
+
+        return RegistryBuilder.<SchemeIOSessionStrategy>create()
+                .register("http", NoopIOSessionStrategy.INSTANCE)
+                .register("https", sslIOSessionStrategy)
+                .build();
+    }
+
+    @Nullable
+    private TlsConfiguration getEffectiveTlsConfiguration() {
+        final TlsConfiguration tlsConfiguration = configuration.getTlsConfiguration();
+        if (tlsConfiguration == null && verifier != null) {
+            return new TlsConfiguration();
+        }
+        return tlsConfiguration;
+    }
+
     Registry<ConnectionSocketFactory> createConfiguredRegistry() {
         if (registry != null) {
             return registry;
         }
 
-        TlsConfiguration tlsConfiguration = configuration.getTlsConfiguration();
-        if (tlsConfiguration == null && verifier != null) {
-            tlsConfiguration = new TlsConfiguration();
-        }
+        final TlsConfiguration tlsConfiguration = getEffectiveTlsConfiguration();
 
         final SSLConnectionSocketFactory sslConnectionSocketFactory;
         if (tlsConfiguration == null) {
@@ -1,7 +1,11 @@
 package io.dropwizard.client;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import io.dropwizard.client.cache.HttpCacheConfiguration;
+import io.dropwizard.client.dns.DnsCacheConfiguration;
 import io.dropwizard.client.proxy.ProxyConfiguration;
+import io.dropwizard.client.retry.HedgingConfiguration;
+import io.dropwizard.client.retry.RetryBudgetConfiguration;
 import io.dropwizard.client.ssl.TlsConfiguration;
 import io.dropwizard.util.Duration;
 
@@ -49,6 +53,22 @@ public class HttpClientConfiguration {
     @Max(1000)
     private int retries = 0;
 
+    @Valid
+    @Nullable
+    private RetryBudgetConfiguration retryBudget;
+
+    @Valid
+    @Nullable
+    private HedgingConfiguration hedging;
+
+    @Valid
+    @Nullable
+    private HttpCacheConfiguration cache;
+
+    @Valid
+    @Nullable
+    private DnsCacheConfiguration dnsCache;
+
     @NotNull
     private Optional<String> userAgent = Optional.empty();
 
@@ -168,6 +188,74 @@ public class HttpClientConfiguration {
         this.retries = retries;
     }
 
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    @Nullable
+    public RetryBudgetConfiguration getRetryBudget() {
+        return retryBudget;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public void setRetryBudget(@Nullable RetryBudgetConfiguration retryBudget) {
+        this.retryBudget = retryBudget;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    @Nullable
+    public HedgingConfiguration getHedging() {
+        return hedging;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public void setHedging(@Nullable HedgingConfiguration hedging) {
+        this.hedging = hedging;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    @Nullable
+    public HttpCacheConfiguration getCache() {
+        return cache;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public void setCache(@Nullable HttpCacheConfiguration cache) {
+        this.cache = cache;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    @Nullable
+    public DnsCacheConfiguration getDnsCache() {
+        return dnsCache;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public void setDnsCache(@Nullable DnsCacheConfiguration dnsCache) {
+        this.dnsCache = dnsCache;
+    }
+
     @JsonProperty
     public Optional<String> getUserAgent() {
         return userAgent;
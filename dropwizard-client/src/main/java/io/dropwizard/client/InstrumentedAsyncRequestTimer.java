@@ -0,0 +1,47 @@
+package io.dropwizard.client;
+
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.codahale.metrics.httpclient.HttpClientMetricNameStrategy;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpRequestInterceptor;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpResponseInterceptor;
+import org.apache.http.protocol.HttpContext;
+
+/**
+ * Times requests of a {@link org.apache.http.impl.nio.client.CloseableHttpAsyncClient} with the same
+ * {@link HttpClientMetricNameStrategy} used by {@link com.codahale.metrics.httpclient.InstrumentedHttpRequestExecutor}
+ * for the blocking client.
+ * <p>
+ * The non-blocking client has no request executor to wrap, so the timer is started by a request interceptor
+ * and stopped by a response interceptor. Requests which never receive a response are not recorded.
+ * </p>
+ */
+class InstrumentedAsyncRequestTimer implements HttpRequestInterceptor, HttpResponseInterceptor {
+    private static final String TIMER_CONTEXT_ATTRIBUTE = InstrumentedAsyncRequestTimer.class.getName() + ".context";
+
+    private final MetricRegistry registry;
+    private final HttpClientMetricNameStrategy metricNameStrategy;
+    private final String name;
+
+    InstrumentedAsyncRequestTimer(MetricRegistry registry, HttpClientMetricNameStrategy metricNameStrategy,
+                                  String name) {
+        this.registry = registry;
+        this.metricNameStrategy = metricNameStrategy;
+        this.name = name;
+    }
+
+    @Override
+    public void process(HttpRequest request, HttpContext context) {
+        context.setAttribute(TIMER_CONTEXT_ATTRIBUTE, registry.timer(metricNameStrategy.getNameFor(name, request)).time());
+    }
+
+    @Override
+    public void process(HttpResponse response, HttpContext context) {
+        final Object timerContext = context.removeAttribute(TIMER_CONTEXT_ATTRIBUTE);
+        if (timerContext instanceof Timer.Context) {
+            ((Timer.Context) timerContext).stop();
+        }
+    }
+}
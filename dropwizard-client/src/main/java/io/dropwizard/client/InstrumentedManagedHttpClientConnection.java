@@ -0,0 +1,180 @@
+package io.dropwizard.client;
+
+import com.codahale.metrics.Meter;
+import org.apache.http.HttpConnectionMetrics;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpException;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.conn.ManagedHttpClientConnection;
+import org.apache.http.protocol.HttpContext;
+
+import javax.annotation.Nullable;
+import javax.net.ssl.SSLSession;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+
+/**
+ * A {@link ManagedHttpClientConnection} which counts the staleness checks the connection pool runs once a connection
+ * has been idle for longer than the {@code validateAfterInactivityPeriod}, and how many of them found the
+ * connection to be stale.
+ * <p>
+ * Like Apache's own connections, it also acts as an {@link HttpContext} if the wrapped connection does.
+ * </p>
+ */
+class InstrumentedManagedHttpClientConnection implements ManagedHttpClientConnection, HttpContext {
+    private final ManagedHttpClientConnection delegate;
+    private final Meter validations;
+    private final Meter closedStale;
+
+    InstrumentedManagedHttpClientConnection(ManagedHttpClientConnection delegate, Meter validations,
+                                            Meter closedStale) {
+        this.delegate = delegate;
+        this.validations = validations;
+        this.closedStale = closedStale;
+    }
+
+    @Override
+    public boolean isStale() {
+        // The pool may also check entries whose connection hasn't been opened yet, which isn't a validation
+        if (!delegate.isOpen()) {
+            return true;
+        }
+
+        validations.mark();
+        final boolean stale = delegate.isStale();
+        if (stale) {
+            closedStale.mark();
+        }
+        return stale;
+    }
+
+    @Override
+    public String getId() {
+        return delegate.getId();
+    }
+
+    @Override
+    public void bind(Socket socket) throws IOException {
+        delegate.bind(socket);
+    }
+
+    @Override
+    @Nullable
+    public Socket getSocket() {
+        return delegate.getSocket();
+    }
+
+    @Override
+    @Nullable
+    public SSLSession getSSLSession() {
+        return delegate.getSSLSession();
+    }
+
+    @Override
+    public boolean isResponseAvailable(int timeout) throws IOException {
+        return delegate.isResponseAvailable(timeout);
+    }
+
+    @Override
+    public void sendRequestHeader(HttpRequest request) throws HttpException, IOException {
+        delegate.sendRequestHeader(request);
+    }
+
+    @Override
+    public void sendRequestEntity(HttpEntityEnclosingRequest request) throws HttpException, IOException {
+        delegate.sendRequestEntity(request);
+    }
+
+    @Override
+    public HttpResponse receiveResponseHeader() throws HttpException, IOException {
+        return delegate.receiveResponseHeader();
+    }
+
+    @Override
+    public void receiveResponseEntity(HttpResponse response) throws HttpException, IOException {
+        delegate.receiveResponseEntity(response);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        delegate.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        delegate.close();
+    }
+
+    @Override
+    public boolean isOpen() {
+        return delegate.isOpen();
+    }
+
+    @Override
+    public void setSocketTimeout(int timeout) {
+        delegate.setSocketTimeout(timeout);
+    }
+
+    @Override
+    public int getSocketTimeout() {
+        return delegate.getSocketTimeout();
+    }
+
+    @Override
+    public void shutdown() throws IOException {
+        delegate.shutdown();
+    }
+
+    @Override
+    public HttpConnectionMetrics getMetrics() {
+        return delegate.getMetrics();
+    }
+
+    @Override
+    @Nullable
+    public InetAddress getLocalAddress() {
+        return delegate.getLocalAddress();
+    }
+
+    @Override
+    public int getLocalPort() {
+        return delegate.getLocalPort();
+    }
+
+    @Override
+    @Nullable
+    public InetAddress getRemoteAddress() {
+        return delegate.getRemoteAddress();
+    }
+
+    @Override
+    public int getRemotePort() {
+        return delegate.getRemotePort();
+    }
+
+    @Override
+    @Nullable
+    public Object getAttribute(String id) {
+        return delegate instanceof HttpContext ? ((HttpContext) delegate).getAttribute(id) : null;
+    }
+
+    @Override
+    public void setAttribute(String id, @Nullable Object obj) {
+        if (delegate instanceof HttpContext) {
+            ((HttpContext) delegate).setAttribute(id, obj);
+        }
+    }
+
+    @Override
+    @Nullable
+    public Object removeAttribute(String id) {
+        return delegate instanceof HttpContext ? ((HttpContext) delegate).removeAttribute(id) : null;
+    }
+
+    @Override
+    public String toString() {
+        return delegate.toString();
+    }
+}
@@ -0,0 +1,57 @@
+package io.dropwizard.client;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import org.apache.http.config.Registry;
+import org.apache.http.conn.DnsResolver;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.apache.http.nio.conn.NHttpClientConnectionManager;
+import org.apache.http.nio.conn.SchemeIOSessionStrategy;
+import org.apache.http.nio.reactor.ConnectingIOReactor;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+/**
+ * A {@link PoolingNHttpClientConnectionManager} which reports the same connection pool gauges as
+ * {@link com.codahale.metrics.httpclient.InstrumentedHttpClientConnectionManager} does for the blocking client,
+ * registered under the {@link NHttpClientConnectionManager} prefix.
+ *
+ * @since 2.1
+ */
+public class InstrumentedNHttpClientConnectionManager extends PoolingNHttpClientConnectionManager {
+    private final MetricRegistry metricsRegistry;
+    private final String name;
+
+    public InstrumentedNHttpClientConnectionManager(MetricRegistry metricsRegistry,
+                                                    ConnectingIOReactor ioReactor,
+                                                    Registry<SchemeIOSessionStrategy> ioSessionFactoryRegistry,
+                                                    DnsResolver dnsResolver,
+                                                    long connTTL,
+                                                    TimeUnit connTTLTimeUnit,
+                                                    String name) {
+        super(ioReactor, null, ioSessionFactoryRegistry, null, dnsResolver, connTTL, connTTLTimeUnit);
+        this.metricsRegistry = metricsRegistry;
+        this.name = name;
+
+        metricsRegistry.register(name(NHttpClientConnectionManager.class, name, "available-connections"),
+            (Gauge<Integer>) () -> getTotalStats().getAvailable());
+        metricsRegistry.register(name(NHttpClientConnectionManager.class, name, "leased-connections"),
+            (Gauge<Integer>) () -> getTotalStats().getLeased());
+        metricsRegistry.register(name(NHttpClientConnectionManager.class, name, "max-connections"),
+            (Gauge<Integer>) () -> getTotalStats().getMax());
+        metricsRegistry.register(name(NHttpClientConnectionManager.class, name, "pending-connections"),
+            (Gauge<Integer>) () -> getTotalStats().getPending());
+    }
+
+    @Override
+    public void shutdown() throws IOException {
+        super.shutdown();
+        metricsRegistry.remove(name(NHttpClientConnectionManager.class, name, "available-connections"));
+        metricsRegistry.remove(name(NHttpClientConnectionManager.class, name, "leased-connections"));
+        metricsRegistry.remove(name(NHttpClientConnectionManager.class, name, "max-connections"));
+        metricsRegistry.remove(name(NHttpClientConnectionManager.class, name, "pending-connections"));
+    }
+}
@@ -42,7 +42,7 @@ import static java.util.Objects.requireNonNull;
  * <p>
  * Among other things,
  * <ul>
- * <li>Backed by Apache HttpClient</li>
+ * <li>Backed by Apache HttpClient, or optionally by the non-blocking Apache HttpAsyncClient</li>
  * <li>Disables stale connection checks</li>
  * <li>Disables Nagle's algorithm</li>
  * <li>Disables cookie management by default</li>
@@ -413,7 +413,24 @@ public class JerseyClientBuilder {
 
         config.register(new DropwizardExecutorProvider(threadPool));
 
-        if (connectorProvider == null) {
+        if (connectorProvider == null && configuration.isNonBlockingConnectorEnabled()) {
+            final ConfiguredCloseableHttpAsyncClient apacheHttpAsyncClient =
+                    apacheHttpClientBuilder.buildAsyncWithDefaultRequestConfiguration(name);
+            if (environment != null) {
+                environment.lifecycle().manage(new Managed() {
+                    @Override
+                    public void start() throws Exception {
+                    }
+
+                    @Override
+                    public void stop() throws Exception {
+                        apacheHttpAsyncClient.getClient().close();
+                    }
+                });
+            }
+            config.connectorProvider((client, runtimeConfig) ->
+                    createDropwizardAsyncApacheConnector(apacheHttpAsyncClient));
+        } else if (connectorProvider == null) {
             final ConfiguredCloseableHttpClient apacheHttpClient =
                     apacheHttpClientBuilder.buildWithDefaultRequestConfiguration(name);
             config.connectorProvider((client, runtimeConfig) -> createDropwizardApacheConnector(apacheHttpClient));
@@ -432,4 +449,16 @@ public class JerseyClientBuilder {
         return new DropwizardApacheConnector(configuredClient.getClient(), configuredClient.getDefaultRequestConfig(),
                 configuration.isChunkedEncodingEnabled());
     }
+
+    /**
+     * Builds {@link DropwizardAsyncApacheConnector} based on the configured non-blocking Apache HTTP client
+     * as {@link ConfiguredCloseableHttpAsyncClient}.
+     *
+     * @since 2.1
+     */
+    protected DropwizardAsyncApacheConnector createDropwizardAsyncApacheConnector(
+            ConfiguredCloseableHttpAsyncClient configuredClient) {
+        return new DropwizardAsyncApacheConnector(configuredClient.getClient(),
+                configuredClient.getDefaultRequestConfig());
+    }
 }
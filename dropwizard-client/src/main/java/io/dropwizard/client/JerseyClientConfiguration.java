@@ -33,6 +33,8 @@ public class JerseyClientConfiguration extends HttpClientConfiguration {
 
     private boolean chunkedEncodingEnabled = true;
 
+    private boolean nonBlockingConnectorEnabled = false;
+
     @JsonProperty
     public int getMinThreads() {
         return minThreads;
@@ -83,6 +85,22 @@ public class JerseyClientConfiguration extends HttpClientConfiguration {
         this.chunkedEncodingEnabled = chunkedEncodingEnabled;
     }
 
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public boolean isNonBlockingConnectorEnabled() {
+        return nonBlockingConnectorEnabled;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public void setNonBlockingConnectorEnabled(boolean nonBlockingConnectorEnabled) {
+        this.nonBlockingConnectorEnabled = nonBlockingConnectorEnabled;
+    }
+
     @JsonProperty
     public int getWorkQueueSize() {
         return workQueueSize;
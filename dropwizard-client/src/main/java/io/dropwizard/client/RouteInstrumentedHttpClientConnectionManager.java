@@ -0,0 +1,178 @@
+package io.dropwizard.client;
+
+import com.codahale.metrics.Clock;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.codahale.metrics.httpclient.InstrumentedHttpClientConnectionManager;
+import org.apache.http.HttpClientConnection;
+import org.apache.http.config.Registry;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.ConnectionRequest;
+import org.apache.http.conn.DnsResolver;
+import org.apache.http.conn.HttpClientConnectionManager;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.impl.conn.ManagedHttpClientConnectionFactory;
+import org.apache.http.protocol.HttpContext;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+/**
+ * An {@link InstrumentedHttpClientConnectionManager} which additionally reports how long requests wait to lease a
+ * connection and how often leasing times out, both in total and per route, as well as how many connections are
+ * created, reused and closed because they turned out to be stale when validated after a period of inactivity.
+ * Per-route metrics are only kept for the first {@value #MAX_ROUTE_METRICS} routes, further routes are only reported
+ * in the totals. All metrics are removed when the manager is shut down.
+ * <p>
+ * All metrics are registered under the {@link HttpClientConnectionManager} prefix and the name of the client:
+ * </p>
+ * <ul>
+ *     <li>{@code lease-wait} and {@code lease-wait.<host:port>}: timers of the time spent waiting for a connection</li>
+ *     <li>{@code lease-timeouts} and {@code lease-timeouts.<host:port>}: meters of the requests which gave up waiting
+ *     for a connection</li>
+ *     <li>{@code connections-created}, {@code connections-reused}: meters of the leased connections which had to be
+ *     opened, or were already open</li>
+ *     <li>{@code connection-validations}, {@code connections-closed-stale}: meters of the validations triggered by
+ *     {@code validateAfterInactivityPeriod}, and of the ones which found the connection to be stale</li>
+ * </ul>
+ *
+ * @since 2.1
+ */
+public class RouteInstrumentedHttpClientConnectionManager extends InstrumentedHttpClientConnectionManager {
+    /**
+     * The maximum number of routes for which separate metrics are registered.
+     */
+    public static final int MAX_ROUTE_METRICS = 100;
+
+    private final MetricRegistry metricRegistry;
+    private final String name;
+    private final Clock clock = Clock.defaultClock();
+    private final Timer leaseWait;
+    private final Meter leaseTimeouts;
+    private final Meter created;
+    private final Meter reused;
+    private final ConcurrentMap<HttpRoute, RouteMetrics> routeMetrics = new ConcurrentHashMap<>();
+
+    public RouteInstrumentedHttpClientConnectionManager(MetricRegistry metricRegistry,
+                                                        Registry<ConnectionSocketFactory> socketFactoryRegistry,
+                                                        DnsResolver dnsResolver,
+                                                        long connTTL,
+                                                        TimeUnit connTTLTimeUnit,
+                                                        String name) {
+        this(metricRegistry, socketFactoryRegistry, dnsResolver, connTTL, connTTLTimeUnit, name,
+            metricRegistry.meter(name(HttpClientConnectionManager.class, name, "connection-validations")),
+            metricRegistry.meter(name(HttpClientConnectionManager.class, name, "connections-closed-stale")));
+    }
+
+    private RouteInstrumentedHttpClientConnectionManager(MetricRegistry metricRegistry,
+                                                         Registry<ConnectionSocketFactory> socketFactoryRegistry,
+                                                         DnsResolver dnsResolver,
+                                                         long connTTL,
+                                                         TimeUnit connTTLTimeUnit,
+                                                         String name,
+                                                         Meter validations,
+                                                         Meter closedStale) {
+        super(metricRegistry, socketFactoryRegistry,
+            (route, config) -> new InstrumentedManagedHttpClientConnection(
+                ManagedHttpClientConnectionFactory.INSTANCE.create(route, config), validations, closedStale),
+            null, dnsResolver, connTTL, connTTLTimeUnit, name);
+        this.metricRegistry = metricRegistry;
+        this.name = name;
+        this.leaseWait = metricRegistry.timer(name(HttpClientConnectionManager.class, name, "lease-wait"));
+        this.leaseTimeouts = metricRegistry.meter(name(HttpClientConnectionManager.class, name, "lease-timeouts"));
+        this.created = metricRegistry.meter(name(HttpClientConnectionManager.class, name, "connections-created"));
+        this.reused = metricRegistry.meter(name(HttpClientConnectionManager.class, name, "connections-reused"));
+    }
+
+    @Override
+    public ConnectionRequest requestConnection(HttpRoute route, @Nullable Object state) {
+        final ConnectionRequest request = super.requestConnection(route, state);
+        final long start = clock.getTick();
+        return new ConnectionRequest() {
+            @Override
+            public HttpClientConnection get(long timeout, TimeUnit timeUnit)
+                    throws InterruptedException, ExecutionException, ConnectionPoolTimeoutException {
+                final RouteMetrics metrics = getRouteMetrics(route);
+                final HttpClientConnection connection;
+                try {
+                    connection = request.get(timeout, timeUnit);
+                } catch (ConnectionPoolTimeoutException e) {
+                    leaseTimeouts.mark();
+                    if (metrics != null) {
+                        metrics.leaseTimeouts.mark();
+                    }
+                    throw e;
+                }
+
+                final long elapsed = clock.getTick() - start;
+                leaseWait.update(elapsed, TimeUnit.NANOSECONDS);
+                if (metrics != null) {
+                    metrics.leaseWait.update(elapsed, TimeUnit.NANOSECONDS);
+                }
+                if (connection.isOpen()) {
+                    reused.mark();
+                }
+                return connection;
+            }
+
+            @Override
+            public boolean cancel() {
+                return request.cancel();
+            }
+        };
+    }
+
+    @Override
+    public void connect(HttpClientConnection managedConn, HttpRoute route, int connectTimeout,
+                        HttpContext context) throws IOException {
+        super.connect(managedConn, route, connectTimeout, context);
+        created.mark();
+    }
+
+    @Override
+    public void shutdown() {
+        super.shutdown();
+        for (String metric : new String[]{"lease-wait", "lease-timeouts", "connections-created", "connections-reused",
+            "connection-validations", "connections-closed-stale"}) {
+            metricRegistry.remove(name(HttpClientConnectionManager.class, name, metric));
+        }
+        for (RouteMetrics metrics : routeMetrics.values()) {
+            metricRegistry.remove(metrics.leaseWaitName);
+            metricRegistry.remove(metrics.leaseTimeoutsName);
+        }
+        routeMetrics.clear();
+    }
+
+    @Nullable
+    private RouteMetrics getRouteMetrics(HttpRoute route) {
+        final RouteMetrics metrics = routeMetrics.get(route);
+        if (metrics != null || routeMetrics.size() >= MAX_ROUTE_METRICS) {
+            return metrics;
+        }
+        return routeMetrics.computeIfAbsent(route, key -> new RouteMetrics(metricRegistry,
+            name(HttpClientConnectionManager.class, name, "lease-wait", key.getTargetHost().toHostString()),
+            name(HttpClientConnectionManager.class, name, "lease-timeouts", key.getTargetHost().toHostString())));
+    }
+
+    private static final class RouteMetrics {
+        private final String leaseWaitName;
+        private final String leaseTimeoutsName;
+        private final Timer leaseWait;
+        private final Meter leaseTimeouts;
+
+        private RouteMetrics(MetricRegistry metricRegistry, String leaseWaitName, String leaseTimeoutsName) {
+            this.leaseWaitName = leaseWaitName;
+            this.leaseTimeoutsName = leaseTimeoutsName;
+            this.leaseWait = metricRegistry.timer(leaseWaitName);
+            this.leaseTimeouts = metricRegistry.meter(leaseTimeoutsName);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package io.dropwizard.client.cache;
+
+import org.apache.http.client.cache.HttpCacheEntry;
+import org.apache.http.client.cache.HttpCacheStorage;
+import org.apache.http.client.cache.HttpCacheUpdateCallback;
+import org.apache.http.client.cache.Resource;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * An in-memory {@link HttpCacheStorage} which is bounded both by the number of entries and by the total size of the
+ * cached response bodies. The least recently used entries are evicted first.
+ *
+ * @since 2.1
+ */
+public class BoundedHttpCacheStorage implements HttpCacheStorage {
+    private final int maxEntries;
+    private final long maxBytes;
+    private final LinkedHashMap<String, HttpCacheEntry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes;
+
+    public BoundedHttpCacheStorage(int maxEntries, long maxBytes) {
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+    }
+
+    @Override
+    public synchronized void putEntry(String key, HttpCacheEntry entry) {
+        replace(key, entry);
+    }
+
+    @Override
+    @Nullable
+    public synchronized HttpCacheEntry getEntry(String key) {
+        return entries.get(key);
+    }
+
+    @Override
+    public synchronized void removeEntry(String key) {
+        final HttpCacheEntry removed = entries.remove(key);
+        if (removed != null) {
+            bytes -= sizeOf(removed);
+        }
+    }
+
+    @Override
+    public synchronized void updateEntry(String key, HttpCacheUpdateCallback callback) throws IOException {
+        final HttpCacheEntry updated = callback.update(entries.get(key));
+        if (updated == null) {
+            removeEntry(key);
+        } else {
+            replace(key, updated);
+        }
+    }
+
+    /**
+     * @return the number of cached responses
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return the total size of the cached response bodies, in bytes
+     */
+    public synchronized long sizeInBytes() {
+        return bytes;
+    }
+
+    private void replace(String key, HttpCacheEntry entry) {
+        final HttpCacheEntry previous = entries.put(key, entry);
+        if (previous != null) {
+            bytes -= sizeOf(previous);
+        }
+        bytes += sizeOf(entry);
+
+        final Iterator<Map.Entry<String, HttpCacheEntry>> eldest = entries.entrySet().iterator();
+        while ((entries.size() > maxEntries || bytes > maxBytes) && eldest.hasNext()) {
+            final HttpCacheEntry evicted = eldest.next().getValue();
+            eldest.remove();
+            bytes -= sizeOf(evicted);
+        }
+    }
+
+    private static long sizeOf(HttpCacheEntry entry) {
+        final Resource resource = entry.getResource();
+        return resource == null ? 0 : resource.length();
+    }
+}
@@ -0,0 +1,116 @@
+package io.dropwizard.client.cache;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.dropwizard.util.DataSize;
+import io.dropwizard.validation.MinDataSize;
+
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+
+/**
+ * Configuration of an in-memory HTTP response cache following RFC 7234, backed by a {@link BoundedHttpCacheStorage}.
+ * <p/>
+ * <b>Configuration Parameters:</b>
+ * <table>
+ *     <tr>
+ *         <td>Name</td>
+ *         <td>Default</td>
+ *         <td>Description</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code maxEntries}</td>
+ *         <td>1000</td>
+ *         <td>The maximum number of cached responses.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code maxSize}</td>
+ *         <td>10 mebibytes</td>
+ *         <td>The maximum total size of the cached response bodies.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code maxObjectSize}</td>
+ *         <td>1 mebibyte</td>
+ *         <td>The maximum size of a single cached response body. Larger responses are not cached.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code sharedCache}</td>
+ *         <td>true</td>
+ *         <td>Whether the cache behaves as a shared cache, which e.g. doesn't store responses to requests
+ *         with an {@code Authorization} header.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code heuristicCachingEnabled}</td>
+ *         <td>false</td>
+ *         <td>Whether responses without explicit freshness information may be cached, based on their
+ *         {@code Last-Modified} header.</td>
+ *     </tr>
+ * </table>
+ *
+ * @since 2.1
+ */
+public class HttpCacheConfiguration {
+    @Min(1)
+    private int maxEntries = 1000;
+
+    @NotNull
+    @MinDataSize(1)
+    private DataSize maxSize = DataSize.mebibytes(10);
+
+    @NotNull
+    @MinDataSize(1)
+    private DataSize maxObjectSize = DataSize.mebibytes(1);
+
+    private boolean sharedCache = true;
+
+    private boolean heuristicCachingEnabled = false;
+
+    @JsonProperty
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    @JsonProperty
+    public void setMaxEntries(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    @JsonProperty
+    public DataSize getMaxSize() {
+        return maxSize;
+    }
+
+    @JsonProperty
+    public void setMaxSize(DataSize maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    @JsonProperty
+    public DataSize getMaxObjectSize() {
+        return maxObjectSize;
+    }
+
+    @JsonProperty
+    public void setMaxObjectSize(DataSize maxObjectSize) {
+        this.maxObjectSize = maxObjectSize;
+    }
+
+    @JsonProperty
+    public boolean isSharedCache() {
+        return sharedCache;
+    }
+
+    @JsonProperty
+    public void setSharedCache(boolean sharedCache) {
+        this.sharedCache = sharedCache;
+    }
+
+    @JsonProperty
+    public boolean isHeuristicCachingEnabled() {
+        return heuristicCachingEnabled;
+    }
+
+    @JsonProperty
+    public void setHeuristicCachingEnabled(boolean heuristicCachingEnabled) {
+        this.heuristicCachingEnabled = heuristicCachingEnabled;
+    }
+}
@@ -0,0 +1,122 @@
+package io.dropwizard.client.dns;
+
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.apache.http.conn.DnsResolver;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+/**
+ * A {@link DnsResolver} decorator which caches the resolved addresses of each host name.
+ * <p>
+ * Once the {@code ttl} of an entry has passed, the next lookup triggers a refresh on the given executor and keeps
+ * returning the previous addresses in the meantime. Only if an entry hasn't been refreshed for {@code maxStale} after
+ * its {@code ttl}, e.g. because the name server is unreachable, is it dropped and the next lookup resolved again on
+ * the calling thread. Failed lookups are not cached.
+ * </p>
+ * <p>
+ * The latency of the underlying lookups is reported by the {@code dns-lookups} timer, lookups which had to block
+ * the calling thread by the {@code dns-cache-misses} meter and failed lookups by the {@code dns-lookup-failures}
+ * meter, all registered under the {@link DnsResolver} prefix and the name of the client.
+ * </p>
+ *
+ * @since 2.1
+ */
+public class CachingDnsResolver implements DnsResolver {
+    private final LoadingCache<String, InetAddress[]> cache;
+    private final boolean rotateAddresses;
+    private final AtomicInteger rotation = new AtomicInteger();
+
+    public CachingDnsResolver(DnsResolver delegate, DnsCacheConfiguration configuration,
+                              MetricRegistry metricRegistry, String name, Executor executor) {
+        this(delegate, configuration, metricRegistry, name, executor, Ticker.systemTicker());
+    }
+
+    public CachingDnsResolver(DnsResolver delegate, DnsCacheConfiguration configuration,
+                              MetricRegistry metricRegistry, String name, Executor executor, Ticker ticker) {
+        final Timer lookups = metricRegistry.timer(name(DnsResolver.class, name, "dns-lookups"));
+        final Meter cacheMisses = metricRegistry.meter(name(DnsResolver.class, name, "dns-cache-misses"));
+        final Meter failures = metricRegistry.meter(name(DnsResolver.class, name, "dns-lookup-failures"));
+        final long ttl = configuration.getTtl().toNanoseconds();
+
+        this.rotateAddresses = configuration.isRotateAddresses();
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(configuration.getMaxEntries())
+            .refreshAfterWrite(ttl, TimeUnit.NANOSECONDS)
+            .expireAfterWrite(ttl + configuration.getMaxStale().toNanoseconds(), TimeUnit.NANOSECONDS)
+            .executor(executor)
+            .ticker(ticker)
+            .build(new CacheLoader<String, InetAddress[]>() {
+                @Override
+                public InetAddress[] load(String host) throws UnknownHostException {
+                    cacheMisses.mark();
+                    return reload(host, new InetAddress[0]);
+                }
+
+                @Override
+                public InetAddress[] reload(String host, InetAddress[] oldValue) throws UnknownHostException {
+                    try (Timer.Context context = lookups.time()) {
+                        return delegate.resolve(host);
+                    } catch (UnknownHostException | RuntimeException e) {
+                        failures.mark();
+                        throw e;
+                    }
+                }
+            });
+    }
+
+    @Override
+    public InetAddress[] resolve(String host) throws UnknownHostException {
+        final InetAddress[] addresses;
+        try {
+            addresses = cache.get(host);
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof UnknownHostException) {
+                throw (UnknownHostException) e.getCause();
+            }
+            final UnknownHostException unknownHost = new UnknownHostException(host);
+            unknownHost.initCause(e.getCause());
+            throw unknownHost;
+        }
+
+        if (addresses == null || addresses.length == 0) {
+            throw new UnknownHostException(host);
+        }
+        if (!rotateAddresses || addresses.length == 1) {
+            return addresses.clone();
+        }
+
+        final int offset = Math.floorMod(rotation.getAndIncrement(), addresses.length);
+        final InetAddress[] rotated = new InetAddress[addresses.length];
+        for (int i = 0; i < addresses.length; i++) {
+            rotated[i] = addresses[(offset + i) % addresses.length];
+        }
+        return rotated;
+    }
+
+    /**
+     * Discards the cached addresses of all host names.
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * @return the number of cached host names
+     */
+    public long size() {
+        return cache.estimatedSize();
+    }
+}
@@ -0,0 +1,99 @@
+package io.dropwizard.client.dns;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.dropwizard.util.Duration;
+import io.dropwizard.validation.MinDuration;
+
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Configuration of a {@link CachingDnsResolver}.
+ * <p/>
+ * <b>Configuration Parameters:</b>
+ * <table>
+ *     <tr>
+ *         <td>Name</td>
+ *         <td>Default</td>
+ *         <td>Description</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code ttl}</td>
+ *         <td>30 seconds</td>
+ *         <td>The time after which a resolved host name is refreshed in the background.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code maxStale}</td>
+ *         <td>5 minutes</td>
+ *         <td>The time after the {@code ttl} during which the previous addresses are still used, while
+ *         the host name is being refreshed or if the refresh fails.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code maxEntries}</td>
+ *         <td>1000</td>
+ *         <td>The maximum number of cached host names.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code rotateAddresses}</td>
+ *         <td>false</td>
+ *         <td>Whether consecutive lookups of a host name rotate through all of its addresses, rather than
+ *         always returning them in the resolved order.</td>
+ *     </tr>
+ * </table>
+ *
+ * @since 2.1
+ */
+public class DnsCacheConfiguration {
+    @NotNull
+    @MinDuration(value = 1, unit = TimeUnit.SECONDS)
+    private Duration ttl = Duration.seconds(30);
+
+    @NotNull
+    private Duration maxStale = Duration.minutes(5);
+
+    @Min(1)
+    private long maxEntries = 1000;
+
+    private boolean rotateAddresses = false;
+
+    @JsonProperty
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    @JsonProperty
+    public void setTtl(Duration ttl) {
+        this.ttl = ttl;
+    }
+
+    @JsonProperty
+    public Duration getMaxStale() {
+        return maxStale;
+    }
+
+    @JsonProperty
+    public void setMaxStale(Duration maxStale) {
+        this.maxStale = maxStale;
+    }
+
+    @JsonProperty
+    public long getMaxEntries() {
+        return maxEntries;
+    }
+
+    @JsonProperty
+    public void setMaxEntries(long maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    @JsonProperty
+    public boolean isRotateAddresses() {
+        return rotateAddresses;
+    }
+
+    @JsonProperty
+    public void setRotateAddresses(boolean rotateAddresses) {
+        this.rotateAddresses = rotateAddresses;
+    }
+}
@@ -0,0 +1,41 @@
+package io.dropwizard.client.retry;
+
+import com.codahale.metrics.Meter;
+import org.apache.http.client.HttpRequestRetryHandler;
+import org.apache.http.protocol.HttpContext;
+
+import java.io.IOException;
+
+/**
+ * An {@link HttpRequestRetryHandler} which only allows the retries of the wrapped handler as long as they fit
+ * into a {@link RetryBudget}.
+ *
+ * @since 2.1
+ */
+public class BudgetedHttpRequestRetryHandler implements HttpRequestRetryHandler {
+    private final HttpRequestRetryHandler delegate;
+    private final RetryBudget budget;
+    private final Meter retries;
+    private final Meter budgetExhausted;
+
+    public BudgetedHttpRequestRetryHandler(HttpRequestRetryHandler delegate, RetryBudget budget,
+                                           Meter retries, Meter budgetExhausted) {
+        this.delegate = delegate;
+        this.budget = budget;
+        this.retries = retries;
+        this.budgetExhausted = budgetExhausted;
+    }
+
+    @Override
+    public boolean retryRequest(IOException exception, int executionCount, HttpContext context) {
+        if (!delegate.retryRequest(exception, executionCount, context)) {
+            return false;
+        }
+        if (!budget.tryWithdraw()) {
+            budgetExhausted.mark();
+            return false;
+        }
+        retries.mark();
+        return true;
+    }
+}
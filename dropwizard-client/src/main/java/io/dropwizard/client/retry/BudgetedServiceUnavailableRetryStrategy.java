@@ -0,0 +1,45 @@
+package io.dropwizard.client.retry;
+
+import com.codahale.metrics.Meter;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.ServiceUnavailableRetryStrategy;
+import org.apache.http.protocol.HttpContext;
+
+/**
+ * A {@link ServiceUnavailableRetryStrategy} which only allows the retries of the wrapped strategy as long as they fit
+ * into a {@link RetryBudget}.
+ *
+ * @since 2.1
+ */
+public class BudgetedServiceUnavailableRetryStrategy implements ServiceUnavailableRetryStrategy {
+    private final ServiceUnavailableRetryStrategy delegate;
+    private final RetryBudget budget;
+    private final Meter retries;
+    private final Meter budgetExhausted;
+
+    public BudgetedServiceUnavailableRetryStrategy(ServiceUnavailableRetryStrategy delegate, RetryBudget budget,
+                                                   Meter retries, Meter budgetExhausted) {
+        this.delegate = delegate;
+        this.budget = budget;
+        this.retries = retries;
+        this.budgetExhausted = budgetExhausted;
+    }
+
+    @Override
+    public boolean retryRequest(HttpResponse response, int executionCount, HttpContext context) {
+        if (!delegate.retryRequest(response, executionCount, context)) {
+            return false;
+        }
+        if (!budget.tryWithdraw()) {
+            budgetExhausted.mark();
+            return false;
+        }
+        retries.mark();
+        return true;
+    }
+
+    @Override
+    public long getRetryInterval() {
+        return delegate.getRetryInterval();
+    }
+}
@@ -0,0 +1,102 @@
+package io.dropwizard.client.retry;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.dropwizard.util.Duration;
+import io.dropwizard.util.Sets;
+
+import javax.validation.constraints.DecimalMax;
+import javax.validation.constraints.DecimalMin;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import java.util.Set;
+
+/**
+ * Configuration of hedged requests: if an idempotent request hasn't completed after the configured percentile of the
+ * recently observed latencies, a second attempt is sent and whichever response arrives first is used.
+ * <p/>
+ * <b>Configuration Parameters:</b>
+ * <table>
+ *     <tr>
+ *         <td>Name</td>
+ *         <td>Default</td>
+ *         <td>Description</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code percentile}</td>
+ *         <td>95.0</td>
+ *         <td>The latency percentile after which a hedged request is sent.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code minDelay}</td>
+ *         <td>5 milliseconds</td>
+ *         <td>The minimum delay before a hedged request is sent, regardless of the observed latencies.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code methods}</td>
+ *         <td>GET, HEAD, OPTIONS</td>
+ *         <td>The request methods which may be hedged. Only requests without an entity are ever hedged.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code maxConcurrentHedges}</td>
+ *         <td>16</td>
+ *         <td>The maximum number of hedged requests in flight at once. Further hedges aren't sent.</td>
+ *     </tr>
+ * </table>
+ *
+ * @since 2.1
+ */
+public class HedgingConfiguration {
+    @DecimalMin("1.0")
+    @DecimalMax("99.99")
+    private double percentile = 95.0;
+
+    @NotNull
+    private Duration minDelay = Duration.milliseconds(5);
+
+    @NotEmpty
+    private Set<String> methods = Sets.of("GET", "HEAD", "OPTIONS");
+
+    @Min(1)
+    private int maxConcurrentHedges = 16;
+
+    @JsonProperty
+    public double getPercentile() {
+        return percentile;
+    }
+
+    @JsonProperty
+    public void setPercentile(double percentile) {
+        this.percentile = percentile;
+    }
+
+    @JsonProperty
+    public Duration getMinDelay() {
+        return minDelay;
+    }
+
+    @JsonProperty
+    public void setMinDelay(Duration minDelay) {
+        this.minDelay = minDelay;
+    }
+
+    @JsonProperty
+    public Set<String> getMethods() {
+        return methods;
+    }
+
+    @JsonProperty
+    public void setMethods(Set<String> methods) {
+        this.methods = methods;
+    }
+
+    @JsonProperty
+    public int getMaxConcurrentHedges() {
+        return maxConcurrentHedges;
+    }
+
+    @JsonProperty
+    public void setMaxConcurrentHedges(int maxConcurrentHedges) {
+        this.maxConcurrentHedges = maxConcurrentHedges;
+    }
+}
@@ -0,0 +1,310 @@
+package io.dropwizard.client.retry;
+
+import com.codahale.metrics.Clock;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.SlidingWindowReservoir;
+import com.codahale.metrics.Snapshot;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpRequest;
+import org.apache.http.client.ClientProtocolException;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpExecutionAware;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.client.methods.RequestBuilder;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.conn.ClientConnectionManager;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.params.HttpParams;
+import org.apache.http.protocol.HttpContext;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A {@link CloseableHttpClient} which hedges idempotent requests: if a request hasn't completed after the configured
+ * percentile of the recently observed latencies, a second attempt is sent and the first response to arrive is used.
+ * The other attempt is aborted, and its response is released if it arrives anyway.
+ * <p>
+ * Hedged attempts withdraw from the {@link RetryBudget} if one is given, so that hedging can't double the load
+ * on a slow service. No request is hedged until enough latencies have been observed to estimate the percentile.
+ * </p>
+ * <p>
+ * The first attempt runs on the calling thread. Hedged attempts are scheduled with the given scheduler and run on the
+ * given executor, which should be bounded: a hedge which the executor rejects is simply not sent. Both are shut down
+ * when the client is closed. The attempts are copies of the request, so that the request itself is never aborted.
+ * </p>
+ *
+ * @since 2.1
+ */
+@SuppressWarnings("deprecation")
+public class HedgingHttpClient extends CloseableHttpClient {
+    static final int MIN_SAMPLES = 100;
+    private static final int MAX_SAMPLES = 1024;
+    private static final long DELAY_REFRESH_INTERVAL = TimeUnit.SECONDS.toNanos(1);
+    private static final long NO_HEDGING = -1;
+
+    private final CloseableHttpClient delegate;
+    private final ScheduledExecutorService scheduler;
+    private final ExecutorService executor;
+    private final Set<String> methods;
+    private final double quantile;
+    private final long minDelayNanos;
+
+    @Nullable
+    private final RetryBudget budget;
+
+    private final Meter hedges;
+    private final Meter hedgeWins;
+    private final Meter budgetExhausted;
+    private final Meter hedgesRejected;
+    private final Clock clock;
+    private final Histogram latencies = new Histogram(new SlidingWindowReservoir(MAX_SAMPLES));
+    private final AtomicLong nextDelayRefresh;
+    private volatile long delayNanos = NO_HEDGING;
+
+    public HedgingHttpClient(CloseableHttpClient delegate, HedgingConfiguration configuration,
+                             @Nullable RetryBudget budget, ScheduledExecutorService scheduler, ExecutorService executor,
+                             Meter hedges, Meter hedgeWins, Meter budgetExhausted, Meter hedgesRejected, Clock clock) {
+        this.delegate = delegate;
+        this.scheduler = scheduler;
+        this.executor = executor;
+        this.methods = configuration.getMethods().stream()
+            .map(method -> method.toUpperCase(Locale.ENGLISH))
+            .collect(Collectors.toSet());
+        this.quantile = configuration.getPercentile() / 100.0;
+        this.minDelayNanos = configuration.getMinDelay().toNanoseconds();
+        this.budget = budget;
+        this.hedges = hedges;
+        this.hedgeWins = hedgeWins;
+        this.budgetExhausted = budgetExhausted;
+        this.hedgesRejected = hedgesRejected;
+        this.clock = clock;
+        this.nextDelayRefresh = new AtomicLong(clock.getTick());
+    }
+
+    @Override
+    protected CloseableHttpResponse doExecute(HttpHost target, HttpRequest request, @Nullable HttpContext context)
+            throws IOException {
+        if (!isHedgeable(request)) {
+            return delegate.execute(target, request, context);
+        }
+
+        final long delay = currentDelay();
+        final long start = clock.getTick();
+        final CloseableHttpResponse response = delay == NO_HEDGING
+            ? delegate.execute(target, request, context)
+            : new HedgedExecution(target, (HttpUriRequest) request, context).execute(delay);
+        latencies.update(clock.getTick() - start);
+        return response;
+    }
+
+    private boolean isHedgeable(HttpRequest request) {
+        if (!(request instanceof HttpUriRequest)) {
+            return false;
+        }
+        if (request instanceof HttpEntityEnclosingRequest && ((HttpEntityEnclosingRequest) request).getEntity() != null) {
+            return false;
+        }
+        return methods.contains(request.getRequestLine().getMethod().toUpperCase(Locale.ENGLISH));
+    }
+
+    /**
+     * @return the delay after which a hedged request is sent, in nanoseconds, or {@code -1} if too few
+     * latencies have been observed so far
+     */
+    long currentDelay() {
+        final long now = clock.getTick();
+        final long next = nextDelayRefresh.get();
+        if (now - next >= 0 && nextDelayRefresh.compareAndSet(next, now + DELAY_REFRESH_INTERVAL)) {
+            final Snapshot snapshot = latencies.getSnapshot();
+            delayNanos = snapshot.size() < MIN_SAMPLES
+                ? NO_HEDGING
+                : Math.max(minDelayNanos, (long) snapshot.getValue(quantile));
+        }
+        return delayNanos;
+    }
+
+    @Override
+    public void close() throws IOException {
+        scheduler.shutdownNow();
+        executor.shutdown();
+        delegate.close();
+    }
+
+    @Override
+    public HttpParams getParams() {
+        return delegate.getParams();
+    }
+
+    @Override
+    public ClientConnectionManager getConnectionManager() {
+        return delegate.getConnectionManager();
+    }
+
+    private final class HedgedExecution {
+        private final HttpHost target;
+        private final HttpUriRequest request;
+        @Nullable
+        private final HttpContext context;
+        private final AtomicBoolean claimed = new AtomicBoolean();
+        private final HttpUriRequest primary;
+        @Nullable
+        private HttpUriRequest hedge;
+        @Nullable
+        private Future<CloseableHttpResponse> hedged;
+        private boolean primaryCompleted;
+
+        private HedgedExecution(HttpHost target, HttpUriRequest request, @Nullable HttpContext context) {
+            this.target = target;
+            this.request = request;
+            this.context = context;
+            // The attempts are copies, so that the losing one can be aborted without aborting the caller's request
+            this.primary = RequestBuilder.copy(request).build();
+        }
+
+        CloseableHttpResponse execute(long delay) throws IOException {
+            if (request instanceof HttpExecutionAware) {
+                ((HttpExecutionAware) request).setCancellable(() -> {
+                    abortAttempts();
+                    return true;
+                });
+            }
+
+            @Nullable ScheduledFuture<?> timer;
+            try {
+                timer = scheduler.schedule(this::hedge, delay, TimeUnit.NANOSECONDS);
+            } catch (RejectedExecutionException e) {
+                timer = null;
+            }
+
+            final CloseableHttpResponse response;
+            try {
+                response = delegate.execute(target, primary, context);
+            } catch (IOException | RuntimeException e) {
+                final Future<CloseableHttpResponse> hedgedResponse = completePrimary(timer);
+                if (hedgedResponse == null) {
+                    throw e;
+                }
+                return awaitHedge(hedgedResponse, e);
+            }
+
+            final Future<CloseableHttpResponse> hedgedResponse = completePrimary(timer);
+            if (claimed.compareAndSet(false, true)) {
+                final HttpUriRequest losing = getHedge();
+                if (losing != null) {
+                    losing.abort();
+                }
+                return response;
+            }
+            // The hedge completed first, and aborted the primary attempt just too late
+            response.close();
+            return awaitHedge(requireNonNull(hedgedResponse), null);
+        }
+
+        /**
+         * Sends the hedged attempt, unless the primary attempt has completed in the meantime. Runs on the scheduler.
+         */
+        private synchronized void hedge() {
+            if (primaryCompleted) {
+                return;
+            }
+            if (budget != null && !budget.tryWithdraw()) {
+                budgetExhausted.mark();
+                return;
+            }
+            final HttpUriRequest attempt = RequestBuilder.copy(request).build();
+            try {
+                hedged = executor.submit(() -> {
+                    final CloseableHttpResponse response = delegate.execute(target, attempt, HttpClientContext.create());
+                    if (!claimed.compareAndSet(false, true)) {
+                        response.close();
+                        throw new CancellationException("Another attempt completed first");
+                    }
+                    // Unblock the caller, which is still waiting for the primary attempt
+                    primary.abort();
+                    return response;
+                });
+                hedge = attempt;
+                hedges.mark();
+            } catch (RejectedExecutionException e) {
+                hedgesRejected.mark();
+            }
+        }
+
+        @Nullable
+        private synchronized Future<CloseableHttpResponse> completePrimary(@Nullable ScheduledFuture<?> timer) {
+            primaryCompleted = true;
+            if (timer != null) {
+                timer.cancel(false);
+            }
+            return hedged;
+        }
+
+        @Nullable
+        private synchronized HttpUriRequest getHedge() {
+            return hedge;
+        }
+
+        private void abortAttempts() {
+            primary.abort();
+            final HttpUriRequest attempt = getHedge();
+            if (attempt != null) {
+                attempt.abort();
+            }
+        }
+
+        private CloseableHttpResponse awaitHedge(Future<CloseableHttpResponse> hedgedResponse,
+                                                 @Nullable Exception primaryFailure) throws IOException {
+            try {
+                final CloseableHttpResponse response = hedgedResponse.get();
+                hedgeWins.mark();
+                return response;
+            } catch (InterruptedException e) {
+                abortAttempts();
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for " + request.getRequestLine());
+            } catch (ExecutionException e) {
+                // Both attempts failed, the failure of the primary attempt is the most relevant
+                if (primaryFailure instanceof IOException) {
+                    throw (IOException) primaryFailure;
+                }
+                if (primaryFailure instanceof RuntimeException) {
+                    throw (RuntimeException) primaryFailure;
+                }
+                throw unwrap(e);
+            }
+        }
+
+        private IOException unwrap(ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                return (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            return new ClientProtocolException(cause);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package io.dropwizard.client.retry;
+
+import com.codahale.metrics.Clock;
+import io.dropwizard.util.Duration;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A client-wide bound on the number of retries and hedged requests.
+ * <p>
+ * Every successful request deposits into the budget, and every retry has to withdraw from it. Over a sliding window
+ * of {@code ttl}, the number of withdrawals is capped to {@code percentCanRetry} percent of the deposits plus a
+ * reserve of {@code minRetriesPerSecond} per second, so that retries can't multiply the load on a struggling
+ * service while low-traffic clients are still able to retry.
+ * </p>
+ * <p>
+ * The budget is lock-free and approximate: concurrent withdrawals may overdraw it slightly.
+ * </p>
+ *
+ * @since 2.1
+ */
+public class RetryBudget {
+    private static final int BUCKETS = 10;
+
+    private final WindowedCounter deposits;
+    private final WindowedCounter withdrawals;
+    private final long reserve;
+    private final double percentCanRetry;
+
+    public RetryBudget(Duration ttl, int minRetriesPerSecond, int percentCanRetry, Clock clock) {
+        final long ttlNanos = ttl.toNanoseconds();
+        if (ttlNanos < BUCKETS) {
+            throw new IllegalArgumentException("The retry budget TTL must be positive");
+        }
+        if (minRetriesPerSecond < 0 || percentCanRetry < 0) {
+            throw new IllegalArgumentException("The retry budget must not be negative");
+        }
+        this.deposits = new WindowedCounter(ttlNanos / BUCKETS, clock);
+        this.withdrawals = new WindowedCounter(ttlNanos / BUCKETS, clock);
+        this.reserve = (long) (minRetriesPerSecond * (ttlNanos / (double) TimeUnit.SECONDS.toNanos(1)));
+        this.percentCanRetry = percentCanRetry / 100.0;
+    }
+
+    /**
+     * Records a successful request.
+     */
+    public void deposit() {
+        deposits.increment();
+    }
+
+    /**
+     * Tries to withdraw a single retry from the budget.
+     *
+     * @return {@code true} if the retry may be attempted, {@code false} if the budget is exhausted
+     */
+    public boolean tryWithdraw() {
+        if (balance() <= 0) {
+            return false;
+        }
+        withdrawals.increment();
+        return true;
+    }
+
+    /**
+     * @return the number of retries which are currently available
+     */
+    public long balance() {
+        return reserve + (long) (deposits.sum() * percentCanRetry) - withdrawals.sum();
+    }
+
+    /**
+     * A counter over a sliding window, split into a ring of fixed-width buckets which are recycled as time moves on.
+     */
+    private static final class WindowedCounter {
+        private final long bucketNanos;
+        private final Clock clock;
+        private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+        private final AtomicLongArray bucketIds = new AtomicLongArray(BUCKETS);
+
+        private WindowedCounter(long bucketNanos, Clock clock) {
+            this.bucketNanos = bucketNanos;
+            this.clock = clock;
+            for (int i = 0; i < BUCKETS; i++) {
+                bucketIds.set(i, Long.MIN_VALUE);
+            }
+        }
+
+        void increment() {
+            final long bucketId = Math.floorDiv(clock.getTick(), bucketNanos);
+            final int index = (int) Math.floorMod(bucketId, (long) BUCKETS);
+            final long current = bucketIds.get(index);
+            if (current != bucketId && bucketIds.compareAndSet(index, current, bucketId)) {
+                counts.set(index, 0);
+            }
+            counts.incrementAndGet(index);
+        }
+
+        long sum() {
+            final long oldestBucketId = Math.floorDiv(clock.getTick(), bucketNanos) - BUCKETS;
+            long sum = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                if (bucketIds.get(i) > oldestBucketId) {
+                    sum += counts.get(i);
+                }
+            }
+            return sum;
+        }
+    }
+}
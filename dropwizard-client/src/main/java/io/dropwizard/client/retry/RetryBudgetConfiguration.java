@@ -0,0 +1,83 @@
+package io.dropwizard.client.retry;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.dropwizard.util.Duration;
+import io.dropwizard.validation.MinDuration;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Configuration of a {@link RetryBudget} which bounds the retries and hedged requests of an HTTP client.
+ * <p/>
+ * <b>Configuration Parameters:</b>
+ * <table>
+ *     <tr>
+ *         <td>Name</td>
+ *         <td>Default</td>
+ *         <td>Description</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code ttl}</td>
+ *         <td>10 seconds</td>
+ *         <td>The sliding window over which successful requests and retries are counted.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code minRetriesPerSecond}</td>
+ *         <td>10</td>
+ *         <td>The number of retries per second which are always allowed, regardless of the request rate.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code percentCanRetry}</td>
+ *         <td>20</td>
+ *         <td>The number of retries allowed on top of the reserve, as a percentage of the successful requests
+ *         within the window.</td>
+ *     </tr>
+ * </table>
+ *
+ * @since 2.1
+ */
+public class RetryBudgetConfiguration {
+    @NotNull
+    @MinDuration(value = 1, unit = TimeUnit.SECONDS)
+    private Duration ttl = Duration.seconds(10);
+
+    @Min(0)
+    private int minRetriesPerSecond = 10;
+
+    @Min(0)
+    @Max(1000)
+    private int percentCanRetry = 20;
+
+    @JsonProperty
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    @JsonProperty
+    public void setTtl(Duration ttl) {
+        this.ttl = ttl;
+    }
+
+    @JsonProperty
+    public int getMinRetriesPerSecond() {
+        return minRetriesPerSecond;
+    }
+
+    @JsonProperty
+    public void setMinRetriesPerSecond(int minRetriesPerSecond) {
+        this.minRetriesPerSecond = minRetriesPerSecond;
+    }
+
+    @JsonProperty
+    public int getPercentCanRetry() {
+        return percentCanRetry;
+    }
+
+    @JsonProperty
+    public void setPercentCanRetry(int percentCanRetry) {
+        this.percentCanRetry = percentCanRetry;
+    }
+}
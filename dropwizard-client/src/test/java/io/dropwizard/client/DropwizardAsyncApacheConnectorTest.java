@@ -0,0 +1,211 @@
+package io.dropwizard.client;
+
+import io.dropwizard.Application;
+import io.dropwizard.Configuration;
+import io.dropwizard.setup.Environment;
+import io.dropwizard.testing.ResourceHelpers;
+import io.dropwizard.testing.junit5.DropwizardAppExtension;
+import io.dropwizard.testing.junit5.DropwizardExtensionsSupport;
+import io.dropwizard.util.Duration;
+import org.apache.http.HttpStatus;
+import org.eclipse.jetty.util.component.LifeCycle;
+import org.glassfish.jersey.client.ClientProperties;
+import org.glassfish.jersey.client.JerseyClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import javax.ws.rs.Consumes;
+import javax.ws.rs.GET;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.client.Invocation;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.Suspended;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+@ExtendWith(DropwizardExtensionsSupport.class)
+class DropwizardAsyncApacheConnectorTest {
+
+    private static final int SLEEP_TIME_IN_MILLIS = 1000;
+    private static final int DEFAULT_READ_TIMEOUT_IN_MILLIS = 500;
+    private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor();
+
+    private static final DropwizardAppExtension<Configuration> APP_RULE = new DropwizardAppExtension<>(
+            TestApplication.class,
+            ResourceHelpers.resourceFilePath("yaml/dropwizardApacheConnectorTest.yml"));
+
+    private final URI testUri = URI.create("http://localhost:" + APP_RULE.getLocalPort());
+
+    private JerseyClient client;
+    private Environment environment;
+
+    @BeforeEach
+    void setup() throws Exception {
+        JerseyClientConfiguration clientConfiguration = new JerseyClientConfiguration();
+        clientConfiguration.setConnectionTimeout(Duration.milliseconds(SLEEP_TIME_IN_MILLIS / 2));
+        clientConfiguration.setTimeout(Duration.milliseconds(DEFAULT_READ_TIMEOUT_IN_MILLIS));
+        clientConfiguration.setNonBlockingConnectorEnabled(true);
+        // A single worker thread, so that any blocking on in-flight requests would serialize them
+        clientConfiguration.setMaxThreads(1);
+
+        environment = new Environment("test-dropwizard-async-apache-connector");
+        client = (JerseyClient) new JerseyClientBuilder(environment)
+                .using(clientConfiguration)
+                .build("test");
+        for (LifeCycle lifeCycle : environment.lifecycle().getManagedObjects()) {
+            lifeCycle.start();
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        for (LifeCycle lifeCycle : environment.lifecycle().getManagedObjects()) {
+            lifeCycle.stop();
+        }
+        assertThat(client.isClosed()).isTrue();
+    }
+
+    @Test
+    void uses_the_non_blocking_connector() {
+        // The connector is created lazily with the client runtime
+        assertThat(client.target(testUri + "/redirected").request().get(String.class)).isEqualTo("redirected");
+        assertThat(client.getConfiguration().getConnector()).isInstanceOf(DropwizardAsyncApacheConnector.class);
+    }
+
+    @Test
+    void when_no_read_timeout_override_then_client_request_times_out() {
+        Invocation.Builder request = client.target(testUri + "/long_running").request();
+        assertThatExceptionOfType(ProcessingException.class)
+            .isThrownBy(request::get)
+            .withCauseInstanceOf(SocketTimeoutException.class);
+    }
+
+    @Test
+    void when_read_timeout_override_created_then_client_requests_completes_successfully() {
+        assertThat(client.target(testUri + "/long_running")
+                .property(ClientProperties.READ_TIMEOUT, SLEEP_TIME_IN_MILLIS * 2)
+                .request()
+                .get()
+                .getStatus())
+            .isEqualTo(200);
+    }
+
+    @Test
+    void when_no_override_then_redirected_request_successfully_redirected() {
+        assertThat(client.target(testUri + "/redirect")
+                        .request()
+                        .get(String.class)
+        ).isEqualTo("redirected");
+    }
+
+    @Test
+    void when_configuration_overridden_to_disallow_redirects_temporary_redirect_status_returned() {
+        assertThat(client.target(testUri + "/redirect")
+                        .property(ClientProperties.FOLLOW_REDIRECTS, false)
+                        .request()
+                        .get(Response.class)
+                        .getStatus()
+        ).isEqualTo(HttpStatus.SC_TEMPORARY_REDIRECT);
+    }
+
+    @Test
+    void sends_request_entity() {
+        assertThat(client.target(testUri + "/echo")
+                        .request()
+                        .post(Entity.text("cheese"), String.class)
+        ).isEqualTo("cheese");
+    }
+
+    @Test
+    void concurrent_async_requests_do_not_hold_a_thread_each() throws Exception {
+        final List<CompletableFuture<String>> responses = new ArrayList<>();
+        final long start = System.nanoTime();
+        for (int i = 0; i < 4; i++) {
+            responses.add(client.target(testUri + "/delayed")
+                .property(ClientProperties.READ_TIMEOUT, SLEEP_TIME_IN_MILLIS * 4)
+                .request()
+                .rx()
+                .get(String.class)
+                .toCompletableFuture());
+        }
+        for (CompletableFuture<String> response : responses) {
+            assertThat(response.get(SLEEP_TIME_IN_MILLIS * 4L, TimeUnit.MILLISECONDS)).isEqualTo("success");
+        }
+
+        // With a single worker thread, blocking requests would take at least four delays
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(SLEEP_TIME_IN_MILLIS * 3L);
+    }
+
+    @Test
+    void async_failures_are_reported_to_the_caller() {
+        final CompletionStage<String> response = client.target(testUri + "/long_running")
+            .request()
+            .rx()
+            .get(String.class);
+        assertThatExceptionOfType(ExecutionException.class)
+            .isThrownBy(() -> response.toCompletableFuture().get())
+            .withCauseInstanceOf(ProcessingException.class)
+            .withRootCauseInstanceOf(SocketTimeoutException.class);
+    }
+
+    @Path("/")
+    public static class TestResource {
+
+        @GET
+        @Path("/long_running")
+        public String getWithSleep() throws InterruptedException {
+            TimeUnit.MILLISECONDS.sleep(SLEEP_TIME_IN_MILLIS);
+            return "success";
+        }
+
+        @GET
+        @Path("/delayed")
+        public void getDelayed(@Suspended AsyncResponse response) {
+            SCHEDULER.schedule(() -> response.resume("success"), SLEEP_TIME_IN_MILLIS, TimeUnit.MILLISECONDS);
+        }
+
+        @GET
+        @Path("redirect")
+        public Response getWithRedirect() {
+            return Response.temporaryRedirect(URI.create("/redirected")).build();
+        }
+
+        @GET
+        @Path("redirected")
+        public String redirectedGet() {
+            return "redirected";
+        }
+
+        @POST
+        @Path("echo")
+        @Consumes(MediaType.TEXT_PLAIN)
+        public String echo(String entity) {
+            return entity;
+        }
+    }
+
+    public static class TestApplication extends Application<Configuration> {
+        @Override
+        public void run(Configuration configuration, Environment environment) {
+            environment.jersey().register(TestResource.class);
+        }
+    }
+}
@@ -4,8 +4,14 @@ import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.httpclient.HttpClientMetricNameStrategies;
 import com.codahale.metrics.httpclient.InstrumentedHttpClientConnectionManager;
 import com.codahale.metrics.httpclient.InstrumentedHttpRequestExecutor;
+import io.dropwizard.client.dns.CachingDnsResolver;
+import io.dropwizard.client.dns.DnsCacheConfiguration;
 import io.dropwizard.client.proxy.AuthConfiguration;
 import io.dropwizard.client.proxy.ProxyConfiguration;
+import io.dropwizard.client.retry.BudgetedHttpRequestRetryHandler;
+import io.dropwizard.client.retry.HedgingConfiguration;
+import io.dropwizard.client.retry.HedgingHttpClient;
+import io.dropwizard.client.retry.RetryBudgetConfiguration;
 import io.dropwizard.client.ssl.TlsConfiguration;
 import io.dropwizard.lifecycle.Managed;
 import io.dropwizard.lifecycle.setup.LifecycleEnvironment;
@@ -17,6 +23,7 @@ import org.apache.http.HttpHeaders;
 import org.apache.http.HttpHost;
 import org.apache.http.HttpRequest;
 import org.apache.http.HttpResponse;
+import org.apache.http.NoHttpResponseException;
 import org.apache.http.auth.AuthScope;
 import org.apache.http.auth.Credentials;
 import org.apache.http.auth.NTCredentials;
@@ -29,6 +36,7 @@ import org.apache.http.client.config.CookieSpecs;
 import org.apache.http.client.config.RequestConfig;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.client.protocol.HttpClientContext;
 import org.apache.http.config.Registry;
 import org.apache.http.config.RegistryBuilder;
 import org.apache.http.config.SocketConfig;
@@ -46,6 +54,7 @@ import org.apache.http.impl.conn.DefaultRoutePlanner;
 import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.apache.http.impl.conn.SystemDefaultDnsResolver;
 import org.apache.http.impl.conn.SystemDefaultRoutePlanner;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
 import org.apache.http.message.BasicHeader;
 import org.apache.http.message.BasicListHeaderIterator;
 import org.apache.http.protocol.BasicHttpContext;
@@ -127,6 +136,7 @@ class HttpClientBuilderTest {
             .register("http", PlainConnectionSocketFactory.getSocketFactory())
             .register("https", SSLConnectionSocketFactory.getSocketFactory())
             .build();
+    private MetricRegistry metricRegistry;
     private HttpClientConfiguration configuration;
     private HttpClientBuilder builder;
     private InstrumentedHttpClientConnectionManager connectionManager;
@@ -140,7 +150,7 @@ class HttpClientBuilderTest {
 
     @BeforeEach
     void setUp() {
-        final MetricRegistry metricRegistry = new MetricRegistry();
+        metricRegistry = new MetricRegistry();
         configuration = new HttpClientConfiguration();
         builder = new HttpClientBuilder(metricRegistry);
         connectionManager = spy(new InstrumentedHttpClientConnectionManager(metricRegistry, registry));
@@ -184,6 +194,20 @@ class HttpClientBuilderTest {
         assertThat(spyHttpClientBuilderField("userAgent", apacheBuilder)).isEqualTo("qwerty");
     }
 
+    @Test
+    void instrumentsConnectionLeasesPerRoute() {
+        assertThat(builder.createConnectionManager(registry, "test"))
+            .isInstanceOf(RouteInstrumentedHttpClientConnectionManager.class);
+        assertThat(metricRegistry.getTimers())
+            .containsKey("org.apache.http.conn.HttpClientConnectionManager.test.lease-wait");
+        assertThat(metricRegistry.getMeters())
+            .containsKeys("org.apache.http.conn.HttpClientConnectionManager.test.lease-timeouts",
+                "org.apache.http.conn.HttpClientConnectionManager.test.connections-created",
+                "org.apache.http.conn.HttpClientConnectionManager.test.connections-reused",
+                "org.apache.http.conn.HttpClientConnectionManager.test.connection-validations",
+                "org.apache.http.conn.HttpClientConnectionManager.test.connections-closed-stale");
+    }
+
     @Test
     void canUseACustomDnsResolver() throws Exception {
         final DnsResolver resolver = mock(DnsResolver.class);
@@ -211,6 +235,20 @@ class HttpClientBuilderTest {
         assertThat(dnsResolverField.get(connectOperator)).isInstanceOf(SystemDefaultDnsResolver.class);
     }
 
+    @Test
+    void cachesDnsLookupsIfConfigured() throws Exception {
+        configuration.setDnsCache(new DnsCacheConfiguration());
+        final InstrumentedHttpClientConnectionManager manager =
+                builder.using(configuration).createConnectionManager(registry, "test");
+
+        // Yes, this is gross. Thanks, Apache!
+        final Field connectionOperatorField =
+                getInaccessibleField(PoolingHttpClientConnectionManager.class, "connectionOperator");
+        final Object connectOperator = connectionOperatorField.get(manager);
+        final Field dnsResolverField = getInaccessibleField(connectOperator.getClass(), "dnsResolver");
+        assertThat(dnsResolverField.get(connectOperator)).isInstanceOf(CachingDnsResolver.class);
+    }
+
     @Test
     void canUseACustomHostnameVerifierWhenTlsConfigurationNotSpecified() throws Exception {
         final HostnameVerifier customVerifier = (s, sslSession) -> false;
@@ -466,6 +504,33 @@ class HttpClientBuilderTest {
         assertThat(spyHttpClientBuilderField("retryHandler", apacheBuilder)).isSameAs(customHandler);
     }
 
+    @Test
+    void limitsRetriesWithARetryBudget() throws Exception {
+        final RetryBudgetConfiguration retryBudget = new RetryBudgetConfiguration();
+        retryBudget.setMinRetriesPerSecond(0);
+        configuration.setRetries(3);
+        configuration.setRetryBudget(retryBudget);
+        assertThat(builder.using(configuration).createClient(apacheBuilder, connectionManager, "test")).isNotNull();
+
+        final HttpRequestRetryHandler retryHandler =
+            (HttpRequestRetryHandler) spyHttpClientBuilderField("retryHandler", apacheBuilder);
+        assertThat(retryHandler).isInstanceOf(BudgetedHttpRequestRetryHandler.class);
+        assertThat(retryHandler.retryRequest(new NoHttpResponseException("fail"), 1, HttpClientContext.create()))
+            .isFalse();
+        assertThat(metricRegistry.meter("org.apache.http.client.HttpClient.test.retry-budget-exhausted").getCount())
+            .isEqualTo(1);
+    }
+
+    @Test
+    void wrapsTheClientIfHedgingIsConfigured() throws Exception {
+        configuration.setHedging(new HedgingConfiguration());
+        final ConfiguredCloseableHttpClient client = builder.using(configuration)
+            .createClient(apacheBuilder, connectionManager, "test");
+
+        assertThat(client.getClient()).isInstanceOf(HedgingHttpClient.class);
+        client.getClient().close();
+    }
+
     @Test
     void usesCredentialsProvider() throws Exception {
         final CredentialsProvider credentialsProvider = new CredentialsProvider() {
@@ -659,6 +724,51 @@ class HttpClientBuilderTest {
         verify(httpClient).close();
     }
 
+    @Test
+    void asyncClientIsManagedByEnvironment() throws Exception {
+        final Environment environment = mock(Environment.class);
+        when(environment.getName()).thenReturn("test-env");
+        when(environment.metrics()).thenReturn(new MetricRegistry());
+
+        final LifecycleEnvironment lifecycle = mock(LifecycleEnvironment.class);
+        when(environment.lifecycle()).thenReturn(lifecycle);
+
+        final CloseableHttpAsyncClient httpAsyncClient = mock(CloseableHttpAsyncClient.class);
+        HttpClientBuilder httpClientBuilder = spy(new HttpClientBuilder(environment));
+        when(httpClientBuilder.buildAsyncWithDefaultRequestConfiguration("test-apache-async-client"))
+                .thenReturn(new ConfiguredCloseableHttpAsyncClient(httpAsyncClient, RequestConfig.DEFAULT));
+        assertThat(httpClientBuilder.buildAsync("test-apache-async-client")).isSameAs(httpAsyncClient);
+
+        final ArgumentCaptor<Managed> argumentCaptor = ArgumentCaptor.forClass(Managed.class);
+        verify(lifecycle).manage(argumentCaptor.capture());
+
+        final Managed managed = argumentCaptor.getValue();
+        managed.stop();
+        verify(httpAsyncClient).close();
+    }
+
+    @Test
+    void asyncClientRegistersConnectionPoolGauges() throws Exception {
+        final MetricRegistry metricRegistry = new MetricRegistry();
+        configuration.setMaxConnections(412);
+        configuration.setMaxConnectionsPerRoute(413);
+
+        try (CloseableHttpAsyncClient client = new HttpClientBuilder(metricRegistry).using(configuration)
+                .buildAsync("test")) {
+            assertThat(client.isRunning()).isTrue();
+            assertThat(metricRegistry.getGauges())
+                .containsKeys("org.apache.http.nio.conn.NHttpClientConnectionManager.test.available-connections",
+                    "org.apache.http.nio.conn.NHttpClientConnectionManager.test.leased-connections",
+                    "org.apache.http.nio.conn.NHttpClientConnectionManager.test.max-connections",
+                    "org.apache.http.nio.conn.NHttpClientConnectionManager.test.pending-connections");
+            assertThat(metricRegistry.gauge("org.apache.http.nio.conn.NHttpClientConnectionManager.test.max-connections")
+                .getValue())
+                .isEqualTo(412);
+        }
+
+        assertThat(metricRegistry.getGauges()).isEmpty();
+    }
+
     @Test
     void usesACustomRedirectStrategy() throws Exception {
         RedirectStrategy neverFollowRedirectStrategy = new RedirectStrategy() {
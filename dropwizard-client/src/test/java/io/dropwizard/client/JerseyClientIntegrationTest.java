@@ -6,6 +6,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.sun.net.httpserver.Headers;
 import com.sun.net.httpserver.HttpExchange;
 import com.sun.net.httpserver.HttpServer;
+import io.dropwizard.client.cache.HttpCacheConfiguration;
 import io.dropwizard.jackson.Jackson;
 import io.dropwizard.util.Duration;
 import org.apache.http.client.HttpRequestRetryHandler;
@@ -318,6 +319,70 @@ class JerseyClientIntegrationTest {
         jersey.close();
     }
 
+    @Test
+    void testResponseCache() {
+        final List<String> requests = new ArrayList<>();
+        httpServer.createContext("/fresh", httpExchange -> {
+            try {
+                requests.add("fresh");
+                httpExchange.getResponseHeaders().add(HttpHeaders.CACHE_CONTROL, "max-age=60");
+                httpExchange.getResponseHeaders().add(HttpHeaders.CONTENT_TYPE, TEXT_PLAIN);
+                sendBody(httpExchange, "Fresh");
+            } finally {
+                httpExchange.close();
+            }
+        });
+        httpServer.createContext("/etag", httpExchange -> {
+            try {
+                final String ifNoneMatch = httpExchange.getRequestHeaders().getFirst(HttpHeaders.IF_NONE_MATCH);
+                requests.add("etag " + ifNoneMatch);
+                httpExchange.getResponseHeaders().add(HttpHeaders.CACHE_CONTROL, "max-age=0");
+                httpExchange.getResponseHeaders().add(HttpHeaders.ETAG, "\"v1\"");
+                if ("\"v1\"".equals(ifNoneMatch)) {
+                    httpExchange.sendResponseHeaders(304, -1);
+                } else {
+                    httpExchange.getResponseHeaders().add(HttpHeaders.CONTENT_TYPE, TEXT_PLAIN);
+                    sendBody(httpExchange, "Tagged");
+                }
+            } finally {
+                httpExchange.close();
+            }
+        });
+        httpServer.start();
+
+        JerseyClientConfiguration configuration = new JerseyClientConfiguration();
+        configuration.setCache(new HttpCacheConfiguration());
+
+        MetricRegistry metricRegistry = new MetricRegistry();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Client jersey = new JerseyClientBuilder(metricRegistry)
+                .using(executor, JSON_MAPPER)
+                .using(configuration)
+                .build("jersey-test");
+        WebTarget target = jersey.target("http://127.0.0.1:" + httpServer.getAddress().getPort());
+        for (int i = 0; i < 2; i++) {
+            assertThat(target.path("fresh").request().get(String.class)).isEqualTo("Fresh");
+            assertThat(target.path("etag").request().get(String.class)).isEqualTo("Tagged");
+        }
+
+        assertThat(requests).containsExactly("fresh", "etag null", "etag \"v1\"");
+        assertThat(metricRegistry.meter("org.apache.http.client.HttpClient.jersey-test.cache-hits").getCount())
+                .isEqualTo(1);
+        assertThat(metricRegistry.meter("org.apache.http.client.HttpClient.jersey-test.cache-misses").getCount())
+                .isEqualTo(2);
+        assertThat(metricRegistry.meter("org.apache.http.client.HttpClient.jersey-test.cache-revalidations")
+                .getCount()).isEqualTo(1);
+
+        executor.shutdown();
+        jersey.close();
+    }
+
+    private static void sendBody(HttpExchange httpExchange, String body) throws IOException {
+        final byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        httpExchange.sendResponseHeaders(200, bytes.length);
+        httpExchange.getResponseBody().write(bytes);
+    }
+
     /**
      * Test for ConnectorProvider idempotency
      */
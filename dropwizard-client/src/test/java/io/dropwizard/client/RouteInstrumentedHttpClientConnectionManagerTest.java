@@ -0,0 +1,159 @@
+package io.dropwizard.client;
+
+import com.codahale.metrics.MetricRegistry;
+import org.apache.http.HttpClientConnection;
+import org.apache.http.HttpHost;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.impl.conn.SystemDefaultDnsResolver;
+import org.apache.http.protocol.BasicHttpContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class RouteInstrumentedHttpClientConnectionManagerTest {
+    private static final String PREFIX = "org.apache.http.conn.HttpClientConnectionManager.test.";
+
+    private final MetricRegistry metricRegistry = new MetricRegistry();
+    private final List<Socket> accepted = new CopyOnWriteArrayList<>();
+    private ServerSocket serverSocket;
+    private HttpRoute route;
+    private RouteInstrumentedHttpClientConnectionManager manager;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        final Thread acceptor = new Thread(() -> {
+            try {
+                while (!serverSocket.isClosed()) {
+                    accepted.add(serverSocket.accept());
+                }
+            } catch (IOException ignored) {
+                // The server socket has been closed
+            }
+        });
+        acceptor.setDaemon(true);
+        acceptor.start();
+
+        route = new HttpRoute(new HttpHost("127.0.0.1", serverSocket.getLocalPort()));
+        manager = new RouteInstrumentedHttpClientConnectionManager(metricRegistry,
+            RegistryBuilder.<ConnectionSocketFactory>create()
+                .register("http", PlainConnectionSocketFactory.getSocketFactory())
+                .build(),
+            new SystemDefaultDnsResolver(), 1, TimeUnit.HOURS, "test");
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        manager.shutdown();
+        serverSocket.close();
+        for (Socket socket : accepted) {
+            socket.close();
+        }
+    }
+
+    @Test
+    void measuresLeaseWaitAndConnectionChurn() throws Exception {
+        release(lease());
+        release(lease());
+
+        assertThat(metricRegistry.timer(PREFIX + "lease-wait").getCount()).isEqualTo(2);
+        assertThat(metricRegistry.timer(PREFIX + "lease-wait.127.0.0.1:" + serverSocket.getLocalPort()).getCount())
+            .isEqualTo(2);
+        assertThat(metricRegistry.meter(PREFIX + "connections-created").getCount()).isEqualTo(1);
+        assertThat(metricRegistry.meter(PREFIX + "connections-reused").getCount()).isEqualTo(1);
+    }
+
+    @Test
+    void countsLeaseTimeouts() throws Exception {
+        manager.setMaxPerRoute(route, 1);
+        final HttpClientConnection connection = lease();
+
+        assertThatExceptionOfType(ConnectionPoolTimeoutException.class)
+            .isThrownBy(() -> manager.requestConnection(route, null).get(10, TimeUnit.MILLISECONDS));
+        assertThat(metricRegistry.meter(PREFIX + "lease-timeouts").getCount()).isEqualTo(1);
+        assertThat(metricRegistry.meter(PREFIX + "lease-timeouts.127.0.0.1:" + serverSocket.getLocalPort())
+            .getCount()).isEqualTo(1);
+        release(connection);
+    }
+
+    @Test
+    void countsValidationsAfterInactivity() throws Exception {
+        manager.setValidateAfterInactivity(1);
+        release(lease());
+        Thread.sleep(20);
+        release(lease());
+
+        assertThat(metricRegistry.meter(PREFIX + "connection-validations").getCount()).isEqualTo(1);
+        assertThat(metricRegistry.meter(PREFIX + "connections-closed-stale").getCount()).isZero();
+        assertThat(metricRegistry.meter(PREFIX + "connections-reused").getCount()).isEqualTo(1);
+    }
+
+    @Test
+    void countsStaleConnections() throws Exception {
+        manager.setValidateAfterInactivity(1);
+        release(lease());
+        while (accepted.isEmpty()) {
+            Thread.sleep(1);
+        }
+        for (Socket socket : accepted) {
+            socket.close();
+        }
+        Thread.sleep(20);
+        release(lease());
+
+        assertThat(metricRegistry.meter(PREFIX + "connections-closed-stale").getCount()).isEqualTo(1);
+        assertThat(metricRegistry.meter(PREFIX + "connections-created").getCount()).isEqualTo(2);
+    }
+
+    @Test
+    void capsTheNumberOfRoutesWithSeparateMetrics() throws Exception {
+        for (int i = 0; i <= RouteInstrumentedHttpClientConnectionManager.MAX_ROUTE_METRICS; i++) {
+            manager.releaseConnection(manager.requestConnection(new HttpRoute(new HttpHost("host" + i, 80)), null)
+                .get(1, TimeUnit.SECONDS), null, 0, TimeUnit.MILLISECONDS);
+        }
+
+        assertThat(metricRegistry.timer(PREFIX + "lease-wait").getCount())
+            .isEqualTo(RouteInstrumentedHttpClientConnectionManager.MAX_ROUTE_METRICS + 1);
+        assertThat(metricRegistry.getTimers((name, metric) -> name.startsWith(PREFIX + "lease-wait.")))
+            .hasSize(RouteInstrumentedHttpClientConnectionManager.MAX_ROUTE_METRICS)
+            .doesNotContainKey(PREFIX + "lease-wait.host100:80");
+    }
+
+    @Test
+    void removesItsMetricsOnShutdown() throws Exception {
+        release(lease());
+        manager.shutdown();
+
+        assertThat(metricRegistry.getNames()).noneMatch(name -> name.startsWith(PREFIX));
+    }
+
+    private HttpClientConnection lease() throws Exception {
+        final HttpClientConnection connection = manager.requestConnection(route, null).get(1, TimeUnit.SECONDS);
+        if (!connection.isOpen()) {
+            manager.connect(connection, route, 1000, new BasicHttpContext());
+            manager.routeComplete(connection, route, new BasicHttpContext());
+            // Binds the socket streams, as sending a request would
+            connection.flush();
+        }
+        return connection;
+    }
+
+    private void release(HttpClientConnection connection) {
+        manager.releaseConnection(connection, null, 1, TimeUnit.MINUTES);
+    }
+}
@@ -0,0 +1,60 @@
+package io.dropwizard.client.cache;
+
+import org.apache.http.Header;
+import org.apache.http.HttpStatus;
+import org.apache.http.HttpVersion;
+import org.apache.http.client.cache.HttpCacheEntry;
+import org.apache.http.impl.client.cache.HeapResource;
+import org.apache.http.message.BasicStatusLine;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BoundedHttpCacheStorageTest {
+    @Test
+    void evictsTheLeastRecentlyUsedEntryWhenFull() {
+        final BoundedHttpCacheStorage storage = new BoundedHttpCacheStorage(2, 1024);
+        storage.putEntry("a", entry(10));
+        storage.putEntry("b", entry(10));
+        assertThat(storage.getEntry("a")).isNotNull();
+
+        storage.putEntry("c", entry(10));
+
+        assertThat(storage.size()).isEqualTo(2);
+        assertThat(storage.getEntry("a")).isNotNull();
+        assertThat(storage.getEntry("b")).isNull();
+        assertThat(storage.sizeInBytes()).isEqualTo(20);
+    }
+
+    @Test
+    void evictsEntriesUntilTheBodiesFit() {
+        final BoundedHttpCacheStorage storage = new BoundedHttpCacheStorage(10, 100);
+        storage.putEntry("a", entry(40));
+        storage.putEntry("b", entry(40));
+        storage.putEntry("c", entry(40));
+
+        assertThat(storage.getEntry("a")).isNull();
+        assertThat(storage.size()).isEqualTo(2);
+        assertThat(storage.sizeInBytes()).isEqualTo(80);
+    }
+
+    @Test
+    void accountsForReplacedAndRemovedEntries() throws Exception {
+        final BoundedHttpCacheStorage storage = new BoundedHttpCacheStorage(10, 100);
+        storage.putEntry("a", entry(40));
+        storage.updateEntry("a", existing -> entry(60));
+        assertThat(storage.sizeInBytes()).isEqualTo(60);
+
+        storage.updateEntry("a", existing -> null);
+        assertThat(storage.getEntry("a")).isNull();
+        assertThat(storage.sizeInBytes()).isZero();
+    }
+
+    private static HttpCacheEntry entry(int length) {
+        final Date now = new Date();
+        return new HttpCacheEntry(now, now, new BasicStatusLine(HttpVersion.HTTP_1_1, HttpStatus.SC_OK, "OK"),
+            new Header[0], new HeapResource(new byte[length]));
+    }
+}
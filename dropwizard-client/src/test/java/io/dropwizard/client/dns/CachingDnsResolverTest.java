@@ -0,0 +1,157 @@
+package io.dropwizard.client.dns;
+
+import com.codahale.metrics.MetricRegistry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.dropwizard.util.Duration;
+import org.apache.http.conn.DnsResolver;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class CachingDnsResolverTest {
+    private final FakeDnsResolver delegate = new FakeDnsResolver();
+    private final FakeTicker ticker = new FakeTicker();
+    private final List<Runnable> tasks = new ArrayList<>();
+    private final MetricRegistry metricRegistry = new MetricRegistry();
+    private final DnsCacheConfiguration configuration = new DnsCacheConfiguration();
+
+    @Test
+    void cachesResolvedAddresses() throws Exception {
+        delegate.addresses.put("example.com", new InetAddress[]{address("example.com", 1)});
+        final CachingDnsResolver resolver = createResolver();
+
+        assertThat(resolver.resolve("example.com")).containsExactly(address("example.com", 1));
+        assertThat(resolver.resolve("example.com")).containsExactly(address("example.com", 1));
+
+        assertThat(delegate.lookups).isEqualTo(1);
+        assertThat(metricRegistry.timer("org.apache.http.conn.DnsResolver.test.dns-lookups").getCount())
+            .isEqualTo(1);
+        assertThat(metricRegistry.meter("org.apache.http.conn.DnsResolver.test.dns-cache-misses").getCount())
+            .isEqualTo(1);
+    }
+
+    @Test
+    void servesStaleAddressesWhileRefreshing() throws Exception {
+        delegate.addresses.put("example.com", new InetAddress[]{address("example.com", 1)});
+        final CachingDnsResolver resolver = createResolver();
+        resolver.resolve("example.com");
+
+        delegate.addresses.put("example.com", new InetAddress[]{address("example.com", 2)});
+        ticker.advance(configuration.getTtl().toSeconds() + 1, TimeUnit.SECONDS);
+
+        assertThat(resolver.resolve("example.com")).containsExactly(address("example.com", 1));
+        runPendingTasks();
+
+        assertThat(resolver.resolve("example.com")).containsExactly(address("example.com", 2));
+        assertThat(delegate.lookups).isEqualTo(2);
+        assertThat(metricRegistry.meter("org.apache.http.conn.DnsResolver.test.dns-cache-misses").getCount())
+            .isEqualTo(1);
+    }
+
+    @Test
+    void keepsStaleAddressesIfTheRefreshFails() throws Exception {
+        delegate.addresses.put("example.com", new InetAddress[]{address("example.com", 1)});
+        final CachingDnsResolver resolver = createResolver();
+        resolver.resolve("example.com");
+
+        delegate.addresses.clear();
+        ticker.advance(configuration.getTtl().toSeconds() + 1, TimeUnit.SECONDS);
+        resolver.resolve("example.com");
+        runPendingTasks();
+
+        assertThat(resolver.resolve("example.com")).containsExactly(address("example.com", 1));
+        assertThat(metricRegistry.meter("org.apache.http.conn.DnsResolver.test.dns-lookup-failures").getCount())
+            .isEqualTo(1);
+    }
+
+    @Test
+    void resolvesAgainOnceTheAddressesAreTooStale() throws Exception {
+        configuration.setMaxStale(Duration.seconds(10));
+        delegate.addresses.put("example.com", new InetAddress[]{address("example.com", 1)});
+        final CachingDnsResolver resolver = createResolver();
+        resolver.resolve("example.com");
+
+        delegate.addresses.put("example.com", new InetAddress[]{address("example.com", 2)});
+        ticker.advance(configuration.getTtl().toSeconds() + 11, TimeUnit.SECONDS);
+
+        assertThat(resolver.resolve("example.com")).containsExactly(address("example.com", 2));
+        assertThat(metricRegistry.meter("org.apache.http.conn.DnsResolver.test.dns-cache-misses").getCount())
+            .isEqualTo(2);
+    }
+
+    @Test
+    void doesNotCacheFailures() throws Exception {
+        final CachingDnsResolver resolver = createResolver();
+
+        assertThatExceptionOfType(UnknownHostException.class).isThrownBy(() -> resolver.resolve("example.com"));
+        delegate.addresses.put("example.com", new InetAddress[]{address("example.com", 1)});
+
+        assertThat(resolver.resolve("example.com")).containsExactly(address("example.com", 1));
+        assertThat(delegate.lookups).isEqualTo(2);
+    }
+
+    @Test
+    void rotatesThroughAllAddressesIfConfigured() throws Exception {
+        configuration.setRotateAddresses(true);
+        delegate.addresses.put("example.com",
+            new InetAddress[]{address("example.com", 1), address("example.com", 2), address("example.com", 3)});
+        final CachingDnsResolver resolver = createResolver();
+
+        assertThat(resolver.resolve("example.com")[0]).isEqualTo(address("example.com", 1));
+        assertThat(resolver.resolve("example.com")[0]).isEqualTo(address("example.com", 2));
+        assertThat(resolver.resolve("example.com")).containsExactly(
+            address("example.com", 3), address("example.com", 1), address("example.com", 2));
+        assertThat(resolver.resolve("example.com")[0]).isEqualTo(address("example.com", 1));
+    }
+
+    private CachingDnsResolver createResolver() {
+        return new CachingDnsResolver(delegate, configuration, metricRegistry, "test", tasks::add, ticker);
+    }
+
+    private void runPendingTasks() {
+        final List<Runnable> pending = new ArrayList<>(tasks);
+        tasks.clear();
+        pending.forEach(Runnable::run);
+    }
+
+    private static InetAddress address(String host, int last) throws UnknownHostException {
+        return InetAddress.getByAddress(host, new byte[]{10, 0, 0, (byte) last});
+    }
+
+    private static class FakeDnsResolver implements DnsResolver {
+        private final Map<String, InetAddress[]> addresses = new HashMap<>();
+        private int lookups;
+
+        @Override
+        public InetAddress[] resolve(String host) throws UnknownHostException {
+            lookups++;
+            final InetAddress[] resolved = addresses.get(host);
+            if (resolved == null) {
+                throw new UnknownHostException(host);
+            }
+            return resolved;
+        }
+    }
+
+    private static class FakeTicker implements Ticker {
+        private long nanos;
+
+        void advance(long duration, TimeUnit unit) {
+            nanos += unit.toNanos(duration);
+        }
+
+        @Override
+        public long read() {
+            return nanos;
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package io.dropwizard.client.retry;
+
+import com.codahale.metrics.Meter;
+import io.dropwizard.util.Duration;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpRequest;
+import org.apache.http.NoHttpResponseException;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpExecutionAware;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.execchain.RequestAbortedException;
+import org.apache.http.protocol.HttpContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.nullable;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class HedgingHttpClientTest {
+    private static final HttpHost TARGET = new HttpHost("localhost", 8080);
+
+    private final CloseableHttpClient delegate = mock(CloseableHttpClient.class);
+    private final CloseableHttpResponse fastResponse = mock(CloseableHttpResponse.class);
+    private final CloseableHttpResponse slowResponse = mock(CloseableHttpResponse.class);
+    private final RetryBudgetTest.FakeClock clock = new RetryBudgetTest.FakeClock();
+    private final ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+    private final List<Runnable> timers = new CopyOnWriteArrayList<>();
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final Meter hedges = new Meter();
+    private final Meter hedgeWins = new Meter();
+    private final Meter budgetExhausted = new Meter();
+    private final Meter hedgesRejected = new Meter();
+
+    private HedgingHttpClient client;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        // Timers only fire when a test fires them, so that the races between the attempts are deterministic
+        when(scheduler.schedule(any(Runnable.class), anyLong(), any(TimeUnit.class))).thenAnswer(invocation -> {
+            timers.add(invocation.getArgument(0));
+            return mock(ScheduledFuture.class);
+        });
+        client = createClient(null, executor);
+        warmUp(client);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        client.close();
+    }
+
+    @Test
+    void doesNotHedgeUntilEnoughLatenciesHaveBeenObserved() throws Exception {
+        final HedgingHttpClient fresh = createClient(null, executor);
+        when(delegate.execute(any(HttpHost.class), any(HttpRequest.class), nullable(HttpContext.class)))
+            .thenReturn(slowResponse);
+
+        assertThat(fresh.currentDelay()).isNegative();
+        assertThat(fresh.execute(TARGET, new HttpGet("/"))).isSameAs(slowResponse);
+        assertThat(timers).isEmpty();
+        assertThat(hedges.getCount()).isZero();
+    }
+
+    @Test
+    void hedgesSlowRequests() throws Exception {
+        assertThat(client.currentDelay()).isEqualTo(TimeUnit.MILLISECONDS.toNanos(1));
+        final AtomicReference<Thread> primaryThread = new AtomicReference<>();
+        when(delegate.execute(any(HttpHost.class), any(HttpRequest.class), nullable(HttpContext.class)))
+            .thenAnswer(invocation -> {
+                primaryThread.set(Thread.currentThread());
+                fireTimers();
+                return awaitAbort(invocation.getArgument(1));
+            })
+            .thenReturn(fastResponse);
+
+        final HttpGet request = new HttpGet("/");
+        assertThat(client.execute(TARGET, request)).isSameAs(fastResponse);
+        assertThat(primaryThread).hasValue(Thread.currentThread());
+        assertThat(hedges.getCount()).isEqualTo(1);
+        assertThat(hedgeWins.getCount()).isEqualTo(1);
+        // Only the copy of the request which lost is aborted
+        assertThat(request.isAborted()).isFalse();
+    }
+
+    @Test
+    void releasesTheResponseOfTheLosingHedge() throws Exception {
+        final CountDownLatch primaryReturned = new CountDownLatch(1);
+        when(delegate.execute(any(HttpHost.class), any(HttpRequest.class), nullable(HttpContext.class)))
+            .thenAnswer(invocation -> {
+                fireTimers();
+                return fastResponse;
+            })
+            .thenAnswer(invocation -> {
+                // Ignores the abort, as if the response had already been received
+                primaryReturned.await();
+                return slowResponse;
+            });
+
+        final HttpGet request = new HttpGet("/");
+        assertThat(client.execute(TARGET, request)).isSameAs(fastResponse);
+        primaryReturned.countDown();
+
+        verify(slowResponse, timeout(5000)).close();
+        assertThat(hedges.getCount()).isEqualTo(1);
+        assertThat(hedgeWins.getCount()).isZero();
+        assertThat(request.isAborted()).isFalse();
+    }
+
+    @Test
+    void hedgesWithdrawFromTheRetryBudget() throws Exception {
+        client = createClient(new RetryBudget(Duration.seconds(10), 0, 0, clock), executor);
+        warmUp(client);
+        slowWithTimers();
+
+        assertThat(client.execute(TARGET, new HttpGet("/"))).isSameAs(slowResponse);
+        assertThat(hedges.getCount()).isZero();
+        assertThat(budgetExhausted.getCount()).isEqualTo(1);
+    }
+
+    @Test
+    void doesNotSendHedgesWhichTheExecutorRejects() throws Exception {
+        final ExecutorService saturated = mock(ExecutorService.class);
+        when(saturated.submit(any(Callable.class))).thenThrow(new RejectedExecutionException("Saturated"));
+        client = createClient(null, saturated);
+        warmUp(client);
+        slowWithTimers();
+
+        assertThat(client.execute(TARGET, new HttpGet("/"))).isSameAs(slowResponse);
+        assertThat(hedges.getCount()).isZero();
+        assertThat(hedgesRejected.getCount()).isEqualTo(1);
+    }
+
+    @Test
+    void doesNotHedgeRequestsWithAnEntity() throws Exception {
+        final HttpPost post = new HttpPost("/");
+        post.setEntity(new StringEntity("body"));
+
+        assertThat(client.execute(TARGET, post)).isSameAs(fastResponse);
+        assertThat(client.execute(TARGET, new HttpPost("/"))).isSameAs(fastResponse);
+        assertThat(hedges.getCount()).isZero();
+    }
+
+    @Test
+    void propagatesFailures() throws Exception {
+        when(delegate.execute(any(HttpHost.class), any(HttpRequest.class), nullable(HttpContext.class)))
+            .thenThrow(new NoHttpResponseException("The target server failed to respond"));
+
+        assertThatExceptionOfType(NoHttpResponseException.class)
+            .isThrownBy(() -> client.execute(TARGET, new HttpGet("/")));
+        verify(delegate, times(HedgingHttpClient.MIN_SAMPLES + 1))
+            .execute(any(HttpHost.class), any(HttpRequest.class), nullable(HttpContext.class));
+    }
+
+    private HedgingHttpClient createClient(@Nullable RetryBudget budget, ExecutorService hedgeExecutor) {
+        final HedgingConfiguration configuration = new HedgingConfiguration();
+        configuration.setMinDelay(Duration.milliseconds(1));
+        return new HedgingHttpClient(delegate, configuration, budget, scheduler, hedgeExecutor, hedges, hedgeWins,
+            budgetExhausted, hedgesRejected, clock);
+    }
+
+    /**
+     * Every request takes a millisecond, until the latencies are known well enough to hedge.
+     */
+    private void warmUp(HedgingHttpClient hedgingClient) throws Exception {
+        when(delegate.execute(any(HttpHost.class), any(HttpRequest.class), nullable(HttpContext.class)))
+            .thenAnswer(invocation -> {
+                clock.advance(1, TimeUnit.MILLISECONDS);
+                return fastResponse;
+            });
+        for (int i = 0; i < HedgingHttpClient.MIN_SAMPLES; i++) {
+            assertThat(hedgingClient.execute(TARGET, new HttpGet("/"))).isSameAs(fastResponse);
+        }
+        clock.advance(1, TimeUnit.MINUTES);
+    }
+
+    /**
+     * The next request fires the hedging timer while it's in flight, then responds.
+     */
+    private void slowWithTimers() throws Exception {
+        final Answer<CloseableHttpResponse> slow = invocation -> {
+            fireTimers();
+            return slowResponse;
+        };
+        when(delegate.execute(any(HttpHost.class), any(HttpRequest.class), nullable(HttpContext.class)))
+            .thenAnswer(slow);
+    }
+
+    private void fireTimers() {
+        final List<Runnable> due = new ArrayList<>(timers);
+        timers.clear();
+        due.forEach(Runnable::run);
+    }
+
+    /**
+     * Blocks like a connection waiting for a response, until the request is aborted.
+     */
+    private static CloseableHttpResponse awaitAbort(HttpExecutionAware request) throws Exception {
+        final CountDownLatch aborted = new CountDownLatch(1);
+        request.setCancellable(() -> {
+            aborted.countDown();
+            return true;
+        });
+        if (!aborted.await(5, TimeUnit.SECONDS)) {
+            throw new IllegalStateException("The request has not been aborted");
+        }
+        throw new RequestAbortedException("Request aborted");
+    }
+}
@@ -0,0 +1,77 @@
+package io.dropwizard.client.retry;
+
+import com.codahale.metrics.Clock;
+import io.dropwizard.util.Duration;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class RetryBudgetTest {
+    private final FakeClock clock = new FakeClock();
+
+    @Test
+    void allowsTheReserveWithoutAnyRequests() {
+        final RetryBudget budget = new RetryBudget(Duration.seconds(10), 1, 0, clock);
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(budget.tryWithdraw()).isTrue();
+        }
+        assertThat(budget.tryWithdraw()).isFalse();
+    }
+
+    @Test
+    void allowsAPercentageOfTheSuccessfulRequests() {
+        final RetryBudget budget = new RetryBudget(Duration.seconds(10), 0, 20, clock);
+        for (int i = 0; i < 50; i++) {
+            budget.deposit();
+        }
+
+        assertThat(budget.balance()).isEqualTo(10);
+        for (int i = 0; i < 10; i++) {
+            assertThat(budget.tryWithdraw()).isTrue();
+        }
+        assertThat(budget.tryWithdraw()).isFalse();
+        assertThat(budget.balance()).isZero();
+    }
+
+    @Test
+    void forgetsRequestsAndRetriesOutsideOfTheWindow() {
+        final RetryBudget budget = new RetryBudget(Duration.seconds(10), 0, 100, clock);
+        budget.deposit();
+        assertThat(budget.tryWithdraw()).isTrue();
+        assertThat(budget.tryWithdraw()).isFalse();
+
+        clock.advance(5, TimeUnit.SECONDS);
+        budget.deposit();
+        assertThat(budget.balance()).isEqualTo(1);
+
+        clock.advance(6, TimeUnit.SECONDS);
+        assertThat(budget.balance()).isEqualTo(1);
+        assertThat(budget.tryWithdraw()).isTrue();
+
+        clock.advance(10, TimeUnit.SECONDS);
+        assertThat(budget.balance()).isZero();
+    }
+
+    @Test
+    void rejectsAnEmptyWindow() {
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> new RetryBudget(Duration.seconds(0), 10, 20, clock));
+    }
+
+    static class FakeClock extends Clock {
+        private long tick = -TimeUnit.HOURS.toNanos(1);
+
+        void advance(long duration, TimeUnit unit) {
+            tick += unit.toNanos(duration);
+        }
+
+        @Override
+        public long getTick() {
+            return tick;
+        }
+    }
+}
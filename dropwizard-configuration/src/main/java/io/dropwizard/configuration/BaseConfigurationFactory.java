@@ -19,11 +19,10 @@ import javax.validation.Validator;
 import java.io.IOException;
 import java.io.InputStream;
 import java.lang.reflect.InvocationTargetException;
-import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import static java.util.Objects.requireNonNull;
@@ -36,15 +35,11 @@ import static java.util.Objects.requireNonNull;
  */
 public abstract class BaseConfigurationFactory<T> implements ConfigurationFactory<T> {
 
-    private static final Pattern ESCAPED_COMMA_PATTERN = Pattern.compile("\\\\,");
-    private static final Pattern ESCAPED_COMMA_SPLIT_PATTERN = Pattern.compile("(?<!\\\\),");
-    private static final Pattern ESCAPED_DOT_PATTERN = Pattern.compile("\\\\\\.");
-    private static final Pattern ESCAPED_DOT_SPLIT_PATTERN = Pattern.compile("(?<!\\\\)\\.");
-
     private final Class<T> klass;
     private final String propertyPrefix;
     protected final ObjectMapper mapper;
-    private final ConfigurationMetadata configurationMetadata;
+    @Nullable
+    private volatile ConfigurationMetadata configurationMetadata;
 
     @Nullable
     private final Validator validator;
@@ -73,7 +68,6 @@ public abstract class BaseConfigurationFactory<T> implements ConfigurationFactor
         this.mapper = objectMapper;
         this.parserFactory = parserFactory;
         this.validator = validator;
-        this.configurationMetadata = new ConfigurationMetadata(mapper, klass);
     }
 
     @Override
@@ -160,10 +154,7 @@ public abstract class BaseConfigurationFactory<T> implements ConfigurationFactor
 
     protected void addOverride(JsonNode root, String name, String value) {
         JsonNode node = root;
-        final List<String> parts = Arrays.stream(ESCAPED_DOT_SPLIT_PATTERN.split(name))
-                .map(String::trim)
-                .map(key -> ESCAPED_DOT_PATTERN.matcher(key).replaceAll("."))
-                .collect(Collectors.toList());
+        final List<String> parts = splitEscaped(name, '.');
         for (int i = 0; i < parts.size(); i++) {
             final String key = parts.get(i);
 
@@ -182,8 +173,8 @@ public abstract class BaseConfigurationFactory<T> implements ConfigurationFactor
             JsonNode child;
             final boolean moreParts = i < parts.size() - 1;
 
-            if (key.matches(".+\\[\\d+\\]$")) {
-                final int s = key.indexOf('[');
+            final int s = indexStart(key);
+            if (s > 0) {
                 final int index = Integer.parseInt(key.substring(s + 1, key.length() - 1));
                 child = obj.get(key.substring(0, s));
                 if (child == null) {
@@ -220,17 +211,14 @@ public abstract class BaseConfigurationFactory<T> implements ConfigurationFactor
 
             if (!moreParts) {
                 if ((node.get(key) != null && node.get(key).isArray())
-                    || (node.get(key) == null && configurationMetadata.isCollectionOfStrings(name))) {
+                    || (node.get(key) == null && getConfigurationMetadata().isCollectionOfStrings(name))) {
                     ArrayNode arrayNode = (ArrayNode) obj.get(key);
                     if (arrayNode == null) {
                         arrayNode = obj.arrayNode();
                         obj.set(key, arrayNode);
                     }
                     arrayNode.removeAll();
-                    Arrays.stream(ESCAPED_COMMA_SPLIT_PATTERN.split(value))
-                            .map(String::trim)
-                            .map(val -> ESCAPED_COMMA_PATTERN.matcher(val).replaceAll(","))
-                            .forEach(arrayNode::add);
+                    splitEscaped(value, ',').forEach(arrayNode::add);
                 } else {
                     obj.put(key, value);
                 }
@@ -238,6 +226,72 @@ public abstract class BaseConfigurationFactory<T> implements ConfigurationFactor
         }
     }
 
+    /**
+     * Introspects the configuration class only once an override needs to know the type of a missing node, as
+     * walking the whole type graph is expensive for large configurations.
+     */
+    private ConfigurationMetadata getConfigurationMetadata() {
+        ConfigurationMetadata metadata = configurationMetadata;
+        if (metadata == null) {
+            synchronized (this) {
+                metadata = configurationMetadata;
+                if (metadata == null) {
+                    metadata = new ConfigurationMetadata(mapper, klass);
+                    configurationMetadata = metadata;
+                }
+            }
+        }
+        return metadata;
+    }
+
+    /**
+     * Splits the given string at each separator which isn't escaped by a backslash, and trims the parts. Trailing
+     * empty parts are removed, like {@link String#split(String)} does.
+     */
+    private static List<String> splitEscaped(String value, char separator) {
+        final List<String> parts = new ArrayList<>();
+        final StringBuilder part = new StringBuilder();
+        int nonEmptyParts = 0;
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            if (c == '\\' && i + 1 < value.length() && value.charAt(i + 1) == separator) {
+                part.append(separator);
+                i++;
+            } else if (c == separator) {
+                parts.add(part.toString().trim());
+                nonEmptyParts = part.length() > 0 ? parts.size() : nonEmptyParts;
+                part.setLength(0);
+            } else {
+                part.append(c);
+            }
+        }
+        parts.add(part.toString().trim());
+        nonEmptyParts = part.length() > 0 ? parts.size() : nonEmptyParts;
+        return value.isEmpty() ? parts : parts.subList(0, nonEmptyParts);
+    }
+
+    /**
+     * Returns the position of the opening bracket if the key ends with an array index like {@code name[1]}, or
+     * {@code -1} otherwise.
+     */
+    private static int indexStart(String key) {
+        final int end = key.length() - 1;
+        if (end < 0 || key.charAt(end) != ']') {
+            return -1;
+        }
+        final int start = key.lastIndexOf('[', end);
+        if (start <= 0 || start + 1 == end) {
+            return -1;
+        }
+        for (int i = start + 1; i < end; i++) {
+            final char c = key.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+        }
+        return start;
+    }
+
     private void validate(String path, T config) throws ConfigurationValidationException {
         if (validator != null) {
             final Set<ConstraintViolation<T>> violations = validator.validate(config);
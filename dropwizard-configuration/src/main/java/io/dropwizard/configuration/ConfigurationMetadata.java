@@ -82,7 +82,32 @@ public class ConfigurationMetadata extends JsonFormatVisitorWrapper.Base {
     private Optional<JavaType> getTypeOfField(String fieldName) {
         // normalize the field name to recognize arrays correctly
         // (input is field[1].prop but stored as field[*].prop)
-        return Optional.ofNullable(fields.get(fieldName.replaceAll("\\[\\d+]", "[*]")));
+        return Optional.ofNullable(fields.get(normalizeIndices(fieldName)));
+    }
+
+    private static String normalizeIndices(String fieldName) {
+        if (fieldName.indexOf('[') < 0) {
+            return fieldName;
+        }
+
+        final StringBuilder normalized = new StringBuilder(fieldName.length());
+        int i = 0;
+        while (i < fieldName.length()) {
+            final char c = fieldName.charAt(i++);
+            normalized.append(c);
+            if (c != '[') {
+                continue;
+            }
+            int end = i;
+            while (end < fieldName.length() && fieldName.charAt(end) >= '0' && fieldName.charAt(end) <= '9') {
+                end++;
+            }
+            if (end > i && end < fieldName.length() && fieldName.charAt(end) == ']') {
+                normalized.append("*]");
+                i = end + 1;
+            }
+        }
+        return normalized.toString();
     }
 
     /**
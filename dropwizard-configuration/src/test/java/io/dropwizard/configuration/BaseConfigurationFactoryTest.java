@@ -245,6 +245,14 @@ public abstract class BaseConfigurationFactoryTest {
                 .isEqualTo(3);
     }
 
+    @Test
+    void handlesArrayOverrideWithWhitespaceAndTrailingSeparators() throws Exception {
+        System.setProperty("dw.type", " coder , wizard,,");
+        final Example example = factory.build(validFile);
+        assertThat(example.getType())
+                .containsExactly("coder", "wizard");
+    }
+
     @Test
     void handlesSingleElementArrayOverride() throws Exception {
         System.setProperty("dw.type", "overridden");
@@ -190,7 +190,9 @@ class ConfigurationMetadataTest {
                 Arguments.of("exampleWithDefault.set", true),
                 Arguments.of("exampleWithDefaults[0].array", true),
                 Arguments.of("exampleWithDefaults[0].list", true),
-                Arguments.of("exampleWithDefaults[0].set", true)
+                Arguments.of("exampleWithDefaults[0].set", true),
+                Arguments.of("exampleWithDefaults[10].list", true),
+                Arguments.of("exampleWithDefaults[].list", false)
         );
     }
 
@@ -7,6 +7,7 @@ import io.dropwizard.cli.ServerCommand;
 import io.dropwizard.logging.BootstrapLogging;
 import io.dropwizard.setup.Bootstrap;
 import io.dropwizard.setup.Environment;
+import io.dropwizard.setup.StartupProfile;
 import io.dropwizard.util.Generics;
 import io.dropwizard.util.JarLocation;
 
@@ -85,7 +86,10 @@ public abstract class Application<T extends Configuration> {
     public void run(String... arguments) throws Exception {
         final Bootstrap<T> bootstrap = new Bootstrap<>(this);
         addDefaultCommands(bootstrap);
-        initialize(bootstrap);
+        try (StartupProfile.PhaseTimer ignored = bootstrap.getStartupProfile()
+            .start(StartupProfile.PhaseType.APPLICATION_INITIALIZE, getName())) {
+            initialize(bootstrap);
+        }
         // Should be called after initialize to give an opportunity to set a custom metric registry
         bootstrap.registerMetrics();
 
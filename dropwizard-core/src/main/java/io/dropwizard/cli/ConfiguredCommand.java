@@ -6,7 +6,9 @@ import io.dropwizard.configuration.ConfigurationException;
 import io.dropwizard.configuration.ConfigurationFactory;
 import io.dropwizard.configuration.ConfigurationFactoryFactory;
 import io.dropwizard.configuration.ConfigurationSourceProvider;
+import io.dropwizard.setup.AdminFactory;
 import io.dropwizard.setup.Bootstrap;
+import io.dropwizard.setup.StartupProfile;
 import io.dropwizard.util.Generics;
 import net.sourceforge.argparse4j.inf.Argument;
 import net.sourceforge.argparse4j.inf.Namespace;
@@ -82,17 +84,29 @@ public abstract class ConfiguredCommand<T extends Configuration> extends Command
     @SuppressWarnings("unchecked")
     public void run(Bootstrap<?> wildcardBootstrap, Namespace namespace) throws Exception {
         final Bootstrap<T> bootstrap = (Bootstrap<T>) wildcardBootstrap;
-        configuration = parseConfiguration(bootstrap.getConfigurationFactoryFactory(),
-                                           bootstrap.getConfigurationSourceProvider(),
-                                           bootstrap.getValidatorFactory().getValidator(),
-                                           namespace.getString("file"),
-                                           getConfigurationClass(),
-                                           bootstrap.getObjectMapper());
+        final StartupProfile startupProfile = bootstrap.getStartupProfile();
+        final String file = namespace.getString("file");
+        try (StartupProfile.PhaseTimer ignored = startupProfile.start(StartupProfile.PhaseType.CONFIGURATION,
+            file == null ? "default configuration" : file)) {
+            configuration = parseConfiguration(bootstrap.getConfigurationFactoryFactory(),
+                                               bootstrap.getConfigurationSourceProvider(),
+                                               bootstrap.getValidatorFactory().getValidator(),
+                                               file,
+                                               getConfigurationClass(),
+                                               bootstrap.getObjectMapper());
+        }
 
         try {
             if (configuration != null) {
-                configuration.getLoggingFactory().configure(bootstrap.getMetricRegistry(),
-                                                            bootstrap.getApplication().getName());
+                try (StartupProfile.PhaseTimer ignored = startupProfile.start(StartupProfile.PhaseType.CONFIGURATION,
+                    "logging")) {
+                    configuration.getLoggingFactory().configure(bootstrap.getMetricRegistry(),
+                                                                bootstrap.getApplication().getName());
+                }
+                final AdminFactory adminFactory = configuration.getAdminFactory();
+                if (adminFactory != null) {
+                    adminFactory.getStartup().configure(startupProfile);
+                }
             }
 
             run(bootstrap, namespace, configuration);
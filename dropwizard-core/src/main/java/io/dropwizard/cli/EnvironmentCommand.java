@@ -4,6 +4,8 @@ import io.dropwizard.Application;
 import io.dropwizard.Configuration;
 import io.dropwizard.setup.Bootstrap;
 import io.dropwizard.setup.Environment;
+import io.dropwizard.setup.StartupProfile;
+import io.dropwizard.setup.StartupProfileServlet;
 import net.sourceforge.argparse4j.inf.Namespace;
 
 import javax.annotation.Nullable;
@@ -18,6 +20,8 @@ public abstract class EnvironmentCommand<T extends Configuration> extends Config
     private final Application<T> application;
     @Nullable
     private Environment environment;
+    @Nullable
+    private StartupProfile startupProfile;
 
     /**
      * Creates a new environment command.
@@ -42,6 +46,17 @@ public abstract class EnvironmentCommand<T extends Configuration> extends Config
         return environment;
     }
 
+    /**
+     * Returns the startup profile of the application or {@code null} if the command hasn't been run yet.
+     *
+     * @return the startup profile of the application or {@code null} if the command hasn't been run yet
+     * @since 2.1
+     */
+    @Nullable
+    protected StartupProfile getStartupProfile() {
+        return startupProfile;
+    }
+
     @SuppressWarnings("NullAway")
     @Override
     protected void run(Bootstrap<T> bootstrap, Namespace namespace, T configuration) throws Exception {
@@ -63,8 +78,18 @@ public abstract class EnvironmentCommand<T extends Configuration> extends Config
                 environment.getObjectMapper(),
                 application.getName()));
 
+        final StartupProfile startupProfile = bootstrap.getStartupProfile();
+        this.startupProfile = startupProfile;
+        if (configuration.getAdminFactory().getStartup().isServletEnabled()) {
+            environment.admin().addServlet("startup",
+                new StartupProfileServlet(startupProfile, environment.getObjectMapper())).addMapping("/startup");
+        }
+
         bootstrap.run(configuration, environment);
-        application.run(configuration, environment);
+        try (StartupProfile.PhaseTimer ignored = startupProfile.start(StartupProfile.PhaseType.APPLICATION_RUN,
+            application.getName())) {
+            application.run(configuration, environment);
+        }
         run(environment, namespace, configuration);
     }
 
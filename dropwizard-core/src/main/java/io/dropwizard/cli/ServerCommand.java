@@ -2,14 +2,24 @@ package io.dropwizard.cli;
 
 import io.dropwizard.Application;
 import io.dropwizard.Configuration;
+import io.dropwizard.lifecycle.JettyManaged;
+import io.dropwizard.setup.Bootstrap;
 import io.dropwizard.setup.Environment;
+import io.dropwizard.setup.StartupProfile;
 import net.sourceforge.argparse4j.inf.Namespace;
+import org.eclipse.jetty.server.Connector;
 import org.eclipse.jetty.server.Server;
 import org.eclipse.jetty.util.component.AbstractLifeCycle;
 import org.eclipse.jetty.util.component.LifeCycle;
+import org.glassfish.jersey.server.monitoring.ApplicationEvent;
+import org.glassfish.jersey.server.monitoring.ApplicationEventListener;
+import org.glassfish.jersey.server.monitoring.RequestEvent;
+import org.glassfish.jersey.server.monitoring.RequestEventListener;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
+
 /**
  * Runs a application as an HTTP server.
  *
@@ -44,9 +54,32 @@ public class ServerCommand<T extends Configuration> extends EnvironmentCommand<T
         return configurationClass;
     }
 
+    /**
+     * Runs the command, and logs the startup profile of the application once the server has been started.
+     */
+    @Override
+    public void run(Bootstrap<?> bootstrap, Namespace namespace) throws Exception {
+        final StartupProfile startupProfile = bootstrap.getStartupProfile();
+        try (StartupProfile.PhaseTimer ignored = startupProfile.start(StartupProfile.PhaseType.COMMAND, getName())) {
+            super.run(bootstrap, namespace);
+        }
+        startupProfile.log(bootstrap.getApplication().getName());
+    }
+
     @Override
     protected void run(Environment environment, Namespace namespace, T configuration) throws Exception {
-        final Server server = configuration.getServerFactory().build(environment);
+        final StartupProfile startupProfile = getStartupProfile();
+        final Server server;
+        if (startupProfile == null) {
+            server = configuration.getServerFactory().build(environment);
+        } else {
+            try (StartupProfile.PhaseTimer ignored = startupProfile.start(StartupProfile.PhaseType.SERVER_BUILD,
+                getName())) {
+                server = configuration.getServerFactory().build(environment);
+            }
+            profileStart(startupProfile, environment, server);
+        }
+
         try {
             server.addLifeCycleListener(new LifeCycleListener());
             cleanupAsynchronously();
@@ -67,6 +100,55 @@ public class ServerCommand<T extends Configuration> extends EnvironmentCommand<T
         }
     }
 
+    private static void profileStart(StartupProfile startupProfile, Environment environment, Server server) {
+        environment.getApplicationContext().addLifeCycleListener(
+            startupProfile.startListener(StartupProfile.PhaseType.HANDLER_START, "application"));
+        environment.getAdminContext().addLifeCycleListener(
+            startupProfile.startListener(StartupProfile.PhaseType.HANDLER_START, "admin"));
+        environment.jersey().register(new JerseyInitializationListener(startupProfile));
+        for (LifeCycle managed : environment.lifecycle().getManagedObjects()) {
+            final Object object = managed instanceof JettyManaged ? ((JettyManaged) managed).getManaged() : managed;
+            final String simpleName = object.getClass().getSimpleName();
+            managed.addLifeCycleListener(startupProfile.startListener(StartupProfile.PhaseType.MANAGED_START,
+                simpleName.isEmpty() ? object.getClass().getName() : simpleName));
+        }
+        for (Connector connector : server.getConnectors()) {
+            final String name = connector.getName();
+            connector.addLifeCycleListener(startupProfile.startListener(StartupProfile.PhaseType.CONNECTOR_START,
+                name == null ? connector.toString() : name));
+        }
+    }
+
+    /**
+     * Times the initialization of the Jersey application, i.e. the validation of its resource model and the build of
+     * its routing.
+     */
+    private static class JerseyInitializationListener implements ApplicationEventListener {
+        private final StartupProfile startupProfile;
+        @Nullable
+        private StartupProfile.PhaseTimer timer;
+
+        private JerseyInitializationListener(StartupProfile startupProfile) {
+            this.startupProfile = startupProfile;
+        }
+
+        @Override
+        public void onEvent(ApplicationEvent event) {
+            if (event.getType() == ApplicationEvent.Type.INITIALIZATION_START) {
+                timer = startupProfile.start(StartupProfile.PhaseType.JERSEY_INITIALIZE, "application");
+            } else if (event.getType() == ApplicationEvent.Type.INITIALIZATION_APP_FINISHED && timer != null) {
+                timer.close();
+                timer = null;
+            }
+        }
+
+        @Override
+        @Nullable
+        public RequestEventListener onRequest(RequestEvent requestEvent) {
+            return null;
+        }
+    }
+
     private class LifeCycleListener extends AbstractLifeCycle.AbstractLifeCycleListener {
         @Override
         public void lifeCycleStopped(LifeCycle event) {
@@ -5,6 +5,7 @@ import com.codahale.metrics.health.HealthCheckRegistry;
 import com.codahale.metrics.health.jvm.ThreadDeadlockHealthCheck;
 import io.dropwizard.jetty.MutableServletContextHandler;
 import io.dropwizard.jetty.setup.ServletEnvironment;
+import io.dropwizard.servlets.OpenMetricsServlet;
 import io.dropwizard.servlets.tasks.GarbageCollectionTask;
 import io.dropwizard.servlets.tasks.LogConfigurationTask;
 import io.dropwizard.servlets.tasks.Task;
@@ -43,6 +44,11 @@ public class AdminEnvironment extends ServletEnvironment {
         tasks.add(new GarbageCollectionTask());
         tasks.add(new LogConfigurationTask());
         addServlet("tasks", tasks).addMapping("/tasks/*");
+        final OpenMetricsConfiguration openMetrics = adminFactory.getOpenMetrics();
+        if (openMetrics.isServletEnabled()) {
+            addServlet("openmetrics", new OpenMetricsServlet(metricRegistry, openMetrics.build(metricRegistry),
+                openMetrics.getLabels())).addMapping("/openmetrics");
+        }
         handler.addLifeCycleListener(new AbstractLifeCycle.AbstractLifeCycleListener() {
             @Override
             public void lifeCycleStarting(LifeCycle event) {
@@ -21,6 +21,14 @@ public class AdminFactory {
     @NotNull
     private TaskConfiguration tasks = new TaskConfiguration();
 
+    @Valid
+    @NotNull
+    private StartupProfileConfiguration startup = new StartupProfileConfiguration();
+
+    @Valid
+    @NotNull
+    private OpenMetricsConfiguration openMetrics = new OpenMetricsConfiguration();
+
     @JsonProperty("healthChecks")
     public HealthCheckConfiguration getHealthChecks() {
         return healthChecks;
@@ -41,11 +49,45 @@ public class AdminFactory {
         this.tasks = tasks;
     }
 
+    /**
+     * @since 2.1
+     */
+    @JsonProperty("startup")
+    public StartupProfileConfiguration getStartup() {
+        return startup;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty("startup")
+    public void setStartup(StartupProfileConfiguration startup) {
+        this.startup = startup;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty("openMetrics")
+    public OpenMetricsConfiguration getOpenMetrics() {
+        return openMetrics;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty("openMetrics")
+    public void setOpenMetrics(OpenMetricsConfiguration openMetrics) {
+        this.openMetrics = openMetrics;
+    }
+
     @Override
     public String toString() {
         return new StringJoiner(", ", AdminFactory.class.getSimpleName() + "[", "]")
                 .add("healthChecks=" + healthChecks)
                 .add("tasks=" + tasks)
+                .add("startup=" + startup)
+                .add("openMetrics=" + openMetrics)
                 .toString();
     }
 }
@@ -22,6 +22,7 @@ import io.dropwizard.configuration.DefaultConfigurationFactoryFactory;
 import io.dropwizard.configuration.FileConfigurationSourceProvider;
 import io.dropwizard.jackson.Jackson;
 import io.dropwizard.jersey.validation.Validators;
+import io.dropwizard.metrics.ConfigurableMetricRegistry;
 
 import javax.annotation.Nullable;
 import javax.validation.ValidatorFactory;
@@ -53,6 +54,7 @@ public class Bootstrap<T extends Configuration> {
 
     private boolean metricsAreRegistered;
     private HealthCheckRegistry healthCheckRegistry;
+    private final StartupProfile startupProfile;
 
     /**
      * Creates a new {@link Bootstrap} for the given application.
@@ -60,12 +62,13 @@ public class Bootstrap<T extends Configuration> {
      * @param application a Dropwizard {@link Application}
      */
     public Bootstrap(Application<T> application) {
+        this.startupProfile = new StartupProfile();
         this.application = application;
         this.objectMapper = Jackson.newObjectMapper();
         this.configuredBundles = new ArrayList<>();
         this.commands = new ArrayList<>();
         this.validatorFactory = Validators.newValidatorFactory();
-        this.metricRegistry = new MetricRegistry();
+        this.metricRegistry = new ConfigurableMetricRegistry();
         this.configurationSourceProvider = new FileConfigurationSourceProvider();
         this.classLoader = Thread.currentThread().getContextClassLoader();
         this.configurationFactoryFactory = new DefaultConfigurationFactoryFactory<>();
@@ -147,7 +150,10 @@ public class Bootstrap<T extends Configuration> {
      * @param bundle a {@link ConfiguredBundle}
      */
     public void addBundle(ConfiguredBundle<? super T> bundle) {
-        bundle.initialize(this);
+        try (StartupProfile.PhaseTimer ignored = startupProfile.start(StartupProfile.PhaseType.BUNDLE_INITIALIZE,
+            bundleName(bundle))) {
+            bundle.initialize(this);
+        }
         configuredBundles.add(bundle);
     }
 
@@ -196,7 +202,10 @@ public class Bootstrap<T extends Configuration> {
      */
     public void run(T configuration, Environment environment) throws Exception {
         for (ConfiguredBundle<? super T> bundle : configuredBundles) {
-            bundle.run(configuration, environment);
+            try (StartupProfile.PhaseTimer ignored = startupProfile.start(StartupProfile.PhaseType.BUNDLE_RUN,
+                bundleName(bundle))) {
+                bundle.run(configuration, environment);
+            }
         }
     }
 
@@ -252,4 +261,18 @@ public class Bootstrap<T extends Configuration> {
     public void setHealthCheckRegistry(HealthCheckRegistry healthCheckRegistry) {
         this.healthCheckRegistry = healthCheckRegistry;
     }
+
+    /**
+     * Returns the profile of the application's startup.
+     *
+     * @since 2.1
+     */
+    public StartupProfile getStartupProfile() {
+        return startupProfile;
+    }
+
+    private static String bundleName(ConfiguredBundle<?> bundle) {
+        final String simpleName = bundle.getClass().getSimpleName();
+        return simpleName.isEmpty() ? bundle.getClass().getName() : simpleName;
+    }
 }
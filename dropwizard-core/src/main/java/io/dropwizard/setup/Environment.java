@@ -1,6 +1,8 @@
 package io.dropwizard.setup;
 
+import com.codahale.metrics.ExponentiallyDecayingReservoir;
 import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Reservoir;
 import com.codahale.metrics.SharedMetricRegistries;
 import com.codahale.metrics.health.HealthCheckRegistry;
 import com.codahale.metrics.health.SharedHealthCheckRegistries;
@@ -16,6 +18,7 @@ import io.dropwizard.jersey.validation.Validators;
 import io.dropwizard.jetty.MutableServletContextHandler;
 import io.dropwizard.jetty.setup.ServletEnvironment;
 import io.dropwizard.lifecycle.setup.LifecycleEnvironment;
+import io.dropwizard.metrics.ConfigurableMetricRegistry;
 import io.dropwizard.validation.InjectValidatorFeature;
 
 import javax.annotation.Nullable;
@@ -26,6 +29,7 @@ import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadPoolExecutor;
+import java.util.function.Supplier;
 
 import static java.util.Objects.requireNonNull;
 
@@ -88,7 +92,9 @@ public class Environment {
 
         this.lifecycleEnvironment = new LifecycleEnvironment(metricRegistry);
 
-        final DropwizardResourceConfig jerseyConfig = new DropwizardResourceConfig(metricRegistry);
+        final Supplier<Reservoir> reservoirSupplier = metricRegistry instanceof ConfigurableMetricRegistry
+            ? ((ConfigurableMetricRegistry) metricRegistry)::newReservoir : ExponentiallyDecayingReservoir::new;
+        final DropwizardResourceConfig jerseyConfig = new DropwizardResourceConfig(metricRegistry, reservoirSupplier);
         jerseyConfig.setContextPath(servletContext.getContextPath());
 
         this.jerseyServletContainer = new JerseyContainerHolder(new JerseyServletContainer(jerseyConfig));
@@ -0,0 +1,96 @@
+package io.dropwizard.setup;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.dropwizard.metrics.MetricFilterFactory;
+import io.dropwizard.servlets.OpenMetricsServlet;
+
+import javax.validation.constraints.NotNull;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * A factory for configuring the {@link OpenMetricsServlet OpenMetrics exposition} of the metrics on the admin
+ * interface.
+ * <p/>
+ * <b>Configuration Parameters:</b>
+ * <table>
+ *     <tr>
+ *         <td>Name</td>
+ *         <td>Default</td>
+ *         <td>Description</td>
+ *     </tr>
+ *     <tr>
+ *         <td>servletEnabled</td>
+ *         <td>true</td>
+ *         <td>Whether to expose the metrics in the OpenMetrics text format at {@code /openmetrics}.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>labels</td>
+ *         <td>(none)</td>
+ *         <td>The labels to add to every sample, e.g. the name of the application.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>excludes</td>
+ *         <td>No excluded metrics.</td>
+ *         <td>Metrics to exclude from the exposition, by name.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>includes</td>
+ *         <td>All metrics included.</td>
+ *         <td>Metrics to include in the exposition, by name.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>useRegexFilters</td>
+ *         <td>false</td>
+ *         <td>Indicates whether the values of the 'includes' and 'excludes' fields should be
+ *         treated as regular expressions or not.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>useSubstringMatching</td>
+ *         <td>false</td>
+ *         <td>Uses a substring matching strategy to determine whether a metric should be exposed.</td>
+ *     </tr>
+ * </table>
+ *
+ * @since 2.1
+ */
+public class OpenMetricsConfiguration extends MetricFilterFactory {
+    private boolean servletEnabled = true;
+
+    @NotNull
+    private Map<String, String> labels = Collections.emptyMap();
+
+    @JsonProperty("servletEnabled")
+    public boolean isServletEnabled() {
+        return servletEnabled;
+    }
+
+    @JsonProperty("servletEnabled")
+    public void setServletEnabled(boolean servletEnabled) {
+        this.servletEnabled = servletEnabled;
+    }
+
+    @JsonProperty("labels")
+    public Map<String, String> getLabels() {
+        return labels;
+    }
+
+    @JsonProperty("labels")
+    public void setLabels(Map<String, String> labels) {
+        this.labels = new LinkedHashMap<>(labels);
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(", ", OpenMetricsConfiguration.class.getSimpleName() + "[", "]")
+                .add("servletEnabled=" + servletEnabled)
+                .add("labels=" + labels)
+                .add("includes=" + getIncludes())
+                .add("excludes=" + getExcludes())
+                .add("useRegexFilters=" + getUseRegexFilters())
+                .add("useSubstringMatching=" + getUseSubstringMatching())
+                .toString();
+    }
+}
@@ -0,0 +1,267 @@
+package io.dropwizard.setup;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonValue;
+import io.dropwizard.util.Duration;
+import org.eclipse.jetty.util.component.AbstractLifeCycle;
+import org.eclipse.jetty.util.component.LifeCycle;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Records how long the phases of the startup of an application take, e.g. the initialization and run of each bundle,
+ * the parsing of the configuration or the start of each managed object.
+ * <p>
+ * Phases of types which have a budget are flagged if they take longer than it.
+ * </p>
+ *
+ * @see StartupProfileConfiguration
+ * @since 2.1
+ */
+public class StartupProfile {
+    private static final Logger LOGGER = LoggerFactory.getLogger(StartupProfile.class);
+
+    /**
+     * The type of a startup phase.
+     */
+    public enum PhaseType {
+        JVM_START,
+        APPLICATION_INITIALIZE,
+        BUNDLE_INITIALIZE,
+        CONFIGURATION,
+        BUNDLE_RUN,
+        SESSION_FACTORY_BUILD,
+        APPLICATION_RUN,
+        SERVER_BUILD,
+        HANDLER_START,
+        JERSEY_INITIALIZE,
+        MANAGED_START,
+        CONNECTOR_START,
+        COMMAND;
+
+        @JsonValue
+        @Override
+        public String toString() {
+            return name().toLowerCase(Locale.ENGLISH).replace('_', '-');
+        }
+    }
+
+    private final long startNanos;
+    private final List<Phase> phases = new CopyOnWriteArrayList<>();
+    private final Map<PhaseType, Duration> budgets = Collections.synchronizedMap(new EnumMap<>(PhaseType.class));
+
+    public StartupProfile() {
+        this.startNanos = System.nanoTime();
+        final long uptime = TimeUnit.MILLISECONDS.toNanos(ManagementFactory.getRuntimeMXBean().getUptime());
+        phases.add(new Phase(PhaseType.JVM_START, "jvm", -uptime, uptime));
+    }
+
+    /**
+     * Starts timing a phase, which is recorded when the returned timer is closed.
+     *
+     * @param type the type of the phase
+     * @param name the name of the phase, e.g. the name of the bundle which is run
+     * @return the timer of the phase
+     */
+    public PhaseTimer start(PhaseType type, String name) {
+        return new PhaseTimer(type, name, System.nanoTime());
+    }
+
+    /**
+     * Creates a listener which records the time a Jetty component takes to start.
+     *
+     * @param type the type of the phase
+     * @param name the name of the component
+     * @return a listener to add to the component
+     */
+    public LifeCycle.Listener startListener(PhaseType type, String name) {
+        return new AbstractLifeCycle.AbstractLifeCycleListener() {
+            private long starting;
+            private boolean timing;
+
+            @Override
+            public void lifeCycleStarting(LifeCycle event) {
+                starting = System.nanoTime();
+                timing = true;
+            }
+
+            @Override
+            public void lifeCycleStarted(LifeCycle event) {
+                recordStart();
+            }
+
+            @Override
+            public void lifeCycleFailure(LifeCycle event, Throwable cause) {
+                // The state of the component is already failed, so whether it failed to start or to stop is unknown
+                recordStart();
+            }
+
+            private void recordStart() {
+                if (timing) {
+                    timing = false;
+                    record(type, name, starting, System.nanoTime());
+                }
+            }
+        };
+    }
+
+    /**
+     * Sets the time phases of the given type are expected to take at most.
+     *
+     * @param type   the type of the phases
+     * @param budget the budget, or {@code null} to not flag any phase of the type
+     */
+    public void setBudget(PhaseType type, @Nullable Duration budget) {
+        if (budget == null) {
+            budgets.remove(type);
+        } else {
+            budgets.put(type, budget);
+        }
+    }
+
+    /**
+     * @return the recorded phases, in the order they have been completed
+     */
+    @JsonProperty("phases")
+    public List<Phase> getPhases() {
+        final List<Phase> recorded = new ArrayList<>(phases.size());
+        for (Phase phase : phases) {
+            recorded.add(phase.withBudget(budgets.get(phase.getType())));
+        }
+        return recorded;
+    }
+
+    /**
+     * @return the time since the JVM was started, until the last phase completed
+     */
+    @JsonProperty("totalMillis")
+    public long getTotalMillis() {
+        long end = 0;
+        for (Phase phase : phases) {
+            end = Math.max(end, phase.startOffsetNanos + phase.durationNanos);
+        }
+        return TimeUnit.NANOSECONDS.toMillis(end + phases.get(0).durationNanos);
+    }
+
+    /**
+     * Logs the recorded phases, and warns about each phase which took longer than its budget.
+     *
+     * @param applicationName the name of the application
+     */
+    public void log(String applicationName) {
+        final List<Phase> recorded = getPhases();
+        final StringBuilder breakdown = new StringBuilder(64 * recorded.size());
+        for (Phase phase : recorded) {
+            breakdown.append(String.format(Locale.ENGLISH, "%n    %-22s %-40s %8dms%s", phase.getType(), phase.getName(),
+                phase.getDurationMillis(), phase.isOverBudget() ? " (over budget)" : ""));
+        }
+        LOGGER.info("Startup of {} took {}ms:{}", applicationName, getTotalMillis(), breakdown);
+
+        for (Phase phase : recorded) {
+            if (phase.isOverBudget()) {
+                LOGGER.warn("Startup phase {} of {} took {}ms, exceeding its budget of {}", phase.getType(),
+                    phase.getName(), phase.getDurationMillis(), phase.getBudget());
+            }
+        }
+    }
+
+    private void record(PhaseType type, String name, long start, long end) {
+        phases.add(new Phase(type, name, start - startNanos, end - start));
+    }
+
+    /**
+     * Times a phase until it's closed.
+     */
+    public class PhaseTimer implements AutoCloseable {
+        private final PhaseType type;
+        private final String name;
+        private final long start;
+
+        private PhaseTimer(PhaseType type, String name, long start) {
+            this.type = type;
+            this.name = name;
+            this.start = start;
+        }
+
+        @Override
+        public void close() {
+            record(type, name, start, System.nanoTime());
+        }
+    }
+
+    /**
+     * A recorded startup phase.
+     */
+    public static class Phase {
+        private final PhaseType type;
+        private final String name;
+        private final long startOffsetNanos;
+        private final long durationNanos;
+        @Nullable
+        private final Duration budget;
+
+        private Phase(PhaseType type, String name, long startOffsetNanos, long durationNanos) {
+            this(type, name, startOffsetNanos, durationNanos, null);
+        }
+
+        private Phase(PhaseType type, String name, long startOffsetNanos, long durationNanos,
+                      @Nullable Duration budget) {
+            this.type = requireNonNull(type);
+            this.name = requireNonNull(name);
+            this.startOffsetNanos = startOffsetNanos;
+            this.durationNanos = durationNanos;
+            this.budget = budget;
+        }
+
+        private Phase withBudget(@Nullable Duration budget) {
+            return new Phase(type, name, startOffsetNanos, durationNanos, budget);
+        }
+
+        @JsonProperty("type")
+        public PhaseType getType() {
+            return type;
+        }
+
+        @JsonProperty("name")
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return the start of the phase, relative to the creation of the application's {@link Bootstrap}
+         */
+        @JsonProperty("startMillis")
+        public long getStartMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(startOffsetNanos);
+        }
+
+        @JsonProperty("durationMillis")
+        public long getDurationMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(durationNanos);
+        }
+
+        @Nullable
+        @JsonProperty("budget")
+        public Duration getBudget() {
+            return budget;
+        }
+
+        @JsonProperty("overBudget")
+        public boolean isOverBudget() {
+            return budget != null && durationNanos > budget.toNanoseconds();
+        }
+    }
+}
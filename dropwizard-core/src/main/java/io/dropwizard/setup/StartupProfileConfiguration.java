@@ -0,0 +1,117 @@
+package io.dropwizard.setup;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.dropwizard.util.Duration;
+
+import javax.annotation.Nullable;
+import java.util.StringJoiner;
+
+/**
+ * A factory for configuring the startup profile of the environment.
+ * <p/>
+ * <b>Configuration Parameters:</b>
+ * <table>
+ *     <tr>
+ *         <td>Name</td>
+ *         <td>Default</td>
+ *         <td>Description</td>
+ *     </tr>
+ *     <tr>
+ *         <td>servletEnabled</td>
+ *         <td>true</td>
+ *         <td>Whether to expose the startup profile at {@code /startup} on the admin interface.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>bundleBudget</td>
+ *         <td>5 seconds</td>
+ *         <td>The time above which the initialization or run of a bundle is flagged.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>managedBudget</td>
+ *         <td>5 seconds</td>
+ *         <td>The time above which the start of a managed object is flagged.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>commandBudget</td>
+ *         <td>30 seconds</td>
+ *         <td>The time above which the server command is flagged, i.e. the time until the server has been started.
+ *         Other commands aren't timed.</td>
+ *     </tr>
+ * </table>
+ *
+ * @since 2.1
+ */
+public class StartupProfileConfiguration {
+    private boolean servletEnabled = true;
+    @Nullable
+    private Duration bundleBudget = Duration.seconds(5);
+    @Nullable
+    private Duration managedBudget = Duration.seconds(5);
+    @Nullable
+    private Duration commandBudget = Duration.seconds(30);
+
+    @JsonProperty("servletEnabled")
+    public boolean isServletEnabled() {
+        return servletEnabled;
+    }
+
+    @JsonProperty("servletEnabled")
+    public void setServletEnabled(boolean servletEnabled) {
+        this.servletEnabled = servletEnabled;
+    }
+
+    @Nullable
+    @JsonProperty("bundleBudget")
+    public Duration getBundleBudget() {
+        return bundleBudget;
+    }
+
+    @JsonProperty("bundleBudget")
+    public void setBundleBudget(@Nullable Duration bundleBudget) {
+        this.bundleBudget = bundleBudget;
+    }
+
+    @Nullable
+    @JsonProperty("managedBudget")
+    public Duration getManagedBudget() {
+        return managedBudget;
+    }
+
+    @JsonProperty("managedBudget")
+    public void setManagedBudget(@Nullable Duration managedBudget) {
+        this.managedBudget = managedBudget;
+    }
+
+    @Nullable
+    @JsonProperty("commandBudget")
+    public Duration getCommandBudget() {
+        return commandBudget;
+    }
+
+    @JsonProperty("commandBudget")
+    public void setCommandBudget(@Nullable Duration commandBudget) {
+        this.commandBudget = commandBudget;
+    }
+
+    /**
+     * Sets the budgets of the given startup profile.
+     *
+     * @param profile the startup profile of the application
+     */
+    public void configure(StartupProfile profile) {
+        profile.setBudget(StartupProfile.PhaseType.BUNDLE_INITIALIZE, bundleBudget);
+        profile.setBudget(StartupProfile.PhaseType.BUNDLE_RUN, bundleBudget);
+        profile.setBudget(StartupProfile.PhaseType.MANAGED_START, managedBudget);
+        profile.setBudget(StartupProfile.PhaseType.COMMAND, commandBudget);
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(", ", StartupProfileConfiguration.class.getSimpleName() + "[", "]")
+                .add("servletEnabled=" + servletEnabled)
+                .add("bundleBudget=" + bundleBudget)
+                .add("managedBudget=" + managedBudget)
+                .add("commandBudget=" + commandBudget)
+                .toString();
+    }
+}
@@ -0,0 +1,39 @@
+package io.dropwizard.setup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Serves the {@link StartupProfile} of the application as JSON.
+ *
+ * @since 2.1
+ */
+public class StartupProfileServlet extends HttpServlet {
+    private static final long serialVersionUID = 1L;
+    private static final String CONTENT_TYPE = "application/json";
+
+    private final transient StartupProfile profile;
+    private final transient ObjectMapper mapper;
+
+    public StartupProfileServlet(StartupProfile profile, ObjectMapper mapper) {
+        this.profile = requireNonNull(profile);
+        this.mapper = requireNonNull(mapper);
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(CONTENT_TYPE);
+        response.setHeader("Cache-Control", "must-revalidate,no-cache,no-store");
+        try (OutputStream output = response.getOutputStream()) {
+            mapper.writerWithDefaultPrettyPrinter().writeValue(output, profile);
+        }
+    }
+}
@@ -4,6 +4,7 @@ import io.dropwizard.Application;
 import io.dropwizard.Configuration;
 import io.dropwizard.setup.Bootstrap;
 import io.dropwizard.setup.Environment;
+import io.dropwizard.setup.StartupProfile;
 import io.dropwizard.util.JarLocation;
 import net.sourceforge.argparse4j.impl.Arguments;
 import net.sourceforge.argparse4j.inf.Namespace;
@@ -359,6 +360,15 @@ class CliTest {
         verify(command).run(eq(bootstrap), any(Namespace.class), any(Configuration.class));
     }
 
+    @Test
+    void onlyTimesTheServerCommand() throws Exception {
+        assertThat(cli.run("check"))
+                .isEmpty();
+
+        assertThat(bootstrap.getStartupProfile().getPhases())
+                .noneSatisfy(phase -> assertThat(phase.getType()).isEqualTo(StartupProfile.PhaseType.COMMAND));
+    }
+
     @Test
     void unhandledExceptionsMessagesArePrintedForCheck() throws Exception {
         doThrow(new BadAppException()).when(command).run(any(), any(Namespace.class), any(Configuration.class));
@@ -44,4 +44,32 @@ class AdminEnvironmentTest {
         assertThat(registration.getMappings())
                 .containsOnly("/tasks/*");
     }
+
+    @Test
+    void addsAnOpenMetricsServlet() throws Exception {
+        handler.setServer(new Server());
+        handler.start();
+
+        final ServletRegistration registration = handler.getServletHandler()
+                                                        .getServletContext()
+                                                        .getServletRegistration("openmetrics");
+        assertThat(registration.getMappings())
+                .containsOnly("/openmetrics");
+    }
+
+    @Test
+    void doesNotAddAnOpenMetricsServletIfDisabled() throws Exception {
+        final MutableServletContextHandler disabledHandler = new MutableServletContextHandler();
+        final AdminFactory disabledFactory = new AdminFactory();
+        disabledFactory.getOpenMetrics().setServletEnabled(false);
+        new AdminEnvironment(disabledHandler, new HealthCheckRegistry(), metricRegistry, disabledFactory);
+
+        disabledHandler.setServer(new Server());
+        disabledHandler.start();
+
+        assertThat(disabledHandler.getServletHandler()
+                                  .getServletContext()
+                                  .getServletRegistration("openmetrics"))
+                .isNull();
+    }
 }
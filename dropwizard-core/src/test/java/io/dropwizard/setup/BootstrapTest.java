@@ -10,6 +10,7 @@ import io.dropwizard.Configuration;
 import io.dropwizard.configuration.DefaultConfigurationFactoryFactory;
 import io.dropwizard.configuration.FileConfigurationSourceProvider;
 import io.dropwizard.jackson.Jackson;
+import io.dropwizard.metrics.ConfigurableMetricRegistry;
 import org.hibernate.validator.HibernateValidator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -70,6 +71,12 @@ class BootstrapTest {
                         "jvm.attribute.vendor", "jvm.classloader.loaded", "jvm.filedescriptor");
     }
 
+    @Test
+    void hasAMetricRegistryWithConfigurableReservoirs() {
+        assertThat(bootstrap.getMetricRegistry())
+                .isInstanceOf(ConfigurableMetricRegistry.class);
+    }
+
     @Test
     void defaultsToDefaultConfigurationFactoryFactory() throws Exception {
         assertThat(bootstrap.getConfigurationFactoryFactory())
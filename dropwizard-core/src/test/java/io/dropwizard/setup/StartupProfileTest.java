@@ -0,0 +1,128 @@
+package io.dropwizard.setup;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.dropwizard.jackson.Jackson;
+import io.dropwizard.setup.StartupProfile.Phase;
+import io.dropwizard.setup.StartupProfile.PhaseType;
+import io.dropwizard.util.Duration;
+import org.eclipse.jetty.util.component.AbstractLifeCycle;
+import org.eclipse.jetty.util.component.LifeCycle;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+class StartupProfileTest {
+    private final StartupProfile profile = new StartupProfile();
+
+    @Test
+    void recordsTheStartOfTheJvm() {
+        final List<Phase> phases = profile.getPhases();
+
+        assertThat(phases).hasSize(1);
+        assertThat(phases.get(0).getType()).isEqualTo(PhaseType.JVM_START);
+        assertThat(phases.get(0).getStartMillis()).isLessThanOrEqualTo(0);
+    }
+
+    @Test
+    void recordsTimedPhases() throws Exception {
+        try (StartupProfile.PhaseTimer ignored = profile.start(PhaseType.BUNDLE_RUN, "SlowBundle")) {
+            Thread.sleep(20);
+        }
+
+        final Phase phase = profile.getPhases().get(1);
+        assertThat(phase.getType()).isEqualTo(PhaseType.BUNDLE_RUN);
+        assertThat(phase.getName()).isEqualTo("SlowBundle");
+        assertThat(phase.getDurationMillis()).isGreaterThanOrEqualTo(20);
+        assertThat(phase.isOverBudget()).isFalse();
+        assertThat(profile.getTotalMillis()).isGreaterThanOrEqualTo(20);
+    }
+
+    @Test
+    void flagsPhasesWhichExceedTheirBudget() throws Exception {
+        profile.setBudget(PhaseType.BUNDLE_RUN, Duration.milliseconds(1));
+        try (StartupProfile.PhaseTimer ignored = profile.start(PhaseType.BUNDLE_RUN, "SlowBundle")) {
+            Thread.sleep(20);
+        }
+        try (StartupProfile.PhaseTimer ignored = profile.start(PhaseType.MANAGED_START, "SlowManaged")) {
+            Thread.sleep(20);
+        }
+
+        assertThat(profile.getPhases())
+            .filteredOn(Phase::isOverBudget)
+            .extracting(Phase::getName)
+            .containsExactly("SlowBundle");
+
+        profile.setBudget(PhaseType.BUNDLE_RUN, null);
+        assertThat(profile.getPhases()).noneMatch(Phase::isOverBudget);
+    }
+
+    @Test
+    void recordsTheStartOfLifeCycles() throws Exception {
+        final LifeCycle lifeCycle = new AbstractLifeCycle() {
+            @Override
+            protected void doStart() throws Exception {
+                Thread.sleep(20);
+            }
+        };
+        lifeCycle.addLifeCycleListener(profile.startListener(PhaseType.MANAGED_START, "component"));
+        lifeCycle.start();
+        lifeCycle.stop();
+
+        assertThat(profile.getPhases()).hasSize(2);
+        final Phase phase = profile.getPhases().get(1);
+        assertThat(phase.getType()).isEqualTo(PhaseType.MANAGED_START);
+        assertThat(phase.getName()).isEqualTo("component");
+        assertThat(phase.getDurationMillis()).isGreaterThanOrEqualTo(20);
+    }
+
+    @Test
+    void recordsLifeCyclesWhichFailToStart() {
+        final LifeCycle lifeCycle = new AbstractLifeCycle() {
+            @Override
+            protected void doStart() {
+                throw new IllegalStateException("broken");
+            }
+        };
+        lifeCycle.addLifeCycleListener(profile.startListener(PhaseType.CONNECTOR_START, "broken"));
+
+        assertThatIllegalStateException().isThrownBy(lifeCycle::start);
+        assertThat(profile.getPhases()).extracting(Phase::getName).containsExactly("jvm", "broken");
+    }
+
+    @Test
+    void serializesToJson() throws Exception {
+        profile.setBudget(PhaseType.COMMAND, Duration.seconds(30));
+        try (StartupProfile.PhaseTimer ignored = profile.start(PhaseType.COMMAND, "server")) {
+            // nothing to do
+        }
+
+        final ObjectMapper mapper = Jackson.newObjectMapper();
+        final JsonNode json = mapper.readTree(mapper.writeValueAsString(profile));
+
+        assertThat(json.get("totalMillis").isNumber()).isTrue();
+        final JsonNode command = json.get("phases").get(1);
+        assertThat(command.get("type").asText()).isEqualTo("command");
+        assertThat(command.get("name").asText()).isEqualTo("server");
+        assertThat(command.get("budget").asText()).isEqualTo("30 seconds");
+        assertThat(command.get("overBudget").asBoolean()).isFalse();
+    }
+
+    @Test
+    void configuresTheBudgets() {
+        final StartupProfileConfiguration configuration = new StartupProfileConfiguration();
+        configuration.setManagedBudget(Duration.milliseconds(1));
+        configuration.setCommandBudget(null);
+        configuration.configure(profile);
+
+        try (StartupProfile.PhaseTimer ignored = profile.start(PhaseType.COMMAND, "server")) {
+            // nothing to do
+        }
+
+        final Phase command = profile.getPhases().get(1);
+        assertThat(command.getBudget()).isNull();
+    }
+}
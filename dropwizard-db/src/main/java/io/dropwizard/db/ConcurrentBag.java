@@ -0,0 +1,196 @@
+package io.dropwizard.db;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+
+/**
+ * A lock-free collection of pooled entries, modelled after HikariCP's {@code ConcurrentBag}.
+ * <p>
+ * Borrowing an entry first looks at the entries the calling thread returned recently, then at all entries, and
+ * claims one with a single compare-and-set of its state. Only if none is available does the caller block, waiting
+ * for a returning thread or a newly added entry to be handed off to it directly.
+ * </p>
+ *
+ * @param <T> the type of the pooled entries
+ */
+class ConcurrentBag<T extends ConcurrentBag.Entry> {
+    static final int STATE_NOT_IN_USE = 0;
+    static final int STATE_IN_USE = 1;
+    static final int STATE_REMOVED = -1;
+    static final int STATE_RESERVED = -2;
+
+    private static final int MAX_THREAD_LOCAL_ENTRIES = 16;
+
+    /**
+     * An entry of a {@link ConcurrentBag}, which tracks whether it's in use.
+     */
+    abstract static class Entry {
+        private final AtomicInteger state = new AtomicInteger(STATE_NOT_IN_USE);
+
+        int getState() {
+            return state.get();
+        }
+
+        void setState(int update) {
+            state.set(update);
+        }
+
+        boolean compareAndSetState(int expect, int update) {
+            return state.compareAndSet(expect, update);
+        }
+    }
+
+    private final CopyOnWriteArrayList<T> sharedList = new CopyOnWriteArrayList<>();
+    private final ThreadLocal<List<T>> threadList =
+        ThreadLocal.withInitial(() -> new ArrayList<>(MAX_THREAD_LOCAL_ENTRIES));
+    private final AtomicInteger waiters = new AtomicInteger();
+    private final SynchronousQueue<T> handoffQueue = new SynchronousQueue<>(true);
+
+    /**
+     * Borrows an entry which isn't in use, waiting up to the given timeout for one to be returned or added.
+     *
+     * @return the borrowed entry, or {@code null} if none became available in time
+     * @throws InterruptedException if the calling thread was interrupted while waiting
+     */
+    @Nullable
+    T borrow(long timeout, TimeUnit unit) throws InterruptedException {
+        final List<T> local = threadList.get();
+        for (int i = local.size() - 1; i >= 0; i--) {
+            final T entry = local.remove(i);
+            if (entry.compareAndSetState(STATE_NOT_IN_USE, STATE_IN_USE)) {
+                return entry;
+            }
+        }
+
+        waiters.incrementAndGet();
+        try {
+            for (T entry : sharedList) {
+                if (entry.compareAndSetState(STATE_NOT_IN_USE, STATE_IN_USE)) {
+                    return entry;
+                }
+            }
+
+            long remaining = unit.toNanos(timeout);
+            while (remaining > 0) {
+                final long start = System.nanoTime();
+                final T entry = handoffQueue.poll(remaining, TimeUnit.NANOSECONDS);
+                if (entry == null) {
+                    return null;
+                }
+                if (entry.compareAndSetState(STATE_NOT_IN_USE, STATE_IN_USE)) {
+                    return entry;
+                }
+                remaining -= System.nanoTime() - start;
+            }
+            return null;
+        } finally {
+            waiters.decrementAndGet();
+        }
+    }
+
+    /**
+     * Returns a borrowed entry, handing it off to a waiting thread if there is one.
+     */
+    void requite(T entry) {
+        entry.setState(STATE_NOT_IN_USE);
+        handOff(entry);
+
+        final List<T> local = threadList.get();
+        if (local.size() < MAX_THREAD_LOCAL_ENTRIES) {
+            local.add(entry);
+        }
+    }
+
+    /**
+     * Adds a new entry, handing it off to a waiting thread if it isn't in use and there is one.
+     */
+    void add(T entry) {
+        sharedList.add(entry);
+        handOff(entry);
+    }
+
+    /**
+     * Removes an entry which is either borrowed or reserved.
+     *
+     * @return {@code true} if the entry has been removed, {@code false} if it wasn't borrowed or reserved
+     */
+    boolean remove(T entry) {
+        if (!entry.compareAndSetState(STATE_IN_USE, STATE_REMOVED)
+            && !entry.compareAndSetState(STATE_RESERVED, STATE_REMOVED)) {
+            return false;
+        }
+        sharedList.remove(entry);
+        return true;
+    }
+
+    /**
+     * Reserves an entry which isn't in use, so that it can't be borrowed until it's either removed or unreserved.
+     *
+     * @return {@code true} if the entry has been reserved
+     */
+    boolean reserve(T entry) {
+        return entry.compareAndSetState(STATE_NOT_IN_USE, STATE_RESERVED);
+    }
+
+    /**
+     * Makes a reserved entry available again.
+     */
+    void unreserve(T entry) {
+        if (entry.compareAndSetState(STATE_RESERVED, STATE_NOT_IN_USE)) {
+            handOff(entry);
+        }
+    }
+
+    /**
+     * @return a snapshot of the entries in the given state
+     */
+    List<T> values(int state) {
+        return sharedList.stream()
+            .filter(entry -> entry.getState() == state)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * @return a snapshot of all entries
+     */
+    List<T> values() {
+        return new ArrayList<>(sharedList);
+    }
+
+    int getCount(int state) {
+        int count = 0;
+        for (T entry : sharedList) {
+            if (entry.getState() == state) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    int size() {
+        return sharedList.size();
+    }
+
+    int getWaitingThreadCount() {
+        return waiters.get();
+    }
+
+    private void handOff(T entry) {
+        for (int i = 0; waiters.get() > 0; i++) {
+            if (entry.getState() != STATE_NOT_IN_USE || handoffQueue.offer(entry)) {
+                return;
+            } else if ((i & 0xff) == 0xff) {
+                LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(10));
+            } else {
+                Thread.yield();
+            }
+        }
+    }
+}
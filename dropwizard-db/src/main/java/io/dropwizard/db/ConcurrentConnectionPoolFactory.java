@@ -0,0 +1,21 @@
+package io.dropwizard.db;
+
+import com.codahale.metrics.MetricRegistry;
+import com.fasterxml.jackson.annotation.JsonTypeName;
+
+/**
+ * A {@link ConnectionPoolFactory} for the lock-free {@link ManagedConcurrentPoolDataSource}.
+ * <p>
+ * The {@code validatorClassName} and {@code jdbcInterceptors} options are specific to the Tomcat pool and have no
+ * effect, and neither have {@code useFairQueue} and {@code alternateUsernamesAllowed}.
+ * </p>
+ *
+ * @since 2.1
+ */
+@JsonTypeName("concurrent")
+public class ConcurrentConnectionPoolFactory implements ConnectionPoolFactory {
+    @Override
+    public ManagedDataSource build(DataSourceFactory configuration, MetricRegistry metricRegistry, String name) {
+        return new ManagedConcurrentPoolDataSource(configuration, metricRegistry, name);
+    }
+}
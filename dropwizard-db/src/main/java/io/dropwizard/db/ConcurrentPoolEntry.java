@@ -0,0 +1,114 @@
+package io.dropwizard.db;
+
+import javax.annotation.Nullable;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * A physical connection pooled by a {@link ManagedConcurrentPoolDataSource}, along with the state it had when it
+ * was opened, so that it can be restored when the connection is returned to the pool.
+ */
+final class ConcurrentPoolEntry extends ConcurrentBag.Entry {
+    static final int DIRTY_AUTO_COMMIT = 1;
+    static final int DIRTY_READ_ONLY = 1 << 1;
+    static final int DIRTY_TRANSACTION_ISOLATION = 1 << 2;
+    static final int DIRTY_CATALOG = 1 << 3;
+
+    private final Connection connection;
+    private final long createdAt;
+    private final boolean autoCommit;
+    private final boolean readOnly;
+    private final int transactionIsolation;
+    @Nullable
+    private final String catalog;
+
+    private volatile long lastReturned;
+    private volatile long lastValidated;
+    private volatile long borrowedAt;
+    @Nullable
+    private volatile Throwable borrowedBy;
+
+    ConcurrentPoolEntry(Connection connection, long createdAt) throws SQLException {
+        this.connection = connection;
+        this.createdAt = createdAt;
+        this.autoCommit = connection.getAutoCommit();
+        this.readOnly = connection.isReadOnly();
+        this.transactionIsolation = connection.getTransactionIsolation();
+        this.catalog = connection.getCatalog();
+        this.lastReturned = createdAt;
+        this.lastValidated = createdAt;
+    }
+
+    Connection getConnection() {
+        return connection;
+    }
+
+    long getCreatedAt() {
+        return createdAt;
+    }
+
+    long getLastReturned() {
+        return lastReturned;
+    }
+
+    void setLastReturned(long lastReturned) {
+        this.lastReturned = lastReturned;
+    }
+
+    long getLastValidated() {
+        return lastValidated;
+    }
+
+    void setLastValidated(long lastValidated) {
+        this.lastValidated = lastValidated;
+    }
+
+    long getBorrowedAt() {
+        return borrowedAt;
+    }
+
+    void setBorrowedAt(long borrowedAt) {
+        this.borrowedAt = borrowedAt;
+    }
+
+    /**
+     * @return the stack trace of the borrower, if abandoned connections are logged
+     */
+    @Nullable
+    Throwable getBorrowedBy() {
+        return borrowedBy;
+    }
+
+    void setBorrowedBy(@Nullable Throwable borrowedBy) {
+        this.borrowedBy = borrowedBy;
+    }
+
+    /**
+     * Ends the current transaction and restores the state which has been changed by the borrower.
+     *
+     * @param dirtyBits      which state has been changed
+     * @param commitOnReturn whether to commit instead of rolling back an open transaction
+     */
+    void reset(int dirtyBits, boolean commitOnReturn) throws SQLException {
+        if (!connection.getAutoCommit()) {
+            if (commitOnReturn) {
+                connection.commit();
+            } else {
+                connection.rollback();
+            }
+        }
+        if ((dirtyBits & DIRTY_AUTO_COMMIT) != 0) {
+            connection.setAutoCommit(autoCommit);
+        }
+        if ((dirtyBits & DIRTY_READ_ONLY) != 0) {
+            connection.setReadOnly(readOnly);
+        }
+        if ((dirtyBits & DIRTY_TRANSACTION_ISOLATION) != 0) {
+            connection.setTransactionIsolation(transactionIsolation);
+        }
+        if ((dirtyBits & DIRTY_CATALOG) != 0 && catalog != null) {
+            connection.setCatalog(catalog);
+        }
+        connection.clearWarnings();
+    }
+}
@@ -0,0 +1,30 @@
+package io.dropwizard.db;
+
+import com.codahale.metrics.MetricRegistry;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import io.dropwizard.jackson.Discoverable;
+
+/**
+ * A factory for the connection pool which backs the {@link ManagedDataSource}s built by a {@link DataSourceFactory}.
+ * <p>
+ * Further implementations can be plugged in by listing them in
+ * {@code META-INF/services/io.dropwizard.db.ConnectionPoolFactory}.
+ * </p>
+ *
+ * @see TomcatConnectionPoolFactory
+ * @see ConcurrentConnectionPoolFactory
+ * @since 2.1
+ */
+@JsonTypeInfo(use = JsonTypeInfo.Id.NAME, property = "type", defaultImpl = TomcatConnectionPoolFactory.class)
+public interface ConnectionPoolFactory extends Discoverable {
+
+    /**
+     * Builds a new JDBC data source backed by a connection pool, which is configured by the given factory.
+     *
+     * @param configuration  the data source configuration
+     * @param metricRegistry the application metric registry
+     * @param name           name of the connection pool
+     * @return a new JDBC data source as {@code ManagedDataSource}
+     */
+    ManagedDataSource build(DataSourceFactory configuration, MetricRegistry metricRegistry, String name);
+}
@@ -6,9 +6,9 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import io.dropwizard.util.Duration;
 import io.dropwizard.validation.MinDuration;
 import io.dropwizard.validation.ValidationMethod;
-import org.apache.tomcat.jdbc.pool.PoolProperties;
 
 import javax.annotation.Nullable;
+import javax.validation.Valid;
 import javax.validation.constraints.Max;
 import javax.validation.constraints.Min;
 import javax.validation.constraints.NotEmpty;
@@ -18,7 +18,6 @@ import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.Properties;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -306,6 +305,15 @@ import java.util.concurrent.TimeUnit;
  *             Set to false if you want to fail the initialization of the pool by throwing exception.
  *         </td>
  *     </tr>
+ *     <tr>
+ *         <td>{@code connectionPool}</td>
+ *         <td>{@code tomcat}</td>
+ *         <td>
+ *             The {@link ConnectionPoolFactory} of the connection pool backing the data source. Either
+ *             {@code tomcat} for the Tomcat JDBC connection pool, or {@code concurrent} for the lock-free
+ *             {@link ManagedConcurrentPoolDataSource}.
+ *         </td>
+ *     </tr>
  * </table>
  */
 public class DataSourceFactory implements PooledDataSourceFactory {
@@ -435,6 +443,10 @@ public class DataSourceFactory implements PooledDataSourceFactory {
 
     private boolean ignoreExceptionOnPreLoad = false;
 
+    @Valid
+    @NotNull
+    private ConnectionPoolFactory connectionPool = new TomcatConnectionPoolFactory();
+
     @JsonProperty
     @Override
     public boolean isAutoCommentsEnabled() {
@@ -862,6 +874,22 @@ public class DataSourceFactory implements PooledDataSourceFactory {
         this.ignoreExceptionOnPreLoad = ignoreExceptionOnPreLoad;
     }
 
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public ConnectionPoolFactory getConnectionPool() {
+        return connectionPool;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public void setConnectionPool(ConnectionPoolFactory connectionPool) {
+        this.connectionPool = connectionPool;
+    }
+
     @Override
     public void asSingleConnectionPool() {
         minSize = 1;
@@ -871,53 +899,6 @@ public class DataSourceFactory implements PooledDataSourceFactory {
 
     @Override
     public ManagedDataSource build(MetricRegistry metricRegistry, String name) {
-        final Properties properties = new Properties();
-        for (Map.Entry<String, String> property : this.properties.entrySet()) {
-            properties.setProperty(property.getKey(), property.getValue());
-        }
-
-        final PoolProperties poolConfig = new PoolProperties();
-        poolConfig.setAbandonWhenPercentageFull(abandonWhenPercentageFull);
-        poolConfig.setAlternateUsernameAllowed(alternateUsernamesAllowed);
-        poolConfig.setCommitOnReturn(commitOnReturn);
-        poolConfig.setRollbackOnReturn(rollbackOnReturn);
-        poolConfig.setDbProperties(properties);
-        poolConfig.setDefaultAutoCommit(autoCommitByDefault);
-        poolConfig.setDefaultCatalog(defaultCatalog);
-        poolConfig.setDefaultReadOnly(readOnlyByDefault);
-        poolConfig.setDefaultTransactionIsolation(defaultTransactionIsolation.get());
-        poolConfig.setDriverClassName(driverClass);
-        poolConfig.setFairQueue(useFairQueue);
-        poolConfig.setIgnoreExceptionOnPreLoad(ignoreExceptionOnPreLoad);
-        poolConfig.setInitialSize(initialSize);
-        poolConfig.setInitSQL(initializationQuery);
-        poolConfig.setLogAbandoned(logAbandonedConnections);
-        poolConfig.setLogValidationErrors(logValidationErrors);
-        poolConfig.setMaxActive(maxSize);
-        poolConfig.setMaxIdle(maxSize);
-        poolConfig.setMinIdle(minSize);
-
-        getMaxConnectionAge().map(Duration::toMilliseconds).ifPresent(poolConfig::setMaxAge);
-        poolConfig.setMaxWait((int) maxWaitForConnection.toMilliseconds());
-        poolConfig.setMinEvictableIdleTimeMillis((int) minIdleTime.toMilliseconds());
-        poolConfig.setName(name);
-        poolConfig.setUrl(url);
-        poolConfig.setUsername(user);
-        poolConfig.setPassword(user != null && password == null ? "" : password);
-        poolConfig.setRemoveAbandoned(removeAbandoned);
-        poolConfig.setRemoveAbandonedTimeout((int) removeAbandonedTimeout.toSeconds());
-
-        poolConfig.setTestWhileIdle(checkConnectionWhileIdle);
-        validationQuery.ifPresent(poolConfig::setValidationQuery);
-        poolConfig.setTestOnBorrow(checkConnectionOnBorrow);
-        poolConfig.setTestOnConnect(checkConnectionOnConnect);
-        poolConfig.setTestOnReturn(checkConnectionOnReturn);
-        poolConfig.setTimeBetweenEvictionRunsMillis((int) evictionInterval.toMilliseconds());
-        poolConfig.setValidationInterval(validationInterval.toMilliseconds());
-
-        getValidationQueryTimeout().map(x -> (int) x.toSeconds()).ifPresent(poolConfig::setValidationQueryTimeout);
-        validatorClassName.ifPresent(poolConfig::setValidatorClassName);
-        jdbcInterceptors.ifPresent(poolConfig::setJdbcInterceptors);
-        return new ManagedPooledDataSource(poolConfig, metricRegistry);
+        return connectionPool.build(this, metricRegistry, name);
     }
 }
@@ -0,0 +1,125 @@
+package io.dropwizard.db;
+
+import com.codahale.metrics.Clock;
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Timer;
+import org.apache.tomcat.jdbc.pool.ConnectionPool;
+import org.apache.tomcat.jdbc.pool.PoolConfiguration;
+import org.apache.tomcat.jdbc.pool.PoolExhaustedException;
+import org.apache.tomcat.jdbc.pool.PooledConnection;
+
+import javax.annotation.Nullable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A Tomcat {@link ConnectionPool} which measures how long callers wait to borrow a connection and how long they hold
+ * on to it, and counts the borrow attempts which timed out and the connection validations which failed.
+ */
+class InstrumentedConnectionPool extends ConnectionPool {
+    private final Timer borrowWait;
+    private final Timer hold;
+    private final Counter borrowTimeouts;
+    private final Counter validationFailures;
+    private final Clock clock;
+    private final ConcurrentMap<PooledConnection, Long> borrowed = new ConcurrentHashMap<>();
+    private boolean ready;
+
+    InstrumentedConnectionPool(PoolConfiguration config, Timer borrowWait, Timer hold, Counter borrowTimeouts,
+                               Counter validationFailures, Clock clock) throws SQLException {
+        super(config);
+        this.borrowWait = borrowWait;
+        this.hold = hold;
+        this.borrowTimeouts = borrowTimeouts;
+        this.validationFailures = validationFailures;
+        this.clock = clock;
+        this.ready = true;
+        super.init(config);
+    }
+
+    @Override
+    protected void init(PoolConfiguration properties) throws SQLException {
+        // The super constructor initializes the pool, which already creates connections, so it's deferred until
+        // the metrics have been set
+        if (ready) {
+            super.init(properties);
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        final long start = clock.getTick();
+        try {
+            final Connection connection = super.getConnection();
+            borrowWait.update(clock.getTick() - start, TimeUnit.NANOSECONDS);
+            return connection;
+        } catch (PoolExhaustedException e) {
+            borrowTimeouts.inc();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        final long start = clock.getTick();
+        try {
+            final Connection connection = super.getConnection(username, password);
+            borrowWait.update(clock.getTick() - start, TimeUnit.NANOSECONDS);
+            return connection;
+        } catch (PoolExhaustedException e) {
+            borrowTimeouts.inc();
+            throw e;
+        }
+    }
+
+    @Override
+    protected Connection setupConnection(PooledConnection con) throws SQLException {
+        final Connection connection = super.setupConnection(con);
+        borrowed.put(con, clock.getTick());
+        return connection;
+    }
+
+    @Override
+    protected void returnConnection(PooledConnection con) {
+        final Long start = borrowed.remove(con);
+        if (start != null) {
+            hold.update(clock.getTick() - start, TimeUnit.NANOSECONDS);
+        }
+        super.returnConnection(con);
+    }
+
+    @Override
+    protected void abandon(PooledConnection con) {
+        borrowed.remove(con);
+        super.abandon(con);
+    }
+
+    @Override
+    protected PooledConnection create(boolean incrementCounter) {
+        // Keeps the size accounting of the pool. The connection it creates hasn't been opened yet, so it can simply
+        // be replaced by one which counts its failed validations.
+        super.create(incrementCounter);
+        return new InstrumentedPooledConnection(getPoolProperties(), this, validationFailures);
+    }
+
+    private static class InstrumentedPooledConnection extends PooledConnection {
+        private final Counter validationFailures;
+
+        InstrumentedPooledConnection(PoolConfiguration prop, ConnectionPool parent, Counter validationFailures) {
+            super(prop, parent);
+            this.validationFailures = validationFailures;
+        }
+
+        @Override
+        public boolean validate(int validateAction, @Nullable String sql) {
+            final boolean valid = super.validate(validateAction, sql);
+            if (!valid && !isDiscarded()) {
+                validationFailures.inc();
+            }
+            return valid;
+        }
+    }
+}
@@ -0,0 +1,609 @@
+package io.dropwizard.db;
+
+import com.codahale.metrics.Clock;
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import io.dropwizard.util.Duration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import java.io.PrintWriter;
+import java.sql.Connection;
+import java.sql.Driver;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+/**
+ * A {@link ManagedDataSource} which is backed by a lock-free connection pool, modelled after HikariCP.
+ * <p>
+ * Idle connections are kept in a {@link ConcurrentBag}, so borrowing and returning a connection doesn't take any
+ * lock unless the pool is exhausted. The sizing, validation and eviction options of the {@link DataSourceFactory}
+ * apply as they do to the Tomcat pool, and the same metrics are reported under the same names as by
+ * {@link ManagedPooledDataSource}. A connection which is closed on borrow or return, because it's too old or fails
+ * validation, is counted as {@code reconnected}.
+ * </p>
+ * <p>
+ * If {@code removeAbandoned} is enabled, connections which have been borrowed for longer than the
+ * {@code removeAbandonedTimeout} are closed by the eviction task once the pool is {@code abandonWhenPercentageFull}.
+ * The borrower of an abandoned connection can't use it anymore.
+ * </p>
+ * <p>
+ * When a connection is returned, an open transaction is committed if {@code commitOnReturn} is enabled and rolled
+ * back otherwise, and the auto-commit, read-only, transaction isolation and catalog settings are restored if the
+ * borrower changed them.
+ * </p>
+ *
+ * @since 2.1
+ */
+public class ManagedConcurrentPoolDataSource implements ManagedDataSource {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ManagedConcurrentPoolDataSource.class);
+
+    private final String name;
+    private final String url;
+    @Nullable
+    private final String driverClass;
+    private final Properties connectionProperties = new Properties();
+    private final int initialSize;
+    private final int minSize;
+    private final int maxSize;
+    private final long maxWaitNanos;
+    private final long maxAgeNanos;
+    private final long minIdleNanos;
+    private final long validationIntervalNanos;
+    private final Duration evictionInterval;
+    @Nullable
+    private final String validationQuery;
+    private final int validationQueryTimeout;
+    @Nullable
+    private final String initializationQuery;
+    @Nullable
+    private final Boolean autoCommitByDefault;
+    @Nullable
+    private final Boolean readOnlyByDefault;
+    private final int defaultTransactionIsolation;
+    @Nullable
+    private final String defaultCatalog;
+    private final boolean checkConnectionOnBorrow;
+    private final boolean checkConnectionOnConnect;
+    private final boolean checkConnectionOnReturn;
+    private final boolean checkConnectionWhileIdle;
+    private final boolean commitOnReturn;
+    private final boolean logValidationErrors;
+    private final boolean ignoreExceptionOnPreLoad;
+    private final boolean removeAbandoned;
+    private final long removeAbandonedTimeoutNanos;
+    private final int abandonWhenPercentageFull;
+    private final boolean logAbandoned;
+
+    private final MetricRegistry metricRegistry;
+    private final Clock clock;
+    private final Timer borrowWait;
+    private final Timer hold;
+    private final Counter borrowTimeouts;
+    private final Counter validationFailures;
+    private final List<String> gauges = new ArrayList<>();
+
+    private final ConcurrentBag<ConcurrentPoolEntry> bag = new ConcurrentBag<>();
+    private final AtomicInteger totalConnections = new AtomicInteger();
+    private final AtomicLong createdCount = new AtomicLong();
+    private final AtomicLong borrowedCount = new AtomicLong();
+    private final AtomicLong returnedCount = new AtomicLong();
+    private final AtomicLong releasedCount = new AtomicLong();
+    private final AtomicLong releasedIdleCount = new AtomicLong();
+    private final AtomicLong reconnectedCount = new AtomicLong();
+    private final AtomicLong removeAbandonedCount = new AtomicLong();
+    private final ScheduledExecutorService housekeeper;
+
+    @Nullable
+    private volatile Driver driver;
+    private volatile boolean closed;
+
+    /**
+     * Create a new data source with the pool configuration of the given factory.
+     *
+     * @param configuration  the connection pool configuration
+     * @param metricRegistry the registry of the pool's metrics
+     * @param name           the name of the pool
+     */
+    public ManagedConcurrentPoolDataSource(DataSourceFactory configuration, MetricRegistry metricRegistry,
+                                           String name) {
+        this(configuration, metricRegistry, name, Clock.defaultClock());
+    }
+
+    ManagedConcurrentPoolDataSource(DataSourceFactory configuration, MetricRegistry metricRegistry, String name,
+                                    Clock clock) {
+        this.name = name;
+        this.url = configuration.getUrl();
+        this.driverClass = configuration.getDriverClass();
+        for (Map.Entry<String, String> property : configuration.getProperties().entrySet()) {
+            connectionProperties.setProperty(property.getKey(), property.getValue());
+        }
+        final String user = configuration.getUser();
+        if (user != null) {
+            connectionProperties.setProperty("user", user);
+            final String password = configuration.getPassword();
+            connectionProperties.setProperty("password", password == null ? "" : password);
+        }
+
+        this.initialSize = configuration.getInitialSize();
+        this.minSize = configuration.getMinSize();
+        this.maxSize = configuration.getMaxSize();
+        this.maxWaitNanos = configuration.getMaxWaitForConnection().toNanoseconds();
+        this.maxAgeNanos = configuration.getMaxConnectionAge().map(Duration::toNanoseconds).orElse(0L);
+        this.minIdleNanos = configuration.getMinIdleTime().toNanoseconds();
+        this.validationIntervalNanos = configuration.getValidationInterval().toNanoseconds();
+        this.evictionInterval = configuration.getEvictionInterval();
+        this.validationQuery = configuration.getValidationQuery().orElse(null);
+        this.validationQueryTimeout = configuration.getValidationQueryTimeout()
+            .map(timeout -> (int) timeout.toSeconds())
+            .orElse(0);
+        this.initializationQuery = configuration.getInitializationQuery();
+        this.autoCommitByDefault = configuration.getAutoCommitByDefault();
+        this.readOnlyByDefault = configuration.getReadOnlyByDefault();
+        this.defaultTransactionIsolation = configuration.getDefaultTransactionIsolation().get();
+        this.defaultCatalog = configuration.getDefaultCatalog();
+        this.checkConnectionOnBorrow = configuration.getCheckConnectionOnBorrow();
+        this.checkConnectionOnConnect = configuration.getCheckConnectionOnConnect();
+        this.checkConnectionOnReturn = configuration.getCheckConnectionOnReturn();
+        this.checkConnectionWhileIdle = configuration.getCheckConnectionWhileIdle();
+        this.commitOnReturn = configuration.getCommitOnReturn();
+        this.logValidationErrors = configuration.getLogValidationErrors();
+        this.ignoreExceptionOnPreLoad = configuration.isIgnoreExceptionOnPreLoad();
+        this.removeAbandoned = configuration.isRemoveAbandoned();
+        this.removeAbandonedTimeoutNanos = configuration.getRemoveAbandonedTimeout().toNanoseconds();
+        this.abandonWhenPercentageFull = configuration.getAbandonWhenPercentageFull();
+        this.logAbandoned = configuration.getLogAbandonedConnections();
+
+        this.metricRegistry = metricRegistry;
+        this.clock = clock;
+        this.borrowWait = metricRegistry.timer(name(ManagedPooledDataSource.class, name, "borrowWait"));
+        this.hold = metricRegistry.timer(name(ManagedPooledDataSource.class, name, "hold"));
+        this.borrowTimeouts = metricRegistry.counter(name(ManagedPooledDataSource.class, name, "borrowTimeouts"));
+        this.validationFailures =
+            metricRegistry.counter(name(ManagedPooledDataSource.class, name, "validationFailures"));
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(createThreadFactory(name));
+    }
+
+    @Override
+    public void start() throws Exception {
+        registerGauge("active", (Gauge<Integer>) () -> bag.getCount(ConcurrentBag.STATE_IN_USE));
+        registerGauge("idle", (Gauge<Integer>) () -> bag.getCount(ConcurrentBag.STATE_NOT_IN_USE));
+        registerGauge("waiting", (Gauge<Integer>) bag::getWaitingThreadCount);
+        registerGauge("size", (Gauge<Integer>) totalConnections::get);
+        registerGauge("created", (Gauge<Long>) createdCount::get);
+        registerGauge("borrowed", (Gauge<Long>) borrowedCount::get);
+        registerGauge("reconnected", (Gauge<Long>) reconnectedCount::get);
+        registerGauge("released", (Gauge<Long>) releasedCount::get);
+        registerGauge("releasedIdle", (Gauge<Long>) releasedIdleCount::get);
+        registerGauge("returned", (Gauge<Long>) returnedCount::get);
+        registerGauge("removeAbandoned", (Gauge<Long>) removeAbandonedCount::get);
+
+        try {
+            while (totalConnections.get() < initialSize && addIdleConnection()) {
+                // Keep opening connections until the initial size has been reached
+            }
+        } catch (SQLException e) {
+            if (!ignoreExceptionOnPreLoad) {
+                throw e;
+            }
+            LOGGER.warn("Unable to open the initial connections of {}", name, e);
+        }
+
+        final long interval = evictionInterval.toNanoseconds();
+        housekeeper.scheduleWithFixedDelay(this::evictAndFill, interval, interval, TimeUnit.NANOSECONDS);
+    }
+
+    private void registerGauge(String metric, Gauge<?> gauge) {
+        final String gaugeName = name(ManagedPooledDataSource.class, name, metric);
+        metricRegistry.register(gaugeName, gauge);
+        gauges.add(gaugeName);
+    }
+
+    @Override
+    public void stop() throws Exception {
+        closed = true;
+        housekeeper.shutdownNow();
+        for (ConcurrentPoolEntry entry : bag.values()) {
+            if (bag.reserve(entry)) {
+                closeEntry(entry);
+            }
+        }
+        for (String gauge : gauges) {
+            metricRegistry.remove(gauge);
+        }
+        gauges.clear();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (closed) {
+            throw new SQLException("The data source " + name + " has been closed");
+        }
+
+        final long start = clock.getTick();
+        try {
+            while (true) {
+                ConcurrentPoolEntry entry = bag.borrow(0, TimeUnit.NANOSECONDS);
+                if (entry == null) {
+                    entry = openConnection(true);
+                }
+                if (entry == null) {
+                    final long remaining = maxWaitNanos - (clock.getTick() - start);
+                    entry = bag.borrow(remaining, TimeUnit.NANOSECONDS);
+                }
+                if (entry == null) {
+                    borrowTimeouts.inc();
+                    throw new SQLTransientConnectionException("Timed out waiting for a connection of " + name +
+                        " after " + TimeUnit.NANOSECONDS.toMillis(maxWaitNanos) + "ms");
+                }
+
+                final long now = clock.getTick();
+                if (isExpired(entry, now) || (checkConnectionOnBorrow && !validate(entry, now))) {
+                    if (closeEntry(entry)) {
+                        reconnectedCount.incrementAndGet();
+                    }
+                    continue;
+                }
+
+                borrowedCount.incrementAndGet();
+                entry.setBorrowedAt(now);
+                entry.setBorrowedBy(logAbandoned ? new Throwable("Borrowed here") : null);
+                borrowWait.update(now - start, TimeUnit.NANOSECONDS);
+                return new ConcurrentPoolConnection(this, entry);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a connection of " + name, e);
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Alternate usernames are not supported");
+    }
+
+    /**
+     * Returns a borrowed connection to the pool, or closes it if it can't be reused.
+     */
+    void release(ConcurrentPoolEntry entry, int dirtyBits) {
+        if (entry.getState() == ConcurrentBag.STATE_REMOVED) {
+            // The connection has been abandoned and closed already
+            return;
+        }
+
+        final long now = clock.getTick();
+        hold.update(now - entry.getBorrowedAt(), TimeUnit.NANOSECONDS);
+        returnedCount.incrementAndGet();
+
+        try {
+            entry.reset(dirtyBits, commitOnReturn);
+        } catch (SQLException e) {
+            LOGGER.debug("Unable to reset a connection of {}", name, e);
+            closeEntry(entry);
+            return;
+        }
+
+        if (closed) {
+            closeEntry(entry);
+            return;
+        }
+        if (isExpired(entry, now) || (checkConnectionOnReturn && !validate(entry, now))) {
+            if (closeEntry(entry)) {
+                reconnectedCount.incrementAndGet();
+            }
+            return;
+        }
+
+        entry.setLastReturned(now);
+        bag.requite(entry);
+    }
+
+    /**
+     * @return the number of open connections
+     */
+    public int getSize() {
+        return totalConnections.get();
+    }
+
+    /**
+     * @return the number of connections which are currently borrowed
+     */
+    public int getActive() {
+        return bag.getCount(ConcurrentBag.STATE_IN_USE);
+    }
+
+    /**
+     * @return the number of connections which are currently idle
+     */
+    public int getIdle() {
+        return bag.getCount(ConcurrentBag.STATE_NOT_IN_USE);
+    }
+
+    @Nullable
+    private ConcurrentPoolEntry openConnection(boolean borrow) throws SQLException {
+        int total;
+        do {
+            total = totalConnections.get();
+            if (total >= maxSize) {
+                return null;
+            }
+        } while (!totalConnections.compareAndSet(total, total + 1));
+
+        final Connection connection;
+        try {
+            connection = connect();
+        } catch (SQLException | RuntimeException e) {
+            totalConnections.decrementAndGet();
+            throw e;
+        }
+
+        final ConcurrentPoolEntry entry;
+        try {
+            entry = new ConcurrentPoolEntry(connection, clock.getTick());
+        } catch (SQLException e) {
+            totalConnections.decrementAndGet();
+            closeQuietly(connection);
+            throw e;
+        }
+
+        if (borrow) {
+            entry.compareAndSetState(ConcurrentBag.STATE_NOT_IN_USE, ConcurrentBag.STATE_IN_USE);
+        }
+        createdCount.incrementAndGet();
+        bag.add(entry);
+        return entry;
+    }
+
+    private Connection connect() throws SQLException {
+        final Connection connection = getDriver().connect(url, connectionProperties);
+        if (connection == null) {
+            throw new SQLException("The JDBC driver doesn't accept the URL " + url);
+        }
+
+        try {
+            if (autoCommitByDefault != null) {
+                connection.setAutoCommit(autoCommitByDefault);
+            }
+            if (readOnlyByDefault != null) {
+                connection.setReadOnly(readOnlyByDefault);
+            }
+            if (defaultTransactionIsolation != DataSourceFactory.TransactionIsolation.DEFAULT.get()) {
+                connection.setTransactionIsolation(defaultTransactionIsolation);
+            }
+            if (defaultCatalog != null) {
+                connection.setCatalog(defaultCatalog);
+            }
+            if (initializationQuery != null) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute(initializationQuery);
+                }
+            }
+            if (checkConnectionOnConnect && !isValid(connection)) {
+                throw new SQLException("Unable to validate a new connection of " + name);
+            }
+        } catch (SQLException | RuntimeException e) {
+            closeQuietly(connection);
+            throw e;
+        }
+        return connection;
+    }
+
+    private Driver getDriver() throws SQLException {
+        Driver result = driver;
+        if (result == null) {
+            if (driverClass != null) {
+                try {
+                    Class.forName(driverClass);
+                } catch (ClassNotFoundException e) {
+                    throw new SQLException("Unable to load the JDBC driver " + driverClass, e);
+                }
+            }
+            result = DriverManager.getDriver(url);
+            driver = result;
+        }
+        return result;
+    }
+
+    private boolean addIdleConnection() throws SQLException {
+        return openConnection(false) != null;
+    }
+
+    private boolean validate(ConcurrentPoolEntry entry, long now) {
+        if (now - entry.getLastValidated() < validationIntervalNanos) {
+            return true;
+        }
+        if (isValid(entry.getConnection())) {
+            entry.setLastValidated(now);
+            return true;
+        }
+        return false;
+    }
+
+    private boolean isValid(Connection connection) {
+        try {
+            if (validationQuery == null) {
+                if (connection.isValid(validationQueryTimeout)) {
+                    return true;
+                }
+            } else {
+                try (Statement statement = connection.createStatement()) {
+                    if (validationQueryTimeout > 0) {
+                        statement.setQueryTimeout(validationQueryTimeout);
+                    }
+                    statement.execute(validationQuery);
+                }
+                if (!connection.getAutoCommit()) {
+                    connection.rollback();
+                }
+                return true;
+            }
+        } catch (SQLException | RuntimeException e) {
+            if (logValidationErrors) {
+                LOGGER.error("Unable to validate a connection of {}", name, e);
+            }
+        }
+        validationFailures.inc();
+        return false;
+    }
+
+    private boolean isExpired(ConcurrentPoolEntry entry, long now) {
+        return maxAgeNanos > 0 && now - entry.getCreatedAt() > maxAgeNanos;
+    }
+
+    private boolean closeEntry(ConcurrentPoolEntry entry) {
+        if (!bag.remove(entry)) {
+            return false;
+        }
+        totalConnections.decrementAndGet();
+        releasedCount.incrementAndGet();
+        closeQuietly(entry.getConnection());
+
+        if (!closed && bag.getWaitingThreadCount() > 0) {
+            try {
+                housekeeper.execute(this::fillForWaiters);
+            } catch (RejectedExecutionException ignored) {
+                // The pool is being stopped
+            }
+        }
+        return true;
+    }
+
+    private void evictAndFill() {
+        final long now = clock.getTick();
+        if (removeAbandoned && isAbandonWhenPercentageFull()) {
+            removeAbandoned(now);
+        }
+
+        for (ConcurrentPoolEntry entry : bag.values(ConcurrentBag.STATE_NOT_IN_USE)) {
+            if (!bag.reserve(entry)) {
+                continue;
+            }
+            if (now - entry.getLastReturned() > minIdleNanos && totalConnections.get() > minSize) {
+                if (closeEntry(entry)) {
+                    releasedIdleCount.incrementAndGet();
+                }
+            } else if (isExpired(entry, now) || (checkConnectionWhileIdle && !validate(entry, now))) {
+                closeEntry(entry);
+            } else {
+                bag.unreserve(entry);
+            }
+        }
+
+        try {
+            while (!closed && totalConnections.get() < minSize && addIdleConnection()) {
+                // Keep opening connections until the minimum size has been reached
+            }
+        } catch (SQLException | RuntimeException e) {
+            LOGGER.warn("Unable to open a connection of {}", name, e);
+        }
+    }
+
+    private boolean isAbandonWhenPercentageFull() {
+        return abandonWhenPercentageFull == 0 ||
+            bag.getCount(ConcurrentBag.STATE_IN_USE) * 100.0 / maxSize >= abandonWhenPercentageFull;
+    }
+
+    private void removeAbandoned(long now) {
+        for (ConcurrentPoolEntry entry : bag.values(ConcurrentBag.STATE_IN_USE)) {
+            if (entry.getBorrowedAt() <= entry.getLastReturned()) {
+                // The entry is being borrowed, and the time of the borrow hasn't been set yet
+                continue;
+            }
+            final long borrowedFor = now - entry.getBorrowedAt();
+            if (borrowedFor > removeAbandonedTimeoutNanos && closeEntry(entry)) {
+                removeAbandonedCount.incrementAndGet();
+                final Throwable borrowedBy = entry.getBorrowedBy();
+                if (borrowedBy != null) {
+                    LOGGER.warn("Removed a connection of {} which has been abandoned for {}ms", name,
+                        TimeUnit.NANOSECONDS.toMillis(borrowedFor), borrowedBy);
+                }
+            }
+        }
+    }
+
+    private void fillForWaiters() {
+        try {
+            while (!closed && bag.getWaitingThreadCount() > 0 && addIdleConnection()) {
+                // Keep opening connections while there are threads waiting for one
+            }
+        } catch (SQLException | RuntimeException e) {
+            LOGGER.warn("Unable to open a connection of {}", name, e);
+        }
+    }
+
+    private static void closeQuietly(Connection connection) {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            LOGGER.debug("Unable to close a connection", e);
+        }
+    }
+
+    private static ThreadFactory createThreadFactory(String name) {
+        final ThreadFactory defaultThreadFactory = Executors.defaultThreadFactory();
+        return runnable -> {
+            final Thread thread = defaultThreadFactory.newThread(runnable);
+            thread.setName(name + "-housekeeper");
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @Override
+    @Nullable
+    public PrintWriter getLogWriter() {
+        return null;
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) {
+        // Doesn't log to a PrintWriter
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) {
+        // Connections are opened by the pool, which waits up to maxWaitForConnection
+    }
+
+    @Override
+    public int getLoginTimeout() {
+        return 0;
+    }
+
+    @Override
+    public java.util.logging.Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException("Doesn't use java.util.logging");
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        throw new SQLException(getClass().getName() + " is not a wrapper for " + iface.getName());
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) {
+        return iface.isInstance(this);
+    }
+}
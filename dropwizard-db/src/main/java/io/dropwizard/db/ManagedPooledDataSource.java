@@ -1,11 +1,13 @@
 package io.dropwizard.db;
 
+import com.codahale.metrics.Clock;
 import com.codahale.metrics.Gauge;
 import com.codahale.metrics.MetricRegistry;
 import org.apache.tomcat.jdbc.pool.ConnectionPool;
 import org.apache.tomcat.jdbc.pool.DataSourceProxy;
 import org.apache.tomcat.jdbc.pool.PoolConfiguration;
 
+import java.sql.SQLException;
 import java.sql.SQLFeatureNotSupportedException;
 import java.util.logging.Logger;
 
@@ -13,6 +15,11 @@ import static com.codahale.metrics.MetricRegistry.name;
 
 /**
  * A {@link ManagedDataSource} which is backed by a Tomcat pooled {@link javax.sql.DataSource}.
+ * <p>
+ * Besides gauges of the pool's state, it reports the time callers wait to borrow a connection ({@code borrowWait})
+ * and hold on to it ({@code hold}), and counts the borrow attempts which timed out ({@code borrowTimeouts}) and
+ * the failed connection validations ({@code validationFailures}).
+ * </p>
  */
 public class ManagedPooledDataSource extends DataSourceProxy implements ManagedDataSource {
     private final MetricRegistry metricRegistry;
@@ -32,6 +39,27 @@ public class ManagedPooledDataSource extends DataSourceProxy implements ManagedD
         throw new SQLFeatureNotSupportedException("Doesn't use java.util.logging");
     }
 
+    @Override
+    public ConnectionPool createPool() throws SQLException {
+        if (pool != null) {
+            return pool;
+        }
+        return createInstrumentedPool();
+    }
+
+    private synchronized ConnectionPool createInstrumentedPool() throws SQLException {
+        if (pool == null) {
+            final String poolName = poolProperties.getPoolName();
+            pool = new InstrumentedConnectionPool(poolProperties,
+                metricRegistry.timer(name(getClass(), poolName, "borrowWait")),
+                metricRegistry.timer(name(getClass(), poolName, "hold")),
+                metricRegistry.counter(name(getClass(), poolName, "borrowTimeouts")),
+                metricRegistry.counter(name(getClass(), poolName, "validationFailures")),
+                Clock.defaultClock());
+        }
+        return pool;
+    }
+
     @Override
     public void start() throws Exception {
         final ConnectionPool connectionPool = createPool();
@@ -0,0 +1,48 @@
+package io.dropwizard.db;
+
+/**
+ * Marks the work of the current thread as read-only, so that a {@link RoutingManagedDataSource} hands out replica
+ * connections to it, even if the connections themselves aren't flagged as read-only.
+ * <p>
+ * The previous state should always be restored when the work is done:
+ * </p>
+ * <pre>{@code
+ * final boolean previous = ReadOnlyRouting.set(true);
+ * try {
+ *     ...
+ * } finally {
+ *     ReadOnlyRouting.set(previous);
+ * }
+ * }</pre>
+ *
+ * @since 2.1
+ */
+public final class ReadOnlyRouting {
+    private static final ThreadLocal<Boolean> READ_ONLY = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+    private ReadOnlyRouting() {
+    }
+
+    /**
+     * @return whether the work of the current thread is read-only
+     */
+    public static boolean isReadOnly() {
+        return READ_ONLY.get();
+    }
+
+    /**
+     * Sets whether the work of the current thread is read-only.
+     *
+     * @param readOnly whether the work is read-only
+     * @return the previous state
+     */
+    public static boolean set(boolean readOnly) {
+        final boolean previous = READ_ONLY.get();
+        if (readOnly) {
+            READ_ONLY.set(Boolean.TRUE);
+        } else {
+            READ_ONLY.remove();
+        }
+        return previous;
+    }
+}
@@ -0,0 +1,220 @@
+package io.dropwizard.db;
+
+import com.codahale.metrics.MetricRegistry;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.dropwizard.util.Duration;
+import io.dropwizard.validation.MinDuration;
+
+import javax.annotation.Nullable;
+import javax.validation.Valid;
+import javax.validation.constraints.NotNull;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A factory for {@link RoutingManagedDataSource}s, which send writes to a primary database and reads to its replicas.
+ * <p/>
+ * Everything but the connections, e.g. the validation query and the ORM properties, is taken from the primary.
+ * Every database gets its own connection pool, named after the data source and suffixed with {@code -primary} or
+ * {@code -replica-<index>}, so that their metrics can be told apart.
+ * <p/>
+ * <b>Configuration Parameters:</b>
+ * <table>
+ *     <tr>
+ *         <td>Name</td>
+ *         <td>Default</td>
+ *         <td>Description</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code primary}</td>
+ *         <td><b>REQUIRED</b></td>
+ *         <td>The {@link DataSourceFactory} of the primary database, which all writes are sent to.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code replicas}</td>
+ *         <td>(none)</td>
+ *         <td>The {@link DataSourceFactory DataSourceFactories} of the replicas, which reads are sent to.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code loadBalancing}</td>
+ *         <td>{@code ROUND_ROBIN}</td>
+ *         <td>
+ *             How to choose the replica of a read, either {@code ROUND_ROBIN}, {@code RANDOM} or
+ *             {@code LEAST_ACTIVE}, the replica with the fewest connections in use.
+ *         </td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code replicaCheckInterval}</td>
+ *         <td>5 seconds</td>
+ *         <td>
+ *             How often to validate the replicas. A replica which fails to hand out a connection or a validation is
+ *             ejected until it passes a validation again.
+ *         </td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code fallbackToPrimary}</td>
+ *         <td>{@code true}</td>
+ *         <td>Whether to send reads to the primary while no replica is available, instead of failing them.</td>
+ *     </tr>
+ * </table>
+ *
+ * @since 2.1
+ */
+public class ReplicatedDataSourceFactory implements PooledDataSourceFactory {
+    /**
+     * How to choose the replica of a read.
+     */
+    public enum LoadBalancing {
+        ROUND_ROBIN, RANDOM, LEAST_ACTIVE
+    }
+
+    @Valid
+    @NotNull
+    private DataSourceFactory primary = new DataSourceFactory();
+
+    @Valid
+    @NotNull
+    private List<DataSourceFactory> replicas = new ArrayList<>();
+
+    @NotNull
+    private LoadBalancing loadBalancing = LoadBalancing.ROUND_ROBIN;
+
+    @NotNull
+    @MinDuration(value = 0, unit = TimeUnit.MILLISECONDS, inclusive = false)
+    private Duration replicaCheckInterval = Duration.seconds(5);
+
+    private boolean fallbackToPrimary = true;
+
+    @JsonProperty
+    public DataSourceFactory getPrimary() {
+        return primary;
+    }
+
+    @JsonProperty
+    public void setPrimary(DataSourceFactory primary) {
+        this.primary = primary;
+    }
+
+    @JsonProperty
+    public List<DataSourceFactory> getReplicas() {
+        return replicas;
+    }
+
+    @JsonProperty
+    public void setReplicas(List<DataSourceFactory> replicas) {
+        this.replicas = replicas;
+    }
+
+    @JsonProperty
+    public LoadBalancing getLoadBalancing() {
+        return loadBalancing;
+    }
+
+    @JsonProperty
+    public void setLoadBalancing(LoadBalancing loadBalancing) {
+        this.loadBalancing = loadBalancing;
+    }
+
+    @JsonProperty
+    public Duration getReplicaCheckInterval() {
+        return replicaCheckInterval;
+    }
+
+    @JsonProperty
+    public void setReplicaCheckInterval(Duration replicaCheckInterval) {
+        this.replicaCheckInterval = replicaCheckInterval;
+    }
+
+    @JsonProperty
+    public boolean isFallbackToPrimary() {
+        return fallbackToPrimary;
+    }
+
+    @JsonProperty
+    public void setFallbackToPrimary(boolean fallbackToPrimary) {
+        this.fallbackToPrimary = fallbackToPrimary;
+    }
+
+    @Override
+    @JsonIgnore
+    public boolean isAutoCommentsEnabled() {
+        return primary.isAutoCommentsEnabled();
+    }
+
+    @Override
+    @JsonIgnore
+    public Map<String, String> getProperties() {
+        return primary.getProperties();
+    }
+
+    @Override
+    @JsonIgnore
+    public Optional<Duration> getValidationQueryTimeout() {
+        return primary.getValidationQueryTimeout();
+    }
+
+    @Override
+    @Deprecated
+    @JsonIgnore
+    public Optional<Duration> getHealthCheckValidationTimeout() {
+        return getValidationQueryTimeout();
+    }
+
+    @Override
+    @JsonIgnore
+    public Optional<String> getValidationQuery() {
+        return primary.getValidationQuery();
+    }
+
+    @Override
+    @Deprecated
+    @JsonIgnore
+    public String getHealthCheckValidationQuery() {
+        return primary.getHealthCheckValidationQuery();
+    }
+
+    @Override
+    @JsonIgnore
+    @Nullable
+    public String getDriverClass() {
+        return primary.getDriverClass();
+    }
+
+    @Override
+    @JsonIgnore
+    public String getUrl() {
+        return primary.getUrl();
+    }
+
+    @Override
+    public void asSingleConnectionPool() {
+        primary.asSingleConnectionPool();
+        for (DataSourceFactory replica : replicas) {
+            replica.asSingleConnectionPool();
+        }
+    }
+
+    @Override
+    public RoutingManagedDataSource build(MetricRegistry metricRegistry, String name) {
+        final RoutingManagedDataSource.Target primaryTarget = buildTarget(primary, metricRegistry, name + "-primary");
+        final List<RoutingManagedDataSource.Target> replicaTargets = new ArrayList<>(replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            replicaTargets.add(buildTarget(replicas.get(i), metricRegistry, name + "-replica-" + i));
+        }
+        return new RoutingManagedDataSource(primaryTarget, replicaTargets, loadBalancing, replicaCheckInterval,
+            fallbackToPrimary, metricRegistry, name);
+    }
+
+    private static RoutingManagedDataSource.Target buildTarget(DataSourceFactory factory,
+                                                               MetricRegistry metricRegistry, String name) {
+        final int validationTimeout = (int) factory.getValidationQueryTimeout()
+            .orElse(Duration.seconds(1))
+            .toSeconds();
+        return new RoutingManagedDataSource.Target(name, factory.build(metricRegistry, name),
+            factory.getValidationQuery().orElse(null), Math.max(validationTimeout, 1), metricRegistry);
+    }
+}
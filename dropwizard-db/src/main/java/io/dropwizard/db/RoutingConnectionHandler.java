@@ -0,0 +1,153 @@
+package io.dropwizard.db;
+
+import javax.annotation.Nullable;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * The {@link InvocationHandler} of the connections handed out by a {@link RoutingManagedDataSource}.
+ * <p>
+ * The target connection is only acquired once the connection is actually used, e.g. to create a statement. Until
+ * then, changes of the auto-commit, read-only and transaction isolation settings are recorded, so that a connection
+ * flagged as read-only can still be routed to a replica, and applied to the target once it has been acquired.
+ * </p>
+ */
+class RoutingConnectionHandler implements InvocationHandler {
+    private final RoutingManagedDataSource dataSource;
+
+    @Nullable
+    private RoutingManagedDataSource.Lease lease;
+    @Nullable
+    private Boolean autoCommit;
+    @Nullable
+    private Boolean readOnly;
+    @Nullable
+    private Integer transactionIsolation;
+    private boolean closed;
+
+    RoutingConnectionHandler(RoutingManagedDataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    @Nullable
+    public Object invoke(Object proxy, Method method, @Nullable Object[] args) throws Throwable {
+        final String name = method.getName();
+        switch (name) {
+            case "equals":
+                return args != null && proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "toString":
+                return "Routing connection to " + (lease == null ? "a target yet to be chosen" : lease.getConnection());
+            case "isClosed":
+                return closed;
+            case "close":
+                close();
+                return null;
+            case "unwrap":
+                if (args != null && ((Class<?>) args[0]).isInstance(proxy)) {
+                    return proxy;
+                }
+                break;
+            case "isWrapperFor":
+                if (args != null && ((Class<?>) args[0]).isInstance(proxy)) {
+                    return true;
+                }
+                break;
+            default:
+                break;
+        }
+
+        if (closed) {
+            throw new SQLException("Connection has already been closed");
+        }
+
+        if (lease == null) {
+            switch (name) {
+                case "setAutoCommit":
+                    autoCommit = (Boolean) requireArgument(args);
+                    return null;
+                case "getAutoCommit":
+                    return autoCommit != null ? autoCommit : dataSource.getDefaults().isAutoCommit();
+                case "setReadOnly":
+                    readOnly = (Boolean) requireArgument(args);
+                    return null;
+                case "isReadOnly":
+                    return readOnly != null ? readOnly : dataSource.getDefaults().isReadOnly();
+                case "setTransactionIsolation":
+                    transactionIsolation = (Integer) requireArgument(args);
+                    return null;
+                case "getTransactionIsolation":
+                    return transactionIsolation != null ? transactionIsolation
+                        : dataSource.getDefaults().getTransactionIsolation();
+                case "getWarnings":
+                    return null;
+                case "clearWarnings":
+                    return null;
+                case "commit":
+                case "rollback":
+                    if (method.getParameterCount() == 0) {
+                        // Nothing has happened yet, so there's nothing to commit or roll back
+                        return null;
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        try {
+            return method.invoke(getConnection(), args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private Connection getConnection() throws SQLException {
+        if (lease != null) {
+            return lease.getConnection();
+        }
+
+        final boolean routeToReplica = Boolean.TRUE.equals(readOnly) || ReadOnlyRouting.isReadOnly();
+        final RoutingManagedDataSource.Lease acquired = dataSource.lease(routeToReplica);
+        final Connection connection = acquired.getConnection();
+        try {
+            if (autoCommit != null && connection.getAutoCommit() != autoCommit) {
+                connection.setAutoCommit(autoCommit);
+            }
+            if (readOnly != null && connection.isReadOnly() != readOnly) {
+                connection.setReadOnly(readOnly);
+            }
+            if (transactionIsolation != null && connection.getTransactionIsolation() != transactionIsolation) {
+                connection.setTransactionIsolation(transactionIsolation);
+            }
+        } catch (SQLException | RuntimeException e) {
+            acquired.release();
+            throw e;
+        }
+
+        this.lease = acquired;
+        return connection;
+    }
+
+    private void close() throws SQLException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (lease != null) {
+            lease.release();
+        }
+    }
+
+    private static Object requireArgument(@Nullable Object[] args) {
+        if (args == null || args[0] == null) {
+            throw new IllegalArgumentException("Missing argument");
+        }
+        return args[0];
+    }
+}
@@ -0,0 +1,394 @@
+package io.dropwizard.db;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import io.dropwizard.util.Duration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import java.io.PrintWriter;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+/**
+ * A {@link ManagedDataSource} which sends writes to a primary data source and reads to a set of replicas.
+ * <p>
+ * The connections it hands out only choose their target once they're actually used. A connection is routed to a
+ * replica if it has been flagged as read-only by then, e.g. by a read-only JDBI transaction, or if the current thread
+ * has been marked as read-only by {@link ReadOnlyRouting}, e.g. by a read-only Hibernate unit of work. All other
+ * connections are routed to the primary.
+ * </p>
+ * <p>
+ * Replicas are chosen according to the {@link ReplicatedDataSourceFactory.LoadBalancing} strategy. A replica which
+ * fails to hand out a connection or its periodic validation is ejected until it passes a validation again. If no
+ * replica is available, read-only connections fall back to the primary, unless that has been disabled.
+ * </p>
+ *
+ * @since 2.1
+ */
+public class RoutingManagedDataSource implements ManagedDataSource {
+    private static final Logger LOGGER = LoggerFactory.getLogger(RoutingManagedDataSource.class);
+
+    private final Target primary;
+    private final List<Target> replicas;
+    private final ReplicatedDataSourceFactory.LoadBalancing loadBalancing;
+    private final Duration replicaCheckInterval;
+    private final boolean fallbackToPrimary;
+    private final String name;
+    private final Meter ejections;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    @Nullable
+    private volatile Defaults defaults;
+    @Nullable
+    private ScheduledExecutorService replicaChecker;
+
+    public RoutingManagedDataSource(Target primary, List<Target> replicas,
+                                    ReplicatedDataSourceFactory.LoadBalancing loadBalancing,
+                                    Duration replicaCheckInterval, boolean fallbackToPrimary,
+                                    MetricRegistry metricRegistry, String name) {
+        this.primary = primary;
+        this.replicas = Collections.unmodifiableList(new ArrayList<>(replicas));
+        this.loadBalancing = loadBalancing;
+        this.replicaCheckInterval = replicaCheckInterval;
+        this.fallbackToPrimary = fallbackToPrimary;
+        this.name = name;
+        this.ejections = metricRegistry.meter(name(getClass(), name, "replica-ejections"));
+    }
+
+    @Override
+    public void start() throws Exception {
+        primary.registerMetrics();
+        primary.getDataSource().start();
+        for (Target replica : replicas) {
+            replica.registerMetrics();
+            replica.getDataSource().start();
+        }
+
+        if (!replicas.isEmpty()) {
+            final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                final Thread thread = new Thread(runnable, name + "-replica-checker");
+                thread.setDaemon(true);
+                return thread;
+            });
+            final long interval = replicaCheckInterval.toNanoseconds();
+            executor.scheduleWithFixedDelay(this::checkReplicas, interval, interval, TimeUnit.NANOSECONDS);
+            replicaChecker = executor;
+        }
+    }
+
+    @Override
+    public void stop() throws Exception {
+        if (replicaChecker != null) {
+            replicaChecker.shutdownNow();
+        }
+        for (Target replica : replicas) {
+            replica.getDataSource().stop();
+        }
+        primary.getDataSource().stop();
+    }
+
+    @Override
+    public Connection getConnection() {
+        return (Connection) Proxy.newProxyInstance(RoutingManagedDataSource.class.getClassLoader(),
+            new Class<?>[]{Connection.class}, new RoutingConnectionHandler(this));
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Alternate usernames are not supported");
+    }
+
+    /**
+     * @return the primary data source
+     */
+    public Target getPrimary() {
+        return primary;
+    }
+
+    /**
+     * @return the replica data sources
+     */
+    public List<Target> getReplicas() {
+        return replicas;
+    }
+
+    /**
+     * Leases a connection of the primary, or of a replica if {@code readOnly} is set.
+     */
+    Lease lease(boolean readOnly) throws SQLException {
+        while (true) {
+            final Target target = chooseTarget(readOnly);
+            try {
+                return target.lease();
+            } catch (SQLException e) {
+                if (target == primary) {
+                    throw e;
+                }
+                eject(target, e);
+            }
+        }
+    }
+
+    /**
+     * Validates all replicas, ejecting the ones which fail and readmitting the ones which pass.
+     */
+    void checkReplicas() {
+        for (Target replica : replicas) {
+            try {
+                replica.validate();
+                if (!replica.isAvailable()) {
+                    LOGGER.info("Readmitting replica {}", replica.getName());
+                    replica.available = true;
+                }
+            } catch (SQLException | RuntimeException e) {
+                eject(replica, e);
+            }
+        }
+    }
+
+    /**
+     * @return the settings of new connections, which are reported until a connection has chosen its target
+     */
+    Defaults getDefaults() throws SQLException {
+        Defaults result = defaults;
+        if (result == null) {
+            try (Connection connection = primary.getDataSource().getConnection()) {
+                result = new Defaults(connection.getAutoCommit(), connection.isReadOnly(),
+                    connection.getTransactionIsolation());
+            }
+            defaults = result;
+        }
+        return result;
+    }
+
+    private Target chooseTarget(boolean readOnly) throws SQLException {
+        if (!readOnly || replicas.isEmpty()) {
+            return primary;
+        }
+
+        final List<Target> available = replicas.stream()
+            .filter(Target::isAvailable)
+            .collect(Collectors.toList());
+        if (available.isEmpty()) {
+            if (fallbackToPrimary) {
+                return primary;
+            }
+            throw new SQLException("No replica of " + name + " is available");
+        }
+
+        switch (loadBalancing) {
+            case RANDOM:
+                return available.get(ThreadLocalRandom.current().nextInt(available.size()));
+            case LEAST_ACTIVE:
+                Target leastActive = available.get(0);
+                for (Target replica : available) {
+                    if (replica.getActive() < leastActive.getActive()) {
+                        leastActive = replica;
+                    }
+                }
+                return leastActive;
+            case ROUND_ROBIN:
+            default:
+                return available.get(Math.floorMod(nextReplica.getAndIncrement(), available.size()));
+        }
+    }
+
+    private void eject(Target replica, Exception cause) {
+        if (replica.isAvailable()) {
+            LOGGER.warn("Ejecting replica {}", replica.getName(), cause);
+            replica.available = false;
+            ejections.mark();
+        }
+    }
+
+    @Override
+    @Nullable
+    public PrintWriter getLogWriter() throws SQLException {
+        return primary.getDataSource().getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException {
+        primary.getDataSource().setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) throws SQLException {
+        primary.getDataSource().setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return primary.getDataSource().getLoginTimeout();
+    }
+
+    @Override
+    public java.util.logging.Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException("Doesn't use java.util.logging");
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        return primary.getDataSource().unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || primary.getDataSource().isWrapperFor(iface);
+    }
+
+    /**
+     * A data source which connections are routed to, i.e. the primary or one of the replicas.
+     */
+    public static class Target {
+        private final String name;
+        private final ManagedDataSource dataSource;
+        @Nullable
+        private final String validationQuery;
+        private final int validationQueryTimeout;
+        private final MetricRegistry metricRegistry;
+        private final Meter connections;
+        private final AtomicInteger active = new AtomicInteger();
+        private volatile boolean available = true;
+
+        /**
+         * @param name                   the name of the target, which prefixes its metrics
+         * @param dataSource             the data source of the target
+         * @param validationQuery        the query which validates a connection of the target, or {@code null} to
+         *                               use {@link Connection#isValid(int)}
+         * @param validationQueryTimeout the timeout of the validation, in seconds
+         * @param metricRegistry         the registry of the metrics of the target
+         */
+        public Target(String name, ManagedDataSource dataSource, @Nullable String validationQuery,
+                      int validationQueryTimeout, MetricRegistry metricRegistry) {
+            this.name = name;
+            this.dataSource = dataSource;
+            this.validationQuery = validationQuery;
+            this.validationQueryTimeout = validationQueryTimeout;
+            this.metricRegistry = metricRegistry;
+            this.connections = metricRegistry.meter(name(RoutingManagedDataSource.class, name, "connections"));
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public ManagedDataSource getDataSource() {
+            return dataSource;
+        }
+
+        /**
+         * @return whether connections may be routed to the target, i.e. it hasn't been ejected
+         */
+        public boolean isAvailable() {
+            return available;
+        }
+
+        /**
+         * @return the number of connections of the target which are currently in use
+         */
+        public int getActive() {
+            return active.get();
+        }
+
+        private void registerMetrics() {
+            metricRegistry.register(name(RoutingManagedDataSource.class, name, "active"),
+                (Gauge<Integer>) active::get);
+            metricRegistry.register(name(RoutingManagedDataSource.class, name, "available"),
+                (Gauge<Boolean>) this::isAvailable);
+        }
+
+        private Lease lease() throws SQLException {
+            final Connection connection = dataSource.getConnection();
+            active.incrementAndGet();
+            connections.mark();
+            return new Lease(this, connection);
+        }
+
+        private void validate() throws SQLException {
+            try (Connection connection = dataSource.getConnection()) {
+                if (validationQuery == null) {
+                    if (!connection.isValid(validationQueryTimeout)) {
+                        throw new SQLException("Connection of " + name + " is not valid");
+                    }
+                } else {
+                    try (Statement statement = connection.createStatement()) {
+                        if (validationQueryTimeout > 0) {
+                            statement.setQueryTimeout(validationQueryTimeout);
+                        }
+                        statement.execute(validationQuery);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * A connection of a {@link Target}, which is in use by a routing connection.
+     */
+    static final class Lease {
+        private final Target target;
+        private final Connection connection;
+
+        private Lease(Target target, Connection connection) {
+            this.target = target;
+            this.connection = connection;
+        }
+
+        Connection getConnection() {
+            return connection;
+        }
+
+        void release() throws SQLException {
+            target.active.decrementAndGet();
+            connection.close();
+        }
+    }
+
+    /**
+     * The settings of the connections of the primary when they're handed out.
+     */
+    static final class Defaults {
+        private final boolean autoCommit;
+        private final boolean readOnly;
+        private final int transactionIsolation;
+
+        private Defaults(boolean autoCommit, boolean readOnly, int transactionIsolation) {
+            this.autoCommit = autoCommit;
+            this.readOnly = readOnly;
+            this.transactionIsolation = transactionIsolation;
+        }
+
+        boolean isAutoCommit() {
+            return autoCommit;
+        }
+
+        boolean isReadOnly() {
+            return readOnly;
+        }
+
+        int getTransactionIsolation() {
+            return transactionIsolation;
+        }
+    }
+}
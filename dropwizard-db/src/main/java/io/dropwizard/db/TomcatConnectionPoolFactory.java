@@ -0,0 +1,73 @@
+package io.dropwizard.db;
+
+import com.codahale.metrics.MetricRegistry;
+import com.fasterxml.jackson.annotation.JsonTypeName;
+import io.dropwizard.util.Duration;
+import org.apache.tomcat.jdbc.pool.PoolProperties;
+
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * A {@link ConnectionPoolFactory} for the Tomcat JDBC connection pool backed {@link ManagedPooledDataSource}.
+ *
+ * @since 2.1
+ */
+@JsonTypeName("tomcat")
+public class TomcatConnectionPoolFactory implements ConnectionPoolFactory {
+    @Override
+    public ManagedDataSource build(DataSourceFactory configuration, MetricRegistry metricRegistry, String name) {
+        final Properties properties = new Properties();
+        for (Map.Entry<String, String> property : configuration.getProperties().entrySet()) {
+            properties.setProperty(property.getKey(), property.getValue());
+        }
+
+        final String user = configuration.getUser();
+        final String password = configuration.getPassword();
+
+        final PoolProperties poolConfig = new PoolProperties();
+        poolConfig.setAbandonWhenPercentageFull(configuration.getAbandonWhenPercentageFull());
+        poolConfig.setAlternateUsernameAllowed(configuration.isAlternateUsernamesAllowed());
+        poolConfig.setCommitOnReturn(configuration.getCommitOnReturn());
+        poolConfig.setRollbackOnReturn(configuration.getRollbackOnReturn());
+        poolConfig.setDbProperties(properties);
+        poolConfig.setDefaultAutoCommit(configuration.getAutoCommitByDefault());
+        poolConfig.setDefaultCatalog(configuration.getDefaultCatalog());
+        poolConfig.setDefaultReadOnly(configuration.getReadOnlyByDefault());
+        poolConfig.setDefaultTransactionIsolation(configuration.getDefaultTransactionIsolation().get());
+        poolConfig.setDriverClassName(configuration.getDriverClass());
+        poolConfig.setFairQueue(configuration.getUseFairQueue());
+        poolConfig.setIgnoreExceptionOnPreLoad(configuration.isIgnoreExceptionOnPreLoad());
+        poolConfig.setInitialSize(configuration.getInitialSize());
+        poolConfig.setInitSQL(configuration.getInitializationQuery());
+        poolConfig.setLogAbandoned(configuration.getLogAbandonedConnections());
+        poolConfig.setLogValidationErrors(configuration.getLogValidationErrors());
+        poolConfig.setMaxActive(configuration.getMaxSize());
+        poolConfig.setMaxIdle(configuration.getMaxSize());
+        poolConfig.setMinIdle(configuration.getMinSize());
+
+        configuration.getMaxConnectionAge().map(Duration::toMilliseconds).ifPresent(poolConfig::setMaxAge);
+        poolConfig.setMaxWait((int) configuration.getMaxWaitForConnection().toMilliseconds());
+        poolConfig.setMinEvictableIdleTimeMillis((int) configuration.getMinIdleTime().toMilliseconds());
+        poolConfig.setName(name);
+        poolConfig.setUrl(configuration.getUrl());
+        poolConfig.setUsername(user);
+        poolConfig.setPassword(user != null && password == null ? "" : password);
+        poolConfig.setRemoveAbandoned(configuration.isRemoveAbandoned());
+        poolConfig.setRemoveAbandonedTimeout((int) configuration.getRemoveAbandonedTimeout().toSeconds());
+
+        poolConfig.setTestWhileIdle(configuration.getCheckConnectionWhileIdle());
+        configuration.getValidationQuery().ifPresent(poolConfig::setValidationQuery);
+        poolConfig.setTestOnBorrow(configuration.getCheckConnectionOnBorrow());
+        poolConfig.setTestOnConnect(configuration.getCheckConnectionOnConnect());
+        poolConfig.setTestOnReturn(configuration.getCheckConnectionOnReturn());
+        poolConfig.setTimeBetweenEvictionRunsMillis((int) configuration.getEvictionInterval().toMilliseconds());
+        poolConfig.setValidationInterval(configuration.getValidationInterval().toMilliseconds());
+
+        configuration.getValidationQueryTimeout().map(x -> (int) x.toSeconds())
+            .ifPresent(poolConfig::setValidationQueryTimeout);
+        configuration.getValidatorClassName().ifPresent(poolConfig::setValidatorClassName);
+        configuration.getJdbcInterceptors().ifPresent(poolConfig::setJdbcInterceptors);
+        return new ManagedPooledDataSource(poolConfig, metricRegistry);
+    }
+}
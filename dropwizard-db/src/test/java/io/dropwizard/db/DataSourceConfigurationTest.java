@@ -56,6 +56,7 @@ class DataSourceConfigurationTest {
         assertThat(ds.getValidatorClassName()).isEqualTo(Optional.of("io.dropwizard.db.CustomConnectionValidator"));
         assertThat(ds.getJdbcInterceptors()).isEqualTo(Optional.of("StatementFinalizer;SlowQueryReport"));
         assertThat(ds.isIgnoreExceptionOnPreLoad()).isTrue();
+        assertThat(ds.getConnectionPool()).isInstanceOf(ConcurrentConnectionPoolFactory.class);
     }
 
     @Test
@@ -98,6 +99,7 @@ class DataSourceConfigurationTest {
         assertThat(ds.getCheckConnectionOnReturn()).isFalse();
         assertThat(ds.getValidationQueryTimeout()).isNotPresent();
         assertThat(ds.isIgnoreExceptionOnPreLoad()).isFalse();
+        assertThat(ds.getConnectionPool()).isInstanceOf(TomcatConnectionPoolFactory.class);
     }
 
     @Test
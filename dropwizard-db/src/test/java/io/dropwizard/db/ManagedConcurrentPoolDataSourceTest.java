@@ -0,0 +1,217 @@
+package io.dropwizard.db;
+
+import com.codahale.metrics.MetricRegistry;
+import io.dropwizard.util.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.annotation.Nullable;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Objects.requireNonNull;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class ManagedConcurrentPoolDataSourceTest {
+    private static final String PREFIX = ManagedPooledDataSource.class.getName() + ".test.";
+
+    private final MetricRegistry metricRegistry = new MetricRegistry();
+    private final DataSourceFactory factory = new DataSourceFactory();
+
+    @Nullable
+    private ManagedConcurrentPoolDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        factory.setUrl("jdbc:h2:mem:DbTest-" + System.nanoTime() + ";user=sa");
+        factory.setDriverClass("org.h2.Driver");
+        factory.setValidationQuery("SELECT 1");
+        factory.setConnectionPool(new ConcurrentConnectionPoolFactory());
+        factory.setInitialSize(1);
+        factory.setMinSize(1);
+        factory.setMaxSize(2);
+        factory.setMaxWaitForConnection(Duration.milliseconds(50));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (null != dataSource) {
+            dataSource.stop();
+        }
+    }
+
+    private ManagedConcurrentPoolDataSource dataSource() throws Exception {
+        final ManagedConcurrentPoolDataSource managedDataSource =
+            (ManagedConcurrentPoolDataSource) factory.build(metricRegistry, "test");
+        dataSource = managedDataSource;
+        managedDataSource.start();
+        return managedDataSource;
+    }
+
+    @Test
+    void opensTheInitialConnectionsOnStart() throws Exception {
+        factory.setInitialSize(2);
+        final ManagedConcurrentPoolDataSource dataSource = dataSource();
+
+        assertThat(dataSource.getSize()).isEqualTo(2);
+        assertThat(dataSource.getIdle()).isEqualTo(2);
+        assertThat(metricRegistry.getGauges()).containsKeys(PREFIX + "active", PREFIX + "idle",
+            PREFIX + "waiting", PREFIX + "size", PREFIX + "created", PREFIX + "borrowed", PREFIX + "reconnected",
+            PREFIX + "released", PREFIX + "releasedIdle", PREFIX + "returned", PREFIX + "removeAbandoned");
+    }
+
+    @Test
+    void removesItsGaugesOnStop() throws Exception {
+        dataSource().stop();
+        assertThat(metricRegistry.getGauges()).isEmpty();
+
+        dataSource();
+        assertThat(metricRegistry.getGauges()).containsKey(PREFIX + "active");
+    }
+
+    @Test
+    void reusesReturnedConnections() throws Exception {
+        final ManagedConcurrentPoolDataSource dataSource = dataSource();
+        final Connection first = dataSource.getConnection();
+        final Connection physical = first.unwrap(org.h2.jdbc.JdbcConnection.class);
+        assertThat(dataSource.getActive()).isEqualTo(1);
+        first.close();
+
+        try (Connection second = dataSource.getConnection()) {
+            assertThat(second.unwrap(org.h2.jdbc.JdbcConnection.class)).isSameAs(physical);
+        }
+
+        assertThat(dataSource.getSize()).isEqualTo(1);
+        assertThat(metricRegistry.timer(PREFIX + "borrowWait").getCount()).isEqualTo(2);
+        assertThat(metricRegistry.timer(PREFIX + "hold").getCount()).isEqualTo(2);
+    }
+
+    @Test
+    void rejectsTheUseOfClosedConnections() throws Exception {
+        final ManagedConcurrentPoolDataSource dataSource = dataSource();
+        final Connection connection = dataSource.getConnection();
+        connection.close();
+
+        assertThat(connection.isClosed()).isTrue();
+        assertThat(connection.isValid(1)).isFalse();
+        assertThatExceptionOfType(SQLException.class).isThrownBy(connection::createStatement);
+    }
+
+    @Test
+    void timesOutIfThePoolIsExhausted() throws Exception {
+        final ManagedConcurrentPoolDataSource dataSource = dataSource();
+        try (Connection first = dataSource.getConnection(); Connection second = dataSource.getConnection()) {
+            assertThatExceptionOfType(SQLTransientConnectionException.class)
+                .isThrownBy(dataSource::getConnection);
+        }
+
+        assertThat(metricRegistry.counter(PREFIX + "borrowTimeouts").getCount()).isEqualTo(1);
+    }
+
+    @Test
+    void handsReturnedConnectionsOffToWaitingThreads() throws Exception {
+        factory.setMaxSize(1);
+        factory.setMaxWaitForConnection(Duration.seconds(5));
+        final ManagedConcurrentPoolDataSource dataSource = dataSource();
+        final Connection connection = dataSource.getConnection();
+
+        final CompletableFuture<Boolean> waiter = CompletableFuture.supplyAsync(() -> {
+            try (Connection handedOff = dataSource.getConnection()) {
+                return handedOff.isValid(1);
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        while (requireNonNull(metricRegistry.getGauges().get(PREFIX + "waiting")).getValue().equals(0)) {
+            Thread.sleep(1);
+        }
+        connection.close();
+
+        assertThat(waiter.get(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void restoresTheConnectionStateOnReturn() throws Exception {
+        final ManagedConcurrentPoolDataSource dataSource = dataSource();
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE test (id INT)");
+        }
+
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            connection.setReadOnly(true);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("INSERT INTO test VALUES (1)");
+            }
+        }
+
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            assertThat(connection.getAutoCommit()).isTrue();
+            assertThat(connection.isReadOnly()).isFalse();
+            assertThat(statement.executeQuery("SELECT * FROM test").next()).isFalse();
+        }
+    }
+
+    @Test
+    void closesConnectionsWhichFailValidation() throws Exception {
+        factory.setInitializationQuery("CREATE TABLE IF NOT EXISTS probe (id INT)");
+        factory.setValidationQuery("SELECT COUNT(*) FROM probe");
+        factory.setCheckConnectionOnReturn(true);
+        factory.setValidationInterval(Duration.milliseconds(50));
+        final ManagedConcurrentPoolDataSource dataSource = dataSource();
+        final Connection connection = dataSource.getConnection();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE probe");
+        }
+        Thread.sleep(60);
+        connection.close();
+
+        assertThat(metricRegistry.counter(PREFIX + "validationFailures").getCount()).isEqualTo(1);
+        assertThat(dataSource.getSize()).isZero();
+    }
+
+    @Test
+    void removesAbandonedConnections() throws Exception {
+        factory.setRemoveAbandoned(true);
+        factory.setRemoveAbandonedTimeout(Duration.milliseconds(20));
+        factory.setLogAbandonedConnections(true);
+        factory.setEvictionInterval(Duration.milliseconds(10));
+        final ManagedConcurrentPoolDataSource dataSource = dataSource();
+        final Connection connection = dataSource.getConnection();
+
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (dataSource.getActive() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(dataSource.getActive()).isZero();
+        assertThat(requireNonNull(metricRegistry.getGauges().get(PREFIX + "removeAbandoned")).getValue())
+            .isEqualTo(1L);
+        assertThatExceptionOfType(SQLException.class).isThrownBy(connection::createStatement);
+
+        connection.close();
+        assertThat(requireNonNull(metricRegistry.getGauges().get(PREFIX + "returned")).getValue()).isEqualTo(0L);
+    }
+
+    @Test
+    void evictsIdleConnections() throws Exception {
+        factory.setMinSize(0);
+        factory.setInitialSize(2);
+        factory.setMinIdleTime(Duration.milliseconds(1));
+        factory.setEvictionInterval(Duration.milliseconds(10));
+        final ManagedConcurrentPoolDataSource dataSource = dataSource();
+
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (dataSource.getSize() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(dataSource.getSize()).isZero();
+        assertThat(requireNonNull(metricRegistry.getGauges().get(PREFIX + "releasedIdle")).getValue()).isEqualTo(2L);
+    }
+}
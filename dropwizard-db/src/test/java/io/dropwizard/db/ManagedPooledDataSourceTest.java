@@ -1,21 +1,81 @@
 package io.dropwizard.db;
 
 import com.codahale.metrics.MetricRegistry;
+import org.apache.tomcat.jdbc.pool.PoolExhaustedException;
 import org.apache.tomcat.jdbc.pool.PoolProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.sql.Connection;
 import java.sql.SQLFeatureNotSupportedException;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 
 class ManagedPooledDataSourceTest {
+    private static final String PREFIX = ManagedPooledDataSource.class.getName() + ".test.";
+
     private final PoolProperties config = new PoolProperties();
     private final MetricRegistry metricRegistry = new MetricRegistry();
     private final ManagedPooledDataSource dataSource = new ManagedPooledDataSource(config, metricRegistry);
 
+    @BeforeEach
+    void setUp() {
+        config.setName("test");
+        config.setDriverClassName("org.h2.Driver");
+        config.setUrl("jdbc:h2:mem:DbTest-" + System.nanoTime());
+        config.setInitialSize(1);
+        config.setMaxActive(1);
+        config.setMaxIdle(1);
+        config.setMinIdle(1);
+        config.setMaxWait(10);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        dataSource.stop();
+    }
+
     @Test
     void hasNoParentLogger() {
         assertThatExceptionOfType(SQLFeatureNotSupportedException.class)
             .isThrownBy(dataSource::getParentLogger);
     }
+
+    @Test
+    void measuresBorrowWaitAndHoldTimes() throws Exception {
+        dataSource.start();
+        try (Connection connection = dataSource.getConnection()) {
+            assertThat(connection.isValid(1)).isTrue();
+        }
+
+        assertThat(metricRegistry.timer(PREFIX + "borrowWait").getCount()).isEqualTo(1);
+        assertThat(metricRegistry.timer(PREFIX + "hold").getCount()).isEqualTo(1);
+        assertThat(metricRegistry.counter(PREFIX + "borrowTimeouts").getCount()).isZero();
+    }
+
+    @Test
+    void countsBorrowTimeouts() throws Exception {
+        dataSource.start();
+        try (Connection ignored = dataSource.getConnection()) {
+            assertThatExceptionOfType(PoolExhaustedException.class)
+                .isThrownBy(dataSource::getConnection);
+        }
+
+        assertThat(metricRegistry.counter(PREFIX + "borrowTimeouts").getCount()).isEqualTo(1);
+        assertThat(metricRegistry.timer(PREFIX + "borrowWait").getCount()).isEqualTo(1);
+    }
+
+    @Test
+    void countsValidationFailures() throws Exception {
+        config.setValidationQuery("SELECT * FROM does_not_exist");
+        config.setValidationInterval(0);
+        config.setTestOnReturn(true);
+        config.setInitialSize(0);
+        dataSource.start();
+        dataSource.getConnection().close();
+
+        assertThat(metricRegistry.counter(PREFIX + "validationFailures").getCount()).isEqualTo(1);
+    }
 }
@@ -0,0 +1,187 @@
+package io.dropwizard.db;
+
+import com.codahale.metrics.MetricRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.annotation.Nullable;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class RoutingManagedDataSourceTest {
+    private static final String PREFIX = RoutingManagedDataSource.class.getName() + ".";
+
+    private final MetricRegistry metricRegistry = new MetricRegistry();
+    private final ReplicatedDataSourceFactory factory = new ReplicatedDataSourceFactory();
+    private final List<Connection> databases = new ArrayList<>();
+
+    @Nullable
+    private RoutingManagedDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        factory.setPrimary(dataSourceFactory(createDatabase("primary")));
+        final List<DataSourceFactory> replicas = new ArrayList<>();
+        replicas.add(dataSourceFactory(createDatabase("replica")));
+        factory.setReplicas(replicas);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (null != dataSource) {
+            dataSource.stop();
+        }
+        for (Connection database : databases) {
+            database.close();
+        }
+    }
+
+    @Test
+    void routesConnectionsToThePrimaryByDefault() throws Exception {
+        try (Connection connection = dataSource().getConnection()) {
+            assertThat(node(connection)).isEqualTo("primary");
+        }
+    }
+
+    @Test
+    void routesReadOnlyConnectionsToAReplica() throws Exception {
+        final RoutingManagedDataSource dataSource = dataSource();
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            connection.setReadOnly(true);
+            assertThat(connection.isReadOnly()).isTrue();
+            assertThat(node(connection)).isEqualTo("replica");
+            assertThat(dataSource.getReplicas().get(0).getActive()).isEqualTo(1);
+            connection.commit();
+        }
+
+        assertThat(dataSource.getReplicas().get(0).getActive()).isZero();
+        assertThat(metricRegistry.getGauges()).containsKeys(PREFIX + "test-primary.active",
+            PREFIX + "test-replica-0.active", PREFIX + "test-replica-0.available");
+        assertThat(metricRegistry.meter(PREFIX + "test-replica-0.connections").getCount()).isEqualTo(1);
+    }
+
+    @Test
+    void routesConnectionsOfReadOnlyWorkToAReplica() throws Exception {
+        final RoutingManagedDataSource dataSource = dataSource();
+        final boolean previous = ReadOnlyRouting.set(true);
+        try (Connection connection = dataSource.getConnection()) {
+            assertThat(node(connection)).isEqualTo("replica");
+        } finally {
+            ReadOnlyRouting.set(previous);
+        }
+
+        assertThat(ReadOnlyRouting.isReadOnly()).isFalse();
+    }
+
+    @Test
+    void balancesReadsAcrossReplicas() throws Exception {
+        factory.getReplicas().add(dataSourceFactory(createDatabase("other-replica")));
+        final RoutingManagedDataSource dataSource = dataSource();
+
+        final List<String> nodes = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            try (Connection connection = dataSource.getConnection()) {
+                connection.setReadOnly(true);
+                nodes.add(node(connection));
+            }
+        }
+
+        assertThat(nodes).containsExactly("replica", "other-replica", "replica", "other-replica");
+    }
+
+    @Test
+    void ejectsFailingReplicasUntilTheyPassAValidation() throws Exception {
+        final String url = "jdbc:h2:mem:missing-" + System.nanoTime();
+        final DataSourceFactory missing = dataSourceFactory(url + ";IFEXISTS=TRUE");
+        missing.setIgnoreExceptionOnPreLoad(true);
+        factory.getReplicas().set(0, missing);
+        final RoutingManagedDataSource dataSource = dataSource();
+        final RoutingManagedDataSource.Target replica = dataSource.getReplicas().get(0);
+
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setReadOnly(true);
+            assertThat(node(connection)).isEqualTo("primary");
+        }
+        assertThat(replica.isAvailable()).isFalse();
+        assertThat(metricRegistry.meter(PREFIX + "test.replica-ejections").getCount()).isEqualTo(1);
+
+        createDatabase(url, "replica");
+        dataSource.checkReplicas();
+
+        assertThat(replica.isAvailable()).isTrue();
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setReadOnly(true);
+            assertThat(node(connection)).isEqualTo("replica");
+        }
+    }
+
+    @Test
+    void failsReadsWithoutAvailableReplicasUnlessFallingBackToThePrimary() throws Exception {
+        final DataSourceFactory missing = dataSourceFactory("jdbc:h2:mem:missing-" + System.nanoTime()
+            + ";IFEXISTS=TRUE");
+        missing.setIgnoreExceptionOnPreLoad(true);
+        factory.getReplicas().set(0, missing);
+        factory.setFallbackToPrimary(false);
+        final RoutingManagedDataSource dataSource = dataSource();
+
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setReadOnly(true);
+            assertThatExceptionOfType(SQLException.class)
+                .isThrownBy(connection::createStatement)
+                .withMessage("No replica of test is available");
+        }
+    }
+
+    private RoutingManagedDataSource dataSource() throws Exception {
+        final RoutingManagedDataSource managedDataSource = factory.build(metricRegistry, "test");
+        dataSource = managedDataSource;
+        managedDataSource.start();
+        return managedDataSource;
+    }
+
+    private String createDatabase(String node) throws SQLException {
+        final String url = "jdbc:h2:mem:DbTest-" + node + "-" + System.nanoTime();
+        createDatabase(url, node);
+        return url;
+    }
+
+    private void createDatabase(String url, String node) throws SQLException {
+        // Keeps the in-memory database open for the duration of the test
+        final Connection connection = DriverManager.getConnection(url, "sa", "");
+        databases.add(connection);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE node (name VARCHAR(32))");
+            statement.execute("INSERT INTO node VALUES ('" + node + "')");
+        }
+    }
+
+    private static DataSourceFactory dataSourceFactory(String url) {
+        final DataSourceFactory dataSourceFactory = new DataSourceFactory();
+        dataSourceFactory.setUrl(url);
+        dataSourceFactory.setUser("sa");
+        dataSourceFactory.setDriverClass("org.h2.Driver");
+        dataSourceFactory.setValidationQuery("SELECT 1");
+        dataSourceFactory.setInitialSize(1);
+        dataSourceFactory.setMinSize(1);
+        dataSourceFactory.setMaxSize(2);
+        return dataSourceFactory;
+    }
+
+    private static String node(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT name FROM node")) {
+            resultSet.next();
+            return resultSet.getString(1);
+        }
+    }
+}
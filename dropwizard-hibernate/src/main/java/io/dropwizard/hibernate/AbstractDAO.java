@@ -4,13 +4,23 @@ import io.dropwizard.util.Generics;
 import org.hibernate.Criteria;
 import org.hibernate.Hibernate;
 import org.hibernate.HibernateException;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.query.Query;
 import org.hibernate.query.internal.AbstractProducedQuery;
 
+import javax.annotation.Nullable;
 import java.io.Serializable;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import javax.persistence.criteria.CriteriaQuery;
 
@@ -22,6 +32,12 @@ import static java.util.Objects.requireNonNull;
  * @param <E> the class which this DAO manages
  */
 public class AbstractDAO<E> {
+    /**
+     * The number of entities written between flushes by the batch operations if no JDBC batch size has been
+     * configured.
+     */
+    static final int DEFAULT_BATCH_SIZE = 50;
+
     private final SessionFactory sessionFactory;
     private final Class<?> entityClass;
 
@@ -230,4 +246,151 @@ public class AbstractDAO<E> {
         }
         return proxy;
     }
+
+    /**
+     * Saves or updates the given instances in batches of the configured JDBC batch size
+     * ({@code hibernate.jdbc.batch_size}), or of {@value #DEFAULT_BATCH_SIZE} instances if none has been configured.
+     *
+     * @param entities transient or detached instances containing new or updated state
+     * @throws HibernateException
+     * @see #persistAll(Iterable, int)
+     * @since 2.1
+     */
+    protected void persistAll(Iterable<? extends E> entities) throws HibernateException {
+        persistAll(entities, getBatchSize());
+    }
+
+    /**
+     * Saves or updates the given instances, flushing and clearing the session after every {@code batchSize} instances,
+     * so that the session doesn't accumulate all of them and the JDBC driver can send the writes in batches.
+     * <p/>
+     * Note that clearing the session detaches <em>all</em> of its instances, including the given ones and the ones
+     * loaded before. The writes are still part of the transaction of the current unit of work.
+     *
+     * @param entities  transient or detached instances containing new or updated state
+     * @param batchSize the number of instances to write between flushes
+     * @throws HibernateException
+     * @see Session#saveOrUpdate(Object)
+     * @since 2.1
+     */
+    protected void persistAll(Iterable<? extends E> entities, int batchSize) throws HibernateException {
+        inBatches(entities, batchSize, Session::saveOrUpdate);
+    }
+
+    /**
+     * Updates the given detached instances in batches of the configured JDBC batch size
+     * ({@code hibernate.jdbc.batch_size}), or of {@value #DEFAULT_BATCH_SIZE} instances if none has been configured.
+     *
+     * @param entities detached instances containing updated state
+     * @throws HibernateException
+     * @see #updateAll(Iterable, int)
+     * @since 2.1
+     */
+    protected void updateAll(Iterable<? extends E> entities) throws HibernateException {
+        updateAll(entities, getBatchSize());
+    }
+
+    /**
+     * Updates the given detached instances, flushing and clearing the session after every {@code batchSize}
+     * instances, like {@link #persistAll(Iterable, int)}.
+     *
+     * @param entities  detached instances containing updated state
+     * @param batchSize the number of instances to write between flushes
+     * @throws HibernateException
+     * @see Session#update(Object)
+     * @since 2.1
+     */
+    protected void updateAll(Iterable<? extends E> entities, int batchSize) throws HibernateException {
+        inBatches(entities, batchSize, Session::update);
+    }
+
+    /**
+     * Streams the results of a {@link CriteriaQuery} query.
+     *
+     * @param criteria the {@link CriteriaQuery} query to run
+     * @return a stream of the matched query results, which has to be closed
+     * @see #stream(Query)
+     * @since 2.1
+     */
+    protected Stream<E> stream(CriteriaQuery<E> criteria) throws HibernateException {
+        return stream(currentSession().createQuery(requireNonNull(criteria)));
+    }
+
+    /**
+     * Streams the results of a query by scrolling through them, so that large result sets can be read without
+     * holding all of them in memory.
+     * <p/>
+     * Each result is detached from the session as soon as the next one is read, so changes to it aren't persisted.
+     * How many rows the JDBC driver fetches at once is controlled by {@link Query#setFetchSize(int)}. The stream
+     * holds on to an open cursor and has to be closed, e.g. with a try-with-resources statement, within the current
+     * unit of work.
+     *
+     * @param query the query to run
+     * @return a stream of the matched query results, which has to be closed
+     * @see Query#scroll(ScrollMode)
+     * @since 2.1
+     */
+    protected Stream<E> stream(Query<E> query) throws HibernateException {
+        final Session session = currentSession();
+        final ScrollableResults results = requireNonNull(query).scroll(ScrollMode.FORWARD_ONLY);
+        final Spliterator<E> spliterator = new Spliterators.AbstractSpliterator<E>(Long.MAX_VALUE,
+            Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Nullable
+            private E previous;
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public boolean tryAdvance(Consumer<? super E> action) {
+                evictPrevious();
+                if (!results.next()) {
+                    return false;
+                }
+                final E current = (E) results.get(0);
+                previous = current;
+                action.accept(current);
+                return true;
+            }
+
+            private void evictPrevious() {
+                if (previous != null && session.contains(previous)) {
+                    session.evict(previous);
+                }
+                previous = null;
+            }
+        };
+        return StreamSupport.stream(spliterator, false).onClose(results::close);
+    }
+
+    private void inBatches(Iterable<? extends E> entities, int batchSize,
+                           BiConsumer<Session, ? super E> operation) throws HibernateException {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize must be positive");
+        }
+
+        final Session session = currentSession();
+        int pending = 0;
+        for (E entity : requireNonNull(entities)) {
+            operation.accept(session, requireNonNull(entity));
+            if (++pending == batchSize) {
+                session.flush();
+                session.clear();
+                pending = 0;
+            }
+        }
+        if (pending > 0) {
+            session.flush();
+            session.clear();
+        }
+    }
+
+    private int getBatchSize() {
+        final Integer sessionBatchSize = currentSession().getJdbcBatchSize();
+        if (sessionBatchSize != null && sessionBatchSize > 0) {
+            return sessionBatchSize;
+        }
+        final int batchSize = sessionFactory.unwrap(SessionFactoryImplementor.class)
+            .getSessionFactoryOptions()
+            .getJdbcBatchSize();
+        return batchSize > 0 ? batchSize : DEFAULT_BATCH_SIZE;
+    }
 }
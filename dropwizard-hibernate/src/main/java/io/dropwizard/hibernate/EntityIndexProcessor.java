@@ -0,0 +1,141 @@
+package io.dropwizard.hibernate;
+
+import javax.annotation.Nullable;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * An annotation processor which writes the names of all classes annotated with {@code @javax.persistence.Entity} to
+ * the {@value #INDEX_RESOURCE} resource, which {@link ScanningHibernateBundle} reads instead of scanning the
+ * classpath.
+ * <p>
+ * Each line of the index is either {@code entity <binary name>} or {@code class <binary name>}. The latter lists the
+ * other top-level classes of the compilation, so that {@link ScanningHibernateBundle} can tell whether the index
+ * covers all classes of a package. E.g. if the indexes of several jars have been merged into a single jar without
+ * appending them, the classes of the dropped indexes aren't covered and their packages are scanned.
+ * </p>
+ * <p>
+ * The processor isn't registered as a service, so that it doesn't run in every build depending on
+ * {@code dropwizard-hibernate}. It has to be enabled explicitly, e.g. with
+ * {@code -processor io.dropwizard.hibernate.EntityIndexProcessor}. Classes of previous incremental compilations are
+ * kept in the index as long as they still exist.
+ * </p>
+ *
+ * @since 2.1
+ */
+public class EntityIndexProcessor extends AbstractProcessor {
+    /**
+     * The name of the resource listing the entity classes and the other classes of the compilation, one per line.
+     */
+    public static final String INDEX_RESOURCE = "META-INF/dropwizard/hibernate-entities";
+
+    static final String ENTITY = "entity";
+    static final String CLASS = "class";
+
+    private static final String ENTITY_ANNOTATION = "javax.persistence.Entity";
+
+    /**
+     * The kind of each indexed class, by its binary name.
+     */
+    private final Map<String, String> classes = new TreeMap<>();
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        // All root classes have to be indexed, not only the entities
+        return Collections.singleton("*");
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        final Elements elements = processingEnv.getElementUtils();
+        for (TypeElement type : ElementFilter.typesIn(roundEnv.getRootElements())) {
+            classes.putIfAbsent(elements.getBinaryName(type).toString(), CLASS);
+        }
+        for (TypeElement annotation : annotations) {
+            if (annotation.getQualifiedName().contentEquals(ENTITY_ANNOTATION)) {
+                for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                    if (element instanceof TypeElement) {
+                        classes.put(elements.getBinaryName((TypeElement) element).toString(), ENTITY);
+                    }
+                }
+            }
+        }
+
+        if (roundEnv.processingOver() && !classes.isEmpty()) {
+            writeIndex();
+        }
+        return false;
+    }
+
+    private void writeIndex() {
+        final Filer filer = processingEnv.getFiler();
+        final Map<String, String> index = new TreeMap<>();
+        try {
+            final FileObject existing = filer.getResource(StandardLocation.CLASS_OUTPUT, "", INDEX_RESOURCE);
+            try (Reader reader = existing.openReader(true); BufferedReader lines = new BufferedReader(reader)) {
+                String line;
+                while ((line = lines.readLine()) != null) {
+                    final String[] entry = line.trim().split(" ", 2);
+                    if (entry.length == 2) {
+                        final String kind = getKind(entry[1]);
+                        if (kind != null) {
+                            index.put(entry[1], kind);
+                        }
+                    }
+                }
+            }
+        } catch (IOException e) {
+            // There's no index of a previous compilation
+        }
+        index.putAll(classes);
+
+        try (Writer writer = filer.createResource(StandardLocation.CLASS_OUTPUT, "", INDEX_RESOURCE).openWriter()) {
+            for (Map.Entry<String, String> entry : index.entrySet()) {
+                writer.write(entry.getValue() + " " + entry.getKey() + "\n");
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                "Unable to write " + INDEX_RESOURCE + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * @return the kind of a class of a previous compilation, or {@code null} if it doesn't exist anymore
+     */
+    @Nullable
+    private String getKind(String binaryName) {
+        final TypeElement type = processingEnv.getElementUtils().getTypeElement(binaryName.replace('$', '.'));
+        if (type == null) {
+            return null;
+        }
+        for (AnnotationMirror annotation : type.getAnnotationMirrors()) {
+            if (ENTITY_ANNOTATION.equals(annotation.getAnnotationType().toString())) {
+                return ENTITY;
+            }
+        }
+        return CLASS;
+    }
+}
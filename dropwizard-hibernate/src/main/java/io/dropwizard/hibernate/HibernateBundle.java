@@ -7,6 +7,7 @@ import io.dropwizard.db.DatabaseConfiguration;
 import io.dropwizard.db.PooledDataSourceFactory;
 import io.dropwizard.setup.Bootstrap;
 import io.dropwizard.setup.Environment;
+import io.dropwizard.setup.StartupProfile;
 import io.dropwizard.util.Duration;
 import org.hibernate.SessionFactory;
 
@@ -23,7 +24,11 @@ public abstract class HibernateBundle<T> implements ConfiguredBundle<T>, Databas
 
     @Nullable
     private SessionFactory sessionFactory;
+    @Nullable
+    private StartupProfile startupProfile;
     private boolean lazyLoadingEnabled = true;
+    private boolean statisticsEnabled = true;
+    private int maxQueryStatistics = 0;
 
     private final List<Class<?>> entities;
     private final SessionFactoryFactory sessionFactoryFactory;
@@ -46,6 +51,7 @@ public abstract class HibernateBundle<T> implements ConfiguredBundle<T>, Databas
     @Override
     public final void initialize(Bootstrap<?> bootstrap) {
         bootstrap.getObjectMapper().registerModule(createHibernate5Module());
+        startupProfile = bootstrap.getStartupProfile();
     }
 
     /**
@@ -70,8 +76,7 @@ public abstract class HibernateBundle<T> implements ConfiguredBundle<T>, Databas
     @Override
     public final void run(T configuration, Environment environment) throws Exception {
         final PooledDataSourceFactory dbConfig = getDataSourceFactory(configuration);
-        this.sessionFactory = requireNonNull(sessionFactoryFactory.build(this, environment, dbConfig,
-            entities, name()));
+        this.sessionFactory = requireNonNull(buildSessionFactory(environment, dbConfig));
         registerUnitOfWorkListenerIfAbsent(environment).registerSessionFactory(name(), sessionFactory);
         environment.healthChecks().register(name(),
                                             new SessionFactoryHealthCheck(
@@ -81,6 +86,16 @@ public abstract class HibernateBundle<T> implements ConfiguredBundle<T>, Databas
                                                     dbConfig.getValidationQuery()));
     }
 
+    private SessionFactory buildSessionFactory(Environment environment, PooledDataSourceFactory dbConfig) {
+        if (startupProfile == null) {
+            return sessionFactoryFactory.build(this, environment, dbConfig, entities, name());
+        }
+        try (StartupProfile.PhaseTimer ignored = startupProfile.start(StartupProfile.PhaseType.SESSION_FACTORY_BUILD,
+            name())) {
+            return sessionFactoryFactory.build(this, environment, dbConfig, entities, name());
+        }
+    }
+
     private UnitOfWorkApplicationListener registerUnitOfWorkListenerIfAbsent(Environment environment) {
         for (Object singleton : environment.jersey().getResourceConfig().getSingletons()) {
             if (singleton instanceof UnitOfWorkApplicationListener) {
@@ -100,6 +115,45 @@ public abstract class HibernateBundle<T> implements ConfiguredBundle<T>, Databas
         this.lazyLoadingEnabled = lazyLoadingEnabled;
     }
 
+    /**
+     * @return whether Hibernate collects statistics and reports them to the metric registry
+     * @since 2.1
+     */
+    public boolean isStatisticsEnabled() {
+        return statisticsEnabled;
+    }
+
+    /**
+     * Sets whether Hibernate collects statistics and reports them to the metric registry, see
+     * {@link InstrumentedStatistics}. A {@code hibernate.generate_statistics} property of the data source takes
+     * precedence.
+     *
+     * @param statisticsEnabled whether to collect statistics
+     * @since 2.1
+     */
+    public void setStatisticsEnabled(boolean statisticsEnabled) {
+        this.statisticsEnabled = statisticsEnabled;
+    }
+
+    /**
+     * @return the maximum number of distinct queries which are timed individually
+     * @since 2.1
+     */
+    public int getMaxQueryStatistics() {
+        return maxQueryStatistics;
+    }
+
+    /**
+     * Sets the maximum number of distinct queries which are timed individually, or {@code 0} to only time all queries
+     * together.
+     *
+     * @param maxQueryStatistics the maximum number of individually timed queries
+     * @since 2.1
+     */
+    public void setMaxQueryStatistics(int maxQueryStatistics) {
+        this.maxQueryStatistics = maxQueryStatistics;
+    }
+
     public SessionFactory getSessionFactory() {
         return requireNonNull(sessionFactory);
     }
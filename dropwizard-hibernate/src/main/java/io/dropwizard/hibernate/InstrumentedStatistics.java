@@ -0,0 +1,159 @@
+package io.dropwizard.hibernate;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.RatioGauge;
+import com.codahale.metrics.Timer;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.internal.StatisticsImpl;
+
+import javax.annotation.Nullable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+/**
+ * Hibernate {@link org.hibernate.stat.Statistics} which additionally report to a {@link MetricRegistry}.
+ * <p>
+ * All metrics are registered under the {@link SessionFactory} prefix and the name of the session factory:
+ * </p>
+ * <ul>
+ *     <li>{@code queries}: a timer of the executed queries</li>
+ *     <li>{@code queryExecutionMaxTime}: a gauge of the execution time of the slowest query, in milliseconds</li>
+ *     <li>{@code entityLoads}, {@code entityFetches}, {@code collectionLoads}, {@code collectionFetches}: meters of
+ *     the loaded and fetched entities and collections</li>
+ *     <li>{@code flushes}, {@code connections}, {@code transactions}: meters of the flushes, acquired JDBC
+ *     connections and completed transactions</li>
+ *     <li>{@code secondLevelCacheHitRatio}, {@code queryCacheHitRatio}, {@code queryPlanCacheHitRatio}: gauges of
+ *     the hit ratios of the caches</li>
+ * </ul>
+ * <p>
+ * If {@code maxQueries} is positive, the first {@code maxQueries} distinct queries additionally get a timer of their
+ * own, named {@code queries.<query>}. Executions of any further queries mark the {@code untrackedQueries} meter.
+ * </p>
+ *
+ * @since 2.1
+ */
+public class InstrumentedStatistics extends StatisticsImpl {
+    private final MetricRegistry metricRegistry;
+    private final String name;
+    private final int maxQueries;
+    private final Timer queries;
+    private final Meter untrackedQueries;
+    private final Meter entityLoads;
+    private final Meter entityFetches;
+    private final Meter collectionLoads;
+    private final Meter collectionFetches;
+    private final Meter flushes;
+    private final Meter connections;
+    private final Meter transactions;
+    private final ConcurrentMap<String, Timer> queryTimers = new ConcurrentHashMap<>();
+
+    public InstrumentedStatistics(SessionFactoryImplementor sessionFactory, MetricRegistry metricRegistry,
+                                  String name, int maxQueries) {
+        super(sessionFactory);
+        this.metricRegistry = metricRegistry;
+        this.name = name;
+        this.maxQueries = maxQueries;
+        this.queries = metricRegistry.timer(name(SessionFactory.class, name, "queries"));
+        this.untrackedQueries = metricRegistry.meter(name(SessionFactory.class, name, "untrackedQueries"));
+        this.entityLoads = metricRegistry.meter(name(SessionFactory.class, name, "entityLoads"));
+        this.entityFetches = metricRegistry.meter(name(SessionFactory.class, name, "entityFetches"));
+        this.collectionLoads = metricRegistry.meter(name(SessionFactory.class, name, "collectionLoads"));
+        this.collectionFetches = metricRegistry.meter(name(SessionFactory.class, name, "collectionFetches"));
+        this.flushes = metricRegistry.meter(name(SessionFactory.class, name, "flushes"));
+        this.connections = metricRegistry.meter(name(SessionFactory.class, name, "connections"));
+        this.transactions = metricRegistry.meter(name(SessionFactory.class, name, "transactions"));
+
+        metricRegistry.gauge(name(SessionFactory.class, name, "queryExecutionMaxTime"),
+            () -> (Gauge<Long>) this::getQueryExecutionMaxTime);
+        metricRegistry.gauge(name(SessionFactory.class, name, "secondLevelCacheHitRatio"),
+            () -> ratio(this::getSecondLevelCacheHitCount, this::getSecondLevelCacheMissCount));
+        metricRegistry.gauge(name(SessionFactory.class, name, "queryCacheHitRatio"),
+            () -> ratio(this::getQueryCacheHitCount, this::getQueryCacheMissCount));
+        metricRegistry.gauge(name(SessionFactory.class, name, "queryPlanCacheHitRatio"),
+            () -> ratio(this::getQueryPlanCacheHitCount, this::getQueryPlanCacheMissCount));
+    }
+
+    @Override
+    public void queryExecuted(String hql, int rows, long time) {
+        super.queryExecuted(hql, rows, time);
+        queries.update(time, TimeUnit.MILLISECONDS);
+        if (maxQueries > 0) {
+            final Timer timer = getQueryTimer(hql);
+            if (timer == null) {
+                untrackedQueries.mark();
+            } else {
+                timer.update(time, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    @Override
+    public void loadEntity(String entityName) {
+        super.loadEntity(entityName);
+        entityLoads.mark();
+    }
+
+    @Override
+    public void fetchEntity(String entityName) {
+        super.fetchEntity(entityName);
+        entityFetches.mark();
+    }
+
+    @Override
+    public void loadCollection(String role) {
+        super.loadCollection(role);
+        collectionLoads.mark();
+    }
+
+    @Override
+    public void fetchCollection(String role) {
+        super.fetchCollection(role);
+        collectionFetches.mark();
+    }
+
+    @Override
+    public void flush() {
+        super.flush();
+        flushes.mark();
+    }
+
+    @Override
+    public void connect() {
+        super.connect();
+        connections.mark();
+    }
+
+    @Override
+    public void endTransaction(boolean success) {
+        super.endTransaction(success);
+        transactions.mark();
+    }
+
+    @Nullable
+    private Timer getQueryTimer(String hql) {
+        final Timer timer = queryTimers.get(hql);
+        if (timer != null || queryTimers.size() >= maxQueries) {
+            return timer;
+        }
+        // Racing threads may briefly exceed the bound by a few queries, which doesn't matter
+        return queryTimers.computeIfAbsent(hql, query ->
+            metricRegistry.timer(name(SessionFactory.class, name, "queries", query)));
+    }
+
+    private static RatioGauge ratio(LongSupplier hits, LongSupplier misses) {
+        return new RatioGauge() {
+            @Override
+            protected Ratio getRatio() {
+                final long hitCount = hits.getAsLong();
+                return Ratio.of(hitCount, hitCount + misses.getAsLong());
+            }
+        };
+    }
+}
@@ -4,13 +4,39 @@ import org.glassfish.jersey.server.internal.scanning.AnnotationAcceptingListener
 import org.glassfish.jersey.server.internal.scanning.PackageNamesScanner;
 
 import javax.persistence.Entity;
+import java.io.BufferedReader;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Stream;
 
 /**
  * Extension of HibernateBundle that scans given package for entities instead of giving them by hand.
+ * <p>
+ * If the entities have been indexed at compile time by the {@link EntityIndexProcessor}, the indexes are read instead
+ * of scanning the classpath. A package is only looked up in the indexes if they cover every class file of the package,
+ * which is checked by listing the class files without reading them. Otherwise, e.g. if the index of a module has been
+ * dropped while merging jars, the package is scanned.
+ * </p>
  */
 public abstract class ScanningHibernateBundle<T> extends HibernateBundle<T> {
     /**
@@ -37,9 +63,159 @@ public abstract class ScanningHibernateBundle<T> extends HibernateBundle<T> {
      * @return ImmutableList with classes from given directory annotated with Hibernate @Entity annotation
      */
     public static List<Class<?>> findEntityClassesFromDirectory(String[] pckgs) {
+        return findEntityClasses(pckgs, getClassLoader());
+    }
+
+    static List<Class<?>> findEntityClasses(String[] pckgs, ClassLoader classLoader) {
+        final Set<String> indexedEntities = new TreeSet<>();
+        final Set<String> indexedClasses = new HashSet<>();
+        readEntityIndexes(classLoader, indexedEntities, indexedClasses);
+
+        final Set<Class<?>> entityClasses = new LinkedHashSet<>();
+        final List<String> unindexedPckgs = new ArrayList<>();
+        for (String pckg : pckgs) {
+            if (!isIndexed(pckg.replace('.', '/'), classLoader, indexedClasses)) {
+                // Entities which aren't covered by an index would be missed
+                unindexedPckgs.add(pckg);
+                continue;
+            }
+            final String prefix = pckg + ".";
+            for (String entity : indexedEntities) {
+                if (entity.startsWith(prefix)) {
+                    entityClasses.add(loadClass(entity, classLoader));
+                }
+            }
+        }
+
+        if (!unindexedPckgs.isEmpty()) {
+            entityClasses.addAll(scanEntityClasses(unindexedPckgs.toArray(new String[0]), classLoader));
+        }
+        return new ArrayList<>(entityClasses);
+    }
+
+    /**
+     * Reads all indexes on the classpath into the indexed entities and the top-level names of all indexed classes.
+     */
+    private static void readEntityIndexes(ClassLoader classLoader, Set<String> indexedEntities,
+                                          Set<String> indexedClasses) {
+        try {
+            final Enumeration<URL> resources = classLoader.getResources(EntityIndexProcessor.INDEX_RESOURCE);
+            while (resources.hasMoreElements()) {
+                try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                    resources.nextElement().openStream(), StandardCharsets.UTF_8))) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        final String[] entry = line.trim().split(" ", 2);
+                        if (entry.length != 2) {
+                            continue;
+                        }
+                        if (EntityIndexProcessor.ENTITY.equals(entry[0])) {
+                            indexedEntities.add(entry[1]);
+                        }
+                        indexedClasses.add(getTopLevelClassName(entry[1]));
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read " + EntityIndexProcessor.INDEX_RESOURCE, e);
+        }
+    }
+
+    /**
+     * @return whether all classes of the package and its subpackages are covered by an index, which is checked
+     * by listing their class files without reading them
+     */
+    private static boolean isIndexed(String path, ClassLoader classLoader, Set<String> indexedClasses) {
+        if (indexedClasses.isEmpty()) {
+            return false;
+        }
+        final List<String> classFiles = new ArrayList<>();
+        try {
+            final Enumeration<URL> resources = classLoader.getResources(path);
+            if (!resources.hasMoreElements()) {
+                return false;
+            }
+            while (resources.hasMoreElements()) {
+                if (!listClassFiles(resources.nextElement(), path, classFiles)) {
+                    return false;
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to list the classes of the package " + path, e);
+        }
+
+        for (String classFile : classFiles) {
+            final String className = classFile.substring(0, classFile.length() - ".class".length()).replace('/', '.');
+            if (!className.endsWith("package-info") && !indexedClasses.contains(getTopLevelClassName(className))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Adds the paths of the class files in the package directory of a jar or directory to the list.
+     *
+     * @return {@code false} if the class files can't be listed
+     */
+    private static boolean listClassFiles(URL resource, String path, List<String> classFiles) throws IOException {
+        switch (resource.getProtocol()) {
+            case "file":
+                final Path directory;
+                try {
+                    directory = Paths.get(resource.toURI());
+                } catch (URISyntaxException e) {
+                    return false;
+                }
+                try (Stream<Path> files = Files.walk(directory)) {
+                    files.filter(file -> file.toString().endsWith(".class"))
+                        .map(file -> path + "/" + directory.relativize(file).toString().replace(File.separatorChar, '/'))
+                        .forEach(classFiles::add);
+                }
+                return true;
+            case "jar":
+                final URLConnection connection = resource.openConnection();
+                if (!(connection instanceof JarURLConnection)) {
+                    return false;
+                }
+                connection.setUseCaches(false);
+                try (JarFile jar = ((JarURLConnection) connection).getJarFile()) {
+                    final Enumeration<JarEntry> entries = jar.entries();
+                    while (entries.hasMoreElements()) {
+                        final String name = entries.nextElement().getName();
+                        if (name.startsWith(path + "/") && name.endsWith(".class")) {
+                            classFiles.add(name);
+                        }
+                    }
+                }
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static String getTopLevelClassName(String binaryName) {
+        final int nested = binaryName.indexOf('$');
+        return nested < 0 ? binaryName : binaryName.substring(0, nested);
+    }
+
+    private static Class<?> loadClass(String name, ClassLoader classLoader) {
+        try {
+            return Class.forName(name, true, classLoader);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("Indexed entity class " + name + " not found", e);
+        }
+    }
+
+    private static ClassLoader getClassLoader() {
+        final ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        return classLoader != null ? classLoader : ScanningHibernateBundle.class.getClassLoader();
+    }
+
+    private static List<Class<?>> scanEntityClasses(String[] pckgs, ClassLoader classLoader) {
         @SuppressWarnings("unchecked")
-        final AnnotationAcceptingListener asl = new AnnotationAcceptingListener(Entity.class);
-        try (final PackageNamesScanner scanner = new PackageNamesScanner(pckgs, true)) {
+        final AnnotationAcceptingListener asl = new AnnotationAcceptingListener(classLoader, Entity.class);
+        try (final PackageNamesScanner scanner = new PackageNamesScanner(classLoader, pckgs, true)) {
             while (scanner.hasNext()) {
                 final String next = scanner.next();
                 if (asl.accept(next)) {
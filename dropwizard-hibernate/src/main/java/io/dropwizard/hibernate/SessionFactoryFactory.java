@@ -1,5 +1,6 @@
 package io.dropwizard.hibernate;
 
+import com.codahale.metrics.MetricRegistry;
 import io.dropwizard.db.ManagedDataSource;
 import io.dropwizard.db.PooledDataSourceFactory;
 import io.dropwizard.setup.Environment;
@@ -12,6 +13,8 @@ import org.hibernate.cfg.Configuration;
 import org.hibernate.engine.jdbc.connections.internal.DatasourceConnectionProviderImpl;
 import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
 import org.hibernate.service.ServiceRegistry;
+import org.hibernate.stat.internal.StatisticsInitiator;
+import org.hibernate.stat.spi.StatisticsFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -38,7 +41,7 @@ public class SessionFactoryFactory {
                                 List<Class<?>> entities,
                                 String name) {
         final ManagedDataSource dataSource = dbConfig.build(environment.metrics(), name);
-        return build(bundle, environment, dbConfig, dataSource, entities);
+        return build(bundle, environment, dbConfig, dataSource, entities, name);
     }
 
     public SessionFactory build(HibernateBundle<?> bundle,
@@ -46,13 +49,27 @@ public class SessionFactoryFactory {
                                 PooledDataSourceFactory dbConfig,
                                 ManagedDataSource dataSource,
                                 List<Class<?>> entities) {
+        return build(bundle, environment, dbConfig, dataSource, entities, DEFAULT_NAME);
+    }
+
+    /**
+     * @since 2.1
+     */
+    public SessionFactory build(HibernateBundle<?> bundle,
+                                Environment environment,
+                                PooledDataSourceFactory dbConfig,
+                                ManagedDataSource dataSource,
+                                List<Class<?>> entities,
+                                String name) {
         final ConnectionProvider provider = buildConnectionProvider(dataSource,
             dbConfig.getProperties());
         final SessionFactory factory = buildSessionFactory(bundle,
             dbConfig,
             provider,
             dbConfig.getProperties(),
-            entities);
+            entities,
+            environment.metrics(),
+            name);
         final SessionFactoryManager managedFactory = new SessionFactoryManager(factory, dataSource);
         environment.lifecycle().manage(managedFactory);
         return factory;
@@ -70,7 +87,9 @@ public class SessionFactoryFactory {
                                                PooledDataSourceFactory dbConfig,
                                                ConnectionProvider connectionProvider,
                                                Map<String, String> properties,
-                                               List<Class<?>> entities) {
+                                               List<Class<?>> entities,
+                                               MetricRegistry metricRegistry,
+                                               String name) {
 
         final BootstrapServiceRegistry bootstrapServiceRegistry =
             configureBootstrapServiceRegistryBuilder(new BootstrapServiceRegistryBuilder()).build();
@@ -79,7 +98,7 @@ public class SessionFactoryFactory {
         configuration.setProperty(AvailableSettings.CURRENT_SESSION_CONTEXT_CLASS, "managed");
         configuration.setProperty(AvailableSettings.USE_SQL_COMMENTS, Boolean.toString(dbConfig.isAutoCommentsEnabled()));
         configuration.setProperty(AvailableSettings.USE_GET_GENERATED_KEYS, "true");
-        configuration.setProperty(AvailableSettings.GENERATE_STATISTICS, "true");
+        configuration.setProperty(AvailableSettings.GENERATE_STATISTICS, Boolean.toString(bundle.isStatisticsEnabled()));
         configuration.setProperty(AvailableSettings.USE_REFLECTION_OPTIMIZER, "true");
         configuration.setProperty(AvailableSettings.ORDER_UPDATES, "true");
         configuration.setProperty(AvailableSettings.ORDER_INSERTS, "true");
@@ -88,6 +107,16 @@ public class SessionFactoryFactory {
         for (Map.Entry<String, String> property : properties.entrySet()) {
             configuration.setProperty(property.getKey(), property.getValue());
         }
+        // The statistics can still be turned on or off by the properties of the data source
+        if (Boolean.parseBoolean(configuration.getProperty(AvailableSettings.GENERATE_STATISTICS))) {
+            final int maxQueries = bundle.getMaxQueryStatistics();
+            if (maxQueries > 0 && configuration.getProperty(AvailableSettings.QUERY_STATISTICS_MAX_SIZE) == null) {
+                configuration.setProperty(AvailableSettings.QUERY_STATISTICS_MAX_SIZE, Integer.toString(maxQueries));
+            }
+            final StatisticsFactory statisticsFactory = sessionFactory ->
+                new InstrumentedStatistics(sessionFactory, metricRegistry, name, maxQueries);
+            configuration.getProperties().put(StatisticsInitiator.STATS_BUILDER, statisticsFactory);
+        }
 
         addAnnotatedClasses(configuration, entities);
         bundle.configure(configuration);
@@ -1,5 +1,6 @@
 package io.dropwizard.hibernate;
 
+import io.dropwizard.db.ReadOnlyRouting;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
 import org.hibernate.Transaction;
@@ -13,6 +14,8 @@ import static java.util.Objects.requireNonNull;
 /**
  * An aspect providing operations around a method with the {@link UnitOfWork} annotation.
  * It opens a Hibernate session and optionally a transaction.
+ * <p>The work of a read-only session opened by the aspect is marked by {@link ReadOnlyRouting}, so that a
+ * {@link io.dropwizard.db.RoutingManagedDataSource} sends it to a replica.</p>
  * <p>It should be created for every invocation of the method.</p>
  * <p>Usage :</p>
  * <pre>
@@ -56,6 +59,9 @@ public class UnitOfWorkAspect {
     private boolean sessionCreated;
     // do we manage the transaction or did we join an existing one?
     private boolean transactionStarted;
+    // the read-only routing state to restore once the session has been closed, if it was changed by this aspect
+    @Nullable
+    private Boolean previousReadOnlyRouting;
 
     public void beforeStart(@Nullable UnitOfWork unitOfWork) {
         if (unitOfWork == null) {
@@ -85,6 +91,9 @@ public class UnitOfWorkAspect {
             validateSession();
         } else {
             sessionCreated = true;
+            if (unitOfWork.readOnly()) {
+                previousReadOnlyRouting = ReadOnlyRouting.set(true);
+            }
             session = sessionFactory.openSession();
             try {
                 configureSession();
@@ -93,6 +102,7 @@ public class UnitOfWorkAspect {
                 session.close();
                 session = null;
                 ManagedSessionContext.unbind(sessionFactory);
+                restoreReadOnlyRouting();
                 throw th;
             }
         }
@@ -136,6 +146,14 @@ public class UnitOfWorkAspect {
             if(sessionCreated) {
                 ManagedSessionContext.unbind(sessionFactory);
             }
+            restoreReadOnlyRouting();
+        }
+    }
+
+    private void restoreReadOnlyRouting() {
+        if (previousReadOnlyRouting != null) {
+            ReadOnlyRouting.set(previousReadOnlyRouting);
+            previousReadOnlyRouting = null;
         }
     }
 
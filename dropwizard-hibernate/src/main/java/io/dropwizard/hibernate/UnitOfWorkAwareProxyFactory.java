@@ -1,13 +1,22 @@
 package io.dropwizard.hibernate;
 
+import javassist.util.proxy.MethodHandler;
 import javassist.util.proxy.Proxy;
 import javassist.util.proxy.ProxyFactory;
 import org.hibernate.SessionFactory;
 
+import javax.annotation.Nullable;
+import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * A factory for creating proxies for components that use Hibernate data access objects
@@ -15,10 +24,19 @@ import java.util.Map;
  * <p>A created proxy will be aware of the {@link UnitOfWork} annotation
  * on the original class methods and will open a Hibernate session with a transaction
  * around them.</p>
+ * <p>The proxy class of each class and its constructors are only generated and looked up once, and the
+ * {@link UnitOfWork} annotation of each method is only resolved on its first invocation.</p>
  */
 public class UnitOfWorkAwareProxyFactory {
+    private static final ClassValue<ProxyClass> PROXY_CLASSES = new ClassValue<ProxyClass>() {
+        @Override
+        protected ProxyClass computeValue(Class<?> type) {
+            return new ProxyClass(type);
+        }
+    };
 
     private final Map<String, SessionFactory> sessionFactories;
+    private final MethodHandler handler = this::invoke;
 
     public UnitOfWorkAwareProxyFactory(String name, SessionFactory sessionFactory) {
         sessionFactories = Collections.singletonMap(name, sessionFactory);
@@ -68,31 +86,11 @@ public class UnitOfWorkAwareProxyFactory {
      */
     @SuppressWarnings("unchecked")
     public <T> T create(Class<T> clazz, Class<?>[] constructorParamTypes, Object[] constructorArguments) {
-        final ProxyFactory factory = new ProxyFactory();
-        factory.setSuperclass(clazz);
-
         try {
-            final Proxy proxy = (Proxy) (constructorParamTypes.length == 0 ?
-                    factory.createClass().getConstructor().newInstance() :
-                    factory.create(constructorParamTypes, constructorArguments));
-            proxy.setHandler((self, overridden, proceed, args) -> {
-                final UnitOfWork unitOfWork = overridden.getAnnotation(UnitOfWork.class);
-                final UnitOfWorkAspect unitOfWorkAspect = newAspect(sessionFactories);
-                try {
-                    unitOfWorkAspect.beforeStart(unitOfWork);
-                    Object result = proceed.invoke(self, args);
-                    unitOfWorkAspect.afterEnd();
-                    return result;
-                } catch (InvocationTargetException e) {
-                    unitOfWorkAspect.onError();
-                    throw e.getCause();
-                } catch (Exception e) {
-                    unitOfWorkAspect.onError();
-                    throw e;
-                } finally {
-                    unitOfWorkAspect.onFinish();
-                }
-            });
+            final Proxy proxy = (Proxy) PROXY_CLASSES.get(clazz)
+                .getConstructor(constructorParamTypes)
+                .newInstance(constructorArguments);
+            proxy.setHandler(handler);
             return (T) proxy;
         } catch (NoSuchMethodException | InstantiationException | IllegalAccessException |
                 InvocationTargetException e) {
@@ -100,6 +98,33 @@ public class UnitOfWorkAwareProxyFactory {
         }
     }
 
+    private Object invoke(Object self, Method overridden, Method proceed, Object[] args) throws Throwable {
+        final UnitOfWork unitOfWork = PROXY_CLASSES.get(overridden.getDeclaringClass()).getUnitOfWork(overridden);
+        if (unitOfWork == null) {
+            try {
+                return proceed.invoke(self, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        final UnitOfWorkAspect unitOfWorkAspect = newAspect(sessionFactories);
+        try {
+            unitOfWorkAspect.beforeStart(unitOfWork);
+            Object result = proceed.invoke(self, args);
+            unitOfWorkAspect.afterEnd();
+            return result;
+        } catch (InvocationTargetException e) {
+            unitOfWorkAspect.onError();
+            throw e.getCause();
+        } catch (Exception e) {
+            unitOfWorkAspect.onError();
+            throw e;
+        } finally {
+            unitOfWorkAspect.onFinish();
+        }
+    }
+
     /**
      * @return a new aspect
      */
@@ -114,4 +139,54 @@ public class UnitOfWorkAwareProxyFactory {
     public UnitOfWorkAspect newAspect(Map<String, SessionFactory> sessionFactories) {
         return new UnitOfWorkAspect(sessionFactories);
     }
+
+    /**
+     * The generated proxy class of a class, along with its constructors and the {@link UnitOfWork} annotations of its
+     * methods, which are looked up once and then cached.
+     */
+    private static final class ProxyClass {
+        private final Class<?> type;
+        private final ConcurrentMap<List<Class<?>>, Constructor<?>> constructors = new ConcurrentHashMap<>();
+        private final ConcurrentMap<Method, Optional<UnitOfWork>> unitsOfWork = new ConcurrentHashMap<>();
+        @Nullable
+        private volatile Class<?> proxyType;
+
+        private ProxyClass(Class<?> type) {
+            this.type = type;
+        }
+
+        private Constructor<?> getConstructor(Class<?>[] parameterTypes) throws NoSuchMethodException {
+            final List<Class<?>> key = Arrays.asList(parameterTypes);
+            Constructor<?> constructor = constructors.get(key);
+            if (constructor == null) {
+                constructor = getProxyType().getConstructor(parameterTypes);
+                constructors.putIfAbsent(Arrays.asList(parameterTypes.clone()), constructor);
+            }
+            return constructor;
+        }
+
+        @Nullable
+        private UnitOfWork getUnitOfWork(Method method) {
+            return unitsOfWork.computeIfAbsent(method, m -> Optional.ofNullable(m.getAnnotation(UnitOfWork.class)))
+                .orElse(null);
+        }
+
+        private Class<?> getProxyType() {
+            Class<?> result = proxyType;
+            if (result == null) {
+                // Generating the class of a type which is never proxied, e.g. the declaring class of a method, would be
+                // a waste, so it's deferred until the first proxy is created
+                synchronized (this) {
+                    result = proxyType;
+                    if (result == null) {
+                        final ProxyFactory factory = new ProxyFactory();
+                        factory.setSuperclass(type);
+                        result = factory.createClass();
+                        proxyType = result;
+                    }
+                }
+            }
+            return result;
+        }
+    }
 }
@@ -3,6 +3,8 @@ package io.dropwizard.hibernate;
 import org.hibernate.Criteria;
 import org.hibernate.HibernateException;
 import org.hibernate.NonUniqueResultException;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
 import org.hibernate.proxy.HibernateProxy;
@@ -10,6 +12,7 @@ import org.hibernate.proxy.LazyInitializer;
 import org.hibernate.query.Query;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
 
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
@@ -17,12 +20,17 @@ import java.io.Serializable;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -88,6 +96,26 @@ class AbstractDAOTest {
             return super.persist(entity);
         }
 
+        @Override
+        public void persistAll(Iterable<? extends String> entities, int batchSize) throws HibernateException {
+            super.persistAll(entities, batchSize);
+        }
+
+        @Override
+        public void persistAll(Iterable<? extends String> entities) throws HibernateException {
+            super.persistAll(entities);
+        }
+
+        @Override
+        public void updateAll(Iterable<? extends String> entities, int batchSize) throws HibernateException {
+            super.updateAll(entities, batchSize);
+        }
+
+        @Override
+        public Stream<String> stream(Query<String> query) throws HibernateException {
+            return super.stream(query);
+        }
+
         @Override
         public <T> T initialize(T proxy) {
             return super.initialize(proxy);
@@ -245,6 +273,70 @@ class AbstractDAOTest {
         verify(session).saveOrUpdate("woo");
     }
 
+    @Test
+    void persistsEntitiesInBatches() throws Exception {
+        dao.persistAll(Arrays.asList("a", "b", "c", "d", "e"), 2);
+
+        final InOrder inOrder = inOrder(session);
+        inOrder.verify(session).saveOrUpdate("a");
+        inOrder.verify(session).saveOrUpdate("b");
+        inOrder.verify(session).flush();
+        inOrder.verify(session).clear();
+        inOrder.verify(session).saveOrUpdate("c");
+        inOrder.verify(session).saveOrUpdate("d");
+        inOrder.verify(session).flush();
+        inOrder.verify(session).clear();
+        inOrder.verify(session).saveOrUpdate("e");
+        inOrder.verify(session).flush();
+        inOrder.verify(session).clear();
+    }
+
+    @Test
+    void persistsEntitiesInBatchesOfTheJdbcBatchSize() throws Exception {
+        when(session.getJdbcBatchSize()).thenReturn(3);
+
+        dao.persistAll(Arrays.asList("a", "b", "c", "d"));
+
+        verify(session, times(4)).saveOrUpdate(anyString());
+        verify(session, times(2)).flush();
+        verify(session, times(2)).clear();
+    }
+
+    @Test
+    void updatesEntitiesInBatches() throws Exception {
+        dao.updateAll(Arrays.asList("a", "b"), 2);
+
+        final InOrder inOrder = inOrder(session);
+        inOrder.verify(session).update("a");
+        inOrder.verify(session).update("b");
+        inOrder.verify(session).flush();
+        inOrder.verify(session).clear();
+        verify(session, never()).saveOrUpdate(anyString());
+    }
+
+    @Test
+    void rejectsNonPositiveBatchSizes() throws Exception {
+        assertThatExceptionOfType(IllegalArgumentException.class)
+            .isThrownBy(() -> dao.persistAll(Collections.singletonList("a"), 0));
+    }
+
+    @Test
+    void streamsQueryResults() throws Exception {
+        final ScrollableResults results = mock(ScrollableResults.class);
+        when(query.scroll(ScrollMode.FORWARD_ONLY)).thenReturn(results);
+        when(results.next()).thenReturn(true, true, false);
+        when(results.get(0)).thenReturn("woo", "boo");
+        when(session.contains(anyString())).thenReturn(true);
+
+        try (Stream<String> stream = dao.stream(query)) {
+            assertThat(stream.collect(Collectors.toList())).containsExactly("woo", "boo");
+        }
+
+        verify(session).evict("woo");
+        verify(session).evict("boo");
+        verify(results).close();
+    }
+
     @Test
     void initializesProxies() throws Exception {
         final LazyInitializer initializer = mock(LazyInitializer.class);
@@ -0,0 +1,69 @@
+package io.dropwizard.hibernate;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EntityIndexProcessorTest {
+    @Test
+    void indexesEntities(@TempDir Path tempDir) throws IOException {
+        compile(tempDir, "Person.java", "package com.example; @javax.persistence.Entity public class Person {" +
+            " @javax.persistence.Entity public static class Address {} }");
+        compile(tempDir, "Plain.java", "package com.example; public class Plain {}");
+
+        assertThat(index(tempDir)).containsExactly("entity com.example.Person", "entity com.example.Person$Address",
+            "class com.example.Plain");
+    }
+
+    @Test
+    void keepsEntitiesOfPreviousCompilations(@TempDir Path tempDir) throws IOException {
+        compile(tempDir, "Person.java", "package com.example; @javax.persistence.Entity public class Person {}");
+        compile(tempDir, "Dog.java", "package com.example; @javax.persistence.Entity public class Dog {}");
+
+        assertThat(index(tempDir)).containsExactly("entity com.example.Dog", "entity com.example.Person");
+    }
+
+    @Test
+    void updatesClassesWhichAreNoLongerEntities(@TempDir Path tempDir) throws IOException {
+        compile(tempDir, "Person.java", "package com.example; @javax.persistence.Entity public class Person {}");
+        compile(tempDir, "Person.java", "package com.example; public class Person {}");
+
+        assertThat(index(tempDir)).containsExactly("class com.example.Person");
+    }
+
+    static void compile(Path tempDir, String fileName, String source) throws IOException {
+        final Path sources = Files.createDirectories(tempDir.resolve("src"));
+        final Path classes = Files.createDirectories(tempDir.resolve("classes"));
+        final Path file = Files.write(sources.resolve(fileName), source.getBytes(StandardCharsets.UTF_8));
+
+        final JavaCompiler compiler = requireNonNull(ToolProvider.getSystemJavaCompiler());
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8)) {
+            final Iterable<? extends JavaFileObject> units = fileManager.getJavaFileObjects(file.toFile());
+            final JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, null,
+                Arrays.asList("-d", classes.toString(),
+                    "-classpath", classes + System.getProperty("path.separator") + System.getProperty("java.class.path")),
+                null, units);
+            task.setProcessors(Collections.singletonList(new EntityIndexProcessor()));
+            assertThat(task.call()).isTrue();
+        }
+    }
+
+    private static List<String> index(Path tempDir) throws IOException {
+        return Files.readAllLines(tempDir.resolve("classes").resolve(EntityIndexProcessor.INDEX_RESOURCE),
+            StandardCharsets.UTF_8);
+    }
+}
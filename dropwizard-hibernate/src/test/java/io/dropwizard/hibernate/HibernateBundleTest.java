@@ -10,6 +10,7 @@ import io.dropwizard.jersey.DropwizardResourceConfig;
 import io.dropwizard.jersey.setup.JerseyEnvironment;
 import io.dropwizard.setup.Bootstrap;
 import io.dropwizard.setup.Environment;
+import io.dropwizard.setup.StartupProfile;
 import org.hibernate.SessionFactory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -79,6 +80,23 @@ class HibernateBundleTest {
         verify(factory).build(bundle, environment, dbConfig, entities, "hibernate");
     }
 
+    @Test
+    void timesTheBuildOfTheSessionFactory() throws Exception {
+        final StartupProfile startupProfile = new StartupProfile();
+        final Bootstrap<?> bootstrap = mock(Bootstrap.class);
+        when(bootstrap.getObjectMapper()).thenReturn(mock(ObjectMapper.class));
+        when(bootstrap.getStartupProfile()).thenReturn(startupProfile);
+
+        bundle.initialize(bootstrap);
+        bundle.run(configuration, environment);
+
+        assertThat(startupProfile.getPhases())
+            .anySatisfy(phase -> {
+                assertThat(phase.getType()).isEqualTo(StartupProfile.PhaseType.SESSION_FACTORY_BUILD);
+                assertThat(phase.getName()).isEqualTo("hibernate");
+            });
+    }
+
     @Test
     void registersATransactionalListener() throws Exception {
         bundle.run(configuration, environment);
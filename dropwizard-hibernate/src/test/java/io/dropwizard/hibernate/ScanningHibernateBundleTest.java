@@ -1,11 +1,25 @@
 package io.dropwizard.hibernate;
 
+import io.dropwizard.hibernate.fake.entities.pckg.FakeEntity1;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class ScanningHibernateBundleTest {
 
@@ -35,4 +49,85 @@ class ScanningHibernateBundleTest {
         assertFalse(findEntityClassesFromDirectory.isEmpty());
         assertEquals(8, findEntityClassesFromDirectory.size());
     }
+
+    @Test
+    void testFindEntityClassesFromIndex(@TempDir Path tempDir) throws Exception {
+        //given
+        EntityIndexProcessorTest.compile(tempDir, "Person.java",
+            "package com.example; @javax.persistence.Entity public class Person {}");
+
+        //when
+        final List<Class<?>> entityClasses;
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{tempDir.resolve("classes").toUri().toURL()},
+            getClass().getClassLoader())) {
+            entityClasses = ScanningHibernateBundle.findEntityClasses(new String[]{"com.example"}, classLoader);
+        }
+
+        //then
+        assertEquals(1, entityClasses.size());
+        assertEquals("com.example.Person", entityClasses.get(0).getName());
+    }
+
+    @Test
+    void testScansPackagesWhoseIndexHasBeenDroppedWhileMergingJars(@TempDir Path tempDir) throws Exception {
+        //given two modules in the same package, whose classes are merged into a jar with only the first index
+        EntityIndexProcessorTest.compile(tempDir.resolve("a"), "Person.java",
+            "package com.example; @javax.persistence.Entity public class Person {}");
+        EntityIndexProcessorTest.compile(tempDir.resolve("b"), "Dog.java",
+            "package com.example.dogs; @javax.persistence.Entity public class Dog {}");
+        final Path jar = tempDir.resolve("app.jar");
+        try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar))) {
+            for (String module : new String[]{"a", "b"}) {
+                final Path classes = tempDir.resolve(module).resolve("classes");
+                try (Stream<Path> files = Files.walk(classes)) {
+                    for (Path file : files.filter(file -> !file.equals(classes)).collect(Collectors.toList())) {
+                        final String name = classes.relativize(file).toString().replace(File.separatorChar, '/');
+                        if (Files.isDirectory(file)) {
+                            if (module.equals("a")) {
+                                out.putNextEntry(new JarEntry(name + "/"));
+                                out.closeEntry();
+                            }
+                        } else if (module.equals("a") || !name.equals(EntityIndexProcessor.INDEX_RESOURCE)) {
+                            out.putNextEntry(new JarEntry(name));
+                            out.write(Files.readAllBytes(file));
+                            out.closeEntry();
+                        }
+                    }
+                }
+            }
+        }
+
+        //when
+        final List<Class<?>> entityClasses;
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{jar.toUri().toURL()},
+            getClass().getClassLoader())) {
+            entityClasses = ScanningHibernateBundle.findEntityClasses(new String[]{"com.example"}, classLoader);
+        }
+
+        //then the entity of the dropped index isn't missed
+        assertThat(entityClasses).extracting(Class::getName)
+            .containsExactlyInAnyOrder("com.example.Person", "com.example.dogs.Dog");
+    }
+
+    @Test
+    void testScansPackagesWhoseClasspathRootIsNotIndexed(@TempDir Path tempDir) throws Exception {
+        //given an index in another classpath root, which lists only one of the entities
+        final Path index = tempDir.resolve(EntityIndexProcessor.INDEX_RESOURCE);
+        Files.createDirectories(index.getParent());
+        Files.write(index, ("entity " + FakeEntity1.class.getName() + "\n").getBytes(StandardCharsets.UTF_8));
+        String packageWithEntities = "io.dropwizard.hibernate.fake.entities.pckg";
+        String packageWithEntities2 = "io.dropwizard.hibernate.fake2.entities.pckg";
+
+        //when
+        final List<Class<?>> entityClasses;
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{tempDir.toUri().toURL()},
+            getClass().getClassLoader())) {
+            entityClasses = ScanningHibernateBundle.findEntityClasses(
+                new String[]{packageWithEntities, packageWithEntities2}, classLoader);
+        }
+
+        //then none of the entities is missed
+        assertEquals(8, entityClasses.size());
+        assertTrue(entityClasses.contains(FakeEntity1.class));
+    }
 }
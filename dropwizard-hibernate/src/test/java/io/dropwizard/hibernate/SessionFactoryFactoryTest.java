@@ -132,6 +132,46 @@ class SessionFactoryFactoryTest {
         }
     }
 
+    @Test
+    void reportsStatisticsToTheMetricRegistry() {
+        when(bundle.isStatisticsEnabled()).thenReturn(true);
+        when(bundle.getMaxQueryStatistics()).thenReturn(1);
+        build();
+
+        try (Session session = requireNonNull(sessionFactory).openSession()) {
+            Transaction transaction = session.beginTransaction();
+            session.createNativeQuery("DROP TABLE people IF EXISTS").executeUpdate();
+            session.createNativeQuery("CREATE TABLE people (name varchar(100) primary key, email varchar(100), birthday timestamp(0))").executeUpdate();
+            session.createNativeQuery("INSERT INTO people VALUES ('Coda', 'coda@example.com', '1979-01-02 00:22:00')").executeUpdate();
+            transaction.commit();
+
+            session.createQuery("from Person", Person.class).list();
+            session.createQuery("from Person where name = 'Coda'", Person.class).list();
+        }
+
+        assertThat(requireNonNull(sessionFactory).getStatistics()).isInstanceOf(InstrumentedStatistics.class);
+        assertThat(metricRegistry.timer("org.hibernate.SessionFactory.hibernate.queries").getCount()).isEqualTo(2);
+        assertThat(metricRegistry.timer("org.hibernate.SessionFactory.hibernate.queries.from Person").getCount())
+            .isEqualTo(1);
+        assertThat(metricRegistry.meter("org.hibernate.SessionFactory.hibernate.untrackedQueries").getCount())
+            .isEqualTo(1);
+        assertThat(metricRegistry.meter("org.hibernate.SessionFactory.hibernate.entityLoads").getCount())
+            .isEqualTo(1);
+        assertThat(metricRegistry.meter("org.hibernate.SessionFactory.hibernate.transactions").getCount())
+            .isEqualTo(1);
+        assertThat(metricRegistry.getGauges()).containsKeys("org.hibernate.SessionFactory.hibernate.queryExecutionMaxTime",
+            "org.hibernate.SessionFactory.hibernate.secondLevelCacheHitRatio");
+    }
+
+    @Test
+    void doesNotCollectStatisticsIfDisabled() {
+        when(bundle.isStatisticsEnabled()).thenReturn(false);
+        build();
+
+        assertThat(requireNonNull(sessionFactory).getStatistics().isStatisticsEnabled()).isFalse();
+        assertThat(metricRegistry.getNames()).noneMatch(name -> name.startsWith("org.hibernate.SessionFactory"));
+    }
+
     @Test
     void configureRunsBeforeSessionFactoryCreation() {
         final SessionFactoryFactory customFactory = new SessionFactoryFactory() {
@@ -1,5 +1,6 @@
 package io.dropwizard.hibernate;
 
+import io.dropwizard.db.ReadOnlyRouting;
 import org.glassfish.jersey.server.ExtendedUriInfo;
 import org.glassfish.jersey.server.model.Resource;
 import org.glassfish.jersey.server.monitoring.RequestEvent;
@@ -104,6 +105,32 @@ class UnitOfWorkApplicationListenerTest {
         verify(session).setDefaultReadOnly(true);
     }
 
+    @Test
+    void routesReadOnlyWorkToReplicas() throws Exception {
+        prepareResourceMethod("methodWithReadOnlyAnnotation");
+        doAnswer(invocation -> {
+            assertThat(ReadOnlyRouting.isReadOnly()).isTrue();
+            return null;
+        }).when(session).beginTransaction();
+
+        execute();
+
+        verify(session).beginTransaction();
+        assertThat(ReadOnlyRouting.isReadOnly()).isFalse();
+    }
+
+    @Test
+    void doesNotRouteReadWriteWorkToReplicas() throws Exception {
+        doAnswer(invocation -> {
+            assertThat(ReadOnlyRouting.isReadOnly()).isFalse();
+            return null;
+        }).when(session).beginTransaction();
+
+        execute();
+
+        verify(session).beginTransaction();
+    }
+
     @Test
     void configuresTheSessionsCacheMode() throws Exception {
         prepareResourceMethod("methodWithCacheModeIgnoreAnnotation");
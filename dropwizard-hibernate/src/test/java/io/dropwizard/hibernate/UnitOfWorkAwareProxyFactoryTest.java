@@ -16,6 +16,7 @@ import org.junit.jupiter.api.Test;
 import java.util.Collections;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
@@ -114,6 +115,43 @@ class UnitOfWorkAwareProxyFactoryTest {
         assertThat(oAuthAuthenticator.authenticate("gr6f9y0")).isTrue();
     }
 
+    @Test
+    void testReusesTheProxyClass() {
+        final UnitOfWorkAwareProxyFactory unitOfWorkAwareProxyFactory =
+                new UnitOfWorkAwareProxyFactory("default", sessionFactory);
+        final SessionDao sessionDao = new SessionDao(sessionFactory);
+
+        final OAuthAuthenticator first = unitOfWorkAwareProxyFactory
+                .create(OAuthAuthenticator.class, SessionDao.class, sessionDao);
+        final OAuthAuthenticator second = new UnitOfWorkAwareProxyFactory("other", sessionFactory)
+                .create(OAuthAuthenticator.class, SessionDao.class, sessionDao);
+
+        assertThat(first).isNotSameAs(second);
+        assertThat(first.getClass()).isSameAs(second.getClass());
+    }
+
+    @Test
+    void testOnlyCreatesAspectsForUnitsOfWork() {
+        final AtomicInteger aspects = new AtomicInteger();
+        final UnitOfWorkAwareProxyFactory unitOfWorkAwareProxyFactory =
+            new UnitOfWorkAwareProxyFactory("default", sessionFactory) {
+                @Override
+                public UnitOfWorkAspect newAspect(Map<String, SessionFactory> sessionFactories) {
+                    aspects.incrementAndGet();
+                    return super.newAspect(sessionFactories);
+                }
+            };
+
+        assertThat(unitOfWorkAwareProxyFactory.create(PlainAuthenticator.class).authenticate("c82d11e")).isTrue();
+        assertThat(aspects).hasValue(0);
+
+        final OAuthAuthenticator oAuthAuthenticator = unitOfWorkAwareProxyFactory
+            .create(OAuthAuthenticator.class, SessionDao.class, new SessionDao(sessionFactory));
+        assertThat(oAuthAuthenticator.authenticate("67ab89d")).isTrue();
+        assertThat(oAuthAuthenticator.authenticate("67ab89d")).isTrue();
+        assertThat(aspects).hasValue(2);
+    }
+
     @Test
     void testNestedCall() {
         final UnitOfWorkAwareProxyFactory unitOfWorkAwareProxyFactory =
@@ -9,20 +9,51 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.lang.ref.WeakReference;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Enumeration;
 import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * A subtype resolver which discovers subtypes via
  * {@code META-INF/services/io.dropwizard.jackson.Discoverable}.
+ * <p>
+ * The discovered subtypes are shared by the resolvers of the same class loader and root class, so that the service
+ * files aren't read again while a resolver which read them is reachable. Subclasses which override
+ * {@link #discoverServices(Class)} discover the subtypes for each instance.
+ * </p>
  */
 public class DiscoverableSubtypeResolver extends StdSubtypeResolver {
     private static final long serialVersionUID = 1L;
     private static final Logger LOGGER = LoggerFactory.getLogger(DiscoverableSubtypeResolver.class);
 
+    // Weakly keyed and weakly valued, as the subtypes reference their class loader. The subtypes are shared for as long
+    // as a resolver which discovered them is reachable, and don't prevent their class loader from being unloaded.
+    private static final Map<ClassLoader, ConcurrentMap<String, WeakReference<List<Class<?>>>>> DISCOVERED_SUBTYPES =
+        Collections.synchronizedMap(new WeakHashMap<>());
+
+    private static final ClassValue<Boolean> USES_DEFAULT_DISCOVERY = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            for (Class<?> klass = type; klass != DiscoverableSubtypeResolver.class; klass = klass.getSuperclass()) {
+                try {
+                    klass.getDeclaredMethod("discoverServices", Class.class);
+                    return false;
+                } catch (NoSuchMethodException e) {
+                    // Not overridden by this class
+                }
+            }
+            return true;
+        }
+    };
+
     private final List<Class<?>> discoveredSubtypes;
 
     public DiscoverableSubtypeResolver() {
@@ -30,13 +61,9 @@ public class DiscoverableSubtypeResolver extends StdSubtypeResolver {
     }
 
     public DiscoverableSubtypeResolver(Class<?> rootKlass) {
-        final List<Class<?>> subtypes = new ArrayList<>();
-        for (Class<?> klass : discoverServices(rootKlass)) {
-            for (Class<?> subtype : discoverServices(klass)) {
-                subtypes.add(subtype);
-                registerSubtypes(subtype);
-            }
-        }
+        final List<Class<?>> subtypes = USES_DEFAULT_DISCOVERY.get(getClass()) ? getSharedSubtypes(rootKlass)
+            : discoverSubtypes(rootKlass);
+        registerSubtypes(subtypes);
         this.discoveredSubtypes = subtypes;
     }
 
@@ -44,6 +71,29 @@ public class DiscoverableSubtypeResolver extends StdSubtypeResolver {
         return discoveredSubtypes;
     }
 
+    private List<Class<?>> getSharedSubtypes(Class<?> rootKlass) {
+        final ConcurrentMap<String, WeakReference<List<Class<?>>>> discovered;
+        synchronized (DISCOVERED_SUBTYPES) {
+            discovered = DISCOVERED_SUBTYPES.computeIfAbsent(getClassLoader(), key -> new ConcurrentHashMap<>());
+        }
+
+        final WeakReference<List<Class<?>>> reference = discovered.get(rootKlass.getName());
+        List<Class<?>> subtypes = reference == null ? null : reference.get();
+        if (subtypes == null) {
+            subtypes = discoverSubtypes(rootKlass);
+            discovered.put(rootKlass.getName(), new WeakReference<>(subtypes));
+        }
+        return subtypes;
+    }
+
+    private List<Class<?>> discoverSubtypes(Class<?> rootKlass) {
+        final List<Class<?>> subtypes = new ArrayList<>();
+        for (Class<?> klass : discoverServices(rootKlass)) {
+            subtypes.addAll(discoverServices(klass));
+        }
+        return Collections.unmodifiableList(subtypes);
+    }
+
     protected ClassLoader getClassLoader() {
         return this.getClass().getClassLoader();
     }
@@ -4,6 +4,9 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 class DiscoverableSubtypeResolverTest {
@@ -23,4 +26,31 @@ class DiscoverableSubtypeResolverTest {
         assertThat(mapper.readValue("{\"type\":\"b\"}", ExampleSPI.class))
                 .isInstanceOf(ImplB.class);
     }
+
+    @Test
+    void sharesDiscoveredSubtypes() {
+        assertThat(new DiscoverableSubtypeResolver(ExampleTag.class).getDiscoveredSubtypes())
+                .containsExactly(ImplA.class, ImplB.class)
+                .isSameAs(resolver.getDiscoveredSubtypes());
+    }
+
+    @Test
+    void discoversSubtypesForEachInstanceIfDiscoveryIsOverridden() {
+        final List<Class<?>> discovered = new ArrayList<>();
+        class CountingResolver extends DiscoverableSubtypeResolver {
+            CountingResolver() {
+                super(ExampleTag.class);
+            }
+
+            @Override
+            protected List<Class<?>> discoverServices(Class<?> klass) {
+                discovered.add(klass);
+                return super.discoverServices(klass);
+            }
+        }
+
+        assertThat(new CountingResolver().getDiscoveredSubtypes()).containsExactly(ImplA.class, ImplB.class);
+        assertThat(new CountingResolver().getDiscoveredSubtypes()).containsExactly(ImplA.class, ImplB.class);
+        assertThat(discovered).containsExactly(ExampleTag.class, ExampleSPI.class, ExampleTag.class, ExampleSPI.class);
+    }
 }
@@ -0,0 +1,83 @@
+package io.dropwizard.jdbi3;
+
+import io.dropwizard.db.ManagedDataSource;
+
+import java.io.PrintWriter;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * A {@link ManagedDataSource} which reports the time spent acquiring each connection from the wrapped data source.
+ */
+class AcquisitionTimingDataSource implements ManagedDataSource {
+    private final ManagedDataSource delegate;
+    private final ObjLongConsumer<Connection> listener;
+
+    AcquisitionTimingDataSource(ManagedDataSource delegate, ObjLongConsumer<Connection> listener) {
+        this.delegate = delegate;
+        this.listener = listener;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        final long start = System.nanoTime();
+        final Connection connection = delegate.getConnection();
+        listener.accept(connection, System.nanoTime() - start);
+        return connection;
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        final long start = System.nanoTime();
+        final Connection connection = delegate.getConnection(username, password);
+        listener.accept(connection, System.nanoTime() - start);
+        return connection;
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return delegate.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException {
+        delegate.setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) throws SQLException {
+        delegate.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return delegate.getLoginTimeout();
+    }
+
+    @Override
+    public java.util.logging.Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        return delegate.getParentLogger();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        return iface.isInstance(this) ? iface.cast(this) : delegate.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || delegate.isWrapperFor(iface);
+    }
+
+    @Override
+    public void start() throws Exception {
+        delegate.start();
+    }
+
+    @Override
+    public void stop() throws Exception {
+        delegate.stop();
+    }
+}
@@ -15,10 +15,16 @@ import org.jdbi.v3.guava.GuavaPlugin;
 import org.jdbi.v3.jodatime2.JodaTimePlugin;
 import org.jdbi.v3.sqlobject.SqlObjectPlugin;
 
+import javax.annotation.Nullable;
 import java.util.Optional;
 
 public class JdbiFactory {
     private final StatementNameStrategy nameStrategy;
+    private boolean statementMetricsEnabled = false;
+    @Nullable
+    private Duration slowQueryThreshold = Duration.seconds(1);
+    private Duration slowQueryLogInterval = Duration.seconds(1);
+    private boolean slowQueryParametersLogged = false;
 
     public JdbiFactory() {
         this(new SmartNameStrategy());
@@ -67,7 +73,9 @@ public class JdbiFactory {
                       String name) {
 
         // Create the instance
-        final Jdbi jdbi = newInstance(dataSource);
+        final StatementMetricsPlugin statementMetrics = statementMetricsEnabled
+            ? buildStatementMetricsPlugin(environment.metrics()) : null;
+        final Jdbi jdbi = newInstance(statementMetrics == null ? dataSource : statementMetrics.timeAcquisition(dataSource));
 
         // Manage the data source that created this instance.
         environment.lifecycle().manage(dataSource);
@@ -83,6 +91,10 @@ public class JdbiFactory {
         // Setup the SQL logger
         jdbi.setSqlLogger(buildSQLLogger(environment.metrics(), nameStrategy));
 
+        if (statementMetrics != null) {
+            jdbi.installPlugin(statementMetrics);
+        }
+
         if (configuration.isAutoCommentsEnabled()) {
             final TemplateEngine original = jdbi.getConfig(SqlStatements.class).getTemplateEngine();
             jdbi.setTemplateEngine(new NamePrependingTemplateEngine(original));
@@ -106,6 +118,104 @@ public class JdbiFactory {
         return new InstrumentedSqlLogger(metricRegistry, nameStrategy);
     }
 
+    /**
+     * This creates the {@link StatementMetricsPlugin} installed if {@link #isStatementMetricsEnabled()} is set, using
+     * the configured slow query threshold, log interval and parameter logging. This can be overridden if required.
+     *
+     * @param metricRegistry The {@link MetricRegistry} to send to the {@link StatementMetricsPlugin}.
+     * @return The created {@link StatementMetricsPlugin}.
+     * @since 2.1
+     */
+    protected StatementMetricsPlugin buildStatementMetricsPlugin(MetricRegistry metricRegistry) {
+        return new StatementMetricsPlugin(metricRegistry, slowQueryThreshold, slowQueryLogInterval,
+            slowQueryParametersLogged);
+    }
+
+    /**
+     * Returns whether statement metrics are enabled.
+     *
+     * @return whether a {@link StatementMetricsPlugin} is installed to record metrics for each SQL object method and
+     * log slow queries
+     * @since 2.1
+     */
+    public boolean isStatementMetricsEnabled() {
+        return statementMetricsEnabled;
+    }
+
+    /**
+     * Sets whether statement metrics are enabled. They are disabled by default.
+     *
+     * @param statementMetricsEnabled whether a {@link StatementMetricsPlugin} is installed to record metrics for each
+     *                                SQL object method and log slow queries
+     * @since 2.1
+     */
+    public void setStatementMetricsEnabled(boolean statementMetricsEnabled) {
+        this.statementMetricsEnabled = statementMetricsEnabled;
+    }
+
+    /**
+     * Returns the slow query threshold.
+     *
+     * @return the execution time above which statements are logged, or {@code null} if no statements are logged
+     * @since 2.1
+     */
+    @Nullable
+    public Duration getSlowQueryThreshold() {
+        return slowQueryThreshold;
+    }
+
+    /**
+     * Sets the slow query threshold. It defaults to one second.
+     *
+     * @param slowQueryThreshold the execution time above which statements are logged, or {@code null} to not log any
+     *                           statements
+     * @since 2.1
+     */
+    public void setSlowQueryThreshold(@Nullable Duration slowQueryThreshold) {
+        this.slowQueryThreshold = slowQueryThreshold;
+    }
+
+    /**
+     * Returns the slow query log interval.
+     *
+     * @return the minimum time between two slow query log entries
+     * @since 2.1
+     */
+    public Duration getSlowQueryLogInterval() {
+        return slowQueryLogInterval;
+    }
+
+    /**
+     * Sets the slow query log interval. It defaults to one second.
+     *
+     * @param slowQueryLogInterval the minimum time between two slow query log entries
+     * @since 2.1
+     */
+    public void setSlowQueryLogInterval(Duration slowQueryLogInterval) {
+        this.slowQueryLogInterval = slowQueryLogInterval;
+    }
+
+    /**
+     * Returns whether the bound parameters of slow queries are logged.
+     *
+     * @return whether the bound parameters are logged together with slow queries
+     * @since 2.1
+     */
+    public boolean isSlowQueryParametersLogged() {
+        return slowQueryParametersLogged;
+    }
+
+    /**
+     * Sets whether the bound parameters of slow queries are logged. They are not logged by default, as they may
+     * contain sensitive data.
+     *
+     * @param slowQueryParametersLogged whether the bound parameters are logged together with slow queries
+     * @since 2.1
+     */
+    public void setSlowQueryParametersLogged(boolean slowQueryParametersLogged) {
+        this.slowQueryParametersLogged = slowQueryParametersLogged;
+    }
+
     /**
      * This creates a vanilla {@link Jdbi} instance based on the specified data source;
      * this can be overridden if required
@@ -1,17 +1,31 @@
 package io.dropwizard.jdbi3;
 
+import org.jdbi.v3.core.config.ConfigRegistry;
 import org.jdbi.v3.core.extension.ExtensionMethod;
 import org.jdbi.v3.core.statement.StatementContext;
 import org.jdbi.v3.core.statement.TemplateEngine;
 
+import javax.annotation.Nullable;
+import java.lang.reflect.Method;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
 
 /**
  * Jdbi {@link TemplateEngine} that prepends the SQLObject's type and method name in front of every
  * statement sent to the database.
+ * <p>
+ * The comment of each SQLObject method is only built once. As long as no attributes have been defined for a
+ * statement, the output of the original engine only depends on the template, so the complete statement is only
+ * rendered once per SQLObject method and template as well. Statements with attributes are rendered on every
+ * execution.
+ * </p>
  */
 public class NamePrependingTemplateEngine implements TemplateEngine {
     private final TemplateEngine originalEngine;
+    private final ConcurrentMap<Class<?>, ConcurrentMap<Method, String>> prefixes = new ConcurrentHashMap<>();
 
     /**
      * @param originalEngine    The original {@link TemplateEngine} to use to create the actual statements
@@ -22,23 +36,64 @@ public class NamePrependingTemplateEngine implements TemplateEngine {
 
     @Override
     public String render(String template, StatementContext ctx) {
-        final ExtensionMethod extensionMethod = ctx.getExtensionMethod();
-        final String originalResult = originalEngine.render(template, ctx);
+        return new PrependingTemplate(template, null).apply(ctx);
+    }
+
+    /**
+     * Parses the template with the original engine, if it supports parsing, and returns a function rendering the
+     * statement with the prepended name, which Jdbi caches along with the template.
+     */
+    @Override
+    public Optional<Function<StatementContext, String>> parse(String template, ConfigRegistry config) {
+        return Optional.of(new PrependingTemplate(template, originalEngine.parse(template, config).orElse(null)));
+    }
 
-        if (extensionMethod == null) {
-            return originalResult;
+    private String getPrefix(Class<?> type, Method method) {
+        return prefixes.computeIfAbsent(type, key -> new ConcurrentHashMap<>())
+            .computeIfAbsent(method, key -> {
+                final String className = type.getSimpleName();
+                return className.isEmpty() ? "/* " + method.getName() + " */ "
+                    : "/* " + className + '.' + method.getName() + " */ ";
+            });
+    }
+
+    private final class PrependingTemplate implements Function<StatementContext, String> {
+        private final String template;
+        @Nullable
+        private final Function<StatementContext, String> parsed;
+        private final ConcurrentMap<Class<?>, ConcurrentMap<Method, String>> rendered = new ConcurrentHashMap<>();
+
+        private PrependingTemplate(String template, @Nullable Function<StatementContext, String> parsed) {
+            this.template = template;
+            this.parsed = parsed;
         }
 
-        final StringBuilder query = new StringBuilder(originalResult.length() + 100);
-        query.append("/* ");
-        final String className = extensionMethod.getType().getSimpleName();
-        if (!className.isEmpty()) {
-            query.append(className).append('.');
+        @Override
+        public String apply(StatementContext ctx) {
+            final ExtensionMethod extensionMethod = ctx.getExtensionMethod();
+            if (extensionMethod == null) {
+                return renderOriginal(ctx);
+            }
+
+            final Class<?> type = extensionMethod.getType();
+            final Method method = extensionMethod.getMethod();
+            if (!ctx.getAttributes().isEmpty()) {
+                return getPrefix(type, method) + renderOriginal(ctx);
+            }
+
+            final ConcurrentMap<Method, String> statements = rendered.computeIfAbsent(type,
+                key -> new ConcurrentHashMap<>());
+            final String statement = statements.get(method);
+            if (statement != null) {
+                return statement;
+            }
+            final String result = getPrefix(type, method) + renderOriginal(ctx);
+            statements.putIfAbsent(method, result);
+            return result;
         }
-        query.append(extensionMethod.getMethod().getName());
-        query.append(" */ ");
-        query.append(originalResult);
 
-        return query.toString();
+        private String renderOriginal(StatementContext ctx) {
+            return parsed != null ? parsed.apply(ctx) : originalEngine.render(template, ctx);
+        }
     }
 }
@@ -0,0 +1,205 @@
+package io.dropwizard.jdbi3;
+
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import io.dropwizard.db.ManagedDataSource;
+import io.dropwizard.util.Duration;
+import org.jdbi.v3.core.Handle;
+import org.jdbi.v3.core.Jdbi;
+import org.jdbi.v3.core.extension.ExtensionMethod;
+import org.jdbi.v3.core.spi.JdbiPlugin;
+import org.jdbi.v3.core.statement.SqlStatements;
+import org.jdbi.v3.core.statement.StatementContext;
+import org.jdbi.v3.core.statement.StatementCustomizer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.codahale.metrics.MetricRegistry.name;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A {@link JdbiPlugin} which records separate metrics for each SQL object method, and logs slow statements.
+ * <p>
+ * For each SQL object method, the following metrics are registered under the name of the SQL object type and method:
+ * </p>
+ * <ul>
+ *     <li>{@code execution}: a timer of the time spent executing the statement</li>
+ *     <li>{@code mapping}: a timer of the time from the end of the execution until the statement has been closed,
+ *     i.e. the time spent iterating over and mapping its results</li>
+ *     <li>{@code acquire}: a timer of the time spent acquiring the connection of the handle, recorded with the first
+ *     statement executed on the handle. It's only available if the connections are acquired through
+ *     {@link #timeAcquisition(ManagedDataSource)}.</li>
+ *     <li>{@code rows-affected}: a histogram of the number of rows affected by updates</li>
+ * </ul>
+ * <p>
+ * Statements which take longer than the slow query threshold to execute are logged at {@code WARN} level, at most
+ * once per slow query log interval. Entries which are suppressed in between are counted, and are all marked by the
+ * {@code slow-queries} meter. The bound parameters of slow statements are only logged if enabled, as they may
+ * contain sensitive data.
+ * </p>
+ *
+ * @since 2.1
+ */
+public class StatementMetricsPlugin implements JdbiPlugin {
+    private static final Logger LOGGER = LoggerFactory.getLogger(StatementMetricsPlugin.class);
+
+    private final MetricRegistry metricRegistry;
+    private final long slowQueryThreshold;
+    private final long slowQueryLogInterval;
+    private final boolean logSlowQueryParameters;
+    private final Meter slowQueries;
+    private final ConcurrentMap<Class<?>, ConcurrentMap<Method, MethodMetrics>> methodMetrics = new ConcurrentHashMap<>();
+    private final AtomicLong nextSlowQueryLog = new AtomicLong(System.nanoTime());
+    private final AtomicLong suppressedSlowQueries = new AtomicLong();
+    // Jdbi opens a handle on the thread which acquires its connection, and customizes it right away
+    private final ThreadLocal<Long> acquired = new ThreadLocal<>();
+    // SQL object methods run with the configuration of their extension rather than the one of the handle, so the
+    // acquisition is kept with the connection of the handle, and dropped along with it
+    private final Map<Connection, Long> acquisitions = Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * @param metricRegistry       the registry of the metrics
+     * @param slowQueryThreshold   the execution time above which statements are logged, or {@code null} to not log
+     *                             any statements
+     * @param slowQueryLogInterval the minimum time between two slow query log entries
+     */
+    public StatementMetricsPlugin(MetricRegistry metricRegistry, @Nullable Duration slowQueryThreshold,
+                                  Duration slowQueryLogInterval) {
+        this(metricRegistry, slowQueryThreshold, slowQueryLogInterval, false);
+    }
+
+    /**
+     * @param metricRegistry         the registry of the metrics
+     * @param slowQueryThreshold     the execution time above which statements are logged, or {@code null} to not log
+     *                               any statements
+     * @param slowQueryLogInterval   the minimum time between two slow query log entries
+     * @param logSlowQueryParameters whether the bound parameters of slow statements are logged
+     */
+    public StatementMetricsPlugin(MetricRegistry metricRegistry, @Nullable Duration slowQueryThreshold,
+                                  Duration slowQueryLogInterval, boolean logSlowQueryParameters) {
+        this.metricRegistry = requireNonNull(metricRegistry);
+        this.slowQueryThreshold = slowQueryThreshold == null ? Long.MAX_VALUE : slowQueryThreshold.toNanoseconds();
+        this.slowQueryLogInterval = slowQueryLogInterval.toNanoseconds();
+        this.logSlowQueryParameters = logSlowQueryParameters;
+        this.slowQueries = metricRegistry.meter(name(StatementMetricsPlugin.class, "slow-queries"));
+    }
+
+    /**
+     * Wraps the given data source so that the time spent acquiring connections from it is recorded.
+     *
+     * @param dataSource the data source the {@link Jdbi} instance is created with
+     * @return the wrapped data source
+     */
+    public ManagedDataSource timeAcquisition(ManagedDataSource dataSource) {
+        return new AcquisitionTimingDataSource(dataSource, (connection, nanos) -> acquired.set(nanos));
+    }
+
+    @Override
+    public void customizeJdbi(Jdbi jdbi) {
+        jdbi.getConfig(SqlStatements.class).addCustomizer(new MetricsCustomizer());
+    }
+
+    @Override
+    public Handle customizeHandle(Handle handle) {
+        final Long nanos = acquired.get();
+        if (nanos != null) {
+            acquired.remove();
+            acquisitions.put(handle.getConnection(), nanos);
+        }
+        return handle;
+    }
+
+    private MethodMetrics getMethodMetrics(ExtensionMethod extensionMethod) {
+        final Class<?> type = extensionMethod.getType();
+        final Method method = extensionMethod.getMethod();
+        return methodMetrics.computeIfAbsent(type, key -> new ConcurrentHashMap<>())
+            .computeIfAbsent(method, key -> new MethodMetrics(
+                metricRegistry.timer(name(type, method.getName(), "execution")),
+                metricRegistry.timer(name(type, method.getName(), "mapping")),
+                metricRegistry.timer(name(type, method.getName(), "acquire")),
+                metricRegistry.histogram(name(type, method.getName(), "rows-affected"))));
+    }
+
+    private void logSlowQuery(StatementContext ctx, long elapsed) {
+        slowQueries.mark();
+
+        final long now = System.nanoTime();
+        final long next = nextSlowQueryLog.get();
+        if (now - next < 0 || !nextSlowQueryLog.compareAndSet(next, now + slowQueryLogInterval)) {
+            suppressedSlowQueries.incrementAndGet();
+            return;
+        }
+
+        final ExtensionMethod extensionMethod = ctx.getExtensionMethod();
+        final String source = extensionMethod == null ? "<unknown>"
+            : extensionMethod.getType().getName() + '.' + extensionMethod.getMethod().getName();
+        final long millis = TimeUnit.NANOSECONDS.toMillis(elapsed);
+        final long suppressed = suppressedSlowQueries.getAndSet(0);
+        if (logSlowQueryParameters) {
+            LOGGER.warn("Slow query in {} took {}ms ({} suppressed since last entry): {} with {}", source, millis,
+                suppressed, ctx.getRenderedSql(), ctx.getBinding());
+        } else {
+            LOGGER.warn("Slow query in {} took {}ms ({} suppressed since last entry): {}", source, millis,
+                suppressed, ctx.getRenderedSql());
+        }
+    }
+
+    private class MetricsCustomizer implements StatementCustomizer {
+        @Override
+        public void afterExecution(PreparedStatement stmt, StatementContext ctx) throws SQLException {
+            final long elapsed = ctx.getElapsedTime(ChronoUnit.NANOS);
+            if (elapsed >= slowQueryThreshold) {
+                logSlowQuery(ctx, elapsed);
+            }
+
+            final ExtensionMethod extensionMethod = ctx.getExtensionMethod();
+            if (extensionMethod == null) {
+                return;
+            }
+
+            final MethodMetrics metrics = getMethodMetrics(extensionMethod);
+            metrics.execution.update(elapsed, TimeUnit.NANOSECONDS);
+            final Long acquisition = acquisitions.remove(ctx.getConnection());
+            if (acquisition != null) {
+                metrics.acquire.update(acquisition, TimeUnit.NANOSECONDS);
+            }
+            final int updateCount = stmt.getUpdateCount();
+            if (updateCount >= 0) {
+                metrics.rowsAffected.update(updateCount);
+            }
+
+            final long executed = System.nanoTime();
+            ctx.addCleanable(() -> metrics.mapping.update(System.nanoTime() - executed, TimeUnit.NANOSECONDS));
+        }
+    }
+
+    private static final class MethodMetrics {
+        private final Timer execution;
+        private final Timer mapping;
+        private final Timer acquire;
+        private final Histogram rowsAffected;
+
+        private MethodMetrics(Timer execution, Timer mapping, Timer acquire, Histogram rowsAffected) {
+            this.execution = execution;
+            this.mapping = mapping;
+            this.acquire = acquire;
+            this.rowsAffected = rowsAffected;
+        }
+    }
+}
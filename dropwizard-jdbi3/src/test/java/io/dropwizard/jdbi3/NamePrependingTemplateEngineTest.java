@@ -1,15 +1,22 @@
 package io.dropwizard.jdbi3;
 
+import org.jdbi.v3.core.config.ConfigRegistry;
 import org.jdbi.v3.core.extension.ExtensionMethod;
 import org.jdbi.v3.core.statement.StatementContext;
 import org.jdbi.v3.core.statement.TemplateEngine;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.Collections;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Function;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class NamePrependingTemplateEngineTest {
@@ -58,4 +65,47 @@ class NamePrependingTemplateEngineTest {
             " */ " +
             ORIGINAL_RENDERED);
     }
+
+    @Test
+    void testCachesStatementsWithoutAttributes() throws NoSuchMethodException {
+        final ExtensionMethod extensionMethod = new ExtensionMethod(MyDao.class, MyDao.class.getMethod("myDbCall"));
+        when(ctx.getExtensionMethod()).thenReturn(extensionMethod);
+        when(ctx.getAttributes()).thenReturn(Collections.emptyMap());
+
+        final Function<StatementContext, String> parsed = sut.parse(TEMPLATE, new ConfigRegistry()).orElseThrow(AssertionError::new);
+        final String first = parsed.apply(ctx);
+        final String second = parsed.apply(ctx);
+
+        assertThat(first).isEqualTo("/* MyDao.myDbCall */ " + ORIGINAL_RENDERED);
+        assertThat(second).isSameAs(first);
+        verify(original, times(1)).render(TEMPLATE, ctx);
+    }
+
+    @Test
+    void testRendersStatementsWithAttributesEveryTime() throws NoSuchMethodException {
+        final ExtensionMethod extensionMethod = new ExtensionMethod(MyDao.class, MyDao.class.getMethod("myDbCall"));
+        when(ctx.getExtensionMethod()).thenReturn(extensionMethod);
+        when(ctx.getAttributes()).thenReturn(Collections.singletonMap("table", "foo"));
+
+        final Function<StatementContext, String> parsed = sut.parse(TEMPLATE, new ConfigRegistry()).orElseThrow(AssertionError::new);
+        final String first = parsed.apply(ctx);
+        final String second = parsed.apply(ctx);
+
+        assertThat(first).isEqualTo("/* MyDao.myDbCall */ " + ORIGINAL_RENDERED);
+        assertThat(second).isEqualTo(first);
+        verify(original, times(2)).render(TEMPLATE, ctx);
+    }
+
+    @Test
+    void testUsesParsedTemplateOfOriginal() throws NoSuchMethodException {
+        final ExtensionMethod extensionMethod = new ExtensionMethod(MyDao.class, MyDao.class.getMethod("myDbCall"));
+        when(ctx.getExtensionMethod()).thenReturn(extensionMethod);
+        when(ctx.getAttributes()).thenReturn(Collections.emptyMap());
+        when(original.parse(any(), any())).thenReturn(Optional.of(context -> "parsed"));
+
+        final String result = sut.parse(TEMPLATE, new ConfigRegistry()).orElseThrow(AssertionError::new).apply(ctx);
+
+        assertThat(result).isEqualTo("/* MyDao.myDbCall */ parsed");
+        verify(original, times(0)).render(TEMPLATE, ctx);
+    }
 }
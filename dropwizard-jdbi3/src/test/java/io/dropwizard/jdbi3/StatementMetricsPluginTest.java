@@ -0,0 +1,167 @@
+package io.dropwizard.jdbi3;
+
+import com.codahale.metrics.MetricRegistry;
+import io.dropwizard.db.DataSourceFactory;
+import io.dropwizard.logging.BootstrapLogging;
+import io.dropwizard.setup.Environment;
+import io.dropwizard.util.Duration;
+import io.dropwizard.util.Resources;
+import org.eclipse.jetty.util.component.LifeCycle;
+import org.jdbi.v3.core.Handle;
+import org.jdbi.v3.core.Jdbi;
+import org.jdbi.v3.sqlobject.customizer.Bind;
+import org.jdbi.v3.sqlobject.statement.SqlUpdate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static com.codahale.metrics.MetricRegistry.name;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StatementMetricsPluginTest {
+    static {
+        BootstrapLogging.bootstrap();
+    }
+
+    public interface ScoreDao {
+        @SqlUpdate("UPDATE games SET home_scored = home_scored + 1 WHERE home_team = :home_team")
+        int addHomeGoal(@Bind("home_team") String homeTeam);
+    }
+
+    private final Environment environment = new Environment("test");
+    private final MetricRegistry metricRegistry = environment.metrics();
+    private final JdbiFactory factory = new JdbiFactory();
+    private final DataSourceFactory dataSourceFactory = new DataSourceFactory();
+
+    @BeforeEach
+    void setUp() {
+        dataSourceFactory.setUrl("jdbc:h2:mem:jdbi3-metrics-test");
+        dataSourceFactory.setUser("sa");
+        dataSourceFactory.setDriverClass("org.h2.Driver");
+        dataSourceFactory.asSingleConnectionPool();
+        factory.setStatementMetricsEnabled(true);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        for (LifeCycle lc : environment.lifecycle().getManagedObjects()) {
+            lc.stop();
+        }
+    }
+
+    private Jdbi build() throws Exception {
+        final Jdbi jdbi = factory.build(environment, dataSourceFactory, "h2");
+        for (LifeCycle lc : environment.lifecycle().getManagedObjects()) {
+            lc.start();
+        }
+        jdbi.useTransaction(h -> {
+            h.createScript(Resources.toString(Resources.getResource("schema.sql"), StandardCharsets.UTF_8)).execute();
+            h.createScript(Resources.toString(Resources.getResource("data.sql"), StandardCharsets.UTF_8)).execute();
+        });
+        return jdbi;
+    }
+
+    @Test
+    void recordsMetricsForEachSqlObjectMethod() throws Exception {
+        final GameDao dao = build().onDemand(GameDao.class);
+
+        assertThat(dao.findGameIds()).containsExactly(1, 2, 3, 4, 5);
+        assertThat(dao.findGameIds()).containsExactly(1, 2, 3, 4, 5);
+
+        assertThat(metricRegistry.timer(name(GameDao.class, "findGameIds", "execution")).getCount()).isEqualTo(2);
+        assertThat(metricRegistry.timer(name(GameDao.class, "findGameIds", "mapping")).getCount()).isEqualTo(2);
+        assertThat(metricRegistry.timer(name(GameDao.class, "findGameIds", "acquire")).getCount()).isEqualTo(2);
+        assertThat(metricRegistry.histogram(name(GameDao.class, "findGameIds", "rows-affected")).getCount()).isZero();
+    }
+
+    @Test
+    void recordsAcquisitionOnceForEachHandle() throws Exception {
+        final Jdbi jdbi = build();
+
+        try (Handle handle = jdbi.open()) {
+            final GameDao dao = handle.attach(GameDao.class);
+            assertThat(dao.findGameIds()).hasSize(5);
+            assertThat(dao.findAllUniqueHomeTeams()).hasSize(3);
+        }
+
+        assertThat(metricRegistry.timer(name(GameDao.class, "findGameIds", "acquire")).getCount()).isEqualTo(1);
+        assertThat(metricRegistry.timer(name(GameDao.class, "findAllUniqueHomeTeams", "acquire")).getCount()).isZero();
+        assertThat(metricRegistry.timer(name(GameDao.class, "findAllUniqueHomeTeams", "execution")).getCount())
+            .isEqualTo(1);
+    }
+
+    @Test
+    void recordsAcquisitionWithTheHandleOnAnyThread() throws Exception {
+        final Jdbi jdbi = build();
+
+        try (Handle handle = jdbi.open()) {
+            final GameDao dao = handle.attach(GameDao.class);
+            assertThat(CompletableFuture.supplyAsync(dao::findGameIds).get(5, TimeUnit.SECONDS)).hasSize(5);
+        }
+
+        assertThat(metricRegistry.timer(name(GameDao.class, "findGameIds", "acquire")).getCount()).isEqualTo(1);
+    }
+
+    @Test
+    void dropsTheAcquisitionOfHandlesClosedWithoutStatements() throws Exception {
+        final Jdbi jdbi = build();
+
+        jdbi.open().close();
+        jdbi.open().close();
+        try (Handle handle = jdbi.open()) {
+            assertThat(handle.attach(GameDao.class).findGameIds()).hasSize(5);
+            assertThat(handle.attach(GameDao.class).findGameIds()).hasSize(5);
+        }
+
+        assertThat(metricRegistry.timer(name(GameDao.class, "findGameIds", "acquire")).getCount()).isEqualTo(1);
+    }
+
+    @Test
+    void recordsRowsAffected() throws Exception {
+        final ScoreDao dao = build().onDemand(ScoreDao.class);
+
+        assertThat(dao.addHomeGoal("NY Rangers")).isEqualTo(3);
+
+        assertThat(metricRegistry.histogram(name(ScoreDao.class, "addHomeGoal", "rows-affected"))
+            .getSnapshot().getValues()).containsExactly(3);
+    }
+
+    @Test
+    void countsSlowQueries() throws Exception {
+        factory.setSlowQueryThreshold(Duration.milliseconds(0));
+        factory.setSlowQueryLogInterval(Duration.hours(1));
+        final Jdbi jdbi = build();
+        final long setupStatements = metricRegistry.meter(name(StatementMetricsPlugin.class, "slow-queries")).getCount();
+
+        jdbi.onDemand(GameDao.class).findGameIds();
+        jdbi.useHandle(h -> h.execute("SELECT 1"));
+
+        assertThat(metricRegistry.meter(name(StatementMetricsPlugin.class, "slow-queries")).getCount())
+            .isEqualTo(setupStatements + 2);
+    }
+
+    @Test
+    void countsSlowQueriesWhenLoggingTheirParameters() throws Exception {
+        factory.setSlowQueryThreshold(Duration.milliseconds(0));
+        factory.setSlowQueryParametersLogged(true);
+        final Jdbi jdbi = build();
+        final long setupStatements = metricRegistry.meter(name(StatementMetricsPlugin.class, "slow-queries")).getCount();
+
+        assertThat(jdbi.onDemand(ScoreDao.class).addHomeGoal("NY Rangers")).isEqualTo(3);
+
+        assertThat(metricRegistry.meter(name(StatementMetricsPlugin.class, "slow-queries")).getCount())
+            .isEqualTo(setupStatements + 1);
+    }
+
+    @Test
+    void ignoresFastQueries() throws Exception {
+        factory.setSlowQueryThreshold(Duration.hours(1));
+        build().onDemand(GameDao.class).findGameIds();
+
+        assertThat(metricRegistry.meter(name(StatementMetricsPlugin.class, "slow-queries")).getCount()).isZero();
+    }
+}
@@ -1,7 +1,9 @@
 package io.dropwizard.jersey;
 
 import com.codahale.metrics.Clock;
+import com.codahale.metrics.ExponentiallyDecayingReservoir;
 import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Reservoir;
 import com.codahale.metrics.jersey2.InstrumentedResourceMethodApplicationListener;
 import com.fasterxml.classmate.ResolvedType;
 import com.fasterxml.classmate.TypeResolver;
@@ -39,6 +41,7 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.TreeSet;
 import java.util.UUID;
+import java.util.function.Supplier;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
@@ -60,6 +63,15 @@ public class DropwizardResourceConfig extends ResourceConfig {
     }
 
     public DropwizardResourceConfig(@Nullable MetricRegistry metricRegistry) {
+        this(metricRegistry, ExponentiallyDecayingReservoir::new);
+    }
+
+    /**
+     * @param metricRegistry    the registry of the metrics of the resource methods
+     * @param reservoirSupplier the supplier of the reservoirs of the timers of the resource methods
+     * @since 2.1
+     */
+    public DropwizardResourceConfig(@Nullable MetricRegistry metricRegistry, Supplier<Reservoir> reservoirSupplier) {
         super();
 
         if (metricRegistry == null) {
@@ -70,7 +82,8 @@ public class DropwizardResourceConfig extends ResourceConfig {
         register(loggingListener);
 
         register(new MetricRegistryBinder(metricRegistry));
-        register(new InstrumentedResourceMethodApplicationListener(metricRegistry, Clock.defaultClock(), true));
+        register(new InstrumentedResourceMethodApplicationListener(metricRegistry, Clock.defaultClock(), true,
+            reservoirSupplier));
         register(CacheControlledResponseFeature.class);
         register(io.dropwizard.jersey.guava.OptionalMessageBodyWriter.class);
         register(new io.dropwizard.jersey.guava.OptionalParamBinder());
@@ -0,0 +1,78 @@
+package io.dropwizard.metrics.hdrhistogram;
+
+import com.codahale.metrics.Clock;
+import com.codahale.metrics.Reservoir;
+import com.codahale.metrics.Snapshot;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * A {@link Reservoir} which records values into an auto-resizing HdrHistogram. Updates are wait-free; snapshots
+ * contain the values of the last complete window and of the current one.
+ * <p/>
+ * HdrHistogram can't record negative values, which are recorded as zero.
+ *
+ * @since 2.1
+ */
+public class HdrHistogramReservoir implements Reservoir {
+    private final Recorder recorder;
+    private final int significantDigits;
+    private final long windowNanos;
+    private final Clock clock;
+
+    // Guarded by this
+    private Histogram interval;
+    private Histogram previousWindow;
+    private Histogram currentWindow;
+    private long currentWindowStart;
+
+    /**
+     * @param significantDigits the number of significant decimal digits to which values are kept, between 0 and 5
+     * @param windowNanos       the time after which values are dropped, in nanoseconds
+     * @param clock             the clock measuring the windows
+     */
+    public HdrHistogramReservoir(int significantDigits, long windowNanos, Clock clock) {
+        this.recorder = new Recorder(significantDigits);
+        this.significantDigits = significantDigits;
+        this.windowNanos = windowNanos;
+        this.clock = clock;
+        this.interval = recorder.getIntervalHistogram();
+        this.previousWindow = new Histogram(significantDigits);
+        this.currentWindow = new Histogram(significantDigits);
+        this.currentWindowStart = clock.getTick();
+    }
+
+    @Override
+    public int size() {
+        return getSnapshot().size();
+    }
+
+    @Override
+    public void update(long value) {
+        recorder.recordValue(Math.max(value, 0));
+    }
+
+    @Override
+    public synchronized Snapshot getSnapshot() {
+        final long elapsed = clock.getTick() - currentWindowStart;
+        if (elapsed >= windowNanos) {
+            final Histogram completed = currentWindow;
+            currentWindow = previousWindow;
+            currentWindow.reset();
+            previousWindow = completed;
+            if (elapsed >= 2 * windowNanos) {
+                // The window before the current one has passed without a snapshot
+                previousWindow.reset();
+            }
+            currentWindowStart += elapsed - elapsed % windowNanos;
+        }
+        // The values recorded since the last snapshot are attributed to the current window
+        interval = recorder.getIntervalHistogram(interval);
+        currentWindow.add(interval);
+
+        final Histogram histogram = new Histogram(significantDigits);
+        histogram.add(previousWindow);
+        histogram.add(currentWindow);
+        return new HdrHistogramSnapshot(histogram);
+    }
+}
@@ -0,0 +1,82 @@
+package io.dropwizard.metrics.hdrhistogram;
+
+import com.codahale.metrics.Clock;
+import com.codahale.metrics.Reservoir;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonTypeName;
+import io.dropwizard.metrics.ReservoirFactory;
+import io.dropwizard.util.Duration;
+import io.dropwizard.validation.MinDuration;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link ReservoirFactory} for {@link HdrHistogramReservoir reservoirs backed by an HdrHistogram}, which record
+ * every value of a time window into buckets of a fixed relative precision. Their percentiles are accurate up to that
+ * precision, e.g. for p99.9 latencies, while their memory doesn't grow with the number of values recorded.
+ * <p/>
+ * <b>Configuration Parameters:</b>
+ * <table>
+ *     <tr>
+ *         <td>Name</td>
+ *         <td>Default</td>
+ *         <td>Description</td>
+ *     </tr>
+ *     <tr>
+ *         <td>significantDigits</td>
+ *         <td>2</td>
+ *         <td>The number of significant decimal digits to which values are kept, between 0 and 5.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>window</td>
+ *         <td>1 minute</td>
+ *         <td>The time after which values are dropped. Snapshots contain the values of the last complete window and
+ *         of the current one.</td>
+ *     </tr>
+ * </table>
+ *
+ * @since 2.1
+ */
+@JsonTypeName("hdr-histogram")
+public class HdrHistogramReservoirFactory implements ReservoirFactory {
+    @Min(0)
+    @Max(5)
+    private int significantDigits = 2;
+
+    @NotNull
+    @MinDuration(value = 1, unit = TimeUnit.MILLISECONDS)
+    private Duration window = Duration.minutes(1);
+
+    @JsonProperty
+    public int getSignificantDigits() {
+        return significantDigits;
+    }
+
+    @JsonProperty
+    public void setSignificantDigits(int significantDigits) {
+        this.significantDigits = significantDigits;
+    }
+
+    @JsonProperty
+    public Duration getWindow() {
+        return window;
+    }
+
+    @JsonProperty
+    public void setWindow(Duration window) {
+        this.window = window;
+    }
+
+    @Override
+    public Reservoir build() {
+        return new HdrHistogramReservoir(significantDigits, window.toNanoseconds(), Clock.defaultClock());
+    }
+
+    @Override
+    public String toString() {
+        return "HdrHistogramReservoirFactory{significantDigits=" + significantDigits + ", window=" + window + '}';
+    }
+}
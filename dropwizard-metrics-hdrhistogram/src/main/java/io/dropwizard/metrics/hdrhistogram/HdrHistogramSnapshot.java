@@ -0,0 +1,76 @@
+package io.dropwizard.metrics.hdrhistogram;
+
+import com.codahale.metrics.Snapshot;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramIterationValue;
+
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A {@link Snapshot} of the values of an HdrHistogram. Values are the highest equivalent value of their bucket.
+ */
+class HdrHistogramSnapshot extends Snapshot {
+    private final Histogram histogram;
+
+    HdrHistogramSnapshot(Histogram histogram) {
+        this.histogram = histogram;
+    }
+
+    @Override
+    public double getValue(double quantile) {
+        if (quantile < 0.0 || quantile > 1.0 || Double.isNaN(quantile)) {
+            throw new IllegalArgumentException(quantile + " is not in [0..1]");
+        }
+        return histogram.getValueAtPercentile(quantile * 100.0);
+    }
+
+    @Override
+    public long[] getValues() {
+        final long[] values = new long[size()];
+        int index = 0;
+        for (HistogramIterationValue value : histogram.recordedValues()) {
+            final long highestEquivalentValue = histogram.highestEquivalentValue(value.getValueIteratedTo());
+            for (long i = 0; i < value.getCountAtValueIteratedTo() && index < values.length; i++) {
+                values[index++] = highestEquivalentValue;
+            }
+        }
+        return values;
+    }
+
+    @Override
+    public int size() {
+        return (int) Math.min(histogram.getTotalCount(), Integer.MAX_VALUE);
+    }
+
+    @Override
+    public long getMax() {
+        return histogram.getTotalCount() == 0 ? 0 : histogram.getMaxValue();
+    }
+
+    @Override
+    public double getMean() {
+        return histogram.getTotalCount() == 0 ? 0 : histogram.getMean();
+    }
+
+    @Override
+    public long getMin() {
+        return histogram.getTotalCount() == 0 ? 0 : histogram.getMinValue();
+    }
+
+    @Override
+    public double getStdDev() {
+        return histogram.getTotalCount() == 0 ? 0 : histogram.getStdDeviation();
+    }
+
+    @Override
+    public void dump(OutputStream output) {
+        try (PrintWriter out = new PrintWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8))) {
+            for (long value : getValues()) {
+                out.printf("%d%n", value);
+            }
+        }
+    }
+}
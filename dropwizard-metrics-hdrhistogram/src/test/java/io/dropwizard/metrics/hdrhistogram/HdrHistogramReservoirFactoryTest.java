@@ -0,0 +1,94 @@
+package io.dropwizard.metrics.hdrhistogram;
+
+import com.codahale.metrics.Clock;
+import com.codahale.metrics.Snapshot;
+import io.dropwizard.configuration.ResourceConfigurationSourceProvider;
+import io.dropwizard.configuration.YamlConfigurationFactory;
+import io.dropwizard.jackson.DiscoverableSubtypeResolver;
+import io.dropwizard.jackson.Jackson;
+import io.dropwizard.metrics.MetricsFactory;
+import io.dropwizard.util.Duration;
+import io.dropwizard.validation.BaseValidator;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class HdrHistogramReservoirFactoryTest {
+    private final ManualClock clock = new ManualClock();
+    private final HdrHistogramReservoir reservoir =
+        new HdrHistogramReservoir(3, TimeUnit.MINUTES.toNanos(1), clock);
+
+    @Test
+    void isDiscoverable() {
+        assertThat(new DiscoverableSubtypeResolver().getDiscoveredSubtypes())
+            .contains(HdrHistogramReservoirFactory.class);
+    }
+
+    @Test
+    void readsTheReservoirFromYaml() throws Exception {
+        final MetricsFactory metrics = new YamlConfigurationFactory<>(MetricsFactory.class,
+            BaseValidator.newValidator(), Jackson.newObjectMapper(), "dw")
+            .build(new ResourceConfigurationSourceProvider(), "yaml/hdr-histogram.yml");
+
+        assertThat(metrics.getReservoir()).isInstanceOfSatisfying(HdrHistogramReservoirFactory.class, factory -> {
+            assertThat(factory.getSignificantDigits()).isEqualTo(3);
+            assertThat(factory.getWindow()).isEqualTo(Duration.seconds(30));
+        });
+        assertThat(metrics.getReservoir().build()).isInstanceOf(HdrHistogramReservoir.class);
+    }
+
+    @Test
+    void computesPercentilesOfAllValues() {
+        for (int i = 1; i <= 100_000; i++) {
+            reservoir.update(i);
+        }
+
+        final Snapshot snapshot = reservoir.getSnapshot();
+        assertThat(snapshot.size()).isEqualTo(100_000);
+        assertThat(snapshot.getMin()).isEqualTo(1);
+        assertThat(snapshot.getMax()).isCloseTo(100_000, within(100L));
+        assertThat(snapshot.getMedian()).isCloseTo(50_000, within(50.0));
+        assertThat(snapshot.get999thPercentile()).isCloseTo(99_900, within(100.0));
+    }
+
+    @Test
+    void recordsNegativeValuesAsZero() {
+        reservoir.update(-5);
+
+        assertThat(reservoir.getSnapshot().getValues()).containsExactly(0);
+    }
+
+    @Test
+    void keepsTheValuesOfTheLastCompleteWindow() {
+        reservoir.update(1);
+        clock.add(30, TimeUnit.SECONDS);
+        reservoir.update(2);
+        assertThat(reservoir.getSnapshot().getValues()).containsExactly(1, 2);
+
+        clock.add(40, TimeUnit.SECONDS);
+        reservoir.update(3);
+        assertThat(reservoir.getSnapshot().getValues()).containsExactly(1, 2, 3);
+
+        clock.add(60, TimeUnit.SECONDS);
+        assertThat(reservoir.getSnapshot().getValues()).containsExactly(3);
+
+        clock.add(120, TimeUnit.SECONDS);
+        assertThat(reservoir.getSnapshot().size()).isZero();
+    }
+
+    private static class ManualClock extends Clock {
+        private long tick;
+
+        void add(long time, TimeUnit unit) {
+            tick += unit.toNanos(time);
+        }
+
+        @Override
+        public long getTick() {
+            return tick;
+        }
+    }
+}
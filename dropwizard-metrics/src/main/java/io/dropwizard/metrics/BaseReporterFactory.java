@@ -11,9 +11,7 @@ import io.dropwizard.validation.MinDuration;
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 import javax.validation.valueextraction.Unwrapping;
-import java.util.Collections;
 import java.util.EnumSet;
-import java.util.HashSet;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
@@ -83,35 +81,19 @@ import java.util.concurrent.TimeUnit;
  */
 public abstract class BaseReporterFactory implements ReporterFactory {
 
-    private static final DefaultStringMatchingStrategy DEFAULT_STRING_MATCHING_STRATEGY =
-            new DefaultStringMatchingStrategy();
-
-    private static final RegexStringMatchingStrategy REGEX_STRING_MATCHING_STRATEGY =
-            new RegexStringMatchingStrategy();
-
-    private static final SubstringMatchingStrategy SUBSTRING_MATCHING_STRATEGY =
-        new SubstringMatchingStrategy();
-
     @NotNull
     private TimeUnit durationUnit = TimeUnit.MILLISECONDS;
 
     @NotNull
     private TimeUnit rateUnit = TimeUnit.SECONDS;
 
-    @NotNull
-    private Set<String> excludes = Collections.emptySet();
-
-    @NotNull
-    private Set<String> includes = Collections.emptySet();
+    @Valid
+    private final MetricFilterFactory filterFactory = new MetricFilterFactory();
 
     @Valid
     @MinDuration(value = 0, payload = Unwrapping.Unwrap.class)
     private Optional<Duration> frequency = Optional.empty();
 
-    private boolean useRegexFilters = false;
-
-    private boolean useSubstringMatching = false;
-
     private EnumSet<MetricAttribute> excludesAttributes = EnumSet.noneOf(MetricAttribute.class);
 
     private EnumSet<MetricAttribute> includesAttributes = EnumSet.allOf(MetricAttribute.class);
@@ -137,22 +119,22 @@ public abstract class BaseReporterFactory implements ReporterFactory {
 
     @JsonProperty
     public Set<String> getIncludes() {
-        return includes;
+        return filterFactory.getIncludes();
     }
 
     @JsonProperty
     public void setIncludes(Set<String> includes) {
-        this.includes = new HashSet<>(includes);
+        filterFactory.setIncludes(includes);
     }
 
     @JsonProperty
     public Set<String> getExcludes() {
-        return excludes;
+        return filterFactory.getExcludes();
     }
 
     @JsonProperty
     public void setExcludes(Set<String> excludes) {
-        this.excludes = new HashSet<>(excludes);
+        filterFactory.setExcludes(excludes);
     }
 
     @Override
@@ -168,22 +150,22 @@ public abstract class BaseReporterFactory implements ReporterFactory {
 
     @JsonProperty
     public boolean getUseRegexFilters() {
-        return useRegexFilters;
+        return filterFactory.getUseRegexFilters();
     }
 
     @JsonProperty
     public void setUseRegexFilters(boolean useRegexFilters) {
-        this.useRegexFilters = useRegexFilters;
+        filterFactory.setUseRegexFilters(useRegexFilters);
     }
 
     @JsonProperty
     public boolean getUseSubstringMatching() {
-        return useSubstringMatching;
+        return filterFactory.getUseSubstringMatching();
     }
 
     @JsonProperty
     public void setUseSubstringMatching(boolean useSubstringMatching) {
-        this.useSubstringMatching = useSubstringMatching;
+        filterFactory.setUseSubstringMatching(useSubstringMatching);
     }
 
     @JsonProperty
@@ -229,13 +211,29 @@ public abstract class BaseReporterFactory implements ReporterFactory {
      */
     @JsonIgnore
     public MetricFilter getFilter() {
-        final StringMatchingStrategy stringMatchingStrategy = getUseRegexFilters() ?
-                REGEX_STRING_MATCHING_STRATEGY : (getUseSubstringMatching() ? SUBSTRING_MATCHING_STRATEGY : DEFAULT_STRING_MATCHING_STRATEGY);
+        return filterFactory.build();
+    }
 
-        // Include the metric if its name is not excluded and its name is included
-        // Where, by default, with no includes setting, all names are included.
-        return (name, metric) -> !stringMatchingStrategy.containsMatch(getExcludes(), name) &&
-                (getIncludes().isEmpty() || stringMatchingStrategy.containsMatch(getIncludes(), name));
+    /**
+     * Gets the {@link #getFilter() filter} of the configured metrics, which remembers its decision for each metric
+     * name, so that the includes and excludes aren't matched against the same names on every report.
+     * <p/>
+     * Only the built-in filter, which depends on nothing but the names of the metrics, is memoized. If
+     * {@link #getFilter()} is overridden, its filter is returned as is.
+     */
+    MetricFilter getMemoizingFilter() {
+        if (isFilterOverridden()) {
+            return getFilter();
+        }
+        return filterFactory.buildMemoizing();
+    }
+
+    private boolean isFilterOverridden() {
+        try {
+            return getClass().getMethod("getFilter").getDeclaringClass() != BaseReporterFactory.class;
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
     }
 
     protected Set<MetricAttribute> getDisabledAttributes() {
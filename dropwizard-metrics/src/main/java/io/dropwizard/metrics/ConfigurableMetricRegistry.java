@@ -0,0 +1,58 @@
+package io.dropwizard.metrics;
+
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Reservoir;
+import com.codahale.metrics.Timer;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A {@link MetricRegistry} whose histograms and timers are created with the reservoirs of a configurable
+ * {@link ReservoirFactory}, including those which are created by libraries through {@link #histogram(String)} and
+ * {@link #timer(String)}.
+ * <p/>
+ * Changing the factory doesn't affect histograms and timers which have already been created.
+ *
+ * @see MetricsFactory#getReservoir()
+ * @since 2.1
+ */
+public class ConfigurableMetricRegistry extends MetricRegistry {
+    private volatile ReservoirFactory reservoirFactory;
+
+    public ConfigurableMetricRegistry() {
+        this(new ExponentiallyDecayingReservoirFactory());
+    }
+
+    public ConfigurableMetricRegistry(ReservoirFactory reservoirFactory) {
+        this.reservoirFactory = requireNonNull(reservoirFactory);
+    }
+
+    public ReservoirFactory getReservoirFactory() {
+        return reservoirFactory;
+    }
+
+    public void setReservoirFactory(ReservoirFactory reservoirFactory) {
+        this.reservoirFactory = requireNonNull(reservoirFactory);
+    }
+
+    /**
+     * Builds a new reservoir with the current {@link ReservoirFactory}, e.g. for histograms and timers which are
+     * created with a supplier.
+     *
+     * @return a new reservoir
+     */
+    public Reservoir newReservoir() {
+        return reservoirFactory.build();
+    }
+
+    @Override
+    public Histogram histogram(String name) {
+        return histogram(name, () -> new Histogram(newReservoir()));
+    }
+
+    @Override
+    public Timer timer(String name) {
+        return timer(name, () -> new Timer(newReservoir()));
+    }
+}
@@ -0,0 +1,100 @@
+package io.dropwizard.metrics;
+
+import com.codahale.metrics.ExponentiallyDecayingReservoir;
+import com.codahale.metrics.LockFreeExponentiallyDecayingReservoir;
+import com.codahale.metrics.Reservoir;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonTypeName;
+
+import javax.validation.constraints.DecimalMin;
+import javax.validation.constraints.Min;
+
+/**
+ * A {@link ReservoirFactory} for exponentially decaying reservoirs, which keep a sample biased towards the values of
+ * the last five minutes. These are the reservoirs of the histograms and timers of a plain
+ * {@link com.codahale.metrics.MetricRegistry}.
+ * <p/>
+ * <b>Configuration Parameters:</b>
+ * <table>
+ *     <tr>
+ *         <td>Name</td>
+ *         <td>Default</td>
+ *         <td>Description</td>
+ *     </tr>
+ *     <tr>
+ *         <td>size</td>
+ *         <td>1028</td>
+ *         <td>The number of values kept in the sample.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>alpha</td>
+ *         <td>0.015</td>
+ *         <td>The exponential decay factor; the higher this is, the more biased the sample will be towards newer
+ *         values.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>lockFree</td>
+ *         <td>false</td>
+ *         <td>Whether to use {@link LockFreeExponentiallyDecayingReservoir lock-free reservoirs}, which contend less
+ *         under high update rates.</td>
+ *     </tr>
+ * </table>
+ *
+ * @since 2.1
+ */
+@JsonTypeName("exponentially-decaying")
+public class ExponentiallyDecayingReservoirFactory implements ReservoirFactory {
+    @Min(1)
+    private int size = 1028;
+
+    @DecimalMin(value = "0", inclusive = false)
+    private double alpha = 0.015;
+
+    private boolean lockFree = false;
+
+    @JsonProperty
+    public int getSize() {
+        return size;
+    }
+
+    @JsonProperty
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    @JsonProperty
+    public double getAlpha() {
+        return alpha;
+    }
+
+    @JsonProperty
+    public void setAlpha(double alpha) {
+        this.alpha = alpha;
+    }
+
+    @JsonProperty
+    public boolean isLockFree() {
+        return lockFree;
+    }
+
+    @JsonProperty
+    public void setLockFree(boolean lockFree) {
+        this.lockFree = lockFree;
+    }
+
+    @Override
+    public Reservoir build() {
+        if (lockFree) {
+            return LockFreeExponentiallyDecayingReservoir.builder()
+                .size(size)
+                .alpha(alpha)
+                .build();
+        }
+        return new ExponentiallyDecayingReservoir(size, alpha);
+    }
+
+    @Override
+    public String toString() {
+        return "ExponentiallyDecayingReservoirFactory{size=" + size + ", alpha=" + alpha + ", lockFree=" + lockFree + '}';
+    }
+}
@@ -0,0 +1,98 @@
+package io.dropwizard.metrics;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.Metric;
+import com.codahale.metrics.MetricFilter;
+import com.codahale.metrics.MetricRegistryListener;
+import com.codahale.metrics.Timer;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A {@link MetricFilter} which remembers the decision of a filter which only depends on the name of the metrics.
+ * <p>
+ * Registered as a listener of a registry, it forgets the decision for a name when a metric of that name is added to or
+ * removed from the registry, so that the decisions don't outlive the metrics.
+ * </p>
+ */
+final class MemoizingMetricFilter implements MetricFilter, MetricRegistryListener {
+    private final MetricFilter filter;
+    private final ConcurrentMap<String, Boolean> decisions = new ConcurrentHashMap<>();
+
+    MemoizingMetricFilter(MetricFilter filter) {
+        this.filter = filter;
+    }
+
+    @Override
+    public boolean matches(String name, Metric metric) {
+        final Boolean decision = decisions.get(name);
+        if (decision != null) {
+            return decision;
+        }
+        final boolean matches = filter.matches(name, metric);
+        decisions.put(name, matches);
+        return matches;
+    }
+
+    int size() {
+        return decisions.size();
+    }
+
+    private void invalidate(String name) {
+        decisions.remove(name);
+    }
+
+    @Override
+    public void onGaugeAdded(String name, Gauge<?> gauge) {
+        invalidate(name);
+    }
+
+    @Override
+    public void onGaugeRemoved(String name) {
+        invalidate(name);
+    }
+
+    @Override
+    public void onCounterAdded(String name, Counter counter) {
+        invalidate(name);
+    }
+
+    @Override
+    public void onCounterRemoved(String name) {
+        invalidate(name);
+    }
+
+    @Override
+    public void onHistogramAdded(String name, Histogram histogram) {
+        invalidate(name);
+    }
+
+    @Override
+    public void onHistogramRemoved(String name) {
+        invalidate(name);
+    }
+
+    @Override
+    public void onMeterAdded(String name, Meter meter) {
+        invalidate(name);
+    }
+
+    @Override
+    public void onMeterRemoved(String name) {
+        invalidate(name);
+    }
+
+    @Override
+    public void onTimerAdded(String name, Timer timer) {
+        invalidate(name);
+    }
+
+    @Override
+    public void onTimerRemoved(String name) {
+        invalidate(name);
+    }
+}
@@ -0,0 +1,159 @@
+package io.dropwizard.metrics;
+
+import com.codahale.metrics.MetricFilter;
+import com.codahale.metrics.MetricRegistry;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import javax.validation.constraints.NotNull;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * A factory for {@link MetricFilter filters} which select metrics by name, with the same rules as the
+ * {@link BaseReporterFactory#getFilter() filters of the reporters}.
+ * <p/>
+ * <b>Configuration Parameters:</b>
+ * <table>
+ *     <tr>
+ *         <td>Name</td>
+ *         <td>Default</td>
+ *         <td>Description</td>
+ *     </tr>
+ *     <tr>
+ *         <td>excludes</td>
+ *         <td>No excluded metrics.</td>
+ *         <td>Metrics to exclude, by name. Exclusion rules take precedence over inclusion rules.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>includes</td>
+ *         <td>All metrics included.</td>
+ *         <td>Metrics to include, by name. When defined, only these metrics are selected.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>useRegexFilters</td>
+ *         <td>false</td>
+ *         <td>Indicates whether the values of the 'includes' and 'excludes' fields should be
+ *         treated as regular expressions or not.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>useSubstringMatching</td>
+ *         <td>false</td>
+ *         <td>Uses a substring matching strategy to determine whether a metric should be selected.</td>
+ *     </tr>
+ * </table>
+ *
+ * @since 2.1
+ */
+public class MetricFilterFactory {
+    private static final DefaultStringMatchingStrategy DEFAULT_STRING_MATCHING_STRATEGY =
+            new DefaultStringMatchingStrategy();
+
+    private static final RegexStringMatchingStrategy REGEX_STRING_MATCHING_STRATEGY =
+            new RegexStringMatchingStrategy();
+
+    private static final SubstringMatchingStrategy SUBSTRING_MATCHING_STRATEGY =
+        new SubstringMatchingStrategy();
+
+    @NotNull
+    private Set<String> excludes = Collections.emptySet();
+
+    @NotNull
+    private Set<String> includes = Collections.emptySet();
+
+    private boolean useRegexFilters = false;
+
+    private boolean useSubstringMatching = false;
+
+    @JsonProperty
+    public Set<String> getIncludes() {
+        return includes;
+    }
+
+    @JsonProperty
+    public void setIncludes(Set<String> includes) {
+        this.includes = new HashSet<>(includes);
+    }
+
+    @JsonProperty
+    public Set<String> getExcludes() {
+        return excludes;
+    }
+
+    @JsonProperty
+    public void setExcludes(Set<String> excludes) {
+        this.excludes = new HashSet<>(excludes);
+    }
+
+    @JsonProperty
+    public boolean getUseRegexFilters() {
+        return useRegexFilters;
+    }
+
+    @JsonProperty
+    public void setUseRegexFilters(boolean useRegexFilters) {
+        this.useRegexFilters = useRegexFilters;
+    }
+
+    @JsonProperty
+    public boolean getUseSubstringMatching() {
+        return useSubstringMatching;
+    }
+
+    @JsonProperty
+    public void setUseSubstringMatching(boolean useSubstringMatching) {
+        this.useSubstringMatching = useSubstringMatching;
+    }
+
+    /**
+     * Builds a filter which selects the metrics whose name is included and not excluded.
+     *
+     * @return the filter for selecting metrics based on the configured excludes/includes.
+     */
+    public MetricFilter build() {
+        final StringMatchingStrategy stringMatchingStrategy = getUseRegexFilters() ?
+                REGEX_STRING_MATCHING_STRATEGY : (getUseSubstringMatching() ? SUBSTRING_MATCHING_STRATEGY : DEFAULT_STRING_MATCHING_STRATEGY);
+        final Predicate<String> excluded = stringMatchingStrategy.compile(getExcludes());
+        final Predicate<String> included = getIncludes().isEmpty() ? name -> true
+                : stringMatchingStrategy.compile(getIncludes());
+
+        // Include the metric if its name is not excluded and its name is included
+        // Where, by default, with no includes setting, all names are included.
+        return (name, metric) -> !excluded.test(name) && included.test(name);
+    }
+
+    /**
+     * Builds the {@link #build() filter}, which remembers its decision for each metric name, so that the includes
+     * and excludes aren't matched against the same names again.
+     * <p/>
+     * The decision for a name is forgotten when a metric of that name is added to or removed from the given registry.
+     *
+     * @param registry the registry the filtered metrics are registered with
+     * @return the filter for selecting metrics based on the configured excludes/includes.
+     */
+    public MetricFilter build(MetricRegistry registry) {
+        final MetricFilter filter = buildMemoizing();
+        if (filter instanceof MemoizingMetricFilter) {
+            registry.addListener((MemoizingMetricFilter) filter);
+        }
+        return filter;
+    }
+
+    /**
+     * Builds the {@link #build() filter}, which remembers its decision for each metric name, without registering it
+     * as a listener of a registry.
+     */
+    MetricFilter buildMemoizing() {
+        if (getIncludes().isEmpty() && getExcludes().isEmpty()) {
+            return MetricFilter.ALL;
+        }
+        return new MemoizingMetricFilter(build());
+    }
+
+    @Override
+    public String toString() {
+        return "MetricFilterFactory{includes=" + includes + ", excludes=" + excludes + ", useRegexFilters="
+            + useRegexFilters + ", useSubstringMatching=" + useSubstringMatching + '}';
+    }
+}
@@ -11,7 +11,9 @@ import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * A factory for configuring the metrics sub-system for the environment.
@@ -41,6 +43,12 @@ import java.util.List;
  *         <td>{@code false}</td>
  *         <td>To report metrics one last time when stopping Dropwizard.</td>
  *     </tr>
+ *     <tr>
+ *         <td>reservoir</td>
+ *         <td>{@link ExponentiallyDecayingReservoirFactory exponentially decaying}</td>
+ *         <td>The {@link ReservoirFactory reservoirs} of the histograms and timers of a
+ *         {@link ConfigurableMetricRegistry}.</td>
+ *     </tr>
  * </table>
  */
 public class MetricsFactory {
@@ -56,6 +64,10 @@ public class MetricsFactory {
 
     private boolean reportOnStop = false;
 
+    @Valid
+    @NotNull
+    private ReservoirFactory reservoir = new ExponentiallyDecayingReservoirFactory();
+
     @JsonProperty
     public List<ReporterFactory> getReporters() {
         return reporters;
@@ -93,10 +105,20 @@ public class MetricsFactory {
     }
 
     /**
-     * @since 2.0
+     * @since 2.1
      */
     @JsonProperty
+    public ReservoirFactory getReservoir() {
+        return reservoir;
+    }
 
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public void setReservoir(ReservoirFactory reservoir) {
+        this.reservoir = reservoir;
+    }
 
     /**
      * Configures the given lifecycle with the {@link com.codahale.metrics.ScheduledReporter
@@ -106,26 +128,44 @@ public class MetricsFactory {
      * frequency} for reporting metrics begins when the lifecycle {@link
      * io.dropwizard.lifecycle.Managed#start() starts}, and stops when the lifecycle
      * {@link io.dropwizard.lifecycle.Managed#stop() stops}.
+     * <p />
+     * Reporters built by a {@link BaseReporterFactory} which report with the same frequency are
+     * managed by a single {@link ScheduledReporterGroup}.
+     * <p />
+     * If the given registry is a {@link ConfigurableMetricRegistry}, the histograms and timers
+     * it creates from now on get reservoirs of the configured {@link #getReservoir() factory}.
      *
      * @param environment the lifecycle to manage the reporters.
      * @param registry the metric registry to report metrics from.
      */
     public void configure(LifecycleEnvironment environment, MetricRegistry registry) {
+        if (registry instanceof ConfigurableMetricRegistry) {
+            ((ConfigurableMetricRegistry) registry).setReservoirFactory(reservoir);
+        }
+
+        final Map<Long, ScheduledReporterGroup> groups = new LinkedHashMap<>();
         for (ReporterFactory reporter : reporters) {
             try {
-                final ScheduledReporterManager manager =
-                        new ScheduledReporterManager(reporter.build(registry),
-                                                     reporter.getFrequency().orElseGet(this::getFrequency),
-                                                     isReportOnStop());
-                environment.manage(manager);
+                final Duration period = reporter.getFrequency().orElseGet(this::getFrequency);
+                if (reporter instanceof BaseReporterFactory) {
+                    final BaseReporterFactory factory = (BaseReporterFactory) reporter;
+                    groups.computeIfAbsent(period.toNanoseconds(),
+                        nanos -> new ScheduledReporterGroup(registry, period, isReportOnStop()))
+                        .add(factory.build(registry), factory.getMemoizingFilter());
+                } else {
+                    environment.manage(new ScheduledReporterManager(reporter.build(registry), period, isReportOnStop()));
+                }
             } catch (Exception e) {
                 LOGGER.warn("Failed to create reporter, metrics may not be properly reported.", e);
             }
         }
+        for (ScheduledReporterGroup group : groups.values()) {
+            environment.manage(group);
+        }
     }
 
     @Override
     public String toString() {
-        return "MetricsFactory{frequency=" + frequency + ", reporters=" + reporters + ", reportOnStop=" + reportOnStop + '}';
+        return "MetricsFactory{frequency=" + frequency + ", reporters=" + reporters + ", reportOnStop=" + reportOnStop + ", reservoir=" + reservoir + '}';
     }
 }
@@ -5,9 +5,14 @@ import com.github.benmanes.caffeine.cache.LoadingCache;
 
 import java.time.Duration;
 import java.util.Set;
+import java.util.StringJoiner;
+import java.util.function.Predicate;
 import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
 class RegexStringMatchingStrategy implements StringMatchingStrategy {
+    private static final Pattern BACK_REFERENCE = Pattern.compile("\\\\(?:[1-9]|k<)");
+
     private final LoadingCache<String, Pattern> patternCache;
 
     RegexStringMatchingStrategy() {
@@ -27,4 +32,34 @@ class RegexStringMatchingStrategy implements StringMatchingStrategy {
         }
         return false;
     }
+
+    /**
+     * Combines the given expressions into a single alternation, so that each metric name is matched by one pattern
+     * instead of one per expression.
+     */
+    @Override
+    public Predicate<String> compile(Set<String> matchExpressions) {
+        if (matchExpressions.isEmpty()) {
+            return metricName -> false;
+        }
+
+        final StringJoiner alternation = new StringJoiner("|");
+        try {
+            for (String regexExpression : matchExpressions) {
+                // Invalid expressions fail when they're matched, like they did before being combined
+                patternCache.get(regexExpression);
+                if (matchExpressions.size() > 1 && BACK_REFERENCE.matcher(regexExpression).find()) {
+                    // Back references would refer to the groups of the other expressions once they are combined
+                    return StringMatchingStrategy.super.compile(matchExpressions);
+                }
+                alternation.add("(?:" + regexExpression + ")");
+            }
+
+            final Pattern pattern = Pattern.compile(alternation.toString());
+            return metricName -> pattern.matcher(metricName).matches();
+        } catch (PatternSyntaxException e) {
+            // Some expressions can't be combined, e.g. if they define the same named group
+            return StringMatchingStrategy.super.compile(matchExpressions);
+        }
+    }
 }
@@ -0,0 +1,23 @@
+package io.dropwizard.metrics;
+
+import com.codahale.metrics.Reservoir;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import io.dropwizard.jackson.Discoverable;
+
+/**
+ * A factory for the {@link Reservoir reservoirs} of the histograms and timers of a {@link ConfigurableMetricRegistry}.
+ *
+ * @see ExponentiallyDecayingReservoirFactory
+ * @see SlidingTimeWindowReservoirFactory
+ * @see SlidingWindowReservoirFactory
+ * @since 2.1
+ */
+@JsonTypeInfo(use = JsonTypeInfo.Id.NAME, property = "type")
+public interface ReservoirFactory extends Discoverable {
+    /**
+     * Builds a new reservoir for a single histogram or timer.
+     *
+     * @return a new reservoir
+     */
+    Reservoir build();
+}
@@ -0,0 +1,352 @@
+package io.dropwizard.metrics;
+
+import com.codahale.metrics.Clock;
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.Metric;
+import com.codahale.metrics.MetricFilter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.MetricRegistryListener;
+import com.codahale.metrics.Reservoir;
+import com.codahale.metrics.ScheduledReporter;
+import com.codahale.metrics.Snapshot;
+import com.codahale.metrics.Timer;
+import com.codahale.metrics.UniformSnapshot;
+import io.dropwizard.lifecycle.Managed;
+import io.dropwizard.util.Duration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Manages the lifecycle of several {@link ScheduledReporter reporters} which report with the same frequency.
+ * <p>
+ * Instead of each reporter walking the registry and snapshotting every histogram and timer on its own thread, the
+ * reporters of a group share a single thread. On each tick, the registry is walked once, the value of each gauge and
+ * the snapshot of each histogram and timer are taken once, and each reporter is handed the metrics matching its
+ * filter.
+ * </p>
+ * <p>
+ * As the reporters report one after another, a slow reporter delays the others of its group.
+ * </p>
+ *
+ * @since 2.1
+ */
+public class ScheduledReporterGroup implements Managed {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ScheduledReporterGroup.class);
+
+    /**
+     * A reservoir which is never updated, backing the frozen histograms and timers.
+     */
+    private static final Reservoir EMPTY_RESERVOIR = new Reservoir() {
+        private final Snapshot snapshot = new UniformSnapshot(new long[0]);
+
+        @Override
+        public int size() {
+            return 0;
+        }
+
+        @Override
+        public void update(long value) {
+            throw new UnsupportedOperationException("Snapshots can't be updated");
+        }
+
+        @Override
+        public Snapshot getSnapshot() {
+            return snapshot;
+        }
+    };
+    private static final Meter EMPTY_METER = new Meter();
+    private static final Histogram EMPTY_HISTOGRAM = new Histogram(EMPTY_RESERVOIR);
+
+    private final MetricRegistry registry;
+    private final Duration period;
+    private final boolean reportOnStop;
+    private final List<Member> members = new ArrayList<>();
+    @Nullable
+    private ScheduledExecutorService executor;
+
+    /**
+     * @param registry     the registry to report metrics from
+     * @param period       the frequency to report metrics at
+     * @param reportOnStop whether the reporters should send one last report upon stopping
+     */
+    public ScheduledReporterGroup(MetricRegistry registry, Duration period, boolean reportOnStop) {
+        this.registry = requireNonNull(registry);
+        this.period = requireNonNull(period);
+        this.reportOnStop = reportOnStop;
+    }
+
+    /**
+     * Adds a reporter to the group. The reporter must not be started on its own.
+     * <p>
+     * If the filter is a {@link MetricRegistryListener}, it is registered with the registry while the group is
+     * started.
+     * </p>
+     *
+     * @param reporter the reporter
+     * @param filter   the filter the reporter has been built with
+     */
+    public synchronized void add(ScheduledReporter reporter, MetricFilter filter) {
+        members.add(new Member(requireNonNull(reporter), requireNonNull(filter)));
+    }
+
+    /**
+     * @return the frequency the reporters of the group report metrics at
+     */
+    public Duration getPeriod() {
+        return period;
+    }
+
+    /**
+     * @return the number of reporters in the group
+     */
+    public synchronized int size() {
+        return members.size();
+    }
+
+    /**
+     * Begins reporting metrics with the reporters of the group.
+     */
+    @Override
+    public synchronized void start() {
+        if (executor != null) {
+            throw new IllegalStateException("Reporters already started");
+        }
+        final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "metrics-reporters-" + period.toString().replace(' ', '-'));
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(() -> {
+            try {
+                report();
+            } catch (Throwable t) {
+                LOGGER.error("Exception thrown while reporting metrics. Exception was suppressed.", t);
+            }
+        }, period.getQuantity(), period.getQuantity(), period.getUnit());
+        executor = scheduler;
+        for (Member member : members) {
+            if (member.filter instanceof MetricRegistryListener) {
+                registry.addListener((MetricRegistryListener) member.filter);
+            }
+        }
+    }
+
+    /**
+     * Stops reporting metrics, and stops each reporter of the group.
+     *
+     * @throws Exception if the reporters could not be stopped
+     */
+    @Override
+    public void stop() throws Exception {
+        final ScheduledExecutorService scheduler;
+        synchronized (this) {
+            scheduler = executor;
+            executor = null;
+        }
+        if (scheduler != null) {
+            scheduler.shutdown();
+            if (!scheduler.awaitTermination(1, TimeUnit.SECONDS)) {
+                scheduler.shutdownNow();
+            }
+        }
+
+        try {
+            if (reportOnStop) {
+                report();
+            }
+        } finally {
+            for (Member member : getMembers()) {
+                if (member.filter instanceof MetricRegistryListener) {
+                    registry.removeListener((MetricRegistryListener) member.filter);
+                }
+                member.reporter.stop();
+            }
+        }
+    }
+
+    /**
+     * Reports a single snapshot of the registry with each reporter of the group.
+     */
+    public void report() {
+        final List<Member> reporting = getMembers();
+        final List<Metrics> selected = new ArrayList<>(reporting.size());
+        for (int i = 0; i < reporting.size(); i++) {
+            selected.add(new Metrics());
+        }
+
+        for (Map.Entry<String, Metric> entry : registry.getMetrics().entrySet()) {
+            final String name = entry.getKey();
+            final Metric metric = entry.getValue();
+            Metric snapshot = null;
+            for (int i = 0; i < reporting.size(); i++) {
+                if (reporting.get(i).filter.matches(name, metric)) {
+                    if (snapshot == null) {
+                        snapshot = snapshot(metric);
+                    }
+                    selected.get(i).add(name, snapshot);
+                }
+            }
+        }
+
+        for (int i = 0; i < reporting.size(); i++) {
+            final ScheduledReporter reporter = reporting.get(i).reporter;
+            final Metrics metrics = selected.get(i);
+            try {
+                reporter.report(metrics.gauges, metrics.counters, metrics.histograms, metrics.meters, metrics.timers);
+            } catch (RuntimeException e) {
+                LOGGER.error("Exception thrown from {}#report. Exception was suppressed.",
+                    reporter.getClass().getSimpleName(), e);
+            }
+        }
+    }
+
+    private synchronized List<Member> getMembers() {
+        return new ArrayList<>(members);
+    }
+
+    /**
+     * Freezes the values of the given metric, so that its reservoir is snapshotted and its gauge is evaluated once
+     * for all reporters.
+     */
+    @SuppressWarnings("rawtypes")
+    private static Metric snapshot(Metric metric) {
+        if (metric instanceof Gauge) {
+            final Object value;
+            try {
+                value = ((Gauge) metric).getValue();
+            } catch (RuntimeException e) {
+                // Let each reporter handle the failure as it would on its own
+                return metric;
+            }
+            return (Gauge<Object>) () -> value;
+        } else if (metric instanceof Timer) {
+            return new TimerSnapshot((Timer) metric);
+        } else if (metric instanceof Histogram) {
+            return new HistogramSnapshot((Histogram) metric);
+        }
+        return metric;
+    }
+
+    private static final class Member {
+        private final ScheduledReporter reporter;
+        private final MetricFilter filter;
+
+        private Member(ScheduledReporter reporter, MetricFilter filter) {
+            this.reporter = reporter;
+            this.filter = filter;
+        }
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static final class Metrics {
+        private final SortedMap<String, Gauge> gauges = new TreeMap<>();
+        private final SortedMap<String, Counter> counters = new TreeMap<>();
+        private final SortedMap<String, Histogram> histograms = new TreeMap<>();
+        private final SortedMap<String, Meter> meters = new TreeMap<>();
+        private final SortedMap<String, Timer> timers = new TreeMap<>();
+
+        private void add(String name, Metric metric) {
+            // Same order of precedence as MetricRegistry#getMetrics(Class, MetricFilter)
+            if (metric instanceof Gauge) {
+                gauges.put(name, (Gauge) metric);
+            }
+            if (metric instanceof Counter) {
+                counters.put(name, (Counter) metric);
+            }
+            if (metric instanceof Histogram) {
+                histograms.put(name, (Histogram) metric);
+            }
+            if (metric instanceof Meter) {
+                meters.put(name, (Meter) metric);
+            }
+            if (metric instanceof Timer) {
+                timers.put(name, (Timer) metric);
+            }
+        }
+    }
+
+    private static final class HistogramSnapshot extends Histogram {
+        private final long count;
+        private final Snapshot snapshot;
+
+        private HistogramSnapshot(Histogram histogram) {
+            super(EMPTY_RESERVOIR);
+            this.count = histogram.getCount();
+            this.snapshot = histogram.getSnapshot();
+        }
+
+        @Override
+        public long getCount() {
+            return count;
+        }
+
+        @Override
+        public Snapshot getSnapshot() {
+            return snapshot;
+        }
+    }
+
+    private static final class TimerSnapshot extends Timer {
+        private final long count;
+        private final double meanRate;
+        private final double oneMinuteRate;
+        private final double fiveMinuteRate;
+        private final double fifteenMinuteRate;
+        private final Snapshot snapshot;
+
+        private TimerSnapshot(Timer timer) {
+            super(EMPTY_METER, EMPTY_HISTOGRAM, Clock.defaultClock());
+            this.count = timer.getCount();
+            this.meanRate = timer.getMeanRate();
+            this.oneMinuteRate = timer.getOneMinuteRate();
+            this.fiveMinuteRate = timer.getFiveMinuteRate();
+            this.fifteenMinuteRate = timer.getFifteenMinuteRate();
+            this.snapshot = timer.getSnapshot();
+        }
+
+        @Override
+        public long getCount() {
+            return count;
+        }
+
+        @Override
+        public double getMeanRate() {
+            return meanRate;
+        }
+
+        @Override
+        public double getOneMinuteRate() {
+            return oneMinuteRate;
+        }
+
+        @Override
+        public double getFiveMinuteRate() {
+            return fiveMinuteRate;
+        }
+
+        @Override
+        public double getFifteenMinuteRate() {
+            return fifteenMinuteRate;
+        }
+
+        @Override
+        public Snapshot getSnapshot() {
+            return snapshot;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package io.dropwizard.metrics;
+
+import com.codahale.metrics.Reservoir;
+import com.codahale.metrics.SlidingTimeWindowArrayReservoir;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonTypeName;
+import io.dropwizard.util.Duration;
+import io.dropwizard.validation.MinDuration;
+
+import javax.validation.constraints.NotNull;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link ReservoirFactory} for reservoirs which keep every value of a sliding time window, so that their
+ * percentiles are exact for that window, e.g. for p99.9 latencies.
+ * <p/>
+ * The reservoirs are {@link SlidingTimeWindowArrayReservoir array-backed}, so that they contend less under high
+ * update rates. Their memory grows with the number of values recorded within the window.
+ * <p/>
+ * <b>Configuration Parameters:</b>
+ * <table>
+ *     <tr>
+ *         <td>Name</td>
+ *         <td>Default</td>
+ *         <td>Description</td>
+ *     </tr>
+ *     <tr>
+ *         <td>window</td>
+ *         <td>1 minute</td>
+ *         <td>The time for which values are kept.</td>
+ *     </tr>
+ * </table>
+ *
+ * @since 2.1
+ */
+@JsonTypeName("sliding-time-window")
+public class SlidingTimeWindowReservoirFactory implements ReservoirFactory {
+    @NotNull
+    @MinDuration(value = 1, unit = TimeUnit.MILLISECONDS)
+    private Duration window = Duration.minutes(1);
+
+    @JsonProperty
+    public Duration getWindow() {
+        return window;
+    }
+
+    @JsonProperty
+    public void setWindow(Duration window) {
+        this.window = window;
+    }
+
+    @Override
+    public Reservoir build() {
+        return new SlidingTimeWindowArrayReservoir(window.getQuantity(), window.getUnit());
+    }
+
+    @Override
+    public String toString() {
+        return "SlidingTimeWindowReservoirFactory{window=" + window + '}';
+    }
+}
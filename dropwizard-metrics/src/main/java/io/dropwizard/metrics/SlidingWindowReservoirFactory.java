@@ -0,0 +1,53 @@
+package io.dropwizard.metrics;
+
+import com.codahale.metrics.Reservoir;
+import com.codahale.metrics.SlidingWindowReservoir;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonTypeName;
+
+import javax.validation.constraints.Min;
+
+/**
+ * A {@link ReservoirFactory} for reservoirs which keep the last values recorded.
+ * <p/>
+ * <b>Configuration Parameters:</b>
+ * <table>
+ *     <tr>
+ *         <td>Name</td>
+ *         <td>Default</td>
+ *         <td>Description</td>
+ *     </tr>
+ *     <tr>
+ *         <td>size</td>
+ *         <td>1028</td>
+ *         <td>The number of values kept.</td>
+ *     </tr>
+ * </table>
+ *
+ * @since 2.1
+ */
+@JsonTypeName("sliding-window")
+public class SlidingWindowReservoirFactory implements ReservoirFactory {
+    @Min(1)
+    private int size = 1028;
+
+    @JsonProperty
+    public int getSize() {
+        return size;
+    }
+
+    @JsonProperty
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    @Override
+    public Reservoir build() {
+        return new SlidingWindowReservoir(size);
+    }
+
+    @Override
+    public String toString() {
+        return "SlidingWindowReservoirFactory{size=" + size + '}';
+    }
+}
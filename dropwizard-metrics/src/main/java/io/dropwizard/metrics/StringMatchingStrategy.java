@@ -1,7 +1,21 @@
 package io.dropwizard.metrics;
 
+import java.util.HashSet;
 import java.util.Set;
+import java.util.function.Predicate;
 
 interface StringMatchingStrategy {
     boolean containsMatch(Set<String> matchExpressions, String metricName);
+
+    /**
+     * Prepares the given expressions once, so that metric names can be matched against them without parsing them
+     * again.
+     *
+     * @param matchExpressions the expressions to match metric names against
+     * @return a predicate which is {@code true} for the metric names matching any of the expressions
+     */
+    default Predicate<String> compile(Set<String> matchExpressions) {
+        final Set<String> expressions = new HashSet<>(matchExpressions);
+        return metricName -> containsMatch(expressions, metricName);
+    }
 }
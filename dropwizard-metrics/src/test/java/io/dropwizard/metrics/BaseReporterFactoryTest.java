@@ -1,6 +1,8 @@
 package io.dropwizard.metrics;
 
+import com.codahale.metrics.Counter;
 import com.codahale.metrics.Metric;
+import com.codahale.metrics.MetricFilter;
 import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.ScheduledReporter;
 import io.dropwizard.util.Sets;
@@ -127,4 +129,64 @@ class BaseReporterFactoryTest {
             .overridingErrorMessage(msg + ": expected 'matches(%s)=%s' for substring matcher", name, expectedSubstringResult)
             .isEqualTo(expectedSubstringResult);
     }
+
+    @ParameterizedTest
+    @MethodSource("data")
+    void testMemoizedRegexMatching(Set<String> includes, Set<String> excludes, String name,
+                                   boolean expectedDefaultResult, boolean expectedRegexResult,
+                                   boolean expectedSubstringResult, String msg) {
+        factory.setIncludes(includes);
+        factory.setExcludes(excludes);
+
+        factory.setUseRegexFilters(true);
+        factory.setUseSubstringMatching(false);
+        final MetricFilter filter = factory.getMemoizingFilter();
+        for (int i = 0; i < 2; i++) {
+            assertThat(filter.matches(name, metric))
+                .overridingErrorMessage(msg + ": expected 'matches(%s)=%s' for memoized regex matcher", name, expectedRegexResult)
+                .isEqualTo(expectedRegexResult);
+        }
+    }
+
+    @Test
+    void memoizesDecisionsUntilTheMetricIsRemoved() {
+        final MetricRegistry registry = new MetricRegistry();
+        factory.setExcludes(Collections.singleton("exc.+"));
+        factory.setUseRegexFilters(true);
+        final MetricFilter filter = factory.getMemoizingFilter();
+        assertThat(filter).isInstanceOf(MemoizingMetricFilter.class);
+        registry.addListener((MemoizingMetricFilter) filter);
+
+        final Counter counter = registry.counter("excluded");
+        assertThat(filter.matches("excluded", counter)).isFalse();
+        assertThat(filter.matches("included", counter)).isTrue();
+        assertThat(((MemoizingMetricFilter) filter).size()).isEqualTo(2);
+
+        registry.remove("excluded");
+        assertThat(((MemoizingMetricFilter) filter).size()).isEqualTo(1);
+    }
+
+    @Test
+    void doesNotMemoizeWithoutIncludesOrExcludes() {
+        assertThat(factory.getMemoizingFilter()).isSameAs(MetricFilter.ALL);
+    }
+
+    @Test
+    void doesNotMemoizeOverriddenFilters() {
+        final MetricFilter counters = (name, metric) -> metric instanceof Counter;
+        final BaseReporterFactory overriding = new BaseReporterFactory() {
+            @Override
+            public MetricFilter getFilter() {
+                return counters;
+            }
+
+            @Override
+            public ScheduledReporter build(MetricRegistry registry) {
+                return mock(ScheduledReporter.class);
+            }
+        };
+        overriding.setExcludes(Collections.singleton("excluded"));
+
+        assertThat(overriding.getMemoizingFilter()).isSameAs(counters);
+    }
 }
@@ -0,0 +1,38 @@
+package io.dropwizard.metrics;
+
+import com.codahale.metrics.SlidingWindowReservoir;
+import com.codahale.metrics.Timer;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConfigurableMetricRegistryTest {
+    private final ConfigurableMetricRegistry registry = new ConfigurableMetricRegistry();
+
+    @Test
+    void createsHistogramsAndTimersWithTheConfiguredReservoirs() {
+        final SlidingWindowReservoirFactory reservoir = new SlidingWindowReservoirFactory();
+        reservoir.setSize(2);
+        registry.setReservoirFactory(reservoir);
+
+        final Timer timer = registry.timer("timer");
+        for (int i = 1; i <= 3; i++) {
+            timer.update(i, TimeUnit.NANOSECONDS);
+            registry.histogram("histogram").update(i);
+        }
+
+        assertThat(timer.getSnapshot().getValues()).containsExactly(2, 3);
+        assertThat(registry.histogram("histogram").getSnapshot().getValues()).containsExactly(2, 3);
+        assertThat(registry.newReservoir()).isInstanceOf(SlidingWindowReservoir.class);
+    }
+
+    @Test
+    void keepsExistingHistogramsAndTimers() {
+        final Timer timer = registry.timer("timer");
+        registry.setReservoirFactory(new SlidingWindowReservoirFactory());
+
+        assertThat(registry.timer("timer")).isSameAs(timer);
+    }
+}
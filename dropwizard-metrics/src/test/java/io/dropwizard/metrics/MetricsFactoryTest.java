@@ -1,9 +1,12 @@
 package io.dropwizard.metrics;
 
 import com.codahale.metrics.MetricAttribute;
+import com.codahale.metrics.MetricRegistry;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.dropwizard.configuration.YamlConfigurationFactory;
 import io.dropwizard.jackson.Jackson;
+import io.dropwizard.lifecycle.JettyManaged;
+import io.dropwizard.lifecycle.setup.LifecycleEnvironment;
 import io.dropwizard.logging.BootstrapLogging;
 import io.dropwizard.util.Duration;
 import io.dropwizard.util.Resources;
@@ -13,8 +16,10 @@ import org.junit.jupiter.api.Test;
 
 import java.io.File;
 import java.util.EnumSet;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 
 class MetricsFactoryTest {
     static {
@@ -67,6 +72,19 @@ class MetricsFactoryTest {
         assertThat(csvReporterFactory.getExcludesAttributes()).isEmpty();
     }
 
+    @Test
+    void sharesAReporterGroupBetweenReportersOfTheSameFrequency() throws Exception {
+        ((Slf4jReporterFactory) config.getReporters().get(2)).setFrequency(Optional.of(Duration.minutes(1)));
+        final LifecycleEnvironment environment = new LifecycleEnvironment(new MetricRegistry());
+
+        config.configure(environment, new MetricRegistry());
+
+        assertThat(environment.getManagedObjects())
+            .extracting(managed -> (ScheduledReporterGroup) ((JettyManaged) managed).getManaged())
+            .extracting(ScheduledReporterGroup::getPeriod, ScheduledReporterGroup::size)
+            .containsExactly(tuple(Duration.seconds(10), 2), tuple(Duration.minutes(1), 1));
+    }
+
     @Test
     void reportOnStopFalseByDefault() {
         assertThat(config.isReportOnStop()).isFalse();
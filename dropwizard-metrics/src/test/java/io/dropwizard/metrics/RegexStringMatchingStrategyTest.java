@@ -0,0 +1,50 @@
+package io.dropwizard.metrics;
+
+import io.dropwizard.util.Sets;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.function.Predicate;
+import java.util.regex.PatternSyntaxException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class RegexStringMatchingStrategyTest {
+    private final RegexStringMatchingStrategy strategy = new RegexStringMatchingStrategy();
+
+    @Test
+    void matchesAnyOfTheCombinedExpressions() {
+        final Predicate<String> matcher = strategy.compile(Sets.of("jvm\\..*", "(?i)io\\.dropwizard\\..*", "a|b"));
+
+        assertThat(matcher)
+            .accepts("jvm.memory", "IO.DROPWIZARD.jetty", "a", "b")
+            .rejects("org.jvm.memory", "jvm", "ab", "io.other");
+    }
+
+    @Test
+    void matchesNothingWithoutExpressions() {
+        assertThat(strategy.compile(Collections.emptySet())).rejects("", "jvm.memory");
+    }
+
+    @Test
+    void keepsBackReferencesOfEachExpression() {
+        final Predicate<String> matcher = strategy.compile(Sets.of("(a)\\1", "(b)\\1"));
+
+        assertThat(matcher).accepts("aa", "bb").rejects("ab", "ba");
+    }
+
+    @Test
+    void supportsTheSameNamedGroupInSeveralExpressions() {
+        final Predicate<String> matcher = strategy.compile(Sets.of("(?<name>a)b", "(?<name>c)d"));
+
+        assertThat(matcher).accepts("ab", "cd").rejects("ad");
+    }
+
+    @Test
+    void failsToMatchInvalidExpressions() {
+        final Predicate<String> matcher = strategy.compile(Sets.of("a)|(b", "c"));
+
+        assertThatExceptionOfType(PatternSyntaxException.class).isThrownBy(() -> matcher.test("b"));
+    }
+}
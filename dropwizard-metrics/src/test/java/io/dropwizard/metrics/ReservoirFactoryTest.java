@@ -0,0 +1,80 @@
+package io.dropwizard.metrics;
+
+import com.codahale.metrics.ExponentiallyDecayingReservoir;
+import com.codahale.metrics.LockFreeExponentiallyDecayingReservoir;
+import com.codahale.metrics.SlidingTimeWindowArrayReservoir;
+import com.codahale.metrics.SlidingWindowReservoir;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.dropwizard.configuration.ResourceConfigurationSourceProvider;
+import io.dropwizard.configuration.YamlConfigurationFactory;
+import io.dropwizard.jackson.DiscoverableSubtypeResolver;
+import io.dropwizard.jackson.Jackson;
+import io.dropwizard.lifecycle.setup.LifecycleEnvironment;
+import io.dropwizard.util.Duration;
+import io.dropwizard.validation.BaseValidator;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReservoirFactoryTest {
+    private final ObjectMapper objectMapper = Jackson.newObjectMapper();
+    private final YamlConfigurationFactory<MetricsFactory> factory = new YamlConfigurationFactory<>(
+        MetricsFactory.class, BaseValidator.newValidator(), objectMapper, "dw");
+
+    @Test
+    void isDiscoverable() {
+        assertThat(new DiscoverableSubtypeResolver().getDiscoveredSubtypes())
+            .contains(ExponentiallyDecayingReservoirFactory.class, SlidingTimeWindowReservoirFactory.class,
+                SlidingWindowReservoirFactory.class);
+    }
+
+    @Test
+    void defaultsToExponentiallyDecayingReservoirs() {
+        final MetricsFactory metrics = new MetricsFactory();
+
+        assertThat(metrics.getReservoir()).isInstanceOf(ExponentiallyDecayingReservoirFactory.class);
+        assertThat(metrics.getReservoir().build()).isInstanceOf(ExponentiallyDecayingReservoir.class);
+    }
+
+    @Test
+    void buildsLockFreeExponentiallyDecayingReservoirs() {
+        final ExponentiallyDecayingReservoirFactory reservoir = new ExponentiallyDecayingReservoirFactory();
+        reservoir.setLockFree(true);
+
+        assertThat(reservoir.build()).isInstanceOf(LockFreeExponentiallyDecayingReservoir.class);
+    }
+
+    @Test
+    void buildsSlidingWindowReservoirs() {
+        final SlidingWindowReservoirFactory reservoir = new SlidingWindowReservoirFactory();
+        reservoir.setSize(2);
+
+        assertThat(reservoir.build()).isInstanceOfSatisfying(SlidingWindowReservoir.class, built -> {
+            built.update(1);
+            built.update(2);
+            built.update(3);
+            assertThat(built.getSnapshot().getValues()).containsExactly(2, 3);
+        });
+    }
+
+    @Test
+    void readsTheReservoirFromYaml() throws Exception {
+        final MetricsFactory metrics = factory.build(new ResourceConfigurationSourceProvider(),
+            "yaml/metrics-reservoir.yml");
+
+        assertThat(metrics.getReservoir()).isInstanceOfSatisfying(SlidingTimeWindowReservoirFactory.class,
+            reservoir -> assertThat(reservoir.getWindow()).isEqualTo(Duration.seconds(30)));
+        assertThat(metrics.getReservoir().build()).isInstanceOf(SlidingTimeWindowArrayReservoir.class);
+    }
+
+    @Test
+    void configuresTheReservoirsOfTheRegistry() {
+        final MetricsFactory metrics = new MetricsFactory();
+        metrics.setReservoir(new SlidingTimeWindowReservoirFactory());
+        final ConfigurableMetricRegistry registry = new ConfigurableMetricRegistry();
+
+        metrics.configure(new LifecycleEnvironment(registry), registry);
+
+        assertThat(registry.getReservoirFactory()).isSameAs(metrics.getReservoir());
+    }
+}
@@ -0,0 +1,177 @@
+package io.dropwizard.metrics;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricFilter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.ScheduledReporter;
+import com.codahale.metrics.Snapshot;
+import com.codahale.metrics.Timer;
+import com.codahale.metrics.UniformReservoir;
+import io.dropwizard.util.Duration;
+import org.junit.jupiter.api.Test;
+
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ScheduledReporterGroupTest {
+    private final MetricRegistry registry = new MetricRegistry();
+    private final AtomicInteger snapshots = new AtomicInteger();
+    private final AtomicInteger gaugeReads = new AtomicInteger();
+    private final RecordingReporter all = new RecordingReporter(registry);
+    private final RecordingReporter requests = new RecordingReporter(registry);
+
+    ScheduledReporterGroupTest() {
+        registry.register("requests", new Histogram(new UniformReservoir() {
+            @Override
+            public Snapshot getSnapshot() {
+                snapshots.incrementAndGet();
+                return super.getSnapshot();
+            }
+        }));
+        registry.register("threads", (Gauge<Integer>) gaugeReads::incrementAndGet);
+        registry.timer("requests-timer").update(5, TimeUnit.MILLISECONDS);
+        registry.counter("counter").inc();
+    }
+
+    @Test
+    void reportsASingleSnapshotToEachReporter() {
+        final ScheduledReporterGroup group = new ScheduledReporterGroup(registry, Duration.minutes(1), false);
+        group.add(all, MetricFilter.ALL);
+        group.add(requests, MetricFilter.startsWith("requests"));
+
+        group.report();
+
+        assertThat(snapshots).hasValue(1);
+        assertThat(gaugeReads).hasValue(1);
+        assertThat(all.reports).hasValue(1);
+        assertThat(all.gauges).containsOnlyKeys("threads");
+        assertThat(all.gauges).hasEntrySatisfying("threads", gauge -> assertThat(gauge.getValue()).isEqualTo(1));
+        assertThat(all.counters).containsOnlyKeys("counter");
+        assertThat(all.histograms).containsOnlyKeys("requests");
+        assertThat(all.timers).containsOnlyKeys("requests-timer");
+        assertThat(requests.reports).hasValue(1);
+        assertThat(requests.gauges).isEmpty();
+        assertThat(requests.counters).isEmpty();
+        assertThat(requests.histograms).containsOnlyKeys("requests");
+        assertThat(requests.histograms.get("requests")).isSameAs(all.histograms.get("requests"));
+        assertThat(requests.timers).containsOnlyKeys("requests-timer");
+    }
+
+    @Test
+    void freezesHistogramsAndTimers() {
+        final ScheduledReporterGroup group = new ScheduledReporterGroup(registry, Duration.minutes(1), false);
+        group.add(all, MetricFilter.ALL);
+        registry.histogram("requests").update(42);
+
+        group.report();
+        registry.histogram("requests").update(43);
+        registry.timer("requests-timer").update(7, TimeUnit.MILLISECONDS);
+
+        assertThat(all.histograms).hasEntrySatisfying("requests", histogram -> {
+            assertThat(histogram.getCount()).isEqualTo(1);
+            assertThat(histogram.getSnapshot().getValues()).containsExactly(42);
+        });
+        assertThat(all.timers).hasEntrySatisfying("requests-timer", timer -> {
+            assertThat(timer.getCount()).isEqualTo(1);
+            assertThat(timer.getSnapshot().getMax()).isEqualTo(TimeUnit.MILLISECONDS.toNanos(5));
+        });
+    }
+
+    @Test
+    void reportsToTheOtherReportersIfOneFails() {
+        final ScheduledReporterGroup group = new ScheduledReporterGroup(registry, Duration.minutes(1), false);
+        group.add(new RecordingReporter(registry) {
+            @Override
+            @SuppressWarnings("rawtypes")
+            public void report(SortedMap<String, Gauge> gauges, SortedMap<String, Counter> counters,
+                               SortedMap<String, Histogram> histograms, SortedMap<String, Meter> meters,
+                               SortedMap<String, Timer> timers) {
+                throw new IllegalStateException("broken");
+            }
+        }, MetricFilter.ALL);
+        group.add(all, MetricFilter.ALL);
+
+        group.report();
+
+        assertThat(all.reports).hasValue(1);
+    }
+
+    @Test
+    void reportsOnStopIfRequested() throws Exception {
+        final ScheduledReporterGroup group = new ScheduledReporterGroup(registry, Duration.minutes(5), true);
+        group.add(all, MetricFilter.ALL);
+
+        group.start();
+        group.stop();
+
+        assertThat(all.reports).hasValue(1);
+        assertThat(all.stopped).isTrue();
+    }
+
+    @Test
+    void doesNotReportOnStopByDefault() throws Exception {
+        final ScheduledReporterGroup group = new ScheduledReporterGroup(registry, Duration.minutes(5), false);
+        group.add(all, MetricFilter.ALL);
+
+        group.start();
+        group.stop();
+
+        assertThat(all.reports).hasValue(0);
+        assertThat(all.stopped).isTrue();
+    }
+
+    @Test
+    void forgetsDecisionsOfRemovedMetricsOnlyWhileStarted() throws Exception {
+        final MemoizingMetricFilter filter = new MemoizingMetricFilter(MetricFilter.startsWith("requests"));
+        final ScheduledReporterGroup group = new ScheduledReporterGroup(registry, Duration.minutes(5), false);
+        group.add(all, filter);
+
+        group.start();
+        group.report();
+        assertThat(filter.size()).isEqualTo(4);
+        registry.remove("counter");
+        assertThat(filter.size()).isEqualTo(3);
+
+        group.stop();
+        registry.remove("threads");
+        assertThat(filter.size()).isEqualTo(3);
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static class RecordingReporter extends ScheduledReporter {
+        private final AtomicInteger reports = new AtomicInteger();
+        private SortedMap<String, Gauge> gauges = new TreeMap<>();
+        private SortedMap<String, Counter> counters = new TreeMap<>();
+        private SortedMap<String, Histogram> histograms = new TreeMap<>();
+        private SortedMap<String, Timer> timers = new TreeMap<>();
+        private boolean stopped;
+
+        private RecordingReporter(MetricRegistry registry) {
+            super(registry, "recording", MetricFilter.ALL, TimeUnit.SECONDS, TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public void report(SortedMap<String, Gauge> gauges, SortedMap<String, Counter> counters,
+                           SortedMap<String, Histogram> histograms, SortedMap<String, Meter> meters,
+                           SortedMap<String, Timer> timers) {
+            reports.incrementAndGet();
+            this.gauges = gauges;
+            this.counters = counters;
+            this.histograms = histograms;
+            this.timers = timers;
+        }
+
+        @Override
+        public void stop() {
+            // ScheduledReporter#stop reports one last time on its own
+            stopped = true;
+        }
+    }
+}
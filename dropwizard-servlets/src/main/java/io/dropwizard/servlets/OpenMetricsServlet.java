@@ -0,0 +1,339 @@
+package io.dropwizard.servlets;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricFilter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Snapshot;
+import com.codahale.metrics.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Exposes the metrics of a {@link MetricRegistry} in the
+ * <a href="https://openmetrics.io">OpenMetrics</a> text format, which Prometheus scrapes natively.
+ * <p>
+ * The selected metrics of each type are read from the registry once per request, and each metric is written straight
+ * to the response as it's visited. Metric names are sanitized, replacing each character which isn't allowed by
+ * OpenMetrics with an underscore, and the given labels are added to every sample. If the names of several metrics
+ * sanitize to the same metric family or sample name, e.g. {@code a.b} and {@code a-b}, only the first one is exposed,
+ * and the others are skipped with a warning, which is logged at most once per minute.
+ * </p>
+ * <table>
+ *     <tr>
+ *         <th>Metric</th>
+ *         <th>Exposed as</th>
+ *     </tr>
+ *     <tr>
+ *         <td>{@link Gauge}</td>
+ *         <td>a gauge, if its value is a number or a boolean</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@link Counter}</td>
+ *         <td>a gauge, as counters can be decremented</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@link Meter}</td>
+ *         <td>a counter of the marked events</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@link Histogram}</td>
+ *         <td>a summary of the quantiles of its snapshot, and its count</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@link Timer}</td>
+ *         <td>a summary of the quantiles of its snapshot, in seconds, and its count, suffixed with
+ *         {@code _seconds}</td>
+ *     </tr>
+ * </table>
+ * <p>
+ * Summaries have no {@code _sum} sample, which OpenMetrics makes optional. Histograms and timers don't record the sum
+ * of their values, and a sum estimated from the mean of their reservoir could decrease between scrapes, which would be
+ * taken for a reset.
+ * </p>
+ *
+ * @since 2.1
+ */
+public class OpenMetricsServlet extends HttpServlet {
+    private static final long serialVersionUID = 1L;
+    private static final Logger LOGGER = LoggerFactory.getLogger(OpenMetricsServlet.class);
+    private static final String CONTENT_TYPE = "application/openmetrics-text; version=1.0.0; charset=utf-8";
+    private static final double[] QUANTILES = {0.5, 0.75, 0.95, 0.98, 0.99, 0.999};
+    private static final String[] QUANTILE_LABELS = {"0.5", "0.75", "0.95", "0.98", "0.99", "0.999"};
+    private static final double SECONDS_PER_NANOSECOND = 1.0e-9;
+    private static final int BUFFER_SIZE = 8192;
+    private static final long COLLISION_LOG_INTERVAL = TimeUnit.MINUTES.toNanos(1);
+
+    private final transient MetricRegistry registry;
+    private final transient MetricFilter filter;
+    private final String labels;
+    private final AtomicLong nextCollisionLog = new AtomicLong(System.nanoTime());
+    private final AtomicLong suppressedCollisions = new AtomicLong();
+
+    /**
+     * Creates a servlet which exposes all metrics of the given registry, without labels.
+     *
+     * @param registry the registry to expose
+     */
+    public OpenMetricsServlet(MetricRegistry registry) {
+        this(registry, MetricFilter.ALL, Collections.emptyMap());
+    }
+
+    /**
+     * @param registry the registry to expose
+     * @param filter   the filter selecting the metrics to expose
+     * @param labels   the labels to add to every sample, e.g. the name of the application
+     */
+    public OpenMetricsServlet(MetricRegistry registry, MetricFilter filter, Map<String, String> labels) {
+        this.registry = requireNonNull(registry);
+        this.filter = requireNonNull(filter);
+        this.labels = renderLabels(labels);
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(CONTENT_TYPE);
+        response.setHeader("Cache-Control", "must-revalidate,no-cache,no-store");
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(response.getOutputStream(), UTF_8), BUFFER_SIZE)) {
+            write(writer);
+        }
+    }
+
+    /**
+     * Writes the selected metrics of the registry in the OpenMetrics text format.
+     *
+     * @param writer the writer
+     * @throws IOException if the metrics could not be written
+     */
+    void write(Writer writer) throws IOException {
+        // The metric family and sample names written so far, which the names of other metrics may sanitize to
+        final Set<String> names = new HashSet<>();
+        for (Map.Entry<String, Gauge> entry : registry.getGauges(filter).entrySet()) {
+            writeGauge(writer, names, entry.getKey(), entry.getValue());
+        }
+        for (Map.Entry<String, Counter> entry : registry.getCounters(filter).entrySet()) {
+            final String family = sanitize(entry.getKey());
+            if (claim(names, entry.getKey(), family)) {
+                writeType(writer, family, "gauge");
+                writeSample(writer, family, "", entry.getValue().getCount());
+            }
+        }
+        for (Map.Entry<String, Histogram> entry : registry.getHistograms(filter).entrySet()) {
+            final String family = sanitize(entry.getKey());
+            if (claim(names, entry.getKey(), family, family + "_count")) {
+                final Histogram histogram = entry.getValue();
+                writeSummary(writer, family, histogram.getCount(), histogram.getSnapshot(), 1.0);
+            }
+        }
+        for (Map.Entry<String, Meter> entry : registry.getMeters(filter).entrySet()) {
+            final String family = sanitize(entry.getKey());
+            if (claim(names, entry.getKey(), family, family + "_total")) {
+                writeType(writer, family, "counter");
+                writeSample(writer, family + "_total", "", entry.getValue().getCount());
+            }
+        }
+        for (Map.Entry<String, Timer> entry : registry.getTimers(filter).entrySet()) {
+            final String family = sanitize(entry.getKey()) + "_seconds";
+            if (claim(names, entry.getKey(), family, family + "_count")) {
+                final Timer timer = entry.getValue();
+                writeSummary(writer, family, timer.getCount(), timer.getSnapshot(), SECONDS_PER_NANOSECOND);
+            }
+        }
+        writer.write("# EOF\n");
+    }
+
+    /**
+     * Claims the names a metric is exposed with, unless one of them has already been written for another metric.
+     *
+     * @param names        the names written so far
+     * @param name         the name of the metric in the registry
+     * @param exposedNames the metric family name and the sample names of the metric
+     * @return whether the metric can be written
+     */
+    private boolean claim(Set<String> names, String name, String... exposedNames) {
+        for (String exposedName : exposedNames) {
+            if (names.contains(exposedName)) {
+                warnCollision(name, exposedName);
+                return false;
+            }
+        }
+        Collections.addAll(names, exposedNames);
+        return true;
+    }
+
+    private void warnCollision(String name, String exposedName) {
+        final long now = System.nanoTime();
+        final long next = nextCollisionLog.get();
+        if (now - next < 0 || !nextCollisionLog.compareAndSet(next, now + COLLISION_LOG_INTERVAL)) {
+            suppressedCollisions.incrementAndGet();
+            return;
+        }
+        LOGGER.warn("Skipped the metric {}, as it would be exposed as {} like another metric ({} suppressed since " +
+            "last entry)", name, exposedName, suppressedCollisions.getAndSet(0));
+    }
+
+    private void writeGauge(Writer writer, Set<String> names, String name, Gauge<?> gauge) throws IOException {
+        final Object value;
+        try {
+            value = gauge.getValue();
+        } catch (RuntimeException e) {
+            LOGGER.debug("Unable to read the value of gauge {}", name, e);
+            return;
+        }
+        final double number;
+        if (value instanceof Number) {
+            number = ((Number) value).doubleValue();
+        } else if (value instanceof Boolean) {
+            number = ((Boolean) value) ? 1 : 0;
+        } else {
+            return;
+        }
+        final String family = sanitize(name);
+        if (claim(names, name, family)) {
+            writeType(writer, family, "gauge");
+            writeSample(writer, family, "", number);
+        }
+    }
+
+    private void writeSummary(Writer writer, String family, long count, Snapshot snapshot,
+                              double factor) throws IOException {
+        writeType(writer, family, "summary");
+        for (int i = 0; i < QUANTILES.length; i++) {
+            writeSample(writer, family, QUANTILE_LABELS[i], snapshot.getValue(QUANTILES[i]) * factor);
+        }
+        writer.write(family);
+        writer.write("_count");
+        writeLabels(writer, "");
+        writer.write(' ');
+        writer.write(Long.toString(count));
+        writer.write('\n');
+    }
+
+    private void writeType(Writer writer, String family, String type) throws IOException {
+        writer.write("# TYPE ");
+        writer.write(family);
+        writer.write(' ');
+        writer.write(type);
+        writer.write('\n');
+    }
+
+    private void writeSample(Writer writer, String sample, String quantile, long value) throws IOException {
+        writer.write(sample);
+        writeLabels(writer, quantile);
+        writer.write(' ');
+        writer.write(Long.toString(value));
+        writer.write('\n');
+    }
+
+    private void writeSample(Writer writer, String sample, String quantile, double value) throws IOException {
+        writer.write(sample);
+        writeLabels(writer, quantile);
+        writer.write(' ');
+        writeDouble(writer, value);
+        writer.write('\n');
+    }
+
+    private void writeLabels(Writer writer, String quantile) throws IOException {
+        if (quantile.isEmpty()) {
+            if (!labels.isEmpty()) {
+                writer.write('{');
+                writer.write(labels);
+                writer.write('}');
+            }
+            return;
+        }
+        writer.write('{');
+        if (!labels.isEmpty()) {
+            writer.write(labels);
+            writer.write(',');
+        }
+        writer.write("quantile=\"");
+        writer.write(quantile);
+        writer.write("\"}");
+    }
+
+    /**
+     * @return the given name, with each character which isn't allowed in a metric name replaced with an underscore
+     */
+    private static String sanitize(String name) {
+        final StringBuilder sanitized = new StringBuilder(name.length() + 1);
+        if (name.isEmpty() || (name.charAt(0) >= '0' && name.charAt(0) <= '9')) {
+            sanitized.append('_');
+        }
+        for (int i = 0; i < name.length(); i++) {
+            final char c = name.charAt(i);
+            sanitized.append(isNameChar(c) || c == ':' ? c : '_');
+        }
+        return sanitized.toString();
+    }
+
+    private static void writeDouble(Writer writer, double value) throws IOException {
+        if (Double.isNaN(value)) {
+            writer.write("NaN");
+        } else if (Double.isInfinite(value)) {
+            writer.write(value > 0 ? "+Inf" : "-Inf");
+        } else if (value == Math.rint(value) && Math.abs(value) < 1.0e15) {
+            writer.write(Long.toString((long) value));
+        } else {
+            writer.write(Double.toString(value));
+        }
+    }
+
+    private static boolean isNameChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_';
+    }
+
+    /**
+     * Renders the given labels once, as they're the same for every sample.
+     */
+    private static String renderLabels(Map<String, String> labels) {
+        final StringBuilder rendered = new StringBuilder();
+        for (Map.Entry<String, String> label : labels.entrySet()) {
+            if (rendered.length() > 0) {
+                rendered.append(',');
+            }
+            final String name = label.getKey();
+            if (name.isEmpty() || (name.charAt(0) >= '0' && name.charAt(0) <= '9')) {
+                rendered.append('_');
+            }
+            for (int i = 0; i < name.length(); i++) {
+                final char c = name.charAt(i);
+                rendered.append(isNameChar(c) ? c : '_');
+            }
+            rendered.append("=\"");
+            final String value = label.getValue();
+            for (int i = 0; i < value.length(); i++) {
+                final char c = value.charAt(i);
+                if (c == '\\' || c == '"') {
+                    rendered.append('\\').append(c);
+                } else if (c == '\n') {
+                    rendered.append("\\n");
+                } else {
+                    rendered.append(c);
+                }
+            }
+            rendered.append('"');
+        }
+        return rendered.toString();
+    }
+}
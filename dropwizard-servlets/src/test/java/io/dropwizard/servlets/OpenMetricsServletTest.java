@@ -0,0 +1,162 @@
+package io.dropwizard.servlets;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricFilter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.SlidingWindowReservoir;
+import io.dropwizard.util.Maps;
+import org.junit.jupiter.api.Test;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OpenMetricsServletTest {
+    private final MetricRegistry registry = new MetricRegistry();
+
+    @Test
+    void exposesGaugesAndCounters() throws Exception {
+        registry.register("jvm.threads.count", (Gauge<Integer>) () -> 42);
+        registry.register("jvm.heap.ratio", (Gauge<Double>) () -> 0.25);
+        registry.register("healthy", (Gauge<Boolean>) () -> true);
+        registry.register("version", (Gauge<String>) () -> "1.0");
+        registry.register("broken", (Gauge<Integer>) () -> {
+            throw new IllegalStateException("broken");
+        });
+        registry.counter("io.dropwizard.jetty.active-requests").inc(3);
+
+        // The registry doesn't keep its metrics in order
+        assertThat(write(new OpenMetricsServlet(registry)).split("\n")).containsExactlyInAnyOrder(
+            "# TYPE healthy gauge",
+            "healthy 1",
+            "# TYPE io_dropwizard_jetty_active_requests gauge",
+            "io_dropwizard_jetty_active_requests 3",
+            "# TYPE jvm_heap_ratio gauge",
+            "jvm_heap_ratio 0.25",
+            "# TYPE jvm_threads_count gauge",
+            "jvm_threads_count 42",
+            "# EOF");
+    }
+
+    @Test
+    void exposesMetersHistogramsAndTimers() throws Exception {
+        registry.meter("requests").mark(5);
+        registry.histogram("sizes", () -> new com.codahale.metrics.Histogram(new SlidingWindowReservoir(10)))
+            .update(100);
+        registry.timer("2xx-responses", () -> new com.codahale.metrics.Timer(new SlidingWindowReservoir(10)))
+            .update(1500, TimeUnit.MILLISECONDS);
+
+        assertThat(write(new OpenMetricsServlet(registry)))
+            .contains("# TYPE _2xx_responses_seconds summary\n" +
+            "_2xx_responses_seconds{quantile=\"0.5\"} 1.5\n" +
+            "_2xx_responses_seconds{quantile=\"0.75\"} 1.5\n" +
+            "_2xx_responses_seconds{quantile=\"0.95\"} 1.5\n" +
+            "_2xx_responses_seconds{quantile=\"0.98\"} 1.5\n" +
+            "_2xx_responses_seconds{quantile=\"0.99\"} 1.5\n" +
+            "_2xx_responses_seconds{quantile=\"0.999\"} 1.5\n" +
+            "_2xx_responses_seconds_count 1\n")
+            .contains("# TYPE requests counter\n" +
+                "requests_total 5\n")
+            .contains("# TYPE sizes summary\n" +
+            "sizes{quantile=\"0.5\"} 100\n" +
+            "sizes{quantile=\"0.75\"} 100\n" +
+            "sizes{quantile=\"0.95\"} 100\n" +
+            "sizes{quantile=\"0.98\"} 100\n" +
+            "sizes{quantile=\"0.99\"} 100\n" +
+            "sizes{quantile=\"0.999\"} 100\n" +
+            "sizes_count 1\n")
+            .doesNotContain("_sum")
+            .endsWith("# EOF\n");
+    }
+
+    @Test
+    void addsTheLabelsToEverySample() throws Exception {
+        registry.counter("counter").inc();
+        registry.histogram("histogram");
+
+        final OpenMetricsServlet servlet = new OpenMetricsServlet(registry, MetricFilter.ALL,
+            Maps.of("app", "my \"app\"", "data-center", "eu\\1"));
+
+        assertThat(write(servlet))
+            .contains("counter{app=\"my \\\"app\\\"\",data_center=\"eu\\\\1\"} 1\n")
+            .contains("histogram{app=\"my \\\"app\\\"\",data_center=\"eu\\\\1\",quantile=\"0.5\"} 0\n")
+            .contains("histogram_count{app=\"my \\\"app\\\"\",data_center=\"eu\\\\1\"} 0\n");
+    }
+
+    @Test
+    void skipsMetricsWhoseNamesCollide() throws Exception {
+        registry.counter("a.b").inc();
+        registry.counter("a_b").inc(2);
+        registry.register("a-b", (Gauge<Integer>) () -> 3);
+        registry.meter("c");
+        registry.register("c_total", (Gauge<Integer>) () -> 4);
+
+        assertThat(write(new OpenMetricsServlet(registry)).split("\n")).containsExactly(
+            "# TYPE a_b gauge",
+            "a_b 3",
+            "# TYPE c_total gauge",
+            "c_total 4",
+            "# EOF");
+    }
+
+    @Test
+    void exposesTheSelectedMetrics() throws Exception {
+        registry.counter("jvm.threads").inc();
+        registry.counter("requests").inc();
+
+        final OpenMetricsServlet servlet = new OpenMetricsServlet(registry, MetricFilter.startsWith("jvm"),
+            Collections.emptyMap());
+
+        assertThat(write(servlet)).isEqualTo(
+            "# TYPE jvm_threads gauge\n" +
+            "jvm_threads 1\n" +
+            "# EOF\n");
+    }
+
+    @Test
+    void streamsTheExpositionToTheResponse() throws Exception {
+        registry.counter("counter").inc();
+        final HttpServletRequest request = mock(HttpServletRequest.class);
+        final HttpServletResponse response = mock(HttpServletResponse.class);
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        when(response.getOutputStream()).thenReturn(new ServletOutputStream() {
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+            }
+
+            @Override
+            public void write(int b) {
+                output.write(b);
+            }
+        });
+
+        new OpenMetricsServlet(registry).doGet(request, response);
+
+        verify(response).setStatus(200);
+        verify(response).setContentType("application/openmetrics-text; version=1.0.0; charset=utf-8");
+        assertThat(new String(output.toByteArray(), UTF_8))
+            .isEqualTo("# TYPE counter gauge\ncounter 1\n# EOF\n");
+    }
+
+    private static String write(OpenMetricsServlet servlet) throws Exception {
+        final StringWriter writer = new StringWriter();
+        servlet.write(writer);
+        return writer.toString();
+    }
+}
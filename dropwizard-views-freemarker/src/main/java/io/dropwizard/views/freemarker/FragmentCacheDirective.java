@@ -0,0 +1,77 @@
+package io.dropwizard.views.freemarker;
+
+import freemarker.core.Environment;
+import freemarker.template.TemplateDirectiveBody;
+import freemarker.template.TemplateDirectiveModel;
+import freemarker.template.TemplateException;
+import freemarker.template.TemplateModel;
+import freemarker.template.TemplateModelException;
+import freemarker.template.TemplateScalarModel;
+import io.dropwizard.util.Duration;
+import io.dropwizard.views.FragmentCache;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Map;
+
+/**
+ * A directive which renders its body through a {@link FragmentCache}, e.g.
+ * {@code <@cache key="navigation" ttl="10 minutes">...</@cache>}. The {@code ttl} parameter is optional. If the
+ * fragment cache is disabled, the body is rendered on every invocation.
+ */
+class FragmentCacheDirective implements TemplateDirectiveModel {
+    static final String NAME = "cache";
+
+    @Nullable
+    private final FragmentCache fragmentCache;
+
+    FragmentCacheDirective(@Nullable FragmentCache fragmentCache) {
+        this.fragmentCache = fragmentCache;
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public void execute(Environment env, Map params, TemplateModel[] loopVars, @Nullable TemplateDirectiveBody body)
+        throws TemplateException, IOException {
+        final String key = getString(params, "key");
+        if (key == null) {
+            throw new TemplateModelException("The " + NAME + " directive requires a key parameter");
+        }
+        final String ttl = getString(params, "ttl");
+        if (body == null) {
+            return;
+        }
+        if (fragmentCache == null) {
+            body.render(env.getOut());
+            return;
+        }
+
+        final String content;
+        try {
+            content = fragmentCache.get(key, ttl == null ? null : Duration.parse(ttl), () -> {
+                final StringWriter writer = new StringWriter();
+                body.render(writer);
+                return writer.toString();
+            });
+        } catch (TemplateException | IOException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new TemplateModelException(e);
+        }
+        env.getOut().write(content);
+    }
+
+    @Nullable
+    @SuppressWarnings("rawtypes")
+    private static String getString(Map params, String name) throws TemplateModelException {
+        final Object value = params.get(name);
+        if (value == null) {
+            return null;
+        }
+        if (!(value instanceof TemplateScalarModel)) {
+            throw new TemplateModelException("The " + name + " parameter of the " + NAME + " directive must be a string");
+        }
+        return ((TemplateScalarModel) value).getAsString();
+    }
+}
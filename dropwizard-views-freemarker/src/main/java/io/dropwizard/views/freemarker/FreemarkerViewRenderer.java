@@ -3,24 +3,32 @@ package io.dropwizard.views.freemarker;
 import com.github.benmanes.caffeine.cache.CacheLoader;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.cache.LoadingCache;
+import freemarker.core.Environment;
 import freemarker.core.HTMLOutputFormat;
 import freemarker.template.Configuration;
 import freemarker.template.DefaultObjectWrapperBuilder;
 import freemarker.template.Template;
 import freemarker.template.Version;
+import io.dropwizard.views.FragmentCache;
 import io.dropwizard.views.View;
 import io.dropwizard.views.ViewRenderException;
 import io.dropwizard.views.ViewRenderer;
+import io.dropwizard.views.ViewRenderingOptions;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.io.IOException;
 import java.io.OutputStream;
-import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 
 /**
@@ -28,11 +36,14 @@ import java.util.regex.Pattern;
  */
 public class FreemarkerViewRenderer implements ViewRenderer {
     private static final Pattern FILE_PATTERN = Pattern.compile("\\.ftl[hx]?");
+    private static final Locale PRECOMPILED_LOCALE = Locale.getDefault();
     private final TemplateLoader loader;
 
     private static class TemplateLoader implements CacheLoader<Class<?>, Configuration> {
         private final Version incompatibleImprovementsVersion;
         private Map<String, String> baseConfig = Collections.emptyMap();
+        @Nullable
+        private FragmentCache fragmentCache;
 
         private TemplateLoader(Version incompatibleImprovementsVersion) {
             this.incompatibleImprovementsVersion = incompatibleImprovementsVersion;
@@ -50,15 +61,22 @@ public class FreemarkerViewRenderer implements ViewRenderer {
             for (Map.Entry<String, String> entry : baseConfig.entrySet()) {
                 configuration.setSetting(entry.getKey(), entry.getValue());
             }
+            configuration.setSharedVariable(FragmentCacheDirective.NAME, new FragmentCacheDirective(fragmentCache));
             return configuration;
         }
 
         void setBaseConfig(Map<String, String> baseConfig) {
             this.baseConfig = baseConfig;
         }
+
+        void setFragmentCache(@Nullable FragmentCache fragmentCache) {
+            this.fragmentCache = fragmentCache;
+        }
     }
 
     private final LoadingCache<Class<?>, Configuration> configurationCache;
+    private final Map<Class<?>, Set<String>> precompiledTemplates = new ConcurrentHashMap<>();
+    private ViewRenderingOptions renderingOptions = ViewRenderingOptions.parse(Collections.emptyMap());
 
     /**
      * @deprecated Use {@link #FreemarkerViewRenderer(Version)} instead.
@@ -90,18 +108,96 @@ public class FreemarkerViewRenderer implements ViewRenderer {
             throw new ViewRenderException("Couldn't find view class " + view.getClass());
         }
 
+        // Precompiled templates without localized variants are cached for a single locale, as looking them up for the
+        // locale of the request would compile them again for each locale
+        final Locale lookupLocale = precompiledTemplates.getOrDefault(view.getClass(), Collections.emptySet())
+            .contains(view.getTemplateName()) ? PRECOMPILED_LOCALE : locale;
         try {
-            final Charset charset = view.getCharset().orElseGet(() -> Charset.forName(configuration.getEncoding(locale)));
-            final Template template = configuration.getTemplate(view.getTemplateName(), locale, charset.name());
-            template.process(view, new OutputStreamWriter(output, template.getEncoding()));
+            final Charset charset = view.getCharset()
+                .orElseGet(() -> Charset.forName(configuration.getEncoding(lookupLocale)));
+            final Template template = configuration.getTemplate(view.getTemplateName(), lookupLocale, charset.name());
+            final Writer writer = renderingOptions.newWriter(output, Charset.forName(template.getEncoding()));
+            final Environment environment = template.createProcessingEnvironment(view, writer);
+            environment.setLocale(locale);
+            environment.process();
+            writer.flush();
         } catch (Exception e) {
             throw new ViewRenderException(e);
         }
     }
 
+    @Override
+    public boolean precompile(Class<? extends View> viewClass, String templateName) throws IOException {
+        if (!FILE_PATTERN.matcher(templateName).find()) {
+            return false;
+        }
+
+        final Configuration configuration = configurationCache.get(viewClass);
+        if (configuration == null) {
+            throw new ViewRenderException("Couldn't find view class " + viewClass);
+        }
+
+        // Warms the template cache of the configuration for views without an explicit charset
+        try {
+            configuration.getTemplate(templateName, PRECOMPILED_LOCALE,
+                Charset.forName(configuration.getEncoding(PRECOMPILED_LOCALE)).name());
+        } catch (IOException e) {
+            throw new ViewRenderException("Unable to compile template " + templateName, e);
+        }
+        if (!hasLocalizedVariants(configuration, templateName)) {
+            precompiledTemplates.computeIfAbsent(viewClass, key -> ConcurrentHashMap.newKeySet()).add(templateName);
+        }
+        return true;
+    }
+
+    /**
+     * @return whether the template has a localized variant for any of the available locales, e.g.
+     * {@code person_de.ftlh} for {@code person.ftlh}, which has to be looked up for the locale of each request
+     */
+    private static boolean hasLocalizedVariants(Configuration configuration, String templateName) throws IOException {
+        final String name = templateName.startsWith("/") ? templateName.substring(1) : templateName;
+        final int extension = name.lastIndexOf('.');
+        final Set<String> variants = new HashSet<>();
+        for (Locale locale : Locale.getAvailableLocales()) {
+            // The names FreeMarker's localized lookup tries, e.g. person_de_CH.ftlh and person_de.ftlh
+            for (String localeName = locale.toString(); !localeName.isEmpty();
+                 localeName = localeName.substring(0, Math.max(localeName.lastIndexOf('_'), 0))) {
+                variants.add(name.substring(0, extension) + "_" + localeName + name.substring(extension));
+            }
+        }
+
+        final freemarker.cache.TemplateLoader templateLoader = configuration.getTemplateLoader();
+        for (String variant : variants) {
+            final Object source = templateLoader.findTemplateSource(variant);
+            if (source != null) {
+                templateLoader.closeTemplateSource(source);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the FreeMarker configuration used to render the templates of the given view class
+     */
+    @Nullable
+    Configuration getConfiguration(Class<?> viewClass) {
+        return configurationCache.get(viewClass);
+    }
+
     @Override
     public void configure(Map<String, String> baseConfig) {
-        this.loader.setBaseConfig(baseConfig);
+        this.renderingOptions = ViewRenderingOptions.parse(baseConfig);
+        this.loader.setBaseConfig(ViewRenderingOptions.withoutRenderingOptions(baseConfig));
+        this.loader.setFragmentCache(renderingOptions.getFragmentCache().orElse(null));
+    }
+
+    /**
+     * @return the fragment cache of the renderer, if it's enabled
+     * @since 2.1
+     */
+    public Optional<FragmentCache> getFragmentCache() {
+        return renderingOptions.getFragmentCache();
     }
 
     @Override
@@ -0,0 +1,16 @@
+package io.dropwizard.views.freemarker;
+
+import io.dropwizard.views.View;
+
+public class FragmentView extends View {
+    private final String name;
+
+    public FragmentView(String name) {
+        super("/fragment.ftlh");
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+}
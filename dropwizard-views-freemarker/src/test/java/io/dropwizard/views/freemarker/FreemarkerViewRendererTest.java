@@ -2,11 +2,14 @@ package io.dropwizard.views.freemarker;
 
 import com.codahale.metrics.MetricRegistry;
 
+import freemarker.cache.CacheStorageWithGetSize;
 import freemarker.template.Configuration;
 import io.dropwizard.logging.BootstrapLogging;
 import io.dropwizard.views.ViewMessageBodyWriter;
+import io.dropwizard.views.ViewRenderException;
 import io.dropwizard.views.ViewRenderExceptionMapper;
 import io.dropwizard.views.ViewRenderer;
+import io.dropwizard.views.ViewRenderingOptions;
 import org.glassfish.jersey.server.ResourceConfig;
 import org.glassfish.jersey.test.JerseyTest;
 import org.junit.jupiter.api.AfterEach;
@@ -26,8 +29,12 @@ import javax.ws.rs.core.Application;
 import javax.ws.rs.core.Form;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
+import java.util.Locale;
 
+import static java.util.Objects.requireNonNull;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 
@@ -136,4 +143,84 @@ class FreemarkerViewRendererTest extends JerseyTest {
         assertThat(response.getHeaderString("content-type")).isEqualToIgnoringCase(MediaType.TEXT_HTML);
         assertThat(response.readEntity(String.class)).doesNotContain(unsafe);
     }
+
+    @Test
+    void precompilesTemplates() throws Exception {
+        final FreemarkerViewRenderer renderer = new FreemarkerViewRenderer(Configuration.VERSION_2_3_30);
+
+        assertThat(renderer.precompile(RelativeView.class, "/io/dropwizard/views/freemarker/relative.ftl")).isTrue();
+        assertThat(renderer.precompile(RelativeView.class, "/example.mustache")).isFalse();
+    }
+
+    @Test
+    void doesNotRecompilePrecompiledTemplatesForOtherLocales() throws Exception {
+        final FreemarkerViewRenderer renderer = new FreemarkerViewRenderer(Configuration.VERSION_2_3_30);
+        renderer.configure(Collections.emptyMap());
+        final Locale otherLocale = Locale.GERMAN.equals(Locale.getDefault()) ? Locale.FRENCH : Locale.GERMAN;
+        renderer.precompile(AbsoluteView.class, "/example.ftlh");
+        final CacheStorageWithGetSize templates =
+            (CacheStorageWithGetSize) requireNonNull(renderer.getConfiguration(AbsoluteView.class)).getCacheStorage();
+        assertThat(templates.getSize()).isEqualTo(1);
+
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        renderer.render(new AbsoluteView("yay"), otherLocale, output);
+
+        assertThat(output.toString(StandardCharsets.UTF_8.name())).isEqualTo("Woop woop. yay\n");
+        assertThat(templates.getSize()).isEqualTo(1);
+    }
+
+    @Test
+    void looksUpLocalizedVariantsOfPrecompiledTemplates() throws Exception {
+        final FreemarkerViewRenderer renderer = new FreemarkerViewRenderer(Configuration.VERSION_2_3_30);
+        renderer.configure(Collections.emptyMap());
+        renderer.precompile(LocalizedView.class, "/localized.ftlh");
+
+        final ByteArrayOutputStream german = new ByteArrayOutputStream();
+        renderer.render(new LocalizedView(), Locale.GERMANY, german);
+        final ByteArrayOutputStream japanese = new ByteArrayOutputStream();
+        renderer.render(new LocalizedView(), Locale.JAPANESE, japanese);
+
+        assertThat(german.toString(StandardCharsets.UTF_8.name())).isEqualTo("Hallo\n");
+        assertThat(japanese.toString(StandardCharsets.UTF_8.name())).isEqualTo("Hello\n");
+    }
+
+    @Test
+    void failsToPrecompileBrokenTemplates() {
+        final FreemarkerViewRenderer renderer = new FreemarkerViewRenderer(Configuration.VERSION_2_3_30);
+
+        assertThatExceptionOfType(ViewRenderException.class)
+            .isThrownBy(() -> renderer.precompile(ErrorView.class, "/syntax-error.ftl"))
+            .withMessageContaining("/syntax-error.ftl");
+        assertThatExceptionOfType(ViewRenderException.class)
+            .isThrownBy(() -> renderer.precompile(BadView.class, "/woo-oo-ahh.txt.ftl"));
+    }
+
+    @Test
+    void rendersCachedFragments() throws Exception {
+        final FreemarkerViewRenderer renderer = new FreemarkerViewRenderer(Configuration.VERSION_2_3_30);
+        renderer.configure(Collections.singletonMap(ViewRenderingOptions.FRAGMENT_CACHE_SIZE, "10"));
+
+        final ByteArrayOutputStream first = new ByteArrayOutputStream();
+        renderer.render(new FragmentView("Alice"), Locale.ENGLISH, first);
+        final ByteArrayOutputStream second = new ByteArrayOutputStream();
+        renderer.render(new FragmentView("Bob"), Locale.ENGLISH, second);
+
+        assertThat(first.toString(StandardCharsets.UTF_8.name())).isEqualTo("Hello Alice! Bye Alice!\n");
+        assertThat(second.toString(StandardCharsets.UTF_8.name())).isEqualTo("Hello Alice! Bye Bob!\n");
+        assertThat(renderer.getFragmentCache()).hasValueSatisfying(cache -> assertThat(cache.size()).isEqualTo(1));
+    }
+
+    @Test
+    void doesNotCacheFragmentsByDefault() throws Exception {
+        final FreemarkerViewRenderer renderer = new FreemarkerViewRenderer(Configuration.VERSION_2_3_30);
+        renderer.configure(Collections.emptyMap());
+
+        final ByteArrayOutputStream first = new ByteArrayOutputStream();
+        renderer.render(new FragmentView("Alice"), Locale.ENGLISH, first);
+        final ByteArrayOutputStream second = new ByteArrayOutputStream();
+        renderer.render(new FragmentView("Bob"), Locale.ENGLISH, second);
+
+        assertThat(second.toString(StandardCharsets.UTF_8.name())).isEqualTo("Hello Bob! Bye Bob!\n");
+        assertThat(renderer.getFragmentCache()).isEmpty();
+    }
 }
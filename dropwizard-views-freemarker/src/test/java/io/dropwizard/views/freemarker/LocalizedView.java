@@ -0,0 +1,9 @@
+package io.dropwizard.views.freemarker;
+
+import io.dropwizard.views.View;
+
+public class LocalizedView extends View {
+    public LocalizedView() {
+        super("/localized.ftlh");
+    }
+}
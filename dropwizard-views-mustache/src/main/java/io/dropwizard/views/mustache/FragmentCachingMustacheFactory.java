@@ -0,0 +1,87 @@
+package io.dropwizard.views.mustache;
+
+import com.github.mustachejava.DefaultMustacheFactory;
+import com.github.mustachejava.DefaultMustacheVisitor;
+import com.github.mustachejava.Mustache;
+import com.github.mustachejava.MustacheException;
+import com.github.mustachejava.MustacheResolver;
+import com.github.mustachejava.MustacheVisitor;
+import com.github.mustachejava.TemplateContext;
+import com.github.mustachejava.codes.DefaultCode;
+import io.dropwizard.util.Duration;
+import io.dropwizard.views.FragmentCache;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * A {@link DefaultMustacheFactory} which renders sections named {@code cache:<key>} or {@code cache:<key>:<ttl>}
+ * through a {@link FragmentCache}, e.g. {@code {{#cache:navigation:10m}}...{{/cache:navigation:10m}}}. If the
+ * fragment cache is disabled, these sections are rendered on every execution.
+ */
+class FragmentCachingMustacheFactory extends DefaultMustacheFactory {
+    static final String PREFIX = "cache:";
+
+    @Nullable
+    private final FragmentCache fragmentCache;
+
+    FragmentCachingMustacheFactory(MustacheResolver resolver, @Nullable FragmentCache fragmentCache) {
+        super(resolver);
+        this.fragmentCache = fragmentCache;
+    }
+
+    @Override
+    public MustacheVisitor createMustacheVisitor() {
+        return new DefaultMustacheVisitor(this) {
+            @Override
+            public void iterable(TemplateContext templateContext, String variable, Mustache mustache) {
+                if (!variable.startsWith(PREFIX)) {
+                    super.iterable(templateContext, variable, mustache);
+                    return;
+                }
+
+                final String fragment = variable.substring(PREFIX.length());
+                final int separator = fragment.indexOf(':');
+                final String key = separator < 0 ? fragment : fragment.substring(0, separator);
+                final Duration ttl = separator < 0 ? null : Duration.parse(fragment.substring(separator + 1));
+                list.add(new FragmentCacheCode(templateContext, df, mustache, variable, key, ttl));
+            }
+        };
+    }
+
+    private class FragmentCacheCode extends DefaultCode {
+        private final String key;
+        @Nullable
+        private final Duration ttl;
+
+        private FragmentCacheCode(TemplateContext templateContext, DefaultMustacheFactory factory, Mustache mustache,
+                                  String variable, String key, @Nullable Duration ttl) {
+            super(templateContext, factory, mustache, variable, "#");
+            this.key = key;
+            this.ttl = ttl;
+        }
+
+        @Override
+        public Writer execute(Writer writer, List<Object> scopes) {
+            if (fragmentCache == null) {
+                return appendText(run(writer, scopes));
+            }
+
+            try {
+                writer.write(fragmentCache.get(key, ttl, () -> {
+                    final StringWriter fragment = new StringWriter();
+                    run(fragment, scopes);
+                    return fragment.toString();
+                }));
+            } catch (MustacheException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new MustacheException("Failed to render cached fragment " + key, e, tc);
+            }
+            return appendText(writer);
+        }
+    }
+}
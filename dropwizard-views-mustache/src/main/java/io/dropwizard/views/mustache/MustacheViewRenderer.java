@@ -3,20 +3,23 @@ package io.dropwizard.views.mustache;
 import com.github.benmanes.caffeine.cache.CacheLoader;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.cache.LoadingCache;
-import com.github.mustachejava.DefaultMustacheFactory;
 import com.github.mustachejava.Mustache;
 import com.github.mustachejava.MustacheFactory;
+import com.github.mustachejava.MustacheResolver;
 import com.github.mustachejava.resolver.FileSystemResolver;
+import io.dropwizard.views.FragmentCache;
 import io.dropwizard.views.View;
 import io.dropwizard.views.ViewRenderException;
 import io.dropwizard.views.ViewRenderer;
+import io.dropwizard.views.ViewRenderingOptions;
 
 import java.io.File;
 import java.io.IOException;
 import java.io.OutputStream;
-import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.util.Collections;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
@@ -30,6 +33,7 @@ public class MustacheViewRenderer implements ViewRenderer {
     private final LoadingCache<Class<? extends View>, MustacheFactory> factories;
     private boolean useCache = true;
     private Optional<File> fileRoot = Optional.empty();
+    private ViewRenderingOptions renderingOptions = ViewRenderingOptions.parse(Collections.emptyMap());
 
     public MustacheViewRenderer() {
         this.factories = Caffeine.newBuilder().build(new CacheLoader<Class<? extends View>, MustacheFactory>() {
@@ -52,7 +56,7 @@ public class MustacheViewRenderer implements ViewRenderer {
                     : createNewMustacheFactory(view.getClass());
             final Mustache template = mustacheFactory.compile(view.getTemplateName());
             final Charset charset = view.getCharset().orElse(StandardCharsets.UTF_8);
-            try (OutputStreamWriter writer = new OutputStreamWriter(output, charset)) {
+            try (Writer writer = renderingOptions.newWriter(output, charset)) {
                 template.execute(writer, view);
             }
         } catch (Throwable e) {
@@ -60,10 +64,35 @@ public class MustacheViewRenderer implements ViewRenderer {
         }
     }
 
+    @Override
+    public boolean precompile(Class<? extends View> viewClass, String templateName) throws IOException {
+        if (!FILE_PATTERN.matcher(templateName).find()) {
+            return false;
+        }
+
+        try {
+            final MustacheFactory mustacheFactory = useCache ? factories.get(viewClass)
+                    : createNewMustacheFactory(viewClass);
+            mustacheFactory.compile(templateName);
+        } catch (RuntimeException e) {
+            throw new ViewRenderException("Mustache template error: " + templateName, e);
+        }
+        return true;
+    }
+
     @Override
     public void configure(Map<String, String> options) {
         useCache = Optional.ofNullable(options.get("cache")).map(Boolean::parseBoolean).orElse(true);
         fileRoot = Optional.ofNullable(options.get("fileRoot")).map(File::new);
+        renderingOptions = ViewRenderingOptions.parse(options);
+    }
+
+    /**
+     * @return the fragment cache of the renderer, if it's enabled
+     * @since 2.1
+     */
+    public Optional<FragmentCache> getFragmentCache() {
+        return renderingOptions.getFragmentCache();
     }
 
     boolean isUseCache() {
@@ -76,8 +105,9 @@ public class MustacheViewRenderer implements ViewRenderer {
     }
 
     private MustacheFactory createNewMustacheFactory(Class<? extends View> key) {
-        return new DefaultMustacheFactory(
-                fileRoot.isPresent() ? new FileSystemResolver(fileRoot.get()) : new PerClassMustacheResolver(key));
+        final MustacheResolver resolver = fileRoot.isPresent() ? new FileSystemResolver(fileRoot.get())
+                : new PerClassMustacheResolver(key);
+        return new FragmentCachingMustacheFactory(resolver, renderingOptions.getFragmentCache().orElse(null));
     }
 
 }
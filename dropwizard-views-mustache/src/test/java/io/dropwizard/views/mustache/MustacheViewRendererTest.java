@@ -4,8 +4,10 @@ import com.codahale.metrics.MetricRegistry;
 import io.dropwizard.jersey.DropwizardResourceConfig;
 import io.dropwizard.logging.BootstrapLogging;
 import io.dropwizard.views.ViewMessageBodyWriter;
+import io.dropwizard.views.ViewRenderException;
 import io.dropwizard.views.ViewRenderExceptionMapper;
 import io.dropwizard.views.ViewRenderer;
+import io.dropwizard.views.ViewRenderingOptions;
 import org.glassfish.jersey.server.ResourceConfig;
 import org.glassfish.jersey.test.JerseyTest;
 import org.junit.jupiter.api.AfterEach;
@@ -18,9 +20,13 @@ import javax.ws.rs.Produces;
 import javax.ws.rs.WebApplicationException;
 import javax.ws.rs.core.Application;
 import javax.ws.rs.core.MediaType;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
+import java.util.Locale;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
 
 class MustacheViewRendererTest extends JerseyTest {
@@ -131,4 +137,54 @@ class MustacheViewRendererTest extends JerseyTest {
         mustacheViewRenderer.configure(Collections.singletonMap("cache", "false"));
         assertThat(mustacheViewRenderer.isUseCache()).isFalse();
     }
+
+    @Test
+    void precompilesTemplates() throws Exception {
+        final MustacheViewRenderer renderer = new MustacheViewRenderer();
+        renderer.configure(Collections.emptyMap());
+
+        assertThat(renderer.precompile(RelativeView.class, "/io/dropwizard/views/mustache/relative.mustache")).isTrue();
+        assertThat(renderer.precompile(RelativeView.class, "/example.ftl")).isFalse();
+    }
+
+    @Test
+    void failsToPrecompileBrokenTemplates() {
+        final MustacheViewRenderer renderer = new MustacheViewRenderer();
+        renderer.configure(Collections.emptyMap());
+
+        assertThatExceptionOfType(ViewRenderException.class)
+            .isThrownBy(() -> renderer.precompile(ErrorView.class, "/example-error.mustache"))
+            .withMessageContaining("/example-error.mustache");
+        assertThatExceptionOfType(ViewRenderException.class)
+            .isThrownBy(() -> renderer.precompile(BadView.class, "/woo-oo-ahh.txt.mustache"));
+    }
+
+    @Test
+    void rendersCachedFragments() throws Exception {
+        final MustacheViewRenderer renderer = new MustacheViewRenderer();
+        renderer.configure(Collections.singletonMap(ViewRenderingOptions.FRAGMENT_CACHE_SIZE, "10"));
+
+        final ByteArrayOutputStream first = new ByteArrayOutputStream();
+        renderer.render(new FragmentView("Alice"), Locale.ENGLISH, first);
+        final ByteArrayOutputStream second = new ByteArrayOutputStream();
+        renderer.render(new FragmentView("Bob"), Locale.ENGLISH, second);
+
+        assertThat(first.toString(StandardCharsets.UTF_8.name())).isEqualTo("Hello Alice! Bye Alice!\n");
+        assertThat(second.toString(StandardCharsets.UTF_8.name())).isEqualTo("Hello Alice! Bye Bob!\n");
+        assertThat(renderer.getFragmentCache()).hasValueSatisfying(cache -> assertThat(cache.size()).isEqualTo(1));
+    }
+
+    @Test
+    void doesNotCacheFragmentsByDefault() throws Exception {
+        final MustacheViewRenderer renderer = new MustacheViewRenderer();
+        renderer.configure(Collections.emptyMap());
+
+        final ByteArrayOutputStream first = new ByteArrayOutputStream();
+        renderer.render(new FragmentView("Alice"), Locale.ENGLISH, first);
+        final ByteArrayOutputStream second = new ByteArrayOutputStream();
+        renderer.render(new FragmentView("Bob"), Locale.ENGLISH, second);
+
+        assertThat(second.toString(StandardCharsets.UTF_8.name())).isEqualTo("Hello Bob! Bye Bob!\n");
+        assertThat(renderer.getFragmentCache()).isEmpty();
+    }
 }
@@ -0,0 +1,95 @@
+package io.dropwizard.views;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+
+/**
+ * An unsynchronized {@link Writer} which buffers the characters of a rendered view before encoding them, and which
+ * optionally flushes the underlying output stream every time its buffer has been written out, so that large views are
+ * streamed to the client while they're being rendered.
+ */
+class BufferedViewWriter extends Writer {
+    private final Writer out;
+    private final char[] buffer;
+    private final boolean flushWhenFull;
+    private int count;
+
+    BufferedViewWriter(OutputStream output, Charset charset, int bufferSize, boolean flushWhenFull) {
+        this.out = new OutputStreamWriter(output, charset);
+        this.buffer = new char[bufferSize];
+        this.flushWhenFull = flushWhenFull;
+    }
+
+    @Override
+    public void write(int c) throws IOException {
+        if (count == buffer.length) {
+            writeBuffer();
+        }
+        buffer[count++] = (char) c;
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+        if (len > buffer.length - count) {
+            writeBuffer();
+            if (len >= buffer.length) {
+                // Large chunks would only be copied twice
+                out.write(cbuf, off, len);
+                if (flushWhenFull) {
+                    out.flush();
+                }
+                return;
+            }
+        }
+        System.arraycopy(cbuf, off, buffer, count, len);
+        count += len;
+    }
+
+    @Override
+    public void write(String str, int off, int len) throws IOException {
+        int offset = off;
+        int remaining = len;
+        while (remaining > 0) {
+            if (count == buffer.length) {
+                writeBuffer();
+            }
+            final int chunk = Math.min(buffer.length - count, remaining);
+            str.getChars(offset, offset + chunk, buffer, count);
+            count += chunk;
+            offset += chunk;
+            remaining -= chunk;
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (count > 0) {
+            out.write(buffer, 0, count);
+            count = 0;
+        }
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (count > 0) {
+            out.write(buffer, 0, count);
+            count = 0;
+        }
+        out.close();
+    }
+
+    private void writeBuffer() throws IOException {
+        if (count == 0) {
+            return;
+        }
+        out.write(buffer, 0, count);
+        count = 0;
+        if (flushWhenFull) {
+            out.flush();
+        }
+    }
+}
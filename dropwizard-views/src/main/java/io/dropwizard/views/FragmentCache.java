@@ -0,0 +1,113 @@
+package io.dropwizard.views;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.dropwizard.util.Duration;
+
+import javax.annotation.Nullable;
+import java.util.concurrent.Callable;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A bounded cache of rendered template fragments, which lets templates reuse sections whose content doesn't depend
+ * on the rendered view, e.g. navigation menus or catalog listings.
+ * <p>
+ * Each fragment is stored under a key chosen by the template, and expires once its time-to-live has passed. If the
+ * cache grows beyond its maximum size, the least recently used fragments are evicted.
+ * </p>
+ *
+ * @see ViewRenderingOptions#FRAGMENT_CACHE_SIZE
+ * @since 2.1
+ */
+public class FragmentCache {
+    private final Cache<String, Fragment> fragments;
+    private final Duration defaultTtl;
+
+    /**
+     * @param maximumSize the maximum number of fragments in the cache
+     * @param defaultTtl  the time-to-live of fragments which don't specify their own
+     */
+    public FragmentCache(long maximumSize, Duration defaultTtl) {
+        this.fragments = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfter(new FragmentExpiry())
+            .build();
+        this.defaultTtl = requireNonNull(defaultTtl);
+    }
+
+    /**
+     * Returns the content of the fragment with the given key, rendering and caching it if it isn't cached yet.
+     * <p>
+     * Fragments are rendered on the calling thread without holding any lock, so that cached fragments may be nested.
+     * Concurrent misses of the same key may therefore both render the fragment.
+     * </p>
+     *
+     * @param key      the key of the fragment
+     * @param ttl      the time-to-live of the fragment, or {@code null} to use the default one
+     * @param renderer renders the content of the fragment on a cache miss
+     * @return the content of the fragment
+     * @throws Exception if the fragment can't be rendered
+     */
+    public String get(String key, @Nullable Duration ttl, Callable<String> renderer) throws Exception {
+        final Fragment cached = fragments.getIfPresent(key);
+        if (cached != null) {
+            return cached.content;
+        }
+
+        final String content = renderer.call();
+        fragments.put(key, new Fragment(content, (ttl == null ? defaultTtl : ttl).toNanoseconds()));
+        return content;
+    }
+
+    /**
+     * Removes the fragment with the given key from the cache.
+     *
+     * @param key the key of the fragment
+     */
+    public void invalidate(String key) {
+        fragments.invalidate(key);
+    }
+
+    /**
+     * Removes all fragments from the cache.
+     */
+    public void invalidateAll() {
+        fragments.invalidateAll();
+    }
+
+    /**
+     * @return the approximate number of fragments in the cache
+     */
+    public long size() {
+        return fragments.estimatedSize();
+    }
+
+    private static final class Fragment {
+        private final String content;
+        private final long ttlNanos;
+
+        private Fragment(String content, long ttlNanos) {
+            this.content = content;
+            this.ttlNanos = ttlNanos;
+        }
+    }
+
+    private static class FragmentExpiry implements Expiry<String, Fragment> {
+        @Override
+        public long expireAfterCreate(String key, Fragment value, long currentTime) {
+            return value.ttlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Fragment value, long currentTime, long currentDuration) {
+            return value.ttlNanos;
+        }
+
+        @Override
+        public long expireAfterRead(String key, Fragment value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
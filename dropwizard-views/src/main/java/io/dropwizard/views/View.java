@@ -31,7 +31,7 @@ public abstract class View {
      * @param charset      the character set for {@code templateName}
      */
     protected View(String templateName, @Nullable Charset charset) {
-        this.templateName = resolveName(templateName);
+        this.templateName = resolveTemplateName(getClass(), templateName);
         this.charset = charset;
     }
 
@@ -55,11 +55,11 @@ public abstract class View {
         return Optional.ofNullable(charset);
     }
 
-    private String resolveName(String templateName) {
+    static String resolveTemplateName(Class<?> viewClass, String templateName) {
         if (templateName.startsWith("/")) {
             return templateName;
         }
-        final String packagePath = getClass().getPackage().getName().replace('.', '/');
+        final String packagePath = viewClass.getPackage().getName().replace('.', '/');
         return String.format("/%s/%s", packagePath, templateName);
     }
 }
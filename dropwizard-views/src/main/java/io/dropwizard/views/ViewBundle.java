@@ -3,10 +3,22 @@ package io.dropwizard.views;
 import io.dropwizard.ConfiguredBundle;
 import io.dropwizard.setup.Environment;
 import io.dropwizard.util.Sets;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.TreeSet;
 
 
 /**
@@ -83,8 +95,14 @@ import java.util.ServiceLoader;
  * <p>In this template, {@code {{person.name}}} calls {@code getPerson().getName()}.</p>
  *
  * See Also: <a href="http://mustache.github.io/mustache.5.html">Mustache Manual</a>
+ *
+ * <p>Templates listed by {@link #getPrecompiledTemplates(Object)} or indexed by the
+ * {@link ViewTemplateIndexProcessor} from {@link ViewTemplates} annotations are compiled when the application starts,
+ * so that the first requests don't pay for it and broken templates prevent the application from starting.</p>
  */
 public class ViewBundle<T> implements ConfiguredBundle<T>, ViewConfigurable<T> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ViewBundle.class);
+
     private final Iterable<ViewRenderer> viewRenderers;
 
     public ViewBundle() {
@@ -100,6 +118,19 @@ public class ViewBundle<T> implements ConfiguredBundle<T>, ViewConfigurable<T> {
         return Collections.emptyMap();
     }
 
+    /**
+     * Returns the templates to compile when the application starts, in addition to the ones indexed from
+     * {@link ViewTemplates} annotations.
+     *
+     * @param configuration the application's configuration
+     * @return the names of the templates of each view class, relative to the package of the view class unless they
+     * start with a slash
+     * @since 2.1
+     */
+    public Map<Class<? extends View>, Collection<String>> getPrecompiledTemplates(T configuration) {
+        return Collections.emptyMap();
+    }
+
     @Override
     public void run(T configuration, Environment environment) throws Exception {
         final Map<String, Map<String, String>> options = getViewConfiguration(configuration);
@@ -107,6 +138,71 @@ public class ViewBundle<T> implements ConfiguredBundle<T>, ViewConfigurable<T> {
             final Map<String, String> viewOptions = options.get(viewRenderer.getConfigurationKey());
             viewRenderer.configure(viewOptions == null ? Collections.emptyMap() : viewOptions);
         }
+        precompileTemplates(getPrecompiledTemplates(configuration), getClassLoader());
         environment.jersey().register(new ViewMessageBodyWriter(environment.metrics(), viewRenderers));
     }
+
+    void precompileTemplates(Map<Class<? extends View>, Collection<String>> configured, ClassLoader classLoader)
+            throws IOException {
+        final Map<Class<? extends View>, Set<String>> templates = readTemplateIndex(classLoader);
+        configured.forEach((viewClass, names) ->
+            templates.computeIfAbsent(viewClass, key -> new TreeSet<>()).addAll(names));
+
+        int precompiled = 0;
+        for (Map.Entry<Class<? extends View>, Set<String>> entry : templates.entrySet()) {
+            for (String name : entry.getValue()) {
+                final String templateName = View.resolveTemplateName(entry.getKey(), name);
+                if (precompile(entry.getKey(), templateName)) {
+                    precompiled++;
+                } else {
+                    LOGGER.warn("No view renderer precompiled the template {} of {}", templateName, entry.getKey());
+                }
+            }
+        }
+        if (precompiled > 0) {
+            LOGGER.info("Precompiled {} view templates", precompiled);
+        }
+    }
+
+    private boolean precompile(Class<? extends View> viewClass, String templateName) throws IOException {
+        for (ViewRenderer viewRenderer : viewRenderers) {
+            if (viewRenderer.precompile(viewClass, templateName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Map<Class<? extends View>, Set<String>> readTemplateIndex(ClassLoader classLoader)
+            throws IOException {
+        final Map<Class<? extends View>, Set<String>> templates = new LinkedHashMap<>();
+        final Enumeration<URL> resources = classLoader.getResources(ViewTemplateIndexProcessor.INDEX_RESOURCE);
+        while (resources.hasMoreElements()) {
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                resources.nextElement().openStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    final int separator = line.indexOf(' ');
+                    if (separator > 0) {
+                        templates.computeIfAbsent(loadViewClass(line.substring(0, separator), classLoader),
+                            key -> new TreeSet<>()).add(line.substring(separator + 1).trim());
+                    }
+                }
+            }
+        }
+        return templates;
+    }
+
+    private static Class<? extends View> loadViewClass(String name, ClassLoader classLoader) {
+        try {
+            return Class.forName(name, false, classLoader).asSubclass(View.class);
+        } catch (ClassNotFoundException | ClassCastException e) {
+            throw new IllegalStateException("Indexed view class " + name + " not found", e);
+        }
+    }
+
+    private static ClassLoader getClassLoader() {
+        final ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        return classLoader != null ? classLoader : ViewBundle.class.getClassLoader();
+    }
 }
@@ -21,6 +21,8 @@ import java.lang.reflect.Type;
 import java.util.List;
 import java.util.Locale;
 import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import static com.codahale.metrics.MetricRegistry.name;
 import static java.util.Objects.requireNonNull;
@@ -39,6 +41,7 @@ public class ViewMessageBodyWriter implements MessageBodyWriter<View> {
 
     private final Iterable<ViewRenderer> renderers;
     private final MetricRegistry metricRegistry;
+    private final ConcurrentMap<Class<?>, ViewClassRenderers> viewClassRenderers = new ConcurrentHashMap<>();
 
     @Deprecated
     public ViewMessageBodyWriter(MetricRegistry metricRegistry) {
@@ -72,15 +75,15 @@ public class ViewMessageBodyWriter implements MessageBodyWriter<View> {
                         MediaType mediaType,
                         MultivaluedMap<String, Object> httpHeaders,
                         OutputStream entityStream) throws IOException {
-        final Timer.Context context = metricRegistry.timer(name(t.getClass(), "rendering")).time();
+        final ViewClassRenderers classRenderers = viewClassRenderers.computeIfAbsent(t.getClass(),
+            key -> new ViewClassRenderers(metricRegistry.timer(name(key, "rendering"))));
+        final Timer.Context context = classRenderers.timer.time();
         try {
-            for (ViewRenderer renderer : renderers) {
-                if (renderer.isRenderable(t)) {
-                    renderer.render(t, detectLocale(requireNonNull(headers)), entityStream);
-                    return;
-                }
+            final ViewRenderer renderer = classRenderers.getRenderer(t);
+            if (renderer == null) {
+                throw new ViewRenderException("Unable to find a renderer for " + t.getTemplateName());
             }
-            throw new ViewRenderException("Unable to find a renderer for " + t.getTemplateName());
+            renderer.render(t, detectLocale(requireNonNull(headers)), entityStream);
         } catch (ViewRenderException e) {
             throw new WebApplicationException(e);
         } finally {
@@ -107,4 +110,33 @@ public class ViewMessageBodyWriter implements MessageBodyWriter<View> {
     Iterable<ViewRenderer> getRenderers() {
         return renderers;
     }
+
+    /**
+     * The rendering timer of a view class, and the renderers of its templates. Renderers are expected to decide
+     * whether they render a view based on its class and template name only.
+     */
+    private final class ViewClassRenderers {
+        private final Timer timer;
+        private final ConcurrentMap<String, ViewRenderer> templateRenderers = new ConcurrentHashMap<>();
+
+        private ViewClassRenderers(Timer timer) {
+            this.timer = timer;
+        }
+
+        @Nullable
+        private ViewRenderer getRenderer(View view) {
+            final ViewRenderer cached = templateRenderers.get(view.getTemplateName());
+            if (cached != null) {
+                return cached;
+            }
+
+            for (ViewRenderer renderer : renderers) {
+                if (renderer.isRenderable(view)) {
+                    templateRenderers.putIfAbsent(view.getTemplateName(), renderer);
+                    return renderer;
+                }
+            }
+            return null;
+        }
+    }
 }
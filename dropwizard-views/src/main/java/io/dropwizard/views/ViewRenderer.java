@@ -32,6 +32,20 @@ public interface ViewRenderer {
                 Locale locale,
                 OutputStream output) throws IOException;
 
+    /**
+     * Compiles the given template of the given view class ahead of its first rendering, so that it's cached and its
+     * errors are detected when the application starts.
+     *
+     * @param viewClass    the class of the view the template is rendered for
+     * @param templateName the absolute name of the template resource, as returned by {@link View#getTemplateName()}
+     * @return {@code true} if the renderer renders the template, {@code false} if it's not responsible for it
+     * @throws IOException if the template can't be found or compiled
+     * @since 2.1
+     */
+    default boolean precompile(Class<? extends View> viewClass, String templateName) throws IOException {
+        return false;
+    }
+
     /**
       * options for configuring the view renderer
       * @param options
@@ -0,0 +1,138 @@
+package io.dropwizard.views;
+
+import io.dropwizard.util.Duration;
+import io.dropwizard.util.Sets;
+
+import javax.annotation.Nullable;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * The renderer independent options of a {@link ViewRenderer}, which are parsed from the same options map as the
+ * renderer specific ones:
+ * <ul>
+ *     <li>{@value #BUFFER_SIZE}: the number of characters which are buffered before being encoded and written to the
+ *     response (default: {@value #DEFAULT_BUFFER_SIZE})</li>
+ *     <li>{@value #FLUSH_POLICY}: {@code on_completion} to only flush the response once the view has been rendered,
+ *     or {@code when_full} to also flush it every time the buffer is full, so that large views are streamed to the
+ *     client (default: {@code on_completion})</li>
+ *     <li>{@value #FRAGMENT_CACHE_SIZE}: the maximum number of fragments in the {@link FragmentCache} of the
+ *     renderer. The cache is disabled if it isn't set.</li>
+ *     <li>{@value #FRAGMENT_CACHE_TTL}: the time-to-live of cached fragments which don't specify their own
+ *     (default: 5 minutes)</li>
+ * </ul>
+ *
+ * @since 2.1
+ */
+public final class ViewRenderingOptions {
+    public static final String BUFFER_SIZE = "bufferSize";
+    public static final String FLUSH_POLICY = "flushPolicy";
+    public static final String FRAGMENT_CACHE_SIZE = "fragmentCacheSize";
+    public static final String FRAGMENT_CACHE_TTL = "fragmentCacheTtl";
+
+    public static final int DEFAULT_BUFFER_SIZE = 8192;
+    private static final Duration DEFAULT_FRAGMENT_CACHE_TTL = Duration.minutes(5);
+    private static final Set<String> NAMES = Sets.of(BUFFER_SIZE, FLUSH_POLICY, FRAGMENT_CACHE_SIZE,
+        FRAGMENT_CACHE_TTL);
+
+    /**
+     * When the rendered view is flushed to the response.
+     */
+    public enum FlushPolicy {
+        /**
+         * Only flush the response once the view has been rendered.
+         */
+        ON_COMPLETION,
+
+        /**
+         * Flush the response every time the buffer is full, and once the view has been rendered.
+         */
+        WHEN_FULL
+    }
+
+    private final int bufferSize;
+    private final FlushPolicy flushPolicy;
+    @Nullable
+    private final FragmentCache fragmentCache;
+
+    private ViewRenderingOptions(int bufferSize, FlushPolicy flushPolicy, @Nullable FragmentCache fragmentCache) {
+        this.bufferSize = bufferSize;
+        this.flushPolicy = flushPolicy;
+        this.fragmentCache = fragmentCache;
+    }
+
+    /**
+     * Parses the rendering options from the given options of a renderer.
+     *
+     * @param options the options of a renderer, as passed to {@link ViewRenderer#configure(Map)}
+     * @return the rendering options
+     * @throws IllegalArgumentException if an option is invalid
+     */
+    public static ViewRenderingOptions parse(Map<String, String> options) {
+        final int bufferSize = Optional.ofNullable(options.get(BUFFER_SIZE))
+            .map(Integer::parseInt)
+            .orElse(DEFAULT_BUFFER_SIZE);
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException(BUFFER_SIZE + " must be positive, but was " + bufferSize);
+        }
+
+        final FlushPolicy flushPolicy = Optional.ofNullable(options.get(FLUSH_POLICY))
+            .map(policy -> FlushPolicy.valueOf(policy.trim().toUpperCase(Locale.ENGLISH)))
+            .orElse(FlushPolicy.ON_COMPLETION);
+
+        final String fragmentCacheSize = options.get(FRAGMENT_CACHE_SIZE);
+        final FragmentCache fragmentCache = fragmentCacheSize == null ? null
+            : new FragmentCache(Long.parseLong(fragmentCacheSize), Optional.ofNullable(options.get(FRAGMENT_CACHE_TTL))
+                .map(Duration::parse)
+                .orElse(DEFAULT_FRAGMENT_CACHE_TTL));
+
+        return new ViewRenderingOptions(bufferSize, flushPolicy, fragmentCache);
+    }
+
+    /**
+     * Returns the given options of a renderer without the rendering options, for renderers which pass their options
+     * on to their template engine.
+     *
+     * @param options the options of a renderer, as passed to {@link ViewRenderer#configure(Map)}
+     * @return the renderer specific options
+     */
+    public static Map<String, String> withoutRenderingOptions(Map<String, String> options) {
+        final Map<String, String> remaining = new LinkedHashMap<>(options);
+        remaining.keySet().removeAll(NAMES);
+        return Collections.unmodifiableMap(remaining);
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public FlushPolicy getFlushPolicy() {
+        return flushPolicy;
+    }
+
+    /**
+     * @return the fragment cache of the renderer, if it's enabled
+     */
+    public Optional<FragmentCache> getFragmentCache() {
+        return Optional.ofNullable(fragmentCache);
+    }
+
+    /**
+     * Creates the writer a view is rendered to. The writer is unsynchronized, and must be flushed or closed once the
+     * view has been rendered.
+     *
+     * @param output  the output stream of the response
+     * @param charset the charset of the rendered view
+     * @return a buffered writer to {@code output}
+     */
+    public Writer newWriter(OutputStream output, Charset charset) {
+        return new BufferedViewWriter(output, charset, bufferSize, flushPolicy == FlushPolicy.WHEN_FULL);
+    }
+}
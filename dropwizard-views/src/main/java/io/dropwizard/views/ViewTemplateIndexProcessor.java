@@ -0,0 +1,110 @@
+package io.dropwizard.views;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.util.Elements;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * An annotation processor which writes the templates of all classes annotated with {@link ViewTemplates} to the
+ * {@value #INDEX_RESOURCE} resource, which {@link ViewBundle} reads to compile them when the application starts.
+ * <p>
+ * The processor isn't registered as a service, so that it doesn't run in every build depending on
+ * {@code dropwizard-views}. It has to be enabled explicitly, e.g. with
+ * {@code -processor io.dropwizard.views.ViewTemplateIndexProcessor}. Templates of previous incremental compilations
+ * are kept in the index as long as their classes are still annotated.
+ * </p>
+ *
+ * @since 2.1
+ */
+public class ViewTemplateIndexProcessor extends AbstractProcessor {
+    /**
+     * The name of the resource listing the binary name of a view class and the name of one of its templates,
+     * separated by a space, per line.
+     */
+    public static final String INDEX_RESOURCE = "META-INF/dropwizard/view-templates";
+
+    private final Map<String, Set<String>> templates = new TreeMap<>();
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return Collections.singleton(ViewTemplates.class.getName());
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        final Elements elements = processingEnv.getElementUtils();
+        for (Element element : roundEnv.getElementsAnnotatedWith(ViewTemplates.class)) {
+            final ViewTemplates viewTemplates = element.getAnnotation(ViewTemplates.class);
+            if (element instanceof TypeElement && viewTemplates != null) {
+                final Set<String> names = templates.computeIfAbsent(
+                    elements.getBinaryName((TypeElement) element).toString(), key -> new TreeSet<>());
+                Collections.addAll(names, viewTemplates.value());
+            }
+        }
+
+        if (roundEnv.processingOver() && !templates.isEmpty()) {
+            writeIndex();
+        }
+        return false;
+    }
+
+    private void writeIndex() {
+        final Filer filer = processingEnv.getFiler();
+        final Set<String> index = new TreeSet<>();
+        templates.forEach((viewClass, names) -> names.forEach(name -> index.add(viewClass + ' ' + name)));
+        try {
+            final FileObject existing = filer.getResource(StandardLocation.CLASS_OUTPUT, "", INDEX_RESOURCE);
+            try (Reader reader = existing.openReader(true); BufferedReader lines = new BufferedReader(reader)) {
+                String line;
+                while ((line = lines.readLine()) != null) {
+                    final int separator = line.indexOf(' ');
+                    if (separator > 0 && isStillAnnotated(line.substring(0, separator))) {
+                        index.add(line.trim());
+                    }
+                }
+            }
+        } catch (IOException e) {
+            // There's no index of a previous compilation
+        }
+
+        try (Writer writer = filer.createResource(StandardLocation.CLASS_OUTPUT, "", INDEX_RESOURCE).openWriter()) {
+            for (String entry : index) {
+                writer.write(entry);
+                writer.write('\n');
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                "Unable to write " + INDEX_RESOURCE + ": " + e.getMessage());
+        }
+    }
+
+    private boolean isStillAnnotated(String binaryName) {
+        // Classes of this compilation have been indexed with their current templates
+        if (templates.containsKey(binaryName)) {
+            return false;
+        }
+        final TypeElement type = processingEnv.getElementUtils().getTypeElement(binaryName.replace('$', '.'));
+        return type != null && type.getAnnotation(ViewTemplates.class) != null;
+    }
+}
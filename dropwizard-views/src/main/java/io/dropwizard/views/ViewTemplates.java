@@ -0,0 +1,30 @@
+package io.dropwizard.views;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Lists the templates a {@link View} class is rendered with, so that {@link ViewBundle} compiles them when the
+ * application starts. The templates are indexed at compile time by the {@link ViewTemplateIndexProcessor}.
+ *
+ * <pre>
+ * &#64;ViewTemplates({"profile.ftl", "profile-summary.ftl"})
+ * public class PersonView extends View {
+ *     ...
+ * }
+ * </pre>
+ *
+ * @since 2.1
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+public @interface ViewTemplates {
+    /**
+     * @return the names of the templates, relative to the package of the view class unless they start with a slash
+     */
+    String[] value();
+}
@@ -0,0 +1,55 @@
+package io.dropwizard.views;
+
+import io.dropwizard.util.Duration;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+class FragmentCacheTest {
+    private final FragmentCache cache = new FragmentCache(10, Duration.minutes(5));
+    private final AtomicInteger renderings = new AtomicInteger();
+
+    @Test
+    void rendersFragmentsOnce() throws Exception {
+        assertThat(cache.get("nav", null, () -> "nav-" + renderings.incrementAndGet())).isEqualTo("nav-1");
+        assertThat(cache.get("nav", null, () -> "nav-" + renderings.incrementAndGet())).isEqualTo("nav-1");
+        assertThat(cache.get("catalog", null, () -> "catalog-" + renderings.incrementAndGet())).isEqualTo("catalog-2");
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    @Test
+    void expiresFragmentsAfterTheirTtl() throws Exception {
+        assertThat(cache.get("nav", Duration.nanoseconds(0), () -> "nav-" + renderings.incrementAndGet()))
+            .isEqualTo("nav-1");
+        assertThat(cache.get("nav", Duration.nanoseconds(0), () -> "nav-" + renderings.incrementAndGet()))
+            .isEqualTo("nav-2");
+    }
+
+    @Test
+    void rendersNestedFragments() throws Exception {
+        final String content = cache.get("page", null, () -> "<" + cache.get("nav", null, () -> "nav") + ">");
+
+        assertThat(content).isEqualTo("<nav>");
+        assertThat(cache.get("nav", null, () -> "other")).isEqualTo("nav");
+    }
+
+    @Test
+    void doesNotCacheFailedRenderings() throws Exception {
+        assertThatIllegalStateException().isThrownBy(() -> cache.get("nav", null, () -> {
+            throw new IllegalStateException("broken");
+        }));
+
+        assertThat(cache.get("nav", null, () -> "nav")).isEqualTo("nav");
+    }
+
+    @Test
+    void invalidatesFragments() throws Exception {
+        assertThat(cache.get("nav", null, () -> "nav-" + renderings.incrementAndGet())).isEqualTo("nav-1");
+        cache.invalidate("nav");
+
+        assertThat(cache.get("nav", null, () -> "nav-" + renderings.incrementAndGet())).isEqualTo("nav-2");
+    }
+}
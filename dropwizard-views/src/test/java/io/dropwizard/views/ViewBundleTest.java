@@ -6,17 +6,28 @@ import io.dropwizard.jersey.setup.JerseyEnvironment;
 import io.dropwizard.setup.Environment;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.ArgumentCaptor;
 
 import javax.validation.constraints.NotNull;
 import javax.ws.rs.WebApplicationException;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
@@ -41,6 +52,48 @@ class ViewBundleTest {
         }
     }
 
+    public static class PrecompiledView extends View {
+        public PrecompiledView() {
+            super("precompiled.test");
+        }
+    }
+
+    private static class PrecompilingViewRenderer implements ViewRenderer {
+        private final List<String> precompiled = new ArrayList<>();
+
+        @Override
+        public boolean isRenderable(View view) {
+            return view.getTemplateName().endsWith(".test");
+        }
+
+        @Override
+        public void render(View view, Locale locale, OutputStream output) {
+            //nothing to do
+        }
+
+        @Override
+        public boolean precompile(Class<? extends View> viewClass, String templateName) throws IOException {
+            if (templateName.contains("broken")) {
+                throw new ViewRenderException("Broken template " + templateName);
+            }
+            if (!templateName.endsWith(".test")) {
+                return false;
+            }
+            precompiled.add(viewClass.getSimpleName() + ":" + templateName);
+            return true;
+        }
+
+        @Override
+        public void configure(Map<String, String> options) {
+            //nothing to do
+        }
+
+        @Override
+        public String getConfigurationKey() {
+            return "test";
+        }
+    }
+
     @BeforeEach
     void setUp() throws Exception {
         when(environment.jersey()).thenReturn(jerseyEnvironment);
@@ -100,4 +153,52 @@ class ViewBundleTest {
             .hasSize(1)
             .contains(renderer);
     }
+
+    @Test
+    void precompilesConfiguredTemplates() throws Exception {
+        final PrecompilingViewRenderer renderer = new PrecompilingViewRenderer();
+
+        new ViewBundle<MyConfiguration>(Collections.singletonList(renderer)) {
+            @Override
+            public Map<Class<? extends View>, Collection<String>> getPrecompiledTemplates(MyConfiguration config) {
+                return Collections.singletonMap(PrecompiledView.class,
+                    Arrays.asList("precompiled.test", "/other.ftl"));
+            }
+        }.run(new MyConfiguration(), environment);
+
+        assertThat(renderer.precompiled).containsExactly("PrecompiledView:/io/dropwizard/views/precompiled.test");
+    }
+
+    @Test
+    void precompilesIndexedTemplates(@TempDir Path tempDir) throws Exception {
+        final Path index = tempDir.resolve(ViewTemplateIndexProcessor.INDEX_RESOURCE);
+        Files.createDirectories(index.getParent());
+        Files.write(index, (PrecompiledView.class.getName() + " precompiled.test\n" +
+            PrecompiledView.class.getName() + " /absolute.test\n").getBytes(StandardCharsets.UTF_8));
+        final PrecompilingViewRenderer renderer = new PrecompilingViewRenderer();
+
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{tempDir.toUri().toURL()},
+            getClass().getClassLoader())) {
+            new ViewBundle<MyConfiguration>(Collections.singletonList(renderer))
+                .precompileTemplates(Collections.emptyMap(), classLoader);
+        }
+
+        assertThat(renderer.precompiled).containsExactly("PrecompiledView:/absolute.test",
+            "PrecompiledView:/io/dropwizard/views/precompiled.test");
+    }
+
+    @Test
+    void failsOnBrokenTemplates() {
+        final ViewBundle<MyConfiguration> bundle =
+            new ViewBundle<MyConfiguration>(Collections.singletonList(new PrecompilingViewRenderer())) {
+                @Override
+                public Map<Class<? extends View>, Collection<String>> getPrecompiledTemplates(MyConfiguration config) {
+                    return Collections.singletonMap(PrecompiledView.class, Collections.singletonList("broken.test"));
+                }
+            };
+
+        assertThatExceptionOfType(ViewRenderException.class)
+            .isThrownBy(() -> bundle.run(new MyConfiguration(), environment))
+            .withMessageContaining("broken.test");
+    }
 }
@@ -4,6 +4,7 @@ import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.Timer;
 import org.glassfish.jersey.message.internal.HeaderValueException;
 import org.glassfish.jersey.server.ContainerRequest;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import javax.ws.rs.WebApplicationException;
@@ -25,6 +26,7 @@ import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
@@ -38,6 +40,11 @@ class ViewMessageBodyWriterTest {
     public Timer timer = mock(Timer.class);
     public Timer.Context timerContext = mock(Timer.Context.class);
 
+    @BeforeEach
+    void setUp() {
+        when(view.getTemplateName()).thenReturn("/view.test");
+    }
+
     @Test
     void writeToShouldUseValidRenderer() throws IOException {
         final ViewRenderer renderable = mock(ViewRenderer.class);
@@ -64,6 +71,34 @@ class ViewMessageBodyWriterTest {
         verify(timerContext).stop();
     }
 
+    @Test
+    void writeToShouldCacheRendererAndTimerOfViews() throws IOException {
+        final ViewRenderer renderable = mock(ViewRenderer.class);
+        final ViewRenderer nonRenderable = mock(ViewRenderer.class);
+        final Locale locale = new Locale("en-US");
+
+        when(metricRegistry.timer(anyString())).thenReturn(timer);
+        when(timer.time()).thenReturn(timerContext);
+
+        when(renderable.isRenderable(view)).thenReturn(true);
+
+        final ViewMessageBodyWriter writer = spy(new ViewMessageBodyWriter(metricRegistry,
+            Arrays.asList(nonRenderable, renderable)));
+        doReturn(locale).when(writer).detectLocale(any());
+        writer.setHeaders(mock(HttpHeaders.class));
+
+        for (int i = 0; i < 3; i++) {
+            writer.writeTo(view, Class.class, Class.class, new Annotation[]{}, new MediaType(),
+                new MultivaluedHashMap<>(), stream);
+        }
+
+        verify(metricRegistry, times(1)).timer(anyString());
+        verify(nonRenderable, times(1)).isRenderable(view);
+        verify(renderable, times(1)).isRenderable(view);
+        verify(renderable, times(3)).render(view, locale, stream);
+        verify(timerContext, times(3)).stop();
+    }
+
     @Test
     void writeToShouldThrowWhenNoValidRendererFound() {
         final ViewMessageBodyWriter writer = new ViewMessageBodyWriter(metricRegistry, Collections.emptyList());
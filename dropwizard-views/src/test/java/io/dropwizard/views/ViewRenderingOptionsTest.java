@@ -0,0 +1,99 @@
+package io.dropwizard.views;
+
+import io.dropwizard.util.Maps;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class ViewRenderingOptionsTest {
+    @Test
+    void hasDefaults() {
+        final ViewRenderingOptions options = ViewRenderingOptions.parse(Collections.emptyMap());
+
+        assertThat(options.getBufferSize()).isEqualTo(ViewRenderingOptions.DEFAULT_BUFFER_SIZE);
+        assertThat(options.getFlushPolicy()).isEqualTo(ViewRenderingOptions.FlushPolicy.ON_COMPLETION);
+        assertThat(options.getFragmentCache()).isEmpty();
+    }
+
+    @Test
+    void parsesOptions() {
+        final ViewRenderingOptions options = ViewRenderingOptions.parse(Maps.of(
+            ViewRenderingOptions.BUFFER_SIZE, "1024",
+            ViewRenderingOptions.FLUSH_POLICY, "when_full",
+            ViewRenderingOptions.FRAGMENT_CACHE_SIZE, "100",
+            ViewRenderingOptions.FRAGMENT_CACHE_TTL, "1 minute"));
+
+        assertThat(options.getBufferSize()).isEqualTo(1024);
+        assertThat(options.getFlushPolicy()).isEqualTo(ViewRenderingOptions.FlushPolicy.WHEN_FULL);
+        assertThat(options.getFragmentCache()).isPresent();
+    }
+
+    @Test
+    void rejectsInvalidOptions() {
+        assertThatIllegalArgumentException().isThrownBy(() ->
+            ViewRenderingOptions.parse(Collections.singletonMap(ViewRenderingOptions.BUFFER_SIZE, "0")));
+        assertThatIllegalArgumentException().isThrownBy(() ->
+            ViewRenderingOptions.parse(Collections.singletonMap(ViewRenderingOptions.FLUSH_POLICY, "sometimes")));
+    }
+
+    @Test
+    void removesRenderingOptions() {
+        final Map<String, String> options = Maps.of(
+            ViewRenderingOptions.BUFFER_SIZE, "1024",
+            "template_update_delay", "0");
+
+        assertThat(ViewRenderingOptions.withoutRenderingOptions(options))
+            .containsOnlyKeys("template_update_delay");
+    }
+
+    @Test
+    void flushesOnlyOnCompletionByDefault() throws IOException {
+        final FlushCountingOutputStream output = new FlushCountingOutputStream();
+        final ViewRenderingOptions options = ViewRenderingOptions.parse(
+            Collections.singletonMap(ViewRenderingOptions.BUFFER_SIZE, "4"));
+
+        final Writer writer = options.newWriter(output, StandardCharsets.UTF_8);
+        writer.write("Hello, ");
+        writer.write('w');
+        writer.write("orld!".toCharArray());
+        assertThat(output.flushes).isZero();
+
+        writer.flush();
+
+        assertThat(output.toString(StandardCharsets.UTF_8.name())).isEqualTo("Hello, world!");
+        assertThat(output.flushes).isEqualTo(1);
+    }
+
+    @Test
+    void flushesWhenTheBufferIsFull() throws IOException {
+        final FlushCountingOutputStream output = new FlushCountingOutputStream();
+        final ViewRenderingOptions options = ViewRenderingOptions.parse(Maps.of(
+            ViewRenderingOptions.BUFFER_SIZE, "4",
+            ViewRenderingOptions.FLUSH_POLICY, "WHEN_FULL"));
+
+        final Writer writer = options.newWriter(output, StandardCharsets.UTF_8);
+        writer.write("Hello, world!");
+        assertThat(output.toString(StandardCharsets.UTF_8.name())).isEqualTo("Hello, world");
+        assertThat(output.flushes).isEqualTo(3);
+
+        writer.flush();
+        assertThat(output.toString(StandardCharsets.UTF_8.name())).isEqualTo("Hello, world!");
+    }
+
+    private static class FlushCountingOutputStream extends ByteArrayOutputStream {
+        private int flushes;
+
+        @Override
+        public void flush() {
+            flushes++;
+        }
+    }
+}
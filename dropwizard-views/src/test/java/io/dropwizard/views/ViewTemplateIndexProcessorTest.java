@@ -0,0 +1,70 @@
+package io.dropwizard.views;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ViewTemplateIndexProcessorTest {
+    @Test
+    void indexesTemplates(@TempDir Path tempDir) throws IOException {
+        compile(tempDir, "PersonView.java", "package com.example;" +
+            " @io.dropwizard.views.ViewTemplates({\"profile.ftl\", \"/summary.mustache\"})" +
+            " public class PersonView extends io.dropwizard.views.View {" +
+            " public PersonView() { super(\"profile.ftl\"); }" +
+            " @io.dropwizard.views.ViewTemplates(\"nested.ftl\") public static class Nested {} }");
+        compile(tempDir, "Plain.java", "package com.example; public class Plain {}");
+
+        assertThat(index(tempDir)).containsExactly(
+            "com.example.PersonView /summary.mustache",
+            "com.example.PersonView profile.ftl",
+            "com.example.PersonView$Nested nested.ftl");
+    }
+
+    @Test
+    void replacesTemplatesOfRecompiledClasses(@TempDir Path tempDir) throws IOException {
+        compile(tempDir, "PersonView.java",
+            "package com.example; @io.dropwizard.views.ViewTemplates(\"old.ftl\") public class PersonView {}");
+        compile(tempDir, "DogView.java",
+            "package com.example; @io.dropwizard.views.ViewTemplates(\"dog.ftl\") public class DogView {}");
+        compile(tempDir, "PersonView.java",
+            "package com.example; @io.dropwizard.views.ViewTemplates(\"new.ftl\") public class PersonView {}");
+
+        assertThat(index(tempDir)).containsExactly("com.example.DogView dog.ftl", "com.example.PersonView new.ftl");
+    }
+
+    private static void compile(Path tempDir, String fileName, String source) throws IOException {
+        final Path sources = Files.createDirectories(tempDir.resolve("src"));
+        final Path classes = Files.createDirectories(tempDir.resolve("classes"));
+        final Path file = Files.write(sources.resolve(fileName), source.getBytes(StandardCharsets.UTF_8));
+
+        final JavaCompiler compiler = requireNonNull(ToolProvider.getSystemJavaCompiler());
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8)) {
+            final Iterable<? extends JavaFileObject> units = fileManager.getJavaFileObjects(file.toFile());
+            final JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, null,
+                Arrays.asList("-d", classes.toString(),
+                    "-classpath", classes + System.getProperty("path.separator") + System.getProperty("java.class.path")),
+                null, units);
+            task.setProcessors(Collections.singletonList(new ViewTemplateIndexProcessor()));
+            assertThat(task.call()).isTrue();
+        }
+    }
+
+    private static List<String> index(Path tempDir) throws IOException {
+        return Files.readAllLines(tempDir.resolve("classes").resolve(ViewTemplateIndexProcessor.INDEX_RESOURCE),
+            StandardCharsets.UTF_8);
+    }
+}